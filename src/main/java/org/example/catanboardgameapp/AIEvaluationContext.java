@@ -0,0 +1,140 @@
+package org.example.catanboardgameapp;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+//___________________________AI EVALUATION CONTEXT___________________________//
+// Remembers what an AI has already worked out about the current game state: its strategy,
+// the resources that strategy still needs, production per resource, where settlements can go,
+// whether any road can be built, the longest road of each player and its trade plan.
+// Everything is keyed on Gameplay.getStateVersion() and thrown away as soon as the game
+// state changes, so the robber, the discard logic and the move loop all share one evaluation.
+public class AIEvaluationContext {
+
+    //___________________________FIELDS___________________________//
+    private final Gameplay gameplay;
+    private int version = -1;
+    private AIOpponent.Strategy strategy;
+    private final EnumMap<AIOpponent.Strategy, Set<String>> neededResources = new EnumMap<>(AIOpponent.Strategy.class);
+    private final Map<String, Integer> productionScores = new HashMap<>();
+    private final Map<Player, Integer> longestRoads = new HashMap<>();
+    private List<Vertex> validSettlementSpots;
+    private Boolean roadPlacementAvailable;
+    private AIOpponent.TradePlan tradePlan;
+    private long hits;
+    private long misses;
+
+    //___________________________CONSTRUCTOR___________________________//
+    public AIEvaluationContext(Gameplay gameplay) {
+        this.gameplay = gameplay;
+    }
+
+    //___________________________LOOKUPS___________________________//
+    // Each lookup returns the remembered value for the current state or computes and keeps it.
+    // Synchronized because a discard on the FX thread can overlap with the AI thread.
+    public synchronized AIOpponent.Strategy strategy(Supplier<AIOpponent.Strategy> compute) {
+        refresh();
+        if (strategy == null) {
+            misses++;
+            strategy = compute.get();
+        } else {
+            hits++;
+        }
+        return strategy;
+    }
+
+    public synchronized Set<String> neededResources(AIOpponent.Strategy strategy, Supplier<Set<String>> compute) {
+        refresh();
+        Set<String> needed = neededResources.get(strategy);
+        if (needed == null) {
+            misses++;
+            needed = Collections.unmodifiableSet(compute.get());
+            neededResources.put(strategy, needed);
+        } else {
+            hits++;
+        }
+        return needed;
+    }
+
+    public synchronized int productionScore(String resourceType, Supplier<Integer> compute) {
+        refresh();
+        Integer score = productionScores.get(resourceType);
+        if (score == null) {
+            misses++;
+            score = compute.get();
+            productionScores.put(resourceType, score);
+        } else {
+            hits++;
+        }
+        return score;
+    }
+
+    public synchronized List<Vertex> validSettlementSpots(Supplier<List<Vertex>> compute) {
+        refresh();
+        if (validSettlementSpots == null) {
+            misses++;
+            validSettlementSpots = List.copyOf(compute.get());
+        } else {
+            hits++;
+        }
+        return validSettlementSpots;
+    }
+
+    public synchronized boolean roadPlacementAvailable(Supplier<Boolean> compute) {
+        refresh();
+        if (roadPlacementAvailable == null) {
+            misses++;
+            roadPlacementAvailable = compute.get();
+        } else {
+            hits++;
+        }
+        return roadPlacementAvailable;
+    }
+
+    public synchronized AIOpponent.TradePlan tradePlan(Supplier<AIOpponent.TradePlan> compute) {
+        refresh();
+        if (tradePlan == null) {
+            misses++;
+            tradePlan = compute.get();
+        } else {
+            hits++;
+        }
+        return tradePlan;
+    }
+
+    public synchronized int longestRoad(Player player) {
+        refresh();
+        Integer length = longestRoads.get(player);
+        if (length == null) {
+            misses++;
+            length = gameplay.getLongestRoadManager().calculateLongestRoad(player);
+            longestRoads.put(player, length);
+        } else {
+            hits++;
+        }
+        return length;
+    }
+
+    // Drops everything once the game has moved on since the last lookup
+    private void refresh() {
+        int current = gameplay.getStateVersion();
+        if (current == version) return;
+        version = current;
+        strategy = null;
+        neededResources.clear();
+        productionScores.clear();
+        longestRoads.clear();
+        validSettlementSpots = null;
+        roadPlacementAvailable = null;
+        tradePlan = null;
+    }
+
+    //___________________________GETTERS___________________________//
+    public synchronized long getHits()   { return hits; }
+    public synchronized long getMisses() { return misses; }
+}
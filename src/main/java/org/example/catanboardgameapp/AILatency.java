@@ -0,0 +1,202 @@
+package org.example.catanboardgameapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//___________________________AI LATENCY___________________________//
+// How long AI decisions take, per StrategyLevel and kind of decision: choosing a strategy, every
+// build, trade and development card attempt, the robber and discards. Times are exclusive:
+// decisions nest (a city attempt may trade with the bank first), and each one counts only its
+// own time, so the trade is counted once, under Bank trade. Wrap a decision in begin and end.
+// Every (level, decision) pair has a log-linear histogram of nanoseconds: 8 buckets per power of
+// two, so percentiles are within 12.5% and recording is a few shifts and an increment.
+// Buckets are allocated on first use. Look-ahead forks (see Gameplay.markAsSimulation) record
+// nothing, so only the decisions actually played count.
+// One per Gameplay, merged into GameStatistics for simulations. In a UI game the robber and
+// discards of an AI's 7 run on the FX thread while the AI turn goes on, so every thread keeps
+// its own stack of open decisions and the histograms are guarded by this.
+public class AILatency {
+
+    //___________________________DECISIONS___________________________//
+    public enum Decision {
+        STRATEGY("Strategy choice"),
+        SEARCH("Tree search"),
+        BUILD_CITY("Build city"),
+        BUILD_SETTLEMENT("Build settlement"),
+        BUILD_ROAD("Build road"),
+        LONGEST_ROAD("Longest road"),
+        BUY_CARD("Buy dev card"),
+        PLAY_CARD("Play dev card"),
+        BANK_TRADE("Bank trade"),
+        PLAYER_TRADE("Player trade"),
+        ROBBER("Robber"),
+        DISCARD("Discard");
+
+        private final String label;
+
+        Decision(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    //___________________________LAYOUT___________________________//
+    private static final int LEVELS = AIOpponent.StrategyLevel.values().length;
+    private static final int DECISIONS = Decision.values().length;
+    private static final int SUB_BITS = 3;                              // 8 buckets per power of two
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 39;                         // Up to about 18 minutes
+    private static final long MAX_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    //___________________________FIELDS___________________________//
+    private final long[][] buckets = new long[LEVELS * DECISIONS][];   // [level * DECISIONS + decision], null until used
+    private final long[] counts = new long[LEVELS * DECISIONS];
+    private final long[] maxNanos = new long[LEVELS * DECISIONS];
+    private volatile boolean enabled = true;
+    private final ThreadLocal<Nesting> nesting = ThreadLocal.withInitial(Nesting::new);
+
+    // Decisions begun and not yet ended on one thread
+    private static final class Nesting {
+        private long[] nestedNanos = new long[8];                       // Time of decisions inside each open one
+        private int depth;
+    }
+
+    //___________________________RECORDING___________________________//
+    // Adds one decision that took nanos
+    public synchronized void record(AIOpponent.StrategyLevel level, Decision decision, long nanos) {
+        if (!enabled) return;
+        int cell = cell(level, decision);
+        long value = Math.max(0, Math.min(nanos, MAX_NANOS));
+        if (buckets[cell] == null) buckets[cell] = new long[BUCKETS];
+        buckets[cell][bucket(value)]++;
+        counts[cell]++;
+        if (value > maxNanos[cell]) maxNanos[cell] = value;
+    }
+
+    // A decision starts; returns its start time for end
+    public long begin() {
+        if (!enabled) return 0;
+        Nesting open = nesting.get();
+        if (open.depth == open.nestedNanos.length) open.nestedNanos = Arrays.copyOf(open.nestedNanos, open.depth * 2);
+        open.nestedNanos[open.depth++] = 0;
+        return System.nanoTime();
+    }
+
+    // The decision begun at startNanos ends: records its time minus the decisions inside it
+    public void end(AIOpponent.StrategyLevel level, Decision decision, long startNanos) {
+        if (!enabled) return;
+        long elapsed = System.nanoTime() - startNanos;
+        Nesting open = nesting.get();
+        record(level, decision, elapsed - open.nestedNanos[--open.depth]);
+        if (open.depth > 0) open.nestedNanos[open.depth - 1] += elapsed;
+    }
+
+    // Look-ahead forks time nothing
+    void disable() {
+        enabled = false;
+    }
+
+    // Folds another game's (or worker's) times into this one
+    public synchronized void merge(AILatency other) {
+        synchronized (other) {
+            for (int cell = 0; cell < counts.length; cell++) {
+                if (other.counts[cell] == 0) continue;
+                if (buckets[cell] == null) buckets[cell] = new long[BUCKETS];
+                for (int i = 0; i < BUCKETS; i++) buckets[cell][i] += other.buckets[cell][i];
+                counts[cell] += other.counts[cell];
+                maxNanos[cell] = Math.max(maxNanos[cell], other.maxNanos[cell]);
+            }
+        }
+    }
+
+    //___________________________QUERIES___________________________//
+    public synchronized long getCount(AIOpponent.StrategyLevel level, Decision decision) {
+        return counts[cell(level, decision)];
+    }
+
+    public synchronized long getMaxNanos(AIOpponent.StrategyLevel level, Decision decision) {
+        return maxNanos[cell(level, decision)];
+    }
+
+    // Upper edge of the bucket that holds the given fraction of the times, at most the maximum
+    public synchronized long getPercentileNanos(AIOpponent.StrategyLevel level, Decision decision, double fraction) {
+        int cell = cell(level, decision);
+        if (counts[cell] == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(fraction * counts[cell]));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[cell][i];
+            if (seen >= target) return Math.min(upperEdge(i), maxNanos[cell]);
+        }
+        return maxNanos[cell];
+    }
+
+    public synchronized boolean hasData(AIOpponent.StrategyLevel level) {
+        for (Decision decision : Decision.values()) {
+            if (getCount(level, decision) > 0) return true;
+        }
+        return false;
+    }
+
+    //___________________________OUTPUT___________________________//
+    // One line per decision the level made, own time only: "Build city  p50 12.0 us, p99 85.0 us, max 1.20 ms (n=40)"
+    public synchronized List<String> lines(AIOpponent.StrategyLevel level) {
+        List<String> lines = new ArrayList<>();
+        for (Decision decision : Decision.values()) {
+            long count = getCount(level, decision);
+            if (count == 0) continue;
+            lines.add(String.format("%-17s p50 %s, p99 %s, max %s (n=%d)", decision.getLabel(),
+                    formatNanos(getPercentileNanos(level, decision, 0.5)),
+                    formatNanos(getPercentileNanos(level, decision, 0.99)),
+                    formatNanos(getMaxNanos(level, decision)), count));
+        }
+        return lines;
+    }
+
+    public synchronized String summary() {
+        StringBuilder sb = new StringBuilder("AI decision times by level (own time, without nested decisions):\n");
+        boolean any = false;
+        for (AIOpponent.StrategyLevel level : AIOpponent.StrategyLevel.values()) {
+            if (!hasData(level)) continue;
+            any = true;
+            sb.append("  ").append(level).append(":\n");
+            for (String line : lines(level)) sb.append("    ").append(line).append('\n');
+        }
+        if (!any) sb.append("  no data\n");
+        return sb.toString();
+    }
+
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format("%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format("%.2f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    //___________________________HELPERS___________________________//
+    private static int cell(AIOpponent.StrategyLevel level, Decision decision) {
+        return level.ordinal() * DECISIONS + decision.ordinal();
+    }
+
+    // Values below 8 get a bucket each; above, the top 3 bits after the leading one pick one of
+    // 8 buckets within the value's power of two
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Largest value that lands in the bucket
+    static long upperEdge(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width - 1;
+    }
+}
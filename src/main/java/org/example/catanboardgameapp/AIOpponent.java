@@ -6,9 +6,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Line;
 import org.example.catanboardgameviews.CatanBoardGameView;
-import org.example.catanboardgameviews.MenuView;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 //___________________________AI OPPONENT FOR CATAN GAME___________________________//
@@ -17,7 +15,7 @@ public class AIOpponent extends Player {
     //___________________________STRATEGY AND STRATEGY LEVEL ENUMS___________________________//
     // Defines AI bot level
     public enum StrategyLevel {
-        EASY, MEDIUM, HARD
+        EASY, MEDIUM, HARD, EXPERT
     }
 
     // AI decision types
@@ -25,19 +23,51 @@ public class AIOpponent extends Player {
         ROADBUILDER, CITYUPGRADER, SETTLEMENTPLACER, LONGESTROAD, BIGGESTARMY, DEVELOPMENTCARDBUYER, USERESOURCES, NONE
     }
 
-    // Controls AI delay for realism
+    // Time an AI takes per turn. Rule-based levels wait it out for realism,
+    // EXPERT spends it on its search instead and moves as soon as it runs out
     public enum ThinkingSpeed {
-        SLOW, MEDIUM, FAST, EXTREME
+        SLOW(3000, 7000), MEDIUM(1500, 1500), FAST(700, 700), EXTREME(20, 20);
+
+        private final int minMillis;
+        private final int maxMillis;
+
+        ThinkingSpeed(int minMillis, int maxMillis) {
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        public int nextBudgetMillis(Random random) {
+            return minMillis == maxMillis ? minMillis : random.nextInt(minMillis, maxMillis);
+        }
     }
 
     //___________________________________FIELDS______________________________________________//
     private final Gameplay gameplay;
     private final StrategyLevel strategyLevel;
     private final DrawOrDisplay drawOrDisplay;          // UI drawing handler
-    private final MenuView menuView;                    // View settings like max builds
     private final EnumMap<Strategy, Integer> strategyUsageMap = new EnumMap<>(Strategy.class); // Track strategy usage
     private ThinkingSpeed thinkingSpeed = ThinkingSpeed.EXTREME; // Default AI speed
+    private final Random thinkingRandom;                 // Thinking times, seeded from the game so its dice stay untouched
     private static final int MAX_STRATEGY_ATTEMPTS = 20; // Max retries for making a move
+    private MonteCarloTreeSearch search;                 // EXPERT only: picks every move by look-ahead
+    private static final long MIN_SEARCH_SLICE_MILLIS = 20; // Every EXPERT decision gets at least this much
+    private final AIEvaluationContext evaluation;        // Strategy, needs and legal spots of the current state
+    private AIWeights weights = AIWeights.getStandard(); // Scoring weights, see AIWeights and WeightTuner
+
+    // Build costs, used by the EXPERT AI to plan a bank trade that cannot break the build itself
+    private static final List<String> RESOURCE_NAMES = List.of("Brick", "Wood", "Ore", "Grain", "Wool");
+    private static final Map<String, Integer> CITY_COST = Map.of("Ore", 3, "Grain", 2);
+    private static final Map<String, Integer> SETTLEMENT_COST = Map.of("Brick", 1, "Wood", 1, "Wool", 1, "Grain", 1);
+    private static final Map<String, Integer> ROAD_COST = Map.of("Brick", 1, "Wood", 1);
+    private static final Map<String, Integer> DEV_CARD_COST = Map.of("Wool", 1, "Grain", 1, "Ore", 1);
+
+    // Player trades, see TradeNegotiator and TradePlan
+    private static final int TRADE_MISSING_CARD = 10;    // Hand value lost per card the plan still misses
+    private static final int TRADE_PLAN_CARD = 3;        // Value of a card the plan uses
+    private static final int TRADE_SPARE_CARD = 2;       // Value of any other card, +1 for a resource the AI does not produce
+    private static final int TRADE_MIN_GAIN = 1;         // Smallest improvement worth a trade
+    private static final int TRADE_LEADER_MARGIN = 2;    // No trades with a player this close to winning
+    private static final int TRADE_MAX_GIVE = 2;         // Cards offered for one missing card
 
     //__________________________________CONSTRUCTOR___________________________________________//
     public AIOpponent(int playerId, Color color, StrategyLevel level, Gameplay gameplay) {
@@ -45,7 +75,8 @@ public class AIOpponent extends Player {
         this.strategyLevel = level;
         this.drawOrDisplay = gameplay.getDrawOrDisplay();
         this.gameplay = gameplay;
-        this.menuView = gameplay.getMenuView();
+        this.evaluation = new AIEvaluationContext(gameplay);
+        this.thinkingRandom = new Random(gameplay.getSeed() * 31 + playerId);
         for (Strategy strategy : Strategy.values()) {
             strategyUsageMap.put(strategy, 0); // Init usage counts to zero
         }
@@ -55,22 +86,17 @@ public class AIOpponent extends Player {
     public void placeInitialSettlementAndRoad(Gameplay gameplay, Group boardGroup) {
         CatanBoardGameView view = gameplay.getCatanBoardGameView();
 
-        // STEP 1: Show overlay if any human player exists
-        boolean showOverlay = gameplay.hasHumanPlayers();
-        if (showOverlay) {
-            view.runOnFX(() -> view.showAITurnOverlay(this));
-        }
-        // Define the logic in a separate thread-safe task
+        // Define the logic in a separate thread-safe task (the thinking time and the overlay
+        // are handled by Gameplay.startAIThread before the turn starts)
         Runnable logic = () -> {
-            // Pause before AI acts
-            pauseBeforeMove();
             // Gather all vertex candidates on the board
             List<Vertex> candidates = new ArrayList<>(gameplay.getBoard().getVertices());
             Vertex chosenSettlement = null;
+            Edge bookRoad = null;
 
             // Choose a random valid settlement spot for easy
             if (strategyLevel == StrategyLevel.EASY) {
-                Collections.shuffle(candidates);
+                Collections.shuffle(candidates, gameplay.getRandom());
                 for (Vertex v : candidates) {
                     if (gameplay.isValidSettlementPlacement(v)) {
                         chosenSettlement = v;
@@ -78,21 +104,20 @@ public class AIOpponent extends Player {
                     }
                 }
             } else {
-                // Score each valid vertex and choose the best
-                int bestScore = Integer.MIN_VALUE;
-                for (Vertex v : candidates) {
-                    if (!gameplay.isValidSettlementPlacement(v)) continue;
-                    int score = getSmartSettlementScore(v, gameplay);
-                    if (score > bestScore) {
-                        bestScore = score;
-                        chosenSettlement = v;
-                    }
+                // HARD and EXPERT open from the book when it knows this position
+                OpeningBook.Placement opening = strategyLevel == StrategyLevel.MEDIUM ? null : OpeningBook.getStandard().lookup(gameplay);
+                if (opening != null && gameplay.isValidSettlementPlacement(opening.getSettlement())) {
+                    chosenSettlement = opening.getSettlement();
+                    bookRoad = opening.getRoad();
+                } else {
+                    // Best valid vertex from the board's shared ranking, without scoring the whole board
+                    chosenSettlement = gameplay.getBoard().getSettlementRanking().best(gameplay.getBoard(), this, weights, gameplay::isValidSettlementPlacement);
                 }
             }
 
             // If no settlement spot was found, abort
             if (chosenSettlement == null) {
-                view.runOnFX(() -> {
+                gameplay.runOnUI(() -> {
                     view.logToGameLog("AI " + getPlayerId() + " could not find a valid initial settlement.");
                     view.hideAITurnOverlay();
                 });
@@ -102,7 +127,7 @@ public class AIOpponent extends Player {
             // Try to build settlement
             BuildResult settlementResult = gameplay.buildInitialSettlement(chosenSettlement);
             if (settlementResult != BuildResult.SUCCESS) {
-                view.runOnFX(() -> {
+                gameplay.runOnUI(() -> {
                     view.logToGameLog("AI " + getPlayerId() + " failed to place initial settlement.");
                     view.hideAITurnOverlay();
                 });
@@ -110,51 +135,47 @@ public class AIOpponent extends Player {
             }
 
             // Draw settlement
-            Circle circle = new Circle(chosenSettlement.getX(), chosenSettlement.getY(), 16.0 / gameplay.getBoardRadius());
             Vertex finalSettlement = chosenSettlement;
-            view.runOnFX(() -> {
+            gameplay.runOnUI(() -> {
+                Circle circle = new Circle(finalSettlement.getX(), finalSettlement.getY(), 16.0 / gameplay.getBoardRadius());
                 finalSettlement.setOwner(gameplay.getCurrentPlayer());
                 drawOrDisplay.drawSettlement(circle, finalSettlement, boardGroup);
             });
 
             // Initial Road
             Edge chosenEdge = null;
-            List<Edge> edges = gameplay.getBoard().getEdges();
 
             // Pick a random valid edge connected to settlement for easy
             if (strategyLevel == StrategyLevel.EASY) {
-                Collections.shuffle(edges);
+                List<Edge> edges = new ArrayList<>(gameplay.getBoard().getEdges()); // Copy, shuffling the board list would reorder it
+                Collections.shuffle(edges, gameplay.getRandom());
                 for (Edge edge : edges) {
                     if (edge.isConnectedTo(chosenSettlement) && gameplay.isValidRoadPlacement(edge)) {
                         chosenEdge = edge;
                         break;
                     }
                 }
+            } else if (bookRoad != null && bookRoad.isConnectedTo(chosenSettlement) && gameplay.isValidRoadPlacement(bookRoad)) {
+                chosenEdge = bookRoad;
             } else {
-                // Score each valid edge and choose the best (worst, since go away from other people)
-                int worstEdgeScore = Integer.MAX_VALUE;
-                for (Edge edge : edges) {
-                    if (!edge.isConnectedTo(chosenSettlement) || !gameplay.isValidRoadPlacement(edge)) continue;
-                    int score = getSmartRoadScore(edge, chosenSettlement, gameplay, true);
-                    if (score < worstEdgeScore) {
-                        worstEdgeScore = score;
-                        chosenEdge = edge;
-                    }
-                }
+                chosenEdge = chooseInitialRoad(gameplay, chosenSettlement);
             }
 
             // Try to place road
             if (chosenEdge != null) {
                 BuildResult roadResult = gameplay.buildRoad(chosenEdge);
                 if (roadResult == BuildResult.SUCCESS) {
-                    Line line = new Line(
-                            chosenEdge.getVertex1().getX(), chosenEdge.getVertex1().getY(),
-                            chosenEdge.getVertex2().getX(), chosenEdge.getVertex2().getY()
-                    );
-                    view.runOnFX(() -> {
+                    Edge finalEdge = chosenEdge;
+                    gameplay.runOnUI(() -> {
+                        Line line = new Line(
+                                finalEdge.getVertex1().getX(), finalEdge.getVertex1().getY(),
+                                finalEdge.getVertex2().getX(), finalEdge.getVertex2().getY()
+                        );
                         drawOrDisplay.drawRoad(line, this, boardGroup);
                         view.logToGameLog(gameplay.getCurrentPlayer() +  " (" + strategyLevel.name() + ") finished placing their initial settlement and road.");
-                        gameplay.nextPlayerTurn();
+                    });
+                    gameplay.finishAITurn();
+                    gameplay.runOnUI(() -> {
                         view.refreshSidebar();
                         view.hideAITurnOverlay();
                     });
@@ -162,36 +183,41 @@ public class AIOpponent extends Player {
                 }
             }
             // fallback error
-            view.runOnFX(() -> {
+            gameplay.runOnUI(() -> {
                 view.logToGameLog("AI " + getPlayerId() + " failed to place road.");
                 view.hideAITurnOverlay();
             });
         };
-        // Start logic in background thread if currently on FX thread
-        if (Platform.isFxApplicationThread()) {
-            new Thread(logic).start();
+        // Hand the logic to the AI turn runner if currently on FX thread
+        if (!gameplay.isHeadless() && Platform.isFxApplicationThread()) {
+            gameplay.getAITurnRunner().submit(logic);
         } else {
             logic.run();  // Already in background thread
         }
     }
 
-    //__________________________________MAKE MOVE LOGIC________________________________________//
-    public void makeMoveAI(Gameplay gameplay, Group boardGroup) {
-        // Wait until game is unpaused
-        while (gameplay.isGamePaused()) {
-            if (Thread.currentThread().isInterrupted()) return;
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
+    // Scores each valid edge at the new settlement and chooses the best (worst, since go away from other people)
+    Edge chooseInitialRoad(Gameplay gameplay, Vertex settlement) {
+        Edge chosenEdge = null;
+        int worstEdgeScore = Integer.MAX_VALUE;
+        int score = gameplay.getBoard().getEvaluator().initialRoadScore(this, weights, gameplay, settlement);
+        for (Edge edge : gameplay.getBoard().getEdges()) {
+            if (!edge.isConnectedTo(settlement) || !gameplay.isValidRoadPlacement(edge)) continue;
+            if (score < worstEdgeScore) {
+                worstEdgeScore = score;
+                chosenEdge = edge;
             }
         }
-        if (gameplay.hasHumanPlayers()) {
-            gameplay.getCatanBoardGameView().runOnFX(() -> gameplay.getCatanBoardGameView().showAITurnOverlay(this));
-        }
-        pauseBeforeMove();
-        if (Thread.currentThread().isInterrupted()) return;
+        return chosenEdge;
+    }
+
+    //__________________________________MAKE MOVE LOGIC________________________________________//
+    public void makeMoveAI(Gameplay gameplay, Group boardGroup) {
+        // A paused game cancels the turn, resuming starts it again
+        if (gameplay.isGamePaused() || Thread.currentThread().isInterrupted()) return;
+        // EXPERT searches during the thinking time; the other levels have already waited it out
+        // before the turn was started (see getPacingDelayMillis)
+        long thinkingMillis = strategyLevel == StrategyLevel.EXPERT ? thinkingSpeed.nextBudgetMillis(thinkingRandom) : 0;
         // Background logic
         if (!gameplay.isGamePaused() && !gameplay.hasRolledDice()) {
             gameplay.rollDice();
@@ -201,20 +227,36 @@ public class AIOpponent extends Player {
             case EASY -> makeEasyLevelMove(gameplay, boardGroup);
             case MEDIUM -> makeMediumLevelMove(gameplay, boardGroup);
             case HARD -> makeHardLevelMove(gameplay, boardGroup);
+            // Inside a look-ahead fork EXPERT plays the HARD rules, so searches never nest
+            case EXPERT -> {
+                if (gameplay.isSimulation()) makeHardLevelMove(gameplay, boardGroup);
+                else makeExpertLevelMove(gameplay, boardGroup, thinkingMillis);
+            }
         }
         // Done – UI update on FX thread
-        gameplay.getCatanBoardGameView().runOnFX(() -> gameplay.getCatanBoardGameView().hideAITurnOverlay());
+        gameplay.runOnUI(() -> gameplay.getCatanBoardGameView().hideAITurnOverlay());
     }
 
     //______________________________CHOOSING STRATEGY LOGIC_______________________________________//
     public Strategy determineStrategy(boolean aiMakingMove) {
-        return switch (strategyLevel) {
-            case EASY -> determineEasyStrategy(gameplay);
-            case MEDIUM -> determineMediumStrategy(gameplay);
-            case HARD -> determineHardStrategy(gameplay, aiMakingMove);
-        };
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return switch (strategyLevel) {
+                case EASY -> determineEasyStrategy(gameplay);
+                case MEDIUM -> determineMediumStrategy(gameplay);
+                case HARD, EXPERT -> determineHardStrategy(gameplay, aiMakingMove);
+            };
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.STRATEGY, start);
+        }
     }
     private Strategy determineEasyStrategy(Gameplay gameplay) {
+        Strategy selected = evaluation.strategy(() -> evaluateEasyStrategy(gameplay));
+        strategyUsageMap.merge(selected, 1, Integer::sum);
+        return selected;
+    }
+    private Strategy evaluateEasyStrategy(Gameplay gameplay) {
         Strategy selected;
 
         if (hasLessThanMaxAllowedCities() && canUpgradeToCityNow()) {
@@ -233,17 +275,21 @@ public class AIOpponent extends Player {
             selected = Strategy.SETTLEMENTPLACER;
         }
         else if (hasLessThanMaxAllowedRoads() &&
-                gameplay.getBoard().getEdges().stream().anyMatch(gameplay::isValidRoadPlacement)) {
+                hasValidRoadPlacement(gameplay)) {
             selected = Strategy.ROADBUILDER;
         }
         else {
             selected = Strategy.NONE;
         }
-        strategyUsageMap.merge(selected, 1, Integer::sum);
         return selected;
     }
 
     private Strategy determineMediumStrategy(Gameplay gameplay) {
+        Strategy selected = evaluation.strategy(() -> evaluateMediumStrategy(gameplay));
+        strategyUsageMap.merge(selected, 1, Integer::sum);
+        return selected;
+    }
+    private Strategy evaluateMediumStrategy(Gameplay gameplay) {
         Strategy selected;
 
         if (hasLessThanMaxAllowedCities() && canUpgradeToCityNow()) {
@@ -265,37 +311,35 @@ public class AIOpponent extends Player {
             selected = Strategy.USERESOURCES;
         }
         else if (hasLessThanMaxAllowedRoads() &&
-                gameplay.getBoard().getEdges().stream().anyMatch(gameplay::isValidRoadPlacement)) {
+                hasValidRoadPlacement(gameplay)) {
             selected = Strategy.ROADBUILDER;
         }
         else {
             selected = Strategy.NONE;
         }
-        strategyUsageMap.merge(selected, 1, Integer::sum);
         return selected;
     }
 
     private Strategy determineHardStrategy(Gameplay gameplay, boolean aiMakingMove) {
-        Strategy selected = Strategy.NONE;
         // If 9 points, TRY WIN NOW!
         if (aiMakingMove && gameplay.getCurrentPlayer().getPlayerScore() == 9) {
             // Build city to instant win if possible
             if (hasLessThanMaxAllowedCities() && canUpgradeToCityNow()) {
-                gameplay.getCatanBoardGameView().logToGameLog(gameplay.getCurrentPlayer() + " is winning the game right now by upgrading to a City!");
-                tryBuildCity(gameplay, gameplay.getCatanBoardGameView().getBoardGroup());
+                gameplay.log(gameplay.getCurrentPlayer() + " is winning the game right now by upgrading to a City!");
+                tryBuildCity(gameplay, gameplay.getBoardGroup());
                 gameplay.stopAllAIThreads();
                 return Strategy.CITYUPGRADER;
             }
             // Build settlement to instant win if possible
             else if (hasLessThanMaxAllowedSettlements() && !getValidSettlementSpots(gameplay).isEmpty() && canAffordSettlement()) {
-                gameplay.getCatanBoardGameView().logToGameLog(gameplay.getCurrentPlayer() + " is winning the game right now by building a Settlement!");
-                tryBuildSettlement(gameplay, gameplay.getCatanBoardGameView().getBoardGroup());
+                gameplay.log(gameplay.getCurrentPlayer() + " is winning the game right now by building a Settlement!");
+                tryBuildSettlement(gameplay, gameplay.getBoardGroup());
                 gameplay.stopAllAIThreads();
                 return Strategy.SETTLEMENTPLACER;
             }
-            else if (canAffordRoad() && (gameplay.getCurrentPlayer() != gameplay.getLongestRoadManager().getCurrentHolder()) && canGetLongestRoad(gameplay)) {
-                gameplay.getCatanBoardGameView().logToGameLog(gameplay.getCurrentPlayer() + " is winning the game right now by becoming LongestRoadManager!");
-                tryBuildLongestRoad(gameplay, gameplay.getCatanBoardGameView().getBoardGroup());
+            else if (!gameplay.isRollout() && canAffordRoad() && (gameplay.getCurrentPlayer() != gameplay.getLongestRoadManager().getCurrentHolder()) && canGetLongestRoad(gameplay)) {
+                gameplay.log(gameplay.getCurrentPlayer() + " is winning the game right now by becoming LongestRoadManager!");
+                tryBuildLongestRoad(gameplay, gameplay.getBoardGroup());
                 gameplay.stopAllAIThreads();
                 return Strategy.LONGESTROAD;
             }
@@ -305,10 +349,15 @@ public class AIOpponent extends Player {
             gameplay.stopAllAIThreads();
             return Strategy.NONE;
         }
-        // ELSE - Check and evaluate all possible strategies
-
-        // 1. Longest Road and Biggest Army priority
-        if (!earlyGame() && shouldGoForLongestRoad(gameplay)) {
+        // ELSE - Check and evaluate all possible strategies (once per game state)
+        Strategy selected = evaluation.strategy(() -> evaluateHardStrategy(gameplay));
+        strategyUsageMap.merge(selected, 1, Integer::sum);
+        return selected;
+    }
+    private Strategy evaluateHardStrategy(Gameplay gameplay) {
+        Strategy selected = Strategy.NONE;
+        // 1. Longest Road and Biggest Army priority (rollouts skip the road planning, see Gameplay.startRollout)
+        if (!earlyGame() && !gameplay.isRollout() && shouldGoForLongestRoad(gameplay)) {
             selected = Strategy.LONGESTROAD;
         }
         else if (!earlyGame() && shouldGoForBiggestArmy(gameplay) && !gameplay.getShuffledDevelopmentCards().isEmpty()) {
@@ -321,7 +370,7 @@ public class AIOpponent extends Player {
         } else if (canAffordSettlement() && !getValidSettlementSpots(gameplay).isEmpty()) {
                 selected = Strategy.SETTLEMENTPLACER;
         // 4. If you cant build a new settlement anywhere, focus on roads now
-        } else if (canAffordRoad() && earlyGame() && getValidSettlementSpots(gameplay).isEmpty() && hasLessThanMaxAllowedRoads() && gameplay.getBoard().getEdges().stream().anyMatch(gameplay::isValidRoadPlacement)) {
+        } else if (canAffordRoad() && earlyGame() && getValidSettlementSpots(gameplay).isEmpty() && hasLessThanMaxAllowedRoads() && hasValidRoadPlacement(gameplay)) {
             selected = Strategy.ROADBUILDER;
         // 5. If you can almost upgrade to city, wait until you can do it
         } else if (
@@ -340,17 +389,15 @@ public class AIOpponent extends Player {
         } else if (shouldUseResources(10)) {
             selected = Strategy.USERESOURCES;
         // 9. Last resort if no other good strategy, build a road
-        } else if (hasLessThanMaxAllowedRoads() && gameplay.getBoard().getEdges().stream().anyMatch(gameplay::isValidRoadPlacement)) {
+        } else if (hasLessThanMaxAllowedRoads() && hasValidRoadPlacement(gameplay)) {
             selected = Strategy.ROADBUILDER;
         }
-        strategyUsageMap.merge(selected, 1, Integer::sum);
         return selected;
     }
 
     //_______________________________AI MOVE MAKING LOGIC______________________________//
     // Easy AI tries to make a move based on chosen Strategy
     private void makeEasyLevelMove(Gameplay gameplay, Group boardGroup) {
-        CatanBoardGameView view = gameplay.getCatanBoardGameView();
         int attempts = getMaxStrategyAttempts();
         boolean moveMade;
         do {
@@ -361,12 +408,11 @@ public class AIOpponent extends Player {
                 case SETTLEMENTPLACER -> moveMade = tryBuildSettlement(gameplay, boardGroup);
                 case ROADBUILDER -> moveMade = tryBuildRoad(gameplay, boardGroup);
             }
-        } while (moveMade && --attempts > 0);
-        view.runOnFX(gameplay::nextPlayerTurn);
+        } while (moveMade && --attempts > 0 && !gameplay.isGameOver());
+        gameplay.finishAITurn();
     }
     // Medium AI tries to make a move based on chosen Strategy
     private void makeMediumLevelMove(Gameplay gameplay, Group boardGroup) {
-        CatanBoardGameView view = gameplay.getCatanBoardGameView();
         int attempts = getMaxStrategyAttempts();
         boolean moveMade;
         do {
@@ -386,12 +432,11 @@ public class AIOpponent extends Player {
                 }
                 case ROADBUILDER -> moveMade = tryBuildRoad(gameplay, boardGroup);
             }
-        } while (moveMade && --attempts > 0);
-        view.runOnFX(gameplay::nextPlayerTurn);
+        } while (moveMade && --attempts > 0 && !gameplay.isGameOver());
+        gameplay.finishAITurn();
     }
     // Hard AI tries to make a move based on chosen Strategy
     private void makeHardLevelMove(Gameplay gameplay, Group boardGroup) {
-        CatanBoardGameView view = gameplay.getCatanBoardGameView();
         int attempts = getMaxStrategyAttempts();
         boolean moveMade;
         do {
@@ -414,15 +459,98 @@ public class AIOpponent extends Player {
                 case LONGESTROAD -> moveMade = tryBuildLongestRoad(gameplay, boardGroup);
                 case ROADBUILDER -> moveMade = tryBuildRoad(gameplay, boardGroup);
             }
-        } while (moveMade && --attempts > 0);
+        } while (moveMade && --attempts > 0 && !gameplay.isGameOver());
 
         // before finishing their turn, always try to play development card if they have any
         tryPlayDevCard(gameplay, boardGroup);
-        view.runOnFX(gameplay::nextPlayerTurn);
+        gameplay.finishAITurn();
+    }
+
+    // Expert AI lets the tree search pick one move at a time until ending the turn scores best.
+    // With a UI the turn's thinking time is the budget: every decision gets half of what is
+    // left, so the first (usually most important) move is searched the longest.
+    // Headless games use the search's own budget, independent of any thinking speed.
+    private void makeExpertLevelMove(Gameplay gameplay, Group boardGroup, long thinkingMillis) {
+        // Created on first use: look-ahead forks also contain EXPERT players but never search
+        if (search == null) {
+            search = new MonteCarloTreeSearch(MonteCarloTreeSearch.DEFAULT_TIME_BUDGET_MILLIS,
+                    gameplay.isHeadless() ? MonteCarloTreeSearch.DEFAULT_ITERATION_BUDGET : 0,
+                    Runtime.getRuntime().availableProcessors());
+        }
+        long turnDeadline = System.nanoTime() + thinkingMillis * 1_000_000;
+        int attempts = getMaxStrategyAttempts();
+        while (attempts-- > 0 && !gameplay.isGameOver() && !Thread.currentThread().isInterrupted()) {
+            long sliceMillis = Math.max(MIN_SEARCH_SLICE_MILLIS, (turnDeadline - System.nanoTime()) / 2_000_000);
+            long searchStart = gameplay.getAILatency().begin();
+            MonteCarloTreeSearch.Move move;
+            try {
+                move = gameplay.isHeadless()
+                        ? search.chooseMove(gameplay, this)
+                        : search.chooseMove(gameplay, this, sliceMillis);
+            } finally {
+                gameplay.getAILatency().end(strategyLevel, AILatency.Decision.SEARCH, searchStart);
+            }
+            if (move.getStrategy() != null) strategyUsageMap.merge(move.getStrategy(), 1, Integer::sum);
+            if (move == MonteCarloTreeSearch.Move.END_TURN || !applyExpertMove(move, gameplay, boardGroup)) break;
+        }
+        gameplay.finishAITurn();
+    }
+
+    // Moves the EXPERT AI can make right now; END_TURN is always possible
+    List<MonteCarloTreeSearch.Move> getExpertMoves(Gameplay gameplay) {
+        List<MonteCarloTreeSearch.Move> moves = new ArrayList<>();
+        moves.add(MonteCarloTreeSearch.Move.END_TURN);
+        if (hasLessThanMaxAllowedCities() && hasSettlementThatCanBeUpgradedToCity() && canAffordWithOneTrade(CITY_COST)) {
+            moves.add(MonteCarloTreeSearch.Move.CITY);
+        }
+        if (hasLessThanMaxAllowedSettlements() && canAffordWithOneTrade(SETTLEMENT_COST)
+                && !getValidSettlementSpots(gameplay).isEmpty()) {
+            moves.add(MonteCarloTreeSearch.Move.SETTLEMENT);
+        }
+        if (hasLessThanMaxAllowedRoads() && canAffordWithOneTrade(ROAD_COST)
+                && hasValidRoadPlacement(gameplay)) {
+            moves.add(MonteCarloTreeSearch.Move.ROAD);
+            if (canAffordRoad() && !earlyGame() && gameplay.getLongestRoadManager().getCurrentHolder() != this) {
+                moves.add(MonteCarloTreeSearch.Move.LONGEST_ROAD);
+            }
+        }
+        if (canAffordDevCard() && gameplay.hasRolledDice() && !gameplay.getShuffledDevelopmentCards().isEmpty()) {
+            moves.add(MonteCarloTreeSearch.Move.BUY_CARD);
+        }
+        if (!hasNoDevelopmentCards()) {
+            moves.add(MonteCarloTreeSearch.Move.PLAY_CARD);
+        }
+        if (shouldUseResources(8) && chooseSmartResourceToGive() != null) {
+            moves.add(MonteCarloTreeSearch.Move.BANK_TRADE);
+        }
+        return moves;
+    }
+
+    // Executes one EXPERT move (on the live game or on a look-ahead fork), true if anything changed
+    boolean applyExpertMove(MonteCarloTreeSearch.Move move, Gameplay gameplay, Group boardGroup) {
+        return switch (move) {
+            case END_TURN -> false;
+            case CITY -> tradeForMissing(CITY_COST, gameplay, Strategy.CITYUPGRADER) && tryBuildCity(gameplay, boardGroup);
+            case SETTLEMENT -> tradeForMissing(SETTLEMENT_COST, gameplay, Strategy.SETTLEMENTPLACER) && tryBuildSettlement(gameplay, boardGroup);
+            case ROAD -> tradeForMissing(ROAD_COST, gameplay, Strategy.ROADBUILDER) && tryBuildRoad(gameplay, boardGroup);
+            case LONGEST_ROAD -> tryBuildLongestRoad(gameplay, boardGroup);
+            case BUY_CARD -> tryBuyDevCard(gameplay);
+            case PLAY_CARD -> tryPlayDevCard(gameplay, boardGroup);
+            case BANK_TRADE -> tryBankTrade(gameplay, Strategy.USERESOURCES);
+        };
     }
 
     //_______________________________ BUILDS AND TRADES ______________________________//
     private boolean tryBuildCity(Gameplay gameplay, Group boardGroup) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return buildCityMove(gameplay, boardGroup);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.BUILD_CITY, start);
+        }
+    }
+    private boolean buildCityMove(Gameplay gameplay, Group boardGroup) {
         // Then check if you have enough resources
         if (!canAffordCity()) {
             // Attempt trade to fix the missing resources
@@ -447,9 +575,9 @@ public class AIOpponent extends Player {
             if (result == BuildResult.UPGRADED_TO_CITY) {
                 String msg = gameplay.getCurrentPlayer() + " UPGRADED TO A CITY";
                 Vertex finalBest = best;
-                gameplay.getCatanBoardGameView().runOnFX(() -> {
+                gameplay.runOnUI(() -> {
                     drawOrDisplay.drawCity(finalBest, boardGroup);
-                    gameplay.getCatanBoardGameView().logToGameLog(msg);
+                    gameplay.log(msg);
                 });
                 return true;
             }
@@ -458,6 +586,15 @@ public class AIOpponent extends Player {
     }
 
     private boolean tryBuildSettlement(Gameplay gameplay, Group boardGroup) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return buildSettlementMove(gameplay, boardGroup);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.BUILD_SETTLEMENT, start);
+        }
+    }
+    private boolean buildSettlementMove(Gameplay gameplay, Group boardGroup) {
         // Check if having all the resources
         if (!canAffordSettlement()) {
             // Attempt trade to fix the missing resources
@@ -468,9 +605,10 @@ public class AIOpponent extends Player {
         }
         Vertex bestSpot = null;
         int bestScore = Integer.MIN_VALUE;
+        int[] scores = gameplay.getBoard().getEvaluator().settlementScores(this, weights, gameplay);
 
         for (Vertex v : getValidSettlementSpots(gameplay)) {
-            int score = getSmartSettlementScore(v, gameplay);
+            int score = scores[v.getId()];
             if (score > bestScore) {
                 bestScore = score;
                 bestSpot = v;
@@ -483,11 +621,11 @@ public class AIOpponent extends Player {
             BuildResult result = gameplay.buildSettlement(bestSpot);
             if (result == BuildResult.SUCCESS) {
                 String msg = gameplay.getCurrentPlayer() + " successfully built a Settlement";
-                Circle circle = new Circle(bestSpot.getX(), bestSpot.getY(), 16.0 / gameplay.getBoardRadius());
                 Vertex finalBestSpot = bestSpot;
-                gameplay.getCatanBoardGameView().runOnFX(() -> {
+                gameplay.runOnUI(() -> {
+                    Circle circle = new Circle(finalBestSpot.getX(), finalBestSpot.getY(), 16.0 / gameplay.getBoardRadius());
                     drawOrDisplay.drawSettlement(circle, finalBestSpot, boardGroup);
-                    gameplay.getCatanBoardGameView().logToGameLog(msg);
+                    gameplay.log(msg);
                 });
                 return true;
             }
@@ -496,25 +634,37 @@ public class AIOpponent extends Player {
     }
 
     private boolean tryBuildRoad(Gameplay gameplay, Group boardGroup) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return buildRoadMove(gameplay, boardGroup);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.BUILD_ROAD, start);
+        }
+    }
+    private boolean buildRoadMove(Gameplay gameplay, Group boardGroup) {
         // Check if there is any place to build a Road available
-        List<Edge> validRoads = gameplay.getBoard().getEdges().stream()
-                .filter(gameplay::isValidRoadPlacement)
-                .toList();
-        if (validRoads.isEmpty()) return false; // No possible roads, early exit
+        if (!hasValidRoadPlacement(gameplay)) return false; // No possible roads, early exit
 
         // Check if can afford road, try trading if cant, then try again
         if (!canAffordRoad()) {
             if (!tryBankTrade(gameplay, Strategy.ROADBUILDER)) return false;
             if (!canAffordRoad()) return false;
         }
+        // Follow the planned path toward the best reachable settlement spot
         Edge bestEdge = null;
+        List<Edge> plan = gameplay.getBoard().getRoadPlanner().plan(this, gameplay);
+        if (!plan.isEmpty() && gameplay.isValidRoadPlacement(plan.get(0))) {
+            bestEdge = plan.get(0);
+        }
+        // No spot in reach: find the best single road to build
+        List<Edge> validRoads = bestEdge != null ? List.of() : gameplay.getBoard().getEdges().stream()
+                .filter(gameplay::isValidRoadPlacement)
+                .toList();
         int bestScore = Integer.MIN_VALUE;
-        // Find the best road to build
+        int[] scores = validRoads.isEmpty() ? null : gameplay.getBoard().getEvaluator().roadScores(this, weights, gameplay);
         for (Edge edge : validRoads) {
-            Vertex source = (getSettlementsAndCities().contains(edge.getVertex1())) ? edge.getVertex1()
-                    : (getSettlementsAndCities().contains(edge.getVertex2())) ? edge.getVertex2()
-                    : edge.getVertex1();
-            int score = getSmartRoadScore(edge, source, gameplay, false);
+            int score = scores[edge.getId()];
             if (score > bestScore) {
                 bestScore = score;
                 bestEdge = edge;
@@ -526,13 +676,13 @@ public class AIOpponent extends Player {
             if (result == BuildResult.SUCCESS) {
                 String msg = gameplay.getCurrentPlayer() + " successfully built a road";
                 Edge finalBestEdge = bestEdge;
-                gameplay.getCatanBoardGameView().runOnFX(() -> {
+                gameplay.runOnUI(() -> {
                     Line line = new Line(
                             finalBestEdge.getVertex1().getX(), finalBestEdge.getVertex1().getY(),
                             finalBestEdge.getVertex2().getX(), finalBestEdge.getVertex2().getY()
                     );
                     drawOrDisplay.drawRoad(line, this, boardGroup);
-                    gameplay.getCatanBoardGameView().logToGameLog(msg);
+                    gameplay.log(msg);
                 });
                 return true;
             }
@@ -541,108 +691,69 @@ public class AIOpponent extends Player {
     }
     // Build a road with main focus of getting longest road.
     private boolean tryBuildLongestRoad(Gameplay gameplay, Group boardGroup) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return buildLongestRoadMove(gameplay, boardGroup);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.LONGEST_ROAD, start);
+        }
+    }
+    private boolean buildLongestRoadMove(Gameplay gameplay, Group boardGroup) {
         // Step 1: Check if there are any valid road placements
-        List<Edge> validRoads = gameplay.getBoard().getEdges().stream()
-                .filter(gameplay::isValidRoadPlacement)
-                .toList();
-        if (validRoads.isEmpty()) return false;
+        if (!hasValidRoadPlacement(gameplay)) return false;
         // Step 2: Check if we can afford at least one road
         if (!canAffordRoad()) {
             if (!tryBankTrade(gameplay, Strategy.ROADBUILDER)) return false;
             if (!canAffordRoad()) return false;
         }
-        // Step 3: Calculate how many roads we can afford right now
-        int maxRoads = Math.min(getResourceAmount("Brick"), getResourceAmount("Wood"));
-        int currentLongest = gameplay.getLongestRoadManager().calculateLongestRoad(this);
-        List<Edge> myRoads = new ArrayList<>(getRoads());
-        Set<Edge> bestExtension = new HashSet<>();
-        for (Edge firstCandidate : validRoads) {
-            if (!connectsToMyNetwork(firstCandidate)) continue;
-            List<Edge> simulated = new ArrayList<>(myRoads);
-            simulated.add(firstCandidate);
-            Set<Edge> visited = new HashSet<>();
-            visited.add(firstCandidate);
-            // Extend only up to maxRoads limit
-            extendRoadPathLimited(simulated, visited, validRoads, maxRoads - 1);
-            int newLength = gameplay.getLongestRoadManager().calculateLongestRoadFromEdges(simulated);
-            if (newLength > currentLongest && visited.size() > bestExtension.size()) {
-                bestExtension = new HashSet<>(visited);
-            }
-        }
-        if (bestExtension.isEmpty()) return false;
-        // Step 4: Build as many roads as we can afford from the bestExtension path
-        for (Edge edge : bestExtension) {
-            if (!gameplay.isValidRoadPlacement(edge)) continue;
-            if (!canAffordRoad()) break;
-            BuildResult result = gameplay.buildRoad(edge);
-            if (result == BuildResult.SUCCESS) {
-                gameplay.getCatanBoardGameView().runOnFX(() -> {
-                    Line line = new Line(
-                            edge.getVertex1().getX(), edge.getVertex1().getY(),
-                            edge.getVertex2().getX(), edge.getVertex2().getY()
-                    );
-                    drawOrDisplay.drawRoad(line, this, boardGroup);
-                    gameplay.getCatanBoardGameView().logToGameLog(this + " extended their road network.");
-                    if (gameplay.isGameOver()) {gameplay.stopAllAIThreads();}
-                });
-                return true;
-            }
+        // Step 3: Best extension with the roads we can afford right now
+        RoadPlanner.LongestRoadExtension extension = planLongestRoad(gameplay);
+        if (extension.getRoads().isEmpty() || extension.getLength() <= evaluation.longestRoad(this)) return false;
+        // Step 4: Build the first road of the plan, the next attempt continues it
+        Edge edge = extension.getRoads().get(0);
+        if (!gameplay.isValidRoadPlacement(edge)) return false;
+        BuildResult result = gameplay.buildRoad(edge);
+        if (result == BuildResult.SUCCESS) {
+            gameplay.runOnUI(() -> {
+                Line line = new Line(
+                        edge.getVertex1().getX(), edge.getVertex1().getY(),
+                        edge.getVertex2().getX(), edge.getVertex2().getY()
+                );
+                drawOrDisplay.drawRoad(line, this, boardGroup);
+                gameplay.log(this + " extended their road network.");
+                if (gameplay.isGameOver()) {gameplay.stopAllAIThreads();}
+            });
+            return true;
         }
         return false;
     }
-    // Helper method to recursively extend roads with a limit on steps
-    private void extendRoadPathLimited(List<Edge> current, Set<Edge> visited, List<Edge> validRoads, int maxSteps) {
-        int steps = 0;
-        boolean added = true;
-        while (added && steps < maxSteps) {
-            added = false;
-            for (Edge edge : validRoads) {
-                if (visited.contains(edge)) continue;
-                for (Edge built : current) {
-                    if (edge.isConnectedTo(built.getVertex1()) || edge.isConnectedTo(built.getVertex2())) {
-                        current.add(edge);
-                        visited.add(edge);
-                        added = true;
-                        break;
-                    }
-                }
-            }
-            steps++;
-        }
-    }
     // Checks if AI can get the longest road right away.
     private boolean canGetLongestRoad(Gameplay gameplay) {
-        LongestRoadManager roadManager = gameplay.getLongestRoadManager();
-        Player currentHolder = roadManager.getCurrentHolder();
-        int holderLength = (currentHolder != null) ? roadManager.calculateLongestRoad(currentHolder) : 0;
-        // Step 1: Check if player has enough resources to build at least one road
-        int maxRoads = Math.min(getResourceAmount("Brick"), getResourceAmount("Wood"));
-        if (maxRoads <= 0) return false;
-        // Step 2: Simulate all valid roads we can build from our current network
-        List<Edge> validRoads = gameplay.getBoard().getEdges().stream()
-                .filter(gameplay::isValidRoadPlacement)
-                .filter(this::connectsToMyNetwork)
-                .toList();
-        if (validRoads.isEmpty()) return false;
-        List<Edge> currentRoads = new ArrayList<>(getRoads());
-
-        for (Edge startEdge : validRoads) {
-            List<Edge> simulated = new ArrayList<>(currentRoads);
-            simulated.add(startEdge);
-            Set<Edge> visited = new HashSet<>();
-            visited.add(startEdge);
-            // Simulate further roads up to what we can afford
-            extendRoadPathLimited(simulated, visited, validRoads, maxRoads - 1);
-            int simulatedLength = roadManager.calculateLongestRoadFromEdges(simulated);
-            if (simulatedLength > holderLength && simulatedLength >= 5) {
-                return true; // Can win Longest Road this turn
-            }
-        }
-        return false;
+        Player currentHolder = gameplay.getLongestRoadManager().getCurrentHolder();
+        int holderLength = (currentHolder != null) ? evaluation.longestRoad(currentHolder) : 0;
+        RoadPlanner.LongestRoadExtension extension = planLongestRoad(gameplay);
+        // Can win Longest Road this turn
+        return !extension.getRoads().isEmpty() && extension.getLength() > holderLength && extension.getLength() >= 5;
+    }
+    // Longest road plan using as many roads as we can afford and still have pieces for
+    private RoadPlanner.LongestRoadExtension planLongestRoad(Gameplay gameplay) {
+        int maxRoads = Math.min(Math.min(getResourceAmount("Brick"), getResourceAmount("Wood")),
+                gameplay.getMaxRoads() - getRoads().size());
+        return gameplay.getBoard().getRoadPlanner().planLongestRoad(this, gameplay, maxRoads);
     }
 
     // Attempt to trade with the bank
     public boolean tryBankTrade(Gameplay gameplay, Strategy strategy) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return bankTradeMove(gameplay, strategy);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.BANK_TRADE, start);
+        }
+    }
+    private boolean bankTradeMove(Gameplay gameplay, Strategy strategy) {
         Map<String, Integer> resources = getResources();
         List<String> allTypes = List.of("Brick", "Wood", "Ore", "Grain", "Wool");
         Map<String, Integer> targetCost = new HashMap<>();
@@ -687,6 +798,9 @@ public class AIOpponent extends Player {
             }
         }
 
+        // Another player may give the missing cards for less than the bank
+        if (tryPlayerTrade(gameplay, PackedHand.of(targetCost))) return true;
+
         // Try to trade for any missing resource from targetCost
         for (String need : targetCost.keySet()) {
             int owned = resources.getOrDefault(need, 0);
@@ -716,18 +830,23 @@ public class AIOpponent extends Player {
         if (ratio <= 0 || getResources().getOrDefault(give, 0) < ratio) {
             return false;
         }
+        // The bank must still have the card
+        if (gameplay.getBank().getSupply(receive) == 0) {
+            return false;
+        }
+        gameplay.getReplay().recordBankTrade(this, give, ratio, receive);
         // Deduct given resources
-        getResources().put(give, getResources().get(give) - ratio);
+        gameplay.getBank().deposit(this, give, ratio);
 
         // Add received resource
-        getResources().put(receive, getResources().getOrDefault(receive, 0) + 1);
+        gameplay.getBank().withdraw(this, receive, 1);
 
         // Log the trade to the UI via JavaFX thread
         String msg = gameplay.getCurrentPlayer() +
                 " traded " + ratio + " " + give +
                 " for 1 " + receive + " (Strategy: " + strategy + ")";
-        gameplay.getCatanBoardGameView().runOnFX(() -> {
-            gameplay.getCatanBoardGameView().logToGameLog(msg);
+        gameplay.runOnUI(() -> {
+            gameplay.log(msg);
         });
         return true;
     }
@@ -747,14 +866,226 @@ public class AIOpponent extends Player {
         return bestRatio;
     }
 
+    // Affordable now, or after one bank trade that keeps everything else the build needs
+    private boolean canAffordWithOneTrade(Map<String, Integer> cost) {
+        return missingCards(cost) == 0 || findSafeTrade(cost) != null;
+    }
+
+    private int missingCards(Map<String, Integer> cost) {
+        int missing = 0;
+        for (Map.Entry<String, Integer> entry : cost.entrySet()) {
+            missing += Math.max(0, entry.getValue() - getResourceAmount(entry.getKey()));
+        }
+        return missing;
+    }
+
+    // {give, receive} for the single missing card, giving away the biggest surplus; null if there is none
+    private String[] findSafeTrade(Map<String, Integer> cost) {
+        if (missingCards(cost) != 1) return null;
+        String need = null;
+        for (Map.Entry<String, Integer> entry : cost.entrySet()) {
+            if (getResourceAmount(entry.getKey()) < entry.getValue()) need = entry.getKey();
+        }
+        String give = null;
+        int bestSurplus = -1;
+        for (String resource : RESOURCE_NAMES) {
+            if (resource.equals(need)) continue;
+            int surplus = getResourceAmount(resource) - cost.getOrDefault(resource, 0) - getBestTradeRatio(resource, this);
+            if (surplus > bestSurplus) {
+                bestSurplus = surplus;
+                give = resource;
+            }
+        }
+        return give == null ? null : new String[]{give, need};
+    }
+
+    private boolean tradeForMissing(Map<String, Integer> cost, Gameplay gameplay, Strategy strategy) {
+        if (missingCards(cost) == 0) return true;
+        if (tryPlayerTrade(gameplay, PackedHand.of(cost)) && missingCards(cost) == 0) return true;
+        String[] trade = findSafeTrade(cost);
+        return trade != null && executeBankTrade(gameplay, trade[0], trade[1], strategy);
+    }
+
+    //_____________________________PLAYER TRADE LOGIC________________________________//
+    // Posts offers for the cards still missing for cost (one or two spare cards per missing card)
+    // to the other players and takes the answer that raises this AI's hand value most
+    private boolean tryPlayerTrade(Gameplay gameplay, long cost) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return playerTradeMove(gameplay, cost);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.PLAYER_TRADE, start);
+        }
+    }
+    private boolean playerTradeMove(Gameplay gameplay, long cost) {
+        if (strategyLevel == StrategyLevel.EASY || gameplay.isRollout()) return false;
+        TradeNegotiator negotiator = gameplay.getTradeNegotiator();
+        if (!negotiator.canAITrade(this)) return false;
+        long hand = PackedHand.of(this);
+        if (PackedHand.missing(hand, cost) == 0) return false;
+
+        TradePlan plan = getTradePlan();
+        int current = plan.value(hand, cost);
+        TradeOffer best = null;
+        int bestGain = TRADE_MIN_GAIN - 1;
+        for (int need = 0; need < PackedHand.TYPES; need++) {
+            if (PackedHand.get(hand, need) >= PackedHand.get(cost, need)) continue;
+            for (int spare = 0; spare < PackedHand.TYPES; spare++) {
+                int surplus = PackedHand.get(hand, spare) - PackedHand.get(cost, spare);
+                if (spare == need || surplus <= 0) continue;
+                for (int amount = 1; amount <= Math.min(TRADE_MAX_GIVE, surplus); amount++) {
+                    TradeOffer offer = new TradeOffer(this, PackedHand.single(spare, amount), PackedHand.single(need, 1));
+                    for (TradeOffer answer : negotiator.collectAnswers(offer)) {
+                        if (!PackedHand.covers(hand, answer.getGive())) continue;
+                        long after = PackedHand.add(PackedHand.subtract(hand, answer.getGive()), answer.getReceive());
+                        int gain = plan.value(after, cost) - current;
+                        if (gain > bestGain) {
+                            bestGain = gain;
+                            best = answer;
+                        }
+                    }
+                }
+            }
+        }
+        if (best == null || !negotiator.execute(best)) return false;
+        String msg = best.toString();
+        gameplay.runOnUI(() -> gameplay.log(msg));
+        return true;
+    }
+
+    // Answer to another player's offer: the offer itself if it helps this AI's plan, otherwise the
+    // counter-offer that helps most (one more card for us, or a card we can spare instead), null if none does
+    public TradeOffer respondToTrade(TradeOffer offer, Gameplay gameplay) {
+        Player proposer = offer.getProposer();
+        if (proposer == this || proposer.getPlayerScore() >= gameplay.getMaxVictoryPoints() - TRADE_LEADER_MARGIN) return null;
+        TradePlan plan = getTradePlan();
+        long hand = PackedHand.of(this);
+        int current = plan.value(hand);
+        if (PackedHand.covers(hand, offer.getReceive())
+                && plan.value(PackedHand.add(PackedHand.subtract(hand, offer.getReceive()), offer.getGive())) - current >= TRADE_MIN_GAIN) {
+            return offer.acceptedBy(this);
+        }
+
+        HandInference inference = gameplay.getHandInference();
+        long bestGive = 0;
+        long bestReceive = 0;
+        int bestGain = TRADE_MIN_GAIN - 1;
+        int asked = PackedHand.total(offer.getReceive());
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            // One more card from the proposer, of a resource we expect it to hold (see HandInference;
+            // TradeNegotiator.execute refuses the trade if it does not)
+            long give = PackedHand.add(offer.getGive(), PackedHand.single(type, 1));
+            if (PackedHand.get(offer.getReceive(), type) == 0 && PackedHand.get(give, type) <= PackedHand.MAX_BUNDLE_COUNT
+                    && Math.round(inference.getExpected(this, proposer, type)) >= PackedHand.get(give, type)
+                    && PackedHand.covers(hand, offer.getReceive())) {
+                int gain = plan.value(PackedHand.add(PackedHand.subtract(hand, offer.getReceive()), give)) - current;
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestGive = give;
+                    bestReceive = offer.getReceive();
+                }
+            }
+            // The same number of cards, but of a resource we can spare
+            long receive = PackedHand.single(type, asked);
+            if (receive != offer.getReceive() && PackedHand.get(offer.getGive(), type) == 0 && asked <= PackedHand.MAX_BUNDLE_COUNT
+                    && PackedHand.covers(hand, receive)) {
+                int gain = plan.value(PackedHand.add(PackedHand.subtract(hand, receive), offer.getGive())) - current;
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestGive = offer.getGive();
+                    bestReceive = receive;
+                }
+            }
+        }
+        return bestGive == 0 ? null : offer.counteredBy(this, bestGive, bestReceive);
+    }
+
+    TradePlan getTradePlan() {
+        return evaluation.tradePlan(this::calculateTradePlan);
+    }
+
+    // Aims for the build the AI is closest to affording (ties: city, settlement, card, road)
+    private TradePlan calculateTradePlan() {
+        long hand = PackedHand.of(this);
+        long target = PackedHand.EMPTY;
+        int fewestMissing = Integer.MAX_VALUE;
+        List<Map<String, Integer>> options = new ArrayList<>();
+        if (hasLessThanMaxAllowedCities() && !getSettlements().isEmpty()) options.add(CITY_COST);
+        if (hasLessThanMaxAllowedSettlements()) options.add(SETTLEMENT_COST);
+        if (!gameplay.getShuffledDevelopmentCards().isEmpty()) options.add(DEV_CARD_COST);
+        if (hasLessThanMaxAllowedRoads()) options.add(ROAD_COST);
+        for (Map<String, Integer> option : options) {
+            long cost = PackedHand.of(option);
+            int missing = PackedHand.missing(hand, cost);
+            if (missing < fewestMissing) {
+                fewestMissing = missing;
+                target = cost;
+            }
+        }
+        int produced = gameplay.getBoard().getSettlementRanking().ownedTypeMask(this);   // Bit per resource type
+        int[] spareValue = new int[PackedHand.TYPES];
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            spareValue[type] = TRADE_SPARE_CARD + ((produced >>> type & 1) == 0 ? 1 : 0);
+        }
+        return new TradePlan(target, spareValue);
+    }
+
+    // What the AI is saving for and what every card is worth to it, worked out once per game state
+    // (see AIEvaluationContext) so each offer is scored with a handful of integer operations
+    static final class TradePlan {
+        private final long target;          // Cost of the build the AI saves for
+        private final int[] spareValue;     // Per resource, for cards the build does not use
+
+        TradePlan(long target, int[] spareValue) {
+            this.target = target;
+            this.spareValue = spareValue;
+        }
+
+        int value(long hand) {
+            return value(hand, target);
+        }
+
+        // Missing cards of the target cost most, then cards the target uses, then spare cards
+        int value(long hand, long target) {
+            int value = -PackedHand.missing(hand, target) * TRADE_MISSING_CARD;
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                int count = PackedHand.get(hand, type);
+                int used = Math.min(count, PackedHand.get(target, type));
+                value += used * TRADE_PLAN_CARD + (count - used) * spareValue[type];
+            }
+            return value;
+        }
+
+        long getTarget() { return target; }
+    }
+
     //_____________________________DEVELOPMENT CARD LOGIC________________________________//
     private boolean tryBuyDevCard(Gameplay gameplay) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return buyDevCardMove(gameplay);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.BUY_CARD, start);
+        }
+    }
+    private boolean buyDevCardMove(Gameplay gameplay) {
         if (!hasResources("Wool", 1) || !hasResources("Grain", 1)|| !hasResources("Ore", 1) || !gameplay.hasRolledDice() || gameplay.getShuffledDevelopmentCards().isEmpty() ) {return false;}
         gameplay.buyDevelopmentCard();
         return true;
     }
 
     private boolean tryPlayDevCard(Gameplay gameplay, Group boardGroup) {
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        try {
+            return playDevCardMove(gameplay, boardGroup);
+        } finally {
+            latency.end(strategyLevel, AILatency.Decision.PLAY_CARD, start);
+        }
+    }
+    private boolean playDevCardMove(Gameplay gameplay, Group boardGroup) {
         if (hasNoDevelopmentCards()) {
             return false;
         }
@@ -762,6 +1093,7 @@ public class AIOpponent extends Player {
             DevelopmentCard.DevelopmentCardType devCardType = getFirstDevelopmentCard();
             if (devCardType != null) {
                 // Call the enum-based AI method
+                gameplay.getReplay().recordPlayCard(this, devCardType);
                 devCardType.playAsAI(this, gameplay.getDevelopmentCard(), gameplay);
 
                 // Remove it from inventory AFTER play
@@ -780,21 +1112,21 @@ public class AIOpponent extends Player {
         }
         boolean closeEnough;
         Player currentHolder = gameplay.getLongestRoadManager().getCurrentHolder();
-        int myLongest = gameplay.getLongestRoadManager().calculateLongestRoad(this);
+        int myLongest = evaluation.longestRoad(this);
 
         // if no one is LongestRoadManager, try to get longest road right away if already have 4
         if (currentHolder == null) {
-            gameplay.getCatanBoardGameView().logToGameLog("No One is Longest Road Manager yet, I'll take it!");
+            gameplay.log("No One is Longest Road Manager yet, I'll take it!");
             return myLongest == 4 && canAffordRoad();
         }
 
-        int holderLength = gameplay.getLongestRoadManager().calculateLongestRoad(currentHolder);
+        int holderLength = evaluation.longestRoad(currentHolder);
 
         // if current longestRoadManager is almost winning - Try sabotage them by overtaking longest road
         if (gameplay.getLongestRoadManager().getCurrentHolder().getPlayerScore() >= 8) {
             closeEnough = myLongest + 1 > holderLength;
             if (closeEnough && (hasResources("Wood",1) || hasResources("Brick",1))) {
-                gameplay.getCatanBoardGameView().logToGameLog("current Longest Road manager is a big thread, i want to steal it from them!");
+                gameplay.log("current Longest Road manager is a big thread, i want to steal it from them!");
             }
             // Try steal longest road if you only need 1 road and maximum missing 1 resource to do it
             return closeEnough && (hasResources("Wood",1) || hasResources("Brick",1));
@@ -843,61 +1175,18 @@ public class AIOpponent extends Player {
     }
 
     //_____________________________________HELPER / CALCULATION FUNCTIONS_____________________________________//
-    // How many new resources a certain Tile would give the player
-    private int countMissingResourcesCovered(Vertex vertex, Gameplay gameplay) {
-        Set<String> ownedTypes = new HashSet<>();
-        for (Vertex settlement : getSettlementsAndCities()) {
-            for (Tile tile : gameplay.getBoard().getTiles()) {
-                if (tile.getVertices().contains(settlement)) {
-                    ownedTypes.add(tile.getResourcetype().toString());
-                }
-            }
-        }
-        Set<String> newTypes = new HashSet<>();
-        for (Tile tile : gameplay.getBoard().getTiles()) {
-            if (tile.getVertices().contains(vertex)) {
-                newTypes.add(tile.getResourcetype().toString());
-            }
-        }
-        int missingCovered = 0;
-        for (String type : newTypes) {
-            if (!ownedTypes.contains(type)) {
-                missingCovered++;
-            }
-        }
-        return missingCovered;
-    }
-    // Helper to count cards towards needed resources based on current Strategy
-    public int countHelpfulCards(Player victim, Set<String> neededResources) {
-        int count = 0;
-        for (String res : neededResources) {
-            count += victim.getResources().getOrDefault(res, 0);
-        }
-        return count;
+    // Helper to count cards towards needed resources based on current Strategy.
+    // Opponents' hands are hidden, so this is the expected count from card counting
+    public double countHelpfulCards(Player victim, Set<String> neededResources) {
+        return gameplay.getHandInference().getExpected(this, victim, neededResources);
     }
 
-    // Sleep the AI timer for real game simulation effect
-    private void pauseBeforeMove() {
-        if (Platform.isFxApplicationThread()) {
-            System.err.println("AI pause called on JavaFX Application Thread!");
-        }
-        int delayMillis;
-        switch (thinkingSpeed) {
-            case SLOW -> delayMillis = ThreadLocalRandom.current().nextInt(3000, 7000);
-            case FAST -> delayMillis = 700;
-            case EXTREME -> delayMillis = 20;
-            default -> delayMillis = 1500;
-        }
-        try {
-            int step = 10;
-            int steps = delayMillis / step;
-            for (int i = 0; i < steps; i++) {
-                if (Thread.currentThread().isInterrupted()) return;
-                Thread.sleep(step);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    // Thinking time to wait before this AI's turn starts, for a natural pace when people watch.
+    // EXPERT spends its thinking time searching during the turn instead
+    public long getPacingDelayMillis(Gameplay gameplay) {
+        if (gameplay.isHeadless()) return 0; // Simulations run at full speed
+        if (strategyLevel == StrategyLevel.EXPERT && !gameplay.isInInitialPhase()) return 0;
+        return thinkingSpeed.nextBudgetMillis(thinkingRandom);
     }
 
     //_____________________________________CHOOSING HELPERS_____________________________________//
@@ -1029,13 +1318,13 @@ public class AIOpponent extends Player {
     }
 
     private boolean hasLessThanMaxAllowedCities() {
-        return getCities().size() < menuView.getMaxCities();
+        return getCities().size() < gameplay.getMaxCities();
     }
 
-    private boolean hasLessThanMaxAllowedSettlements() { return getSettlements().size() < menuView.getMaxSettlements();}
+    private boolean hasLessThanMaxAllowedSettlements() { return getSettlements().size() < gameplay.getMaxSettlements();}
 
     private boolean hasLessThanMaxAllowedRoads() {
-        return getRoads().size() < menuView.getMaxRoads();
+        return getRoads().size() < gameplay.getMaxRoads();
     }
 
     private boolean hasAlmostEnoughResourcesForCityUpgrade() {
@@ -1086,6 +1375,9 @@ public class AIOpponent extends Player {
     //__________________________CALCULATION FUNCTIONS__________________________//
     // Helper to calculate how much of a resource a player gets
     public int getProductionScore(String resourceType) {
+        return evaluation.productionScore(resourceType, () -> calculateProductionScore(resourceType));
+    }
+    private int calculateProductionScore(String resourceType) {
         int productionScore = 0;
         //Loop settlements
         for (Vertex v : getSettlements()) {
@@ -1108,86 +1400,29 @@ public class AIOpponent extends Player {
         return productionScore;
     }
 
-    // Helper to choose the best possible spot for a Settlement placement
-    private int getSmartSettlementScore(Vertex vertex, Gameplay gameplay) {
-        int diceValue = getSettlementDiceValue(vertex, gameplay);     // Primary: total dice probability
-        int diversity = getResourceDiversityScore(vertex, gameplay);  // Secondary: unique resource types
-        int newResources = countMissingResourcesCovered(vertex, gameplay); // Bonus: new types for player
-        boolean blocked = isBlocked(vertex, gameplay);
-        int score;
-        // Weighted scoring
-        if (getPlayerScore() == 0) { // First settlement
-            score =  (diceValue * 4) + (diversity * 5);
-        }
-        else if (newResources == diversity && diversity != 1) { // AI tries to get all resource types
-            score =  (diceValue * 11) + (diversity * 5);
-        }
-        // Standard scoring else
-        else score = diceValue * 6 + newResources * 13 + diversity * 3;
-
-        // Heavily penalize blocked vertices (should never pick them)
-        if (blocked) score -= 1000;
-        return score;
-    }
     // Calculate combined dice roll probability of tiles in a single vertex (return 'int' out of 36)
     public int getSettlementDiceValue(Vertex v, Gameplay gameplay) {
-        int total = 0;
-        for (Tile tile : gameplay.getBoard().getTiles()) {
-            if (tile.getVertices().contains(v)) {
-                total += getDiceProbabilityValue(tile.getTileDiceNumber());
-            }
-        }
-        return total;
-    }
-
-    // Multiple different types of resources are typically better than
-    private int getResourceDiversityScore(Vertex vertex, Gameplay gameplay) {
-        Set<Resource.ResourceType> resourceTypes = new HashSet<>();
-        for (Tile tile : gameplay.getBoard().getTiles()) {
-            if (tile.getVertices().contains(vertex)) {
-                resourceTypes.add(tile.getResourcetype());
-            }
-        }
-        return resourceTypes.size();
+        return gameplay.getBoard().getSettlementRanking().getDiceValue(v);
     }
 
     // returning all valid spots to place a settlement
     private List<Vertex> getValidSettlementSpots(Gameplay gameplay) {
-        return gameplay.getBoard().getVertices().stream()
+        return evaluation.validSettlementSpots(() -> gameplay.getBoard().getVertices().stream()
                 .filter(gameplay::isValidSettlementPlacement)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
-    // Helper to decide which road is the best road to build
-    private int getSmartRoadScore(Edge edge, Vertex source, Gameplay gameplay, boolean initialphase) {
-        Vertex target;
-        if (initialphase) {
-            target = source;
-        } else {
-            target = edge.getOppositeVertex(source);
-        }
-        int roadScore = 0;
-
-        // 1. Top priority! can build settlement at target
-        if (gameplay.isValidSettlementPlacement(target, true) ||
-                gameplay.isValidSettlementPlacement(source, true)) {
-            roadScore += 2000;
-        }
-        // 2. Smart scoring for actually good settlement locations
-        int settlementScore = getSmartSettlementScore(target, gameplay); // Already includes dice values, diversity etc.
-        // 3. Favor well-connected tiles
-        int tileCount = target.getAdjacentTiles().size();
-        // 4. Penalize already connected vertices (avoid loops)
-        long friendlyRoads = getRoads().stream()
-                .filter(r -> r.isConnectedTo(target))
-                .count();
-        // 5. Final scoring formula taking everything into account
-        roadScore += (settlementScore * 3) + (tileCount * 2) - (int)(friendlyRoads * 40);
-        return roadScore;
+    // true if a road can be built anywhere right now
+    private boolean hasValidRoadPlacement(Gameplay gameplay) {
+        return evaluation.roadPlacementAvailable(() -> gameplay.getBoard().getEdges().stream()
+                .anyMatch(gameplay::isValidRoadPlacement));
     }
 
     // Helper to choose which resources are needed for different strategies
     public Set<String> getNeededResourcesForStrategy(Strategy strategy) {
+        return evaluation.neededResources(strategy, () -> calculateNeededResources(strategy));
+    }
+    private Set<String> calculateNeededResources(Strategy strategy) {
         Set<String> needed = new HashSet<>();
         switch (strategy) {
             case CITYUPGRADER -> {
@@ -1233,10 +1468,24 @@ public class AIOpponent extends Player {
     }
 
     //__________________________SETTERS__________________________//
+    public ThinkingSpeed getThinkingSpeed() {
+        return thinkingSpeed;
+    }
+
     public void setThinkingSpeed(ThinkingSpeed speed) {
         this.thinkingSpeed = speed;
     }
 
+    // Replaces the EXPERT search budget, e.g. a fixed iteration count for reproducible tournaments
+    public void setSearch(MonteCarloTreeSearch search) {
+        this.search = search;
+    }
+
+    // Scoring weights for this AI only, e.g. a candidate playing against the standard weights
+    public void setWeights(AIWeights weights) {
+        this.weights = weights;
+    }
+
     //__________________________GETTERS__________________________//
     public EnumMap<Strategy, Integer> getStrategyUsageMap() {
         return strategyUsageMap;
@@ -1249,4 +1498,16 @@ public class AIOpponent extends Player {
     public StrategyLevel getStrategyLevel() {
         return strategyLevel;
     }
+
+    public MonteCarloTreeSearch getSearch() {
+        return search;
+    }
+
+    public AIEvaluationContext getEvaluation() {
+        return evaluation;
+    }
+
+    public AIWeights getWeights() {
+        return weights;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package org.example.catanboardgameapp;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+//___________________________AI TURN RUNNER___________________________//
+// Runs the AI turns of one game on a single managed worker thread instead of a new thread per turn.
+// Every turn is a cancellable task: cancelling interrupts it, and the next turn is queued behind
+// it, so two AI turns never run at the same time. Pausing refuses new turns until the game is
+// resumed; game over and leaving the game shut the worker down.
+// The AI's thinking time is a scheduled delay before the turn starts, so no thread sleeps
+// through it: pausing simply cancels the waiting turn, and resuming schedules it again with
+// only the thinking time it had left. A turn that has already started is not dropped: it plays
+// on and stays active until it ends, so resuming cannot start the same turn a second time.
+// Also keeps how long turns waited in the queue and how long they ran. A turn that throws is
+// counted as failed and handed to the callback given by Gameplay, which reports and recovers it.
+public class AITurnRunner {
+
+    //___________________________FIELDS___________________________//
+    private final ScheduledThreadPoolExecutor executor;
+    private final Consumer<RuntimeException> failureHandler;
+    private ScheduledFuture<?> activeTurn;
+    private long activeTurnId;            // Counts submits, so a dropped turn that was just starting can tell
+    private boolean activeStarted;        // The active turn has left its thinking time
+    private boolean paused;
+    private long resumeDelayNanos = -1;   // Thinking time left by a turn cancelled on pause, -1 if none
+
+    // Metrics, all guarded by this
+    private long submitted;
+    private long completed;
+    private long cancelled;
+    private long failed;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+    private long totalRunNanos;
+    private long maxRunNanos;
+
+    //___________________________CONSTRUCTOR___________________________//
+    public AITurnRunner(Consumer<RuntimeException> failureHandler) {
+        this.failureHandler = failureHandler;
+        executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ai-turn");
+            thread.setDaemon(true);   // Never keeps the app alive
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);   // A cancelled waiting turn leaves the queue at once
+    }
+
+    //___________________________TURNS___________________________//
+    // Queues an AI turn to start right away; false if a turn is still active, the runner is paused or it is shut down
+    public boolean submit(Runnable turn) {
+        return submit(0, turn);
+    }
+
+    // Queues an AI turn to start after the given thinking time
+    public synchronized boolean submit(long delayMillis, Runnable turn) {
+        if (paused || executor.isShutdown()) return false;
+        if (activeTurn != null && !activeTurn.isDone()) return false;
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        if (resumeDelayNanos >= 0) {
+            delayNanos = Math.min(delayNanos, resumeDelayNanos);
+            resumeDelayNanos = -1;
+        }
+        long plannedStart = System.nanoTime() + delayNanos;
+        long turnId = activeTurnId + 1;
+        try {
+            activeTurn = executor.schedule(() -> runTurn(turnId, turn, plannedStart), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;   // Shut down in the meantime
+        }
+        activeTurnId = turnId;
+        activeStarted = false;
+        submitted++;
+        return true;
+    }
+
+    // The queue wait is counted from the planned start, so thinking time is not latency
+    private void runTurn(long turnId, Runnable turn, long plannedStart) {
+        if (!start(turnId)) return;   // Dropped while it was starting
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            turn.run();
+            ok = true;
+        } catch (RuntimeException e) {
+            // The future is never read, so hand the failure on here instead of losing it
+            failureHandler.accept(e);
+        } finally {
+            record(plannedStart, start, System.nanoTime(), ok, Thread.currentThread().isInterrupted());
+        }
+    }
+
+    // Marks the turn as started unless it was dropped or replaced in the meantime
+    private synchronized boolean start(long turnId) {
+        if (activeTurn == null || turnId != activeTurnId) return false;
+        activeStarted = true;
+        return true;
+    }
+
+    private synchronized void record(long plannedStart, long start, long end, boolean ok, boolean interrupted) {
+        long queueNanos = Math.max(0, start - plannedStart);
+        long runNanos = end - start;
+        totalQueueNanos += queueNanos;
+        maxQueueNanos = Math.max(maxQueueNanos, queueNanos);
+        totalRunNanos += runNanos;
+        maxRunNanos = Math.max(maxRunNanos, runNanos);
+        if (!ok) failed++;
+        else if (interrupted) cancelled++;
+        else completed++;
+    }
+
+    // Interrupts the running turn (a waiting one is dropped), e.g. before the next turn starts
+    public synchronized void cancelActive() {
+        if (activeTurn != null && !activeTurn.isDone()) {
+            boolean waiting = isWaiting();
+            if (activeTurn.cancel(true) && waiting) cancelled++;   // Never ran, so runTurn does not count it
+        }
+        activeTurn = null;
+    }
+
+    // Drops the active turn only if it is still in its thinking time; true if it was dropped
+    public synchronized boolean cancelIfWaiting() {
+        if (!isWaiting()) return false;
+        cancelActive();
+        return true;
+    }
+
+    private boolean isWaiting() {
+        return activeTurn != null && !activeTurn.isDone() && !activeStarted;
+    }
+
+    //___________________________LIFECYCLE___________________________//
+    // A waiting turn is dropped and keeps the thinking time it had left; a running one plays on
+    public synchronized void pause() {
+        paused = true;
+        if (isWaiting()) {
+            resumeDelayNanos = Math.max(0, activeTurn.getDelay(TimeUnit.NANOSECONDS));
+            cancelIfWaiting();
+        }
+    }
+
+    public synchronized void resume() {
+        paused = false;
+    }
+
+    // Game over or leaving the game: stops the running turn and lets the worker thread end
+    public synchronized void shutdown() {
+        cancelActive();
+        executor.shutdownNow();
+    }
+
+    // True if a new turn would be accepted now
+    public synchronized boolean isReady() {
+        return !paused && !executor.isShutdown() && (activeTurn == null || activeTurn.isDone());
+    }
+
+    //___________________________METRICS___________________________//
+    public synchronized boolean isPaused()       { return paused; }
+    public synchronized boolean isShutdown()     { return executor.isShutdown(); }
+    public int getQueueLength()                  { return executor.getQueue().size(); }
+    public synchronized long getSubmitted()      { return submitted; }
+    public synchronized long getCompleted()      { return completed; }
+    public synchronized long getCancelled()      { return cancelled; }
+    public synchronized long getFailed()         { return failed; }
+    public synchronized long getMaxQueueMillis() { return maxQueueNanos / 1_000_000; }
+    public synchronized long getMaxRunMillis()   { return maxRunNanos / 1_000_000; }
+
+    public synchronized String summary() {
+        long finished = completed + cancelled + failed;
+        double averageQueue = finished == 0 ? 0 : totalQueueNanos / 1e6 / finished;
+        double averageRun = finished == 0 ? 0 : totalRunNanos / 1e6 / finished;
+        return String.format("AI turns: %d submitted, %d completed, %d cancelled, %d failed | queue wait avg %.1f ms, max %d ms | run avg %.1f ms, max %d ms",
+                submitted, completed, cancelled, failed, averageQueue, getMaxQueueMillis(), averageRun, getMaxRunMillis());
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+//___________________________AI HEURISTIC WEIGHTS___________________________//
+// The numbers the rule-based AI scores its options with: settlement spots, roads, discards and
+// the robber's threat multiplier. Kept as one parameter vector so a set of weights can be
+// loaded from a file, written out by WeightTuner and handed to a single AIOpponent.
+// Every weight is a non-negative magnitude; the sign it is used with is fixed in the code.
+public final class AIWeights {
+
+    //___________________________WEIGHTS___________________________//
+    public enum Weight {
+        OPENING_DICE("settlement.opening.dice", 4),                // First settlement: per dice pip
+        OPENING_DIVERSITY("settlement.opening.diversity", 5),      // First settlement: per resource type
+        ALL_NEW_DICE("settlement.allNew.dice", 11),                // Spot with only new resource types: per dice pip
+        ALL_NEW_DIVERSITY("settlement.allNew.diversity", 5),       // Spot with only new resource types: per type
+        EXPANSION_DICE("settlement.expansion.dice", 6),            // Other spots: per dice pip
+        EXPANSION_NEW_TYPE("settlement.expansion.newType", 13),    // Other spots: per resource type not owned yet
+        EXPANSION_DIVERSITY("settlement.expansion.diversity", 3),  // Other spots: per resource type
+        BLOCKED_PENALTY("settlement.blockedPenalty", 1000),        // Spot cut off by an opponent
+        ROAD_REACHES_SETTLEMENT("road.reachesSettlement", 2000),   // Road ends at a buildable spot
+        ROAD_SETTLEMENT_SCORE("road.settlementScore", 3),          // Per settlement score of the far end
+        ROAD_TILE_COUNT("road.tileCount", 2),                      // Per land tile at the far end
+        ROAD_LOOP_PENALTY("road.loopPenalty", 40),                 // Per own road already at the far end
+        ROAD_PATH_COST("road.pathCost", 30),                       // Planned roads: score given up per path cost
+        DISCARD_OWNED("discard.owned", 3),                         // Per card kept on a 7
+        DISCARD_PRODUCTION("discard.production", 2),               // Per dice pip producing that resource
+        DISCARD_NEEDED("discard.needed", 8),                       // Per card a near-term build would miss
+        DISCARD_AFFORDABLE("discard.affordable", 16),              // Per near-term build still affordable
+        DISCARD_TWO_TO_ONE("discard.twoToOneHarbor", 6),           // Resource with a 2:1 harbor
+        DISCARD_THREE_TO_ONE("discard.threeToOneHarbor", 3),       // Resource with a 3:1 harbor
+        ROBBER_THREAT("robber.threat", 2);                         // Extra dice weight on a player close to winning
+
+        private final String key;
+        private final int defaultValue;
+
+        Weight(String key, int defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+
+        public String getKey()       { return key; }
+        public int getDefaultValue() { return defaultValue; }
+    }
+
+    //___________________________FIELDS___________________________//
+    public static final Path DEFAULT_PATH = Path.of("ai-weights.properties");  // Picked up at startup when present
+    public static final AIWeights DEFAULTS = new AIWeights(defaultValues());
+
+    private static volatile AIWeights standard;   // What new AIs use, loaded once
+    private final int[] values;                   // Indexed by Weight.ordinal()
+    private final int hash;                       // Weights are looked up per board in SettlementRanking
+
+    //___________________________CONSTRUCTOR___________________________//
+    public AIWeights(int[] values) {
+        if (values.length != Weight.values().length) {
+            throw new IllegalArgumentException("Expected " + Weight.values().length + " weights, got " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) throw new IllegalArgumentException(Weight.values()[i].getKey() + " must not be negative");
+        }
+        this.values = values.clone();
+        this.hash = Arrays.hashCode(this.values);
+    }
+
+    private static int[] defaultValues() {
+        Weight[] weights = Weight.values();
+        int[] values = new int[weights.length];
+        for (Weight weight : weights) values[weight.ordinal()] = weight.getDefaultValue();
+        return values;
+    }
+
+    //___________________________STANDARD WEIGHTS___________________________//
+    // Weights from DEFAULT_PATH if that file exists, otherwise the built-in ones
+    public static AIWeights getStandard() {
+        AIWeights current = standard;
+        if (current == null) {
+            synchronized (AIWeights.class) {
+                if (standard == null) standard = loadStandard();
+                current = standard;
+            }
+        }
+        return current;
+    }
+
+    public static void setStandard(AIWeights weights) {
+        standard = weights;
+    }
+
+    private static AIWeights loadStandard() {
+        if (!Files.isRegularFile(DEFAULT_PATH)) return DEFAULTS;
+        try {
+            return load(DEFAULT_PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not load " + DEFAULT_PATH + ", using built-in AI weights: " + e.getMessage());
+            return DEFAULTS;
+        }
+    }
+
+    //___________________________FILES___________________________//
+    // key=value lines; weights missing from the file keep their built-in value
+    public static AIWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        int[] values = defaultValues();
+        for (String key : properties.stringPropertyNames()) {
+            Weight weight = byKey(key);
+            try {
+                values[weight.ordinal()] = Integer.parseInt(properties.getProperty(key).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Weight " + key + " is not a whole number");
+            }
+        }
+        return new AIWeights(values);
+    }
+
+    public void save(Path path, String comment) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (comment != null) lines.add("# " + comment);
+        for (Weight weight : Weight.values()) {
+            lines.add(weight.getKey() + "=" + values[weight.ordinal()]);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.write(path, lines);
+    }
+
+    private static Weight byKey(String key) {
+        for (Weight weight : Weight.values()) {
+            if (weight.getKey().equals(key)) return weight;
+        }
+        throw new IllegalArgumentException("Unknown AI weight: " + key);
+    }
+
+    //___________________________GETTERS___________________________//
+    public int get(Weight weight) { return values[weight.ordinal()]; }
+    public int[] toArray()        { return values.clone(); }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this || (other instanceof AIWeights weights && hash == weights.hash && Arrays.equals(values, weights.values));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Weight weight : Weight.values()) {
+            if (text.length() > 0) text.append(", ");
+            text.append(weight.getKey()).append('=').append(values[weight.ordinal()]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.catanboardgameapp;
+
+//___________________________BANK___________________________//
+// The finite supply of resource cards. The standard game has 19 cards of every resource for 18
+// producing tiles; other board sizes get proportionally more or fewer. Counters per resource hold
+// the cards at the table (in all players' hands together), so the supply left in the bank and
+// table-wide totals are plain array reads.
+// Every move of cards between the bank and a player goes through withdraw or deposit, which
+// also tell HandInference. Moves between players (steals, Monopoly, player trades) leave the
+// totals unchanged.
+// One per Gameplay, like TradeNegotiator.
+public class Bank {
+
+    //___________________________SETTINGS___________________________//
+    public static final int STANDARD_SUPPLY = 19;            // Cards per resource on the standard board
+    public static final int STANDARD_PRODUCING_TILES = 18;
+
+    //___________________________FIELDS___________________________//
+    private final Gameplay gameplay;
+    private final int[] held = new int[PackedHand.TYPES];    // Per resource type, in all hands together
+    private int capacity = -1;                               // Per resource, set from the board on first use
+
+    //___________________________CONSTRUCTOR___________________________//
+    public Bank(Gameplay gameplay) {
+        this.gameplay = gameplay;
+    }
+
+    //___________________________TRANSFERS___________________________//
+    // Up to amount cards from the bank to the player; returns the cards actually paid out
+    public int withdraw(Player player, String resource, int amount) {
+        int type = PackedHand.index(resource);
+        int paid = Math.min(amount, getSupply(type));
+        if (paid <= 0) return 0;
+        gameplay.getHandInference().gain(player, type, paid);
+        player.getResources().merge(resource, paid, Integer::sum);
+        held[type] += paid;
+        return paid;
+    }
+
+    // Up to amount cards from the player back to the bank; returns the cards actually returned
+    public int deposit(Player player, String resource, int amount) {
+        int type = PackedHand.index(resource);
+        ensureCapacity();
+        int returned = Math.min(amount, player.getResources().getOrDefault(resource, 0));
+        if (returned <= 0) return 0;
+        gameplay.getHandInference().loss(player, type, returned);
+        player.getResources().put(resource, player.getResources().get(resource) - returned);
+        held[type] -= returned;
+        return returned;
+    }
+
+    // Production rule for a shortage: with enough cards everyone is paid in full; otherwise a
+    // single player owed the resource gets what is left and several players get nothing
+    public static int payout(int owed, int claimants, int supply) {
+        if (owed <= supply) return owed;
+        return claimants == 1 ? supply : 0;
+    }
+
+    // Counts the hands again, after they were set directly (loaded snapshots)
+    public void recount() {
+        recountSupply();
+        gameplay.getHandInference().reset();
+    }
+
+    // Same, but card counting keeps what it knew (look-ahead forks with sampled hands)
+    void recountSupply() {
+        capacity = -1;
+        ensureCapacity();
+    }
+
+    //___________________________QUERIES___________________________//
+    public int getSupply(int type) {
+        ensureCapacity();
+        return Math.max(0, capacity - held[type]);
+    }
+
+    public int getSupply(String resource) {
+        return getSupply(PackedHand.index(resource));
+    }
+
+    // Cards of the resource in all players' hands together
+    public int getTableTotal(int type) {
+        ensureCapacity();
+        return held[type];
+    }
+
+    public int getTableTotal(String resource) {
+        return getTableTotal(PackedHand.index(resource));
+    }
+
+    public int getCapacity() {
+        ensureCapacity();
+        return capacity;
+    }
+
+    // Standard supply scaled to the number of producing (not desert or sea) tiles
+    public static int supplyFor(int producingTiles) {
+        return Math.max(1, (producingTiles * STANDARD_SUPPLY + STANDARD_PRODUCING_TILES - 1) / STANDARD_PRODUCING_TILES);
+    }
+
+    //___________________________HELPERS___________________________//
+    // Sizes the supply from the board and counts the hands dealt so far, once
+    private void ensureCapacity() {
+        if (capacity >= 0) return;
+        int producing = 0;
+        for (Tile tile : gameplay.getBoard().getTiles()) {
+            Resource.ResourceType type = tile.getResourcetype();
+            if (type != Resource.ResourceType.SEA && type != Resource.ResourceType.DESERT) producing++;
+        }
+        capacity = supplyFor(producing);
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            held[type] = 0;
+            for (Player player : gameplay.getPlayerList()) {
+                held[type] += player.getResources().getOrDefault(PackedHand.resourceName(type), 0);
+            }
+        }
+    }
+}
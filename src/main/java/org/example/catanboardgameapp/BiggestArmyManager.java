@@ -17,6 +17,7 @@ public class BiggestArmyManager {
             if (biggestArmy == null) {
                 // First player to receive Biggest Army
                 biggestArmy = currentPlayer;
+                gameplay.getReplay().recordBiggestArmy(currentPlayer);
                 gameplay.increasePlayerScoreByTwo();
             } else {
                 int previousKnights = biggestArmy.getPlayedKnights();
@@ -25,6 +26,7 @@ public class BiggestArmyManager {
                     // New player takes over the title
                     gameplay.decreasePlayerScoreByTwo(biggestArmy);
                     biggestArmy = currentPlayer;
+                    gameplay.getReplay().recordBiggestArmy(currentPlayer);
                     gameplay.increasePlayerScoreByTwo();
                 }
             }
@@ -35,4 +37,9 @@ public class BiggestArmyManager {
     public Player getCurrentHolder() {
         return biggestArmy;
     }
+
+    // Only used when restoring a saved game
+    void setCurrentHolder(Player holder) {
+        this.biggestArmy = holder;
+    }
 }
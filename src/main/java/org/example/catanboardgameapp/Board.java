@@ -49,6 +49,13 @@ public class Board {
     private final int boardSize;
 
     private final DrawOrDisplay drawOrDisplay;
+    private final Random random;   // Seeded from the game, so the same seed always gives the same board
+    private SettlementRanking settlementRanking;   // Built on first use, shared with copies of this board
+    private BoardTopology topology;                // Built on first use, shared with copies of this board
+    private RoadPlanner roadPlanner;               // Built on first use, one per board (it reads this board's pieces)
+    private BoardEvaluator evaluator;              // Built on first use, one per board (it reads this board's pieces)
+    private RobberDamage robberDamage;             // Built on first use, then kept up to date by recordBuilding
+    private BoardSymmetry symmetry;                // Built on first use, shared with copies of this board
 
     //___________________________CONSTRUCTOR___________________________//
     public Board(Gameplay gameplay, int radius, double GAME_WIDTH, double GAME_HEIGHT) {
@@ -57,10 +64,61 @@ public class Board {
         this.GAME_WIDTH = GAME_WIDTH;
         this.GAME_HEIGHT = GAME_HEIGHT;
         this.boardSize = radius + 1;
+        this.random = new Random(gameplay.getSeed());
         initializeBoard();
         assignHarbors();
         this.drawOrDisplay = gameplay.getDrawOrDisplay();    }
 
+    // Copies the layout of another board (same ids, harbors and neighbor order) with nothing built on it.
+    // Much cheaper than generating the geometry again, used for AI look-ahead forks; only reads
+    // the template's fixed structure, so the template may be played on at the same time
+    Board(Board template, Gameplay gameplay) {
+        this.radius = template.radius;
+        this.hexSize = template.hexSize;
+        this.GAME_WIDTH = template.GAME_WIDTH;
+        this.GAME_HEIGHT = template.GAME_HEIGHT;
+        this.boardSize = template.boardSize;
+        this.random = new Random(gameplay.getSeed());
+        this.drawOrDisplay = gameplay.getDrawOrDisplay();
+        this.settlementRanking = template.getSettlementRanking(); // Same ids, dice and resources
+        this.symmetry = template.getSymmetry();                    // Same geometry
+        this.topology = template.getTopology();                    // Same ids and neighbours
+
+        for (Tile tile : template.tiles) {
+            Tile copy = new Tile(tile.getQ(), tile.getR(), tile.getResourcetype(), tile.getTileDiceNumber(), tile.getCenter(), radius);
+            copy.setSea(tile.isSea());
+            copy.setId(tile.getId());
+            tiles.add(copy);
+        }
+        for (Vertex vertex : template.vertices) {
+            Vertex copy = new Vertex(vertex.getX(), vertex.getY());
+            copy.setId(vertex.getId());
+            for (Tile tile : vertex.getAdjacentTiles()) copy.addAdjacentTile(tiles.get(tile.getId()));
+            vertices.add(copy);
+        }
+        for (Vertex vertex : template.vertices) {
+            Vertex copy = vertices.get(vertex.getId());
+            for (Vertex neighbor : vertex.getNeighbors()) copy.addNeighbor(vertices.get(neighbor.getId()));
+        }
+        for (Edge edge : template.edges) {
+            Edge copy = new Edge(vertices.get(edge.getVertex1().getId()), vertices.get(edge.getVertex2().getId()));
+            copy.setId(edge.getId());
+            for (Tile tile : edge.getAdjacentTiles()) copy.addAdjacentTile(tiles.get(tile.getId()));
+            edges.add(copy);
+        }
+        for (Tile tile : template.tiles) {
+            Tile copy = tiles.get(tile.getId());
+            copy.setVertices(tile.getVertices().stream().map(v -> vertices.get(v.getId())).toList());
+            copy.setEdges(tile.getEdges().stream().map(e -> edges.get(e.getId())).collect(Collectors.toList()));
+            if (tile.getHarbor() != null) {
+                Edge edge = edges.get(tile.getHarbor().getEdge().getId());
+                Harbor harbor = new Harbor(tile.getHarbor().getType(), edge);
+                edge.setHarbor(harbor);
+                copy.setHarbor(harbor);
+            }
+        }
+    }
+
     //___________________________FUNCTIONS___________________________//
     private void initializeBoard() {
         // Clear everything from previous games, if there is any
@@ -83,13 +141,13 @@ public class Board {
         // Fill terrain pool and number tokens
         for (int i = 0; i < tileCountMultiplier; i++) {
             System.arraycopy(TERRAIN_TYPES, 0, terrainPool, i * TERRAIN_TYPES.length, TERRAIN_TYPES.length);
-            numberTokens.addAll(originalNumberTokensAll.get((int) (Math.random() * originalNumberTokensAll.size())));
+            numberTokens.addAll(originalNumberTokensAll.get(random.nextInt(originalNumberTokensAll.size())));
         }
         // Shuffling terrains and number tokens for randomized board setups
         System.arraycopy(desertArray, 0, terrainPool, TERRAIN_TYPES.length * tileCountMultiplier, desertArray.length);
         List<String> shuffledTerrains = new ArrayList<>(Arrays.asList(terrainPool));
-        Collections.shuffle(shuffledTerrains);
-        if (boardSize != 3) Collections.shuffle(numberTokens);
+        Collections.shuffle(shuffledTerrains, random);
+        if (boardSize != 3) Collections.shuffle(numberTokens, random);
         Set<String> landCoordinates = new HashSet<>();
 
         //Create core land/desert tiles
@@ -157,6 +215,11 @@ public class Board {
         tiles.addAll(allTiles);
         vertices.addAll(vertexMap.values());
         edges.addAll(edgeMap.values());
+
+        // Stable ids = list positions (same seed and size -> same ids)
+        for (int i = 0; i < tiles.size(); i++) tiles.get(i).setId(i);
+        for (int i = 0; i < vertices.size(); i++) vertices.get(i).setId(i);
+        for (int i = 0; i < edges.size(); i++) edges.get(i).setId(i);
     }
 
     // Calculate size of hexes for Parametric board with different size options
@@ -178,7 +241,7 @@ public class Board {
                 Harbor.HarborType.GENERIC, Harbor.HarborType.GENERIC,
                 Harbor.HarborType.GENERIC
         ));
-        Collections.shuffle(harborTypes);              // randomise types
+        Collections.shuffle(harborTypes, random);      // randomise types
 
         // 2. collect *one* edge for each sea tile
         Map<Tile, List<Edge>> edgesBySeaTile = edges.stream()
@@ -192,14 +255,16 @@ public class Board {
                         e -> e.getAdjacentTiles().stream()               // key = the sea tile
                                 .filter(Tile::isSea)
                                 .findFirst()
-                                .orElseThrow()
+                                .orElseThrow(),
+                        LinkedHashMap::new,                              // stable order for seeded boards
+                        Collectors.toList()
                 ));
 
         List<Edge> candidateEdges = edgesBySeaTile.values().stream()
                 .map(list -> list.get(0))   // keep one edge per sea tile
                 .collect(Collectors.toList());
 
-        Collections.shuffle(candidateEdges);           // randomise positions
+        Collections.shuffle(candidateEdges, random);   // randomise positions
 
         // 3. now we’re sure we have at least 9 unique sea tiles
         for (int i = 0; i < harborTypes.size(); i++) {
@@ -292,6 +357,50 @@ public class Board {
         return hexSize;
     }
 
+    public double getGameWidth() {
+        return GAME_WIDTH;
+    }
+
+    public double getGameHeight() {
+        return GAME_HEIGHT;
+    }
+
+    public synchronized SettlementRanking getSettlementRanking() {
+        if (settlementRanking == null) settlementRanking = new SettlementRanking(this);
+        return settlementRanking;
+    }
+
+    public synchronized BoardSymmetry getSymmetry() {
+        if (symmetry == null) symmetry = new BoardSymmetry(this);
+        return symmetry;
+    }
+
+    public synchronized BoardTopology getTopology() {
+        if (topology == null) topology = new BoardTopology(this);
+        return topology;
+    }
+
+    public synchronized RoadPlanner getRoadPlanner() {
+        if (roadPlanner == null) roadPlanner = new RoadPlanner(this);
+        return roadPlanner;
+    }
+
+    public synchronized RobberDamage getRobberDamage() {
+        if (robberDamage == null) robberDamage = new RobberDamage(this);
+        return robberDamage;
+    }
+
+    // Call after a settlement is placed (weight 1) or upgraded to a city (weight 1);
+    // pieces placed before the first getRobberDamage are counted when it is built
+    public synchronized void recordBuilding(Vertex vertex, Player owner, int weight) {
+        if (robberDamage != null) robberDamage.addBuilding(vertex, owner, weight);
+    }
+
+    public synchronized BoardEvaluator getEvaluator() {
+        if (evaluator == null) evaluator = new BoardEvaluator(this);
+        return evaluator;
+    }
+
     public List<Harbor> getHarbors() {
         return edges.stream()
                 .map(Edge::getHarbor)
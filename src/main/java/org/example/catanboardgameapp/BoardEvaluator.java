@@ -0,0 +1,138 @@
+package org.example.catanboardgameapp;
+
+import java.util.Arrays;
+import java.util.List;
+
+//___________________________BOARD EVALUATOR___________________________//
+// Scores every vertex as a settlement spot and every edge as a road for one player in a single
+// pass each, instead of scoring candidates one at a time through the Vertex and Edge objects.
+// The board topology comes as flat arrays (endpoints per edge, neighbours and tile count per
+// vertex, see BoardTopology, shared by all copies of a board); a batch first fills a few arrays
+// indexed by vertex id (occupied, owned, own roads touching it) and then computes every score
+// with plain loops over those arrays. The results go into arrays that are reused by the next
+// batch, so it is one per board (it reads this board's pieces) like RoadPlanner, and only used
+// by the thread playing that board.
+public class BoardEvaluator {
+
+    //___________________________FIELDS___________________________//
+    private final Board board;
+    private final int vertexCount;
+    private final int edgeCount;
+
+    // Board topology, shared (see BoardTopology)
+    private final int[] edgeVertex1;        // Vertex ids per edge id
+    private final int[] edgeVertex2;
+    private final int[] tileCount;          // Adjacent tiles per vertex id, sea included
+    private final boolean[] landVertex;     // Touches at least one land tile
+    private final int[] neighbourStart;     // Neighbours of vertex v are neighbourIds[neighbourStart[v] .. neighbourStart[v + 1])
+    private final int[] neighbourIds;
+
+    // Batch state, overwritten by every batch
+    private final boolean[] occupied;       // Settlement or city on it
+    private final boolean[] opponentOwned;  // Settlement or city of another player
+    private final boolean[] mine;           // Settlement or city of the player
+    private final boolean[] settleable;     // Free by the distance rule, road connection ignored
+    private final int[] ownRoads;           // Roads of the player touching the vertex
+    private final int[] settlementScores;
+    private final int[] targetScores;       // Road score part that only depends on the road's target vertex
+    private final int[] roadScores;
+
+    //___________________________CONSTRUCTOR___________________________//
+    public BoardEvaluator(Board board) {
+        this.board = board;
+        BoardTopology topology = board.getTopology();
+        vertexCount = topology.getVertexCount();
+        edgeCount = topology.getEdgeCount();
+        edgeVertex1 = topology.getEdgeVertex1();
+        edgeVertex2 = topology.getEdgeVertex2();
+        tileCount = topology.getTileCount();
+        landVertex = topology.getLandVertex();
+        neighbourStart = topology.getNeighbourStart();
+        neighbourIds = topology.getNeighbourIds();
+
+        occupied = new boolean[vertexCount];
+        opponentOwned = new boolean[vertexCount];
+        mine = new boolean[vertexCount];
+        settleable = new boolean[vertexCount];
+        ownRoads = new int[vertexCount];
+        settlementScores = new int[vertexCount];
+        targetScores = new int[vertexCount];
+        roadScores = new int[edgeCount];
+    }
+
+    //___________________________BATCHES___________________________//
+    // Settlement score of every vertex for the player, by vertex id: the SettlementRanking score,
+    // minus BLOCKED_PENALTY where another player already built.
+    // Valid until the next batch on this board.
+    public int[] settlementScores(Player player, AIWeights weights, Gameplay gameplay) {
+        readPieces(player, gameplay);
+        board.getSettlementRanking().scoreAll(player, weights, settlementScores);
+        int blockedPenalty = weights.get(AIWeights.Weight.BLOCKED_PENALTY);
+        for (int v = 0; v < vertexCount; v++) {
+            if (opponentOwned[v]) settlementScores[v] -= blockedPenalty;
+        }
+        return settlementScores;
+    }
+
+    // Road score of every edge for the player, by edge id. A road starts at its end that holds
+    // one of the player's settlements or cities (vertex1 if neither or both do) and is scored on
+    // the other end: reaching a free spot, that spot's settlement score, its tile count and, as a
+    // penalty, the player's roads already touching it.
+    // Valid until the next batch on this board.
+    public int[] roadScores(Player player, AIWeights weights, Gameplay gameplay) {
+        fillTargetScores(player, weights, gameplay);
+        int reachBonus = weights.get(AIWeights.Weight.ROAD_REACHES_SETTLEMENT);
+        for (int e = 0; e < edgeCount; e++) {
+            int v1 = edgeVertex1[e];
+            int v2 = edgeVertex2[e];
+            boolean fromSecond = !mine[v1] && mine[v2];
+            int source = fromSecond ? v2 : v1;
+            int target = fromSecond ? v1 : v2;
+            roadScores[e] = targetScores[target] + (settleable[source] || settleable[target] ? reachBonus : 0);
+        }
+        return roadScores;
+    }
+
+    // Score of every road at a newly placed initial settlement: in the initial phase a road is
+    // scored on the settlement's own vertex, so all of them score the same
+    public int initialRoadScore(Player player, AIWeights weights, Gameplay gameplay, Vertex settlement) {
+        fillTargetScores(player, weights, gameplay);
+        int id = settlement.getId();
+        return targetScores[id] + (settleable[id] ? weights.get(AIWeights.Weight.ROAD_REACHES_SETTLEMENT) : 0);
+    }
+
+    //___________________________HELPERS___________________________//
+    private void fillTargetScores(Player player, AIWeights weights, Gameplay gameplay) {
+        settlementScores(player, weights, gameplay);
+        int settlementWeight = weights.get(AIWeights.Weight.ROAD_SETTLEMENT_SCORE);
+        int tileWeight = weights.get(AIWeights.Weight.ROAD_TILE_COUNT);
+        int loopPenalty = weights.get(AIWeights.Weight.ROAD_LOOP_PENALTY);
+        for (int v = 0; v < vertexCount; v++) {
+            targetScores[v] = settlementScores[v] * settlementWeight + tileCount[v] * tileWeight - ownRoads[v] * loopPenalty;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            boolean free = !occupied[v] && landVertex[v];
+            for (int n = neighbourStart[v]; free && n < neighbourStart[v + 1]; n++) {
+                if (occupied[neighbourIds[n]]) free = false;
+            }
+            settleable[v] = free;
+        }
+    }
+
+    // Copies who built where into the batch arrays
+    private void readPieces(Player player, Gameplay gameplay) {
+        Arrays.fill(opponentOwned, false);
+        Arrays.fill(mine, false);
+        Arrays.fill(ownRoads, 0);
+        List<Vertex> vertices = board.getVertices();
+        for (int v = 0; v < vertexCount; v++) occupied[v] = vertices.get(v).hasSettlement();
+        for (Player other : gameplay.getPlayerList()) {
+            boolean[] owner = other == player ? mine : opponentOwned;
+            for (Vertex vertex : other.getSettlementsAndCities()) owner[vertex.getId()] = true;
+        }
+        for (Edge road : player.getRoads()) {
+            ownRoads[edgeVertex1[road.getId()]]++;
+            ownRoads[edgeVertex2[road.getId()]]++;
+        }
+    }
+}
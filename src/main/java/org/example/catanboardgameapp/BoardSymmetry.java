@@ -0,0 +1,106 @@
+package org.example.catanboardgameapp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//___________________________BOARD SYMMETRY___________________________//
+// The twelve symmetries of the hexagonal board (six rotations, each with and without a mirror),
+// worked out once per board as id permutations of tiles, vertices and edges.
+// Symmetry 0 is the identity. They only depend on the board's geometry (never on the tiles'
+// resources or what is built), so copies of a board share them like SettlementRanking.
+public class BoardSymmetry {
+
+    //___________________________FIELDS___________________________//
+    public static final int COUNT = 12;
+
+    private final int[][] tileImage;     // [symmetry][tile id] -> id of the tile it is moved onto
+    private final int[][] vertexImage;   // [symmetry][vertex id] -> id of the vertex it is moved onto
+    private final int[][] edgeImage;     // [symmetry][edge id] -> id of the edge it is moved onto
+    private final int[][] vertexSource;  // Inverse of vertexImage
+    private final int[][] edgeSource;    // Inverse of edgeImage
+
+    //___________________________CONSTRUCTOR___________________________//
+    public BoardSymmetry(Board board) {
+        List<Tile> tiles = board.getTiles();
+        List<Vertex> vertices = board.getVertices();
+        List<Edge> edges = board.getEdges();
+        Tile middle = tiles.stream()
+                .filter(t -> t.getQ() == 0 && t.getR() == 0)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Board has no center tile"));
+        double centerX = middle.getCenter().getX();
+        double centerY = middle.getCenter().getY();
+
+        double[] tileX = new double[tiles.size()];
+        double[] tileY = new double[tiles.size()];
+        for (Tile tile : tiles) {
+            tileX[tile.getId()] = tile.getCenter().getX() - centerX;
+            tileY[tile.getId()] = tile.getCenter().getY() - centerY;
+        }
+        double[] vertexX = new double[vertices.size()];
+        double[] vertexY = new double[vertices.size()];
+        for (Vertex vertex : vertices) {
+            vertexX[vertex.getId()] = vertex.getX() - centerX;
+            vertexY[vertex.getId()] = vertex.getY() - centerY;
+        }
+        Map<Long, Integer> edgeByEnds = new HashMap<>();
+        for (Edge edge : edges) {
+            edgeByEnds.put(endsKey(edge.getVertex1().getId(), edge.getVertex2().getId()), edge.getId());
+        }
+
+        tileImage = new int[COUNT][];
+        vertexImage = new int[COUNT][];
+        edgeImage = new int[COUNT][edges.size()];
+        vertexSource = new int[COUNT][vertices.size()];
+        edgeSource = new int[COUNT][edges.size()];
+        for (int s = 0; s < COUNT; s++) {
+            tileImage[s] = images(tileX, tileY, s);
+            vertexImage[s] = images(vertexX, vertexY, s);
+            for (Edge edge : edges) {
+                Integer image = edgeByEnds.get(endsKey(vertexImage[s][edge.getVertex1().getId()], vertexImage[s][edge.getVertex2().getId()]));
+                if (image == null) throw new IllegalStateException("Board is not symmetric under symmetry " + s);
+                edgeImage[s][edge.getId()] = image;
+            }
+            for (int v = 0; v < vertices.size(); v++) vertexSource[s][vertexImage[s][v]] = v;
+            for (int e = 0; e < edges.size(); e++) edgeSource[s][edgeImage[s][e]] = e;
+        }
+    }
+
+    // Moves every point by the symmetry and finds the point that ends up there (positions are
+    // rounded when the board is built, so the nearest one within a small distance)
+    private static int[] images(double[] x, double[] y, int symmetry) {
+        double angle = Math.toRadians(60.0 * (symmetry % 6));
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        boolean mirror = symmetry >= 6;
+        double tolerance = Double.MAX_VALUE;   // A quarter of the spacing between neighbouring points
+        for (int i = 1; i < x.length; i++) tolerance = Math.min(tolerance, Math.hypot(x[i] - x[0], y[i] - y[0]) / 4);
+
+        int[] image = new int[x.length];
+        for (int i = 0; i < x.length; i++) {
+            double px = x[i];
+            double py = mirror ? -y[i] : y[i];
+            double tx = px * cos - py * sin;
+            double ty = px * sin + py * cos;
+            int found = -1;
+            for (int j = 0; j < x.length && found < 0; j++) {
+                if (Math.abs(x[j] - tx) < tolerance && Math.abs(y[j] - ty) < tolerance) found = j;
+            }
+            if (found < 0) throw new IllegalStateException("Board is not symmetric under symmetry " + symmetry);
+            image[i] = found;
+        }
+        return image;
+    }
+
+    private static long endsKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    //___________________________GETTERS___________________________//
+    public int tileImage(int symmetry, int tileId)        { return tileImage[symmetry][tileId]; }
+    public int vertexImage(int symmetry, int vertexId)    { return vertexImage[symmetry][vertexId]; }
+    public int edgeImage(int symmetry, int edgeId)        { return edgeImage[symmetry][edgeId]; }
+    public int vertexSource(int symmetry, int imageId)    { return vertexSource[symmetry][imageId]; }
+    public int edgeSource(int symmetry, int imageId)      { return edgeSource[symmetry][imageId]; }
+}
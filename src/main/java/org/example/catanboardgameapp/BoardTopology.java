@@ -0,0 +1,81 @@
+package org.example.catanboardgameapp;
+
+import java.util.List;
+
+//___________________________BOARD TOPOLOGY___________________________//
+// The board's fixed structure as flat arrays indexed by vertex and edge id: the endpoints of
+// every edge, the edges at every vertex, the neighbours and tile count of every vertex and
+// which of them touch land. BoardEvaluator and RoadPlanner loop over these instead of the
+// Vertex and Edge objects. Nothing in it changes while a game is played, so it is built once
+// per board and shared with every copy of that board (the forks of an AI search), like
+// SettlementRanking. The arrays are handed out as they are and must not be written to.
+public class BoardTopology {
+
+    //___________________________FIELDS___________________________//
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int[] edgeVertex1;        // Vertex ids per edge id
+    private final int[] edgeVertex2;
+    private final boolean[] landVertex;     // Touches at least one land tile
+    private final boolean[] landEdge;       // Both ends touch land, so a road can be built
+    private final int[] tileCount;          // Adjacent tiles per vertex id, sea included
+    private final int[] neighbourStart;     // Neighbours of vertex v are neighbourIds[neighbourStart[v] .. neighbourStart[v + 1])
+    private final int[] neighbourIds;
+    private final int[][] incidentEdges;    // Edge ids per vertex id
+
+    //___________________________CONSTRUCTOR___________________________//
+    public BoardTopology(Board board) {
+        List<Vertex> vertices = board.getVertices();
+        List<Edge> edges = board.getEdges();
+        vertexCount = vertices.size();
+        edgeCount = edges.size();
+
+        tileCount = new int[vertexCount];
+        landVertex = new boolean[vertexCount];
+        neighbourStart = new int[vertexCount + 1];
+        for (Vertex vertex : vertices) {
+            int id = vertex.getId();
+            tileCount[id] = vertex.getAdjacentTiles().size();
+            landVertex[id] = vertex.getAdjacentTiles().stream().anyMatch(tile -> !tile.isSea());
+            neighbourStart[id + 1] = vertex.getNeighbors().size();
+        }
+        for (int v = 0; v < vertexCount; v++) neighbourStart[v + 1] += neighbourStart[v];
+        neighbourIds = new int[neighbourStart[vertexCount]];
+        for (Vertex vertex : vertices) {
+            int next = neighbourStart[vertex.getId()];
+            for (Vertex neighbour : vertex.getNeighbors()) neighbourIds[next++] = neighbour.getId();
+        }
+
+        edgeVertex1 = new int[edgeCount];
+        edgeVertex2 = new int[edgeCount];
+        landEdge = new boolean[edgeCount];
+        int[] degree = new int[vertexCount];
+        for (Edge edge : edges) {
+            int id = edge.getId();
+            edgeVertex1[id] = edge.getVertex1().getId();
+            edgeVertex2[id] = edge.getVertex2().getId();
+            landEdge[id] = landVertex[edgeVertex1[id]] && landVertex[edgeVertex2[id]];
+            degree[edgeVertex1[id]]++;
+            degree[edgeVertex2[id]]++;
+        }
+        incidentEdges = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) incidentEdges[v] = new int[degree[v]];
+        int[] filled = new int[vertexCount];
+        for (int e = 0; e < edgeCount; e++) {
+            incidentEdges[edgeVertex1[e]][filled[edgeVertex1[e]]++] = e;
+            incidentEdges[edgeVertex2[e]][filled[edgeVertex2[e]]++] = e;
+        }
+    }
+
+    //___________________________GETTERS___________________________//
+    public int getVertexCount()         { return vertexCount; }
+    public int getEdgeCount()           { return edgeCount; }
+    public int[] getEdgeVertex1()       { return edgeVertex1; }
+    public int[] getEdgeVertex2()       { return edgeVertex2; }
+    public boolean[] getLandVertex()    { return landVertex; }
+    public boolean[] getLandEdge()      { return landEdge; }
+    public int[] getTileCount()         { return tileCount; }
+    public int[] getNeighbourStart()    { return neighbourStart; }
+    public int[] getNeighbourIds()      { return neighbourIds; }
+    public int[][] getIncidentEdges()   { return incidentEdges; }
+}
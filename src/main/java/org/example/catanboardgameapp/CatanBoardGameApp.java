@@ -20,6 +20,9 @@ public class CatanBoardGameApp extends Application {
 
         // Display the main menu to the user
         menuView.showMainMenu();
+
+        // Continue an interrupted game from its autosave, if the player wants to
+        menuView.offerRecovery();
     }
 
     // Launch Game Method
@@ -110,16 +110,16 @@ public class DevelopmentCard {
     private void playMonopolyCardAsAI(AIOpponent ai) {
         String chosenResource = chooseSmartResourceToMonopoly(gameplay, ai);
         int taken = monopolizeResource(chosenResource, ai);
-        view.logToGameLog("AI " + ai + " played a Monopoly Development Card and took " + taken + " " + chosenResource + " from other players!");
+        gameplay.log("AI " + ai + " played a Monopoly Development Card and took " + taken + " " + chosenResource + " from other players!");
     }
     // ______________KNIGHT______________//
     private void playKnightCardAsPlayer(Player player) {
         view.logToGameLog(player + " played a Knight development card!");
-        view.getRobber().activateRobber(false, player);
+        gameplay.getRobber().activateRobber(false, player);
     }
     private void playKnightCardAsAI(AIOpponent ai, Gameplay gameplay) {
-        view.logToGameLog("AI " + ai + " played a Knight development card!");
-        view.getRobber().activateRobber(false, ai);
+        gameplay.log("AI " + ai + " played a Knight development card!");
+        gameplay.getRobber().activateRobber(false, ai);
     }
 
     // ______________ROADBUILDING______________//
@@ -131,7 +131,7 @@ public class DevelopmentCard {
     }
 
     private void playRoadBuildingCardAsAI(AIOpponent ai, Gameplay gameplay) {
-        view.logToGameLog("AI " + ai + " played a Road Builder Development Card!");
+        gameplay.log("AI " + ai + " played a Road Builder Development Card!");
         int placed = 0;
         for (Edge edge : gameplay.getBoard().getEdges()) {
             if (placed == 2) break;
@@ -147,12 +147,12 @@ public class DevelopmentCard {
     private void playYearOfPlentyCardAsPlayer(Player player) {
         startPlayingCard();
         Player currentPlayer = gameplay.getCurrentPlayer();
-        Map<String, Integer> selected = (currentPlayer instanceof AIOpponent ai && ai.getStrategyLevel() == AIOpponent.StrategyLevel.HARD)
+        Map<String, Integer> selected = (currentPlayer instanceof AIOpponent ai && (ai.getStrategyLevel() == AIOpponent.StrategyLevel.HARD || ai.getStrategyLevel() == AIOpponent.StrategyLevel.EXPERT))
                 ? ai.chooseResourcesForYearOfPlenty()
                 : drawOrDisplay.showYearOfPlentyDialog(currentPlayer.getResources());
         if (selected != null) {
-            addResourcesToPlayer(currentPlayer, selected);
-            String gained = selected.entrySet().stream()
+            Map<String, Integer> received = addResourcesToPlayer(currentPlayer, selected);
+            String gained = received.entrySet().stream()
                     .map(entry -> entry.getValue() + " " + entry.getKey())
                     .collect(Collectors.joining(", "));
             catanBoardGameView.logToGameLog(player + " used Year of Plenty Development Card and received " + gained + ".");
@@ -163,11 +163,11 @@ public class DevelopmentCard {
 
     private void playYearOfPlentyCardAsAI(AIOpponent ai, Gameplay gameplay) {
         Map<String, Integer> selected = ai.chooseResourcesForYearOfPlenty();
-        selected.forEach((res, amt) -> ai.getResources().merge(res, amt, Integer::sum));
-        String gained = selected.entrySet().stream()
+        Map<String, Integer> received = addResourcesToPlayer(ai, selected);
+        String gained = received.entrySet().stream()
                 .map(e -> "+ " + e.getValue() + " " + e.getKey())
                 .collect(Collectors.joining(", "));
-        view.logToGameLog("AI " + ai + " used Year of Plenty Development Card and received " + gained + ".");
+        gameplay.log("AI " + ai + " used Year of Plenty Development Card and received " + gained + ".");
     }
 
     // ______________VICTORY POINT______________//
@@ -178,8 +178,8 @@ public class DevelopmentCard {
 
     private void playVictoryPointCardAsAI(AIOpponent ai, Gameplay gameplay) {
         gameplay.increasePlayerScore(ai);
-        gameplay.getCatanBoardGameView().runOnFX(() ->
-                gameplay.getCatanBoardGameView().logToGameLog("AI " + ai + " played a Victory Point Development Card and gained 1 point!")
+        gameplay.runOnUI(() ->
+                gameplay.log("AI " + ai + " played a Victory Point Development Card and gained 1 point!")
         );
     }
 
@@ -205,42 +205,45 @@ public class DevelopmentCard {
         if (freeRoadsLeft == 0) placingFreeRoads = false;
     }
 
-    public void addResourcesToPlayer(Player player, Map<String, Integer> added) {
-        added.forEach((res, amt) ->
-                player.getResources().merge(res, amt, Integer::sum)
-        );
+    // Takes the cards from the bank as far as it has them; returns what the player actually got
+    public Map<String, Integer> addResourcesToPlayer(Player player, Map<String, Integer> added) {
+        Map<String, Integer> received = new LinkedHashMap<>();
+        added.forEach((res, amt) -> {
+            int paid = gameplay.getBank().withdraw(player, res, amt);
+            if (paid > 0) {
+                gameplay.getReplay().recordGain(player, res, paid);
+                received.put(res, paid);
+            }
+        });
+        return received;
     }
 
     // Helper for Player and AI to play Monopoly Card
     public int monopolizeResource(String resource, Player player) {
+        gameplay.getReplay().recordMonopoly(player, resource);
+        HandInference inference = gameplay.getHandInference();
+        int type = PackedHand.index(resource);
         int totalTaken = 0;
         for (Player other : playerList) {
             if (!other.equals(player)) {
                 int amount = other.getResources().getOrDefault(resource, 0);
                 if (amount > 0) {
+                    inference.loss(other, type, amount);
                     other.getResources().put(resource, 0);
                     totalTaken += amount;
                 }
+                inference.clear(other, type);   // Everyone saw them hand over all they had
             }
         }
+        inference.gain(player, type, totalTaken);
         player.getResources().merge(resource, totalTaken, Integer::sum);
         return totalTaken;
     }
 
     // Second Monopoly helper function
     public String chooseSmartResourceToMonopoly(Gameplay gameplay, AIOpponent ai) {
-        //getting all opponents
-        List<Player> opponents = gameplay.getPlayerList().stream()
-                .filter(p -> p != ai)
-                .toList();
-        // finding there resources
-        Map<String, Integer> totalOpponentResources = new HashMap<>();
-
-        for (Player p : opponents) {
-            for (Map.Entry<String, Integer> entry : p.getResources().entrySet()) {
-                totalOpponentResources.merge(entry.getKey(), entry.getValue(), Integer::sum);
-            }
-        }
+        // Opponents' cards: the table-wide totals kept by the bank minus the AI's own hand
+        Bank bank = gameplay.getBank();
         // Calculate how much the player has of each resource
         int oreHave = ai.getResources().getOrDefault("Ore", 0);
         int grainHave = ai.getResources().getOrDefault("Grain", 0);
@@ -249,11 +252,11 @@ public class DevelopmentCard {
         int brickHave = ai.getResources().getOrDefault("Brick", 0);
 
         // Calculate how much you can steal in total of each resource
-        int oreFromOpponents = totalOpponentResources.getOrDefault("Ore", 0);
-        int grainFromOpponents = totalOpponentResources.getOrDefault("Grain", 0);
-        int woolFromOpponents = totalOpponentResources.getOrDefault("Wool", 0);
-        int woodFromOpponents = totalOpponentResources.getOrDefault("Wood", 0);
-        int brickFromOpponents = totalOpponentResources.getOrDefault("Brick", 0);
+        int oreFromOpponents = bank.getTableTotal("Ore") - oreHave;
+        int grainFromOpponents = bank.getTableTotal("Grain") - grainHave;
+        int woolFromOpponents = bank.getTableTotal("Wool") - woolHave;
+        int woodFromOpponents = bank.getTableTotal("Wood") - woodHave;
+        int brickFromOpponents = bank.getTableTotal("Brick") - brickHave;
 
         // Check if we can steal enough to build a full city
         int oreNeed = Math.max(0, 3 - oreHave);
@@ -292,7 +295,7 @@ public class DevelopmentCard {
         int bestTradeValue = 0;
 
         for (String resource : List.of("Ore", "Grain", "Wool", "Wood", "Brick")) {
-            int available = totalOpponentResources.getOrDefault(resource, 0);
+            int available = bank.getTableTotal(resource) - ai.getResourceAmount(resource);
             int tradeRatio = 4; // default (not tradable)
 
             // Check for specific 2:1 harbor
@@ -320,10 +323,17 @@ public class DevelopmentCard {
                 }
             }
         }
-        // fallback only if literally no one has any resources
-        return Objects.requireNonNullElseGet(bestTradeResource, () -> totalOpponentResources.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("Ore"));
+        if (bestTradeResource != null) return bestTradeResource;
+        // fallback: the resource the opponents hold most of
+        String mostHeld = "Ore";
+        int mostHeldCount = -1;
+        for (String resource : ai.getResources().keySet()) {
+            int held = bank.getTableTotal(resource) - ai.getResourceAmount(resource);
+            if (held > mostHeldCount) {
+                mostHeldCount = held;
+                mostHeld = resource;
+            }
+        }
+        return mostHeld;
     }
 }
\ No newline at end of file
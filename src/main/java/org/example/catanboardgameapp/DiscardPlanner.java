@@ -0,0 +1,190 @@
+package org.example.catanboardgameapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//___________________________DISCARD PLANNER___________________________//
+// Picks the cards to discard on a 7 for AIs and for the Auto-Discard button alike.
+// Every way of keeping half the hand is scored: per kept card by resource (cards the player
+// produces a lot of are worth less, cards with a harbor more), minus the cards each near-term
+// build (city, settlement, development card, road) would still miss, plus a bonus for every
+// build that stays affordable.
+// Everything but the affordable bonus adds up per resource, so a dynamic programme over the five
+// resources finds the best discard exactly: its state is the number of cards kept so far and
+// the set of builds still affordable, at most a few thousand entries.
+public final class DiscardPlanner {
+
+    //___________________________SETTINGS___________________________//
+    private static final int PIPS_PER_CARD = 5;          // Production pips worth one card of keep value
+    private static final int MAIN_BUILD_WEIGHT = 2;      // The build the player is saving for counts double
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private static final Map<String, Integer> CITY_COST = Map.of("Ore", 3, "Grain", 2);
+    private static final Map<String, Integer> SETTLEMENT_COST = Map.of("Brick", 1, "Wood", 1, "Wool", 1, "Grain", 1);
+    private static final Map<String, Integer> DEV_CARD_COST = Map.of("Wool", 1, "Grain", 1, "Ore", 1);
+    private static final Map<String, Integer> ROAD_COST = Map.of("Brick", 1, "Wood", 1);
+
+    private DiscardPlanner() {
+    }
+
+    //___________________________PLANNING___________________________//
+    // Cards the player should discard on a 7 (half the hand, rounded down), null if none
+    public static Map<String, Integer> plan(Player player, Gameplay gameplay) {
+        long hand = PackedHand.of(player);
+        int discard = PackedHand.total(hand) / 2;
+        if (discard == 0) return null;
+
+        AIWeights weights = player instanceof AIOpponent ai ? ai.getWeights() : AIWeights.getStandard();
+        int[] production = production(player, gameplay.getBoard());
+        int[] cardValue = new int[PackedHand.TYPES];
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            int ratio = bestTradeRatio(player, gameplay.getBoard(), type);
+            cardValue[type] = weights.get(AIWeights.Weight.DISCARD_OWNED)
+                    - production[type] * weights.get(AIWeights.Weight.DISCARD_PRODUCTION) / PIPS_PER_CARD
+                    + (ratio <= 2 ? weights.get(AIWeights.Weight.DISCARD_TWO_TO_ONE)
+                    : ratio == 3 ? weights.get(AIWeights.Weight.DISCARD_THREE_TO_ONE) : 0);
+        }
+
+        List<Long> builds = nearTermBuilds(player, gameplay);
+        long[] costs = new long[builds.size()];
+        int[] buildWeight = new int[builds.size()];
+        long main = player instanceof AIOpponent ai ? ai.getTradePlan().getTarget() : closest(hand, builds);
+        for (int b = 0; b < costs.length; b++) {
+            costs[b] = builds.get(b);
+            buildWeight[b] = costs[b] == main ? MAIN_BUILD_WEIGHT : 1;
+        }
+
+        long keep = optimalKeep(hand, PackedHand.total(hand) - discard, cardValue, costs, buildWeight,
+                weights.get(AIWeights.Weight.DISCARD_NEEDED), weights.get(AIWeights.Weight.DISCARD_AFFORDABLE));
+        long discarded = PackedHand.subtract(hand, keep);
+        Map<String, Integer> result = new HashMap<>();
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            int count = PackedHand.get(discarded, type);
+            if (count > 0) result.put(PackedHand.resourceName(type), count);
+        }
+        return result;
+    }
+
+    // Best hand of exactly keepTotal cards out of hand. cardValue is per kept card and resource,
+    // missingPenalty per card a build still misses and affordBonus per build kept affordable,
+    // both times the build's weight. Ties keep the cards of the lower resource types.
+    static long optimalKeep(long hand, int keepTotal, int[] cardValue, long[] costs, int[] buildWeight,
+                            int missingPenalty, int affordBonus) {
+        int masks = 1 << costs.length;
+        int[][] value = new int[keepTotal + 1][masks];       // Best score per (cards kept, builds still affordable)
+        int[][][] kept = new int[PackedHand.TYPES][keepTotal + 1][masks];   // Cards of the type kept on the best path
+        int[][][] from = new int[PackedHand.TYPES][keepTotal + 1][masks];   // Affordable set before the type
+        for (int[] row : value) Arrays.fill(row, NONE);
+        value[0][masks - 1] = 0;
+
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            int available = PackedHand.get(hand, type);
+            // Score and affordable builds per number of cards of this type kept
+            int[] gain = new int[available + 1];
+            int[] stillAffordable = new int[available + 1];
+            for (int x = 0; x <= available; x++) {
+                gain[x] = x * cardValue[type];
+                for (int b = 0; b < costs.length; b++) {
+                    int need = PackedHand.get(costs[b], type);
+                    if (x >= need) stillAffordable[x] |= 1 << b;
+                    else gain[x] -= (need - x) * missingPenalty * buildWeight[b];
+                }
+            }
+            int[][] next = new int[keepTotal + 1][masks];
+            for (int[] row : next) Arrays.fill(row, NONE);
+            for (int count = 0; count <= keepTotal; count++) {
+                for (int mask = 0; mask < masks; mask++) {
+                    if (value[count][mask] == NONE) continue;
+                    for (int x = 0; x <= available && count + x <= keepTotal; x++) {
+                        int newMask = mask & stillAffordable[x];
+                        int score = value[count][mask] + gain[x];
+                        if (score > next[count + x][newMask]) {
+                            next[count + x][newMask] = score;
+                            kept[type][count + x][newMask] = x;
+                            from[type][count + x][newMask] = mask;
+                        }
+                    }
+                }
+            }
+            value = next;
+        }
+
+        int bestMask = -1;
+        int bestScore = NONE;
+        for (int mask = 0; mask < masks; mask++) {
+            if (value[keepTotal][mask] == NONE) continue;
+            int score = value[keepTotal][mask];
+            for (int b = 0; b < costs.length; b++) {
+                if ((mask >>> b & 1) != 0) score += affordBonus * buildWeight[b];
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMask = mask;
+            }
+        }
+        if (bestMask < 0) return PackedHand.EMPTY;   // keepTotal larger than the hand
+
+        // Walk the choices back from the last resource type
+        long keep = PackedHand.EMPTY;
+        int count = keepTotal;
+        int mask = bestMask;
+        for (int type = PackedHand.TYPES - 1; type >= 0; type--) {
+            int x = kept[type][count][mask];
+            keep = PackedHand.add(keep, PackedHand.single(type, x));
+            mask = from[type][count][mask];
+            count -= x;
+        }
+        return keep;
+    }
+
+    //___________________________HELPERS___________________________//
+    // Builds the player can still make, as packed costs
+    private static List<Long> nearTermBuilds(Player player, Gameplay gameplay) {
+        List<Long> builds = new ArrayList<>();
+        if (player.getCities().size() < gameplay.getMaxCities() && !player.getSettlements().isEmpty()) builds.add(PackedHand.of(CITY_COST));
+        if (player.getSettlements().size() < gameplay.getMaxSettlements()) builds.add(PackedHand.of(SETTLEMENT_COST));
+        if (!gameplay.getShuffledDevelopmentCards().isEmpty()) builds.add(PackedHand.of(DEV_CARD_COST));
+        if (player.getRoads().size() < gameplay.getMaxRoads()) builds.add(PackedHand.of(ROAD_COST));
+        return builds;
+    }
+
+    private static long closest(long hand, List<Long> builds) {
+        long closest = PackedHand.EMPTY;
+        int fewestMissing = Integer.MAX_VALUE;
+        for (long cost : builds) {
+            int missing = PackedHand.missing(hand, cost);
+            if (missing < fewestMissing) {
+                fewestMissing = missing;
+                closest = cost;
+            }
+        }
+        return closest;
+    }
+
+    // Dice pips per resource type the player's settlements (1x) and cities (2x) produce
+    private static int[] production(Player player, Board board) {
+        RobberDamage damage = board.getRobberDamage();
+        int[] production = new int[PackedHand.TYPES];
+        for (Vertex vertex : player.getSettlementsAndCities()) {
+            int weight = vertex.isCity() ? 2 : 1;
+            for (Tile tile : vertex.getAdjacentTiles()) {
+                int type = tile.getResourcetype().ordinal();
+                if (type < PackedHand.TYPES) production[type] += damage.getPips(tile) * weight;
+            }
+        }
+        return production;
+    }
+
+    private static int bestTradeRatio(Player player, Board board, int type) {
+        int best = 4;
+        for (Harbor harbor : board.getHarbors()) {
+            if (!harbor.usableBy(player)) continue;
+            if (harbor.getType() == Harbor.HarborType.GENERIC) best = Math.min(best, 3);
+            else if (harbor.getType().specific.ordinal() == type) best = Math.min(best, 2);
+        }
+        return best;
+    }
+}
@@ -358,6 +358,19 @@ public class DrawOrDisplay {
                 togglePane.setExpanded(false);
                 togglePane.setFont(Font.font("Georgia", FontWeight.NORMAL, 12));
                 box.getChildren().add(togglePane);
+
+                // p50/p99/max per decision (own time, nested decisions counted under their own row),
+                // over every AI of this level in the game
+                VBox timingBox = new VBox(4);
+                for (String line : gameplay.getAILatency().lines(ai.getStrategyLevel())) {
+                    Text stat = new Text(line);
+                    stat.setFont(Font.font("Monospaced", 11));
+                    timingBox.getChildren().add(stat);
+                }
+                TitledPane timingPane = new TitledPane("Decision Times, own time (" + ai.getStrategyLevel().name() + ")", timingBox);
+                timingPane.setExpanded(false);
+                timingPane.setFont(Font.font("Georgia", FontWeight.NORMAL, 12));
+                box.getChildren().add(timingPane);
             }
             playerStats.getChildren().add(box);
         }
@@ -491,8 +504,8 @@ public class DrawOrDisplay {
                 player + ", you must discard " + toDiscard + " resource cards.",
                 resources,
                 toDiscard,
-                false,       // allowAutoSelection
-                null,                        // auto-selection function
+                true,        // allowAutoSelection
+                () -> gameplay.getRobber().autoDiscardCardsHuman(player),   // auto-selection function, see DiscardPlanner
                 playerResources
         );
     }
@@ -720,6 +733,7 @@ public class DrawOrDisplay {
                 Map<String, Integer> autoResult = autoSelectionSupplier.get();
                 if (autoResult != null && !autoResult.isEmpty()) {
                     result[0] = new HashMap<>(autoResult);
+                    gameplay.resumeGame(true);
                     dialogStage.close();
                 }
             });
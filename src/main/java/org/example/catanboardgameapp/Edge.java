@@ -11,6 +11,7 @@ public class Edge {
     private final List<Tile> adjacentTiles = new ArrayList<>();
 
     private Harbor harbor;
+    private int id = -1;    // Index in Board.getEdges(), used for compact replays/array state
 
     //________________________CONSTRUCTOR____________________________//
     public Edge(Vertex vertex1, Vertex vertex2) {
@@ -50,6 +51,8 @@ public class Edge {
     public Harbor getHarbor() {
         return harbor;
     }
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
     public Vertex getVertex1() { return vertex1; }
     public Vertex getVertex2() { return vertex2; }
     public List<Tile> getAdjacentTiles() { return adjacentTiles; }
@@ -0,0 +1,49 @@
+package org.example.catanboardgameapp;
+
+//___________________________GAME CONFIG___________________________//
+// The rules a game is played with, fixed when the Gameplay is created. Every game keeps its own
+// copy, so games with different rules can run side by side in one process, and changing the
+// options menu never changes a game that is already running (the menu builds a new one per game).
+public final class GameConfig {
+
+    //___________________________STANDARD RULES___________________________//
+    public static final GameConfig STANDARD = new GameConfig(15, 5, 4, 10, AIOpponent.ThinkingSpeed.EXTREME);
+
+    //___________________________FIELDS___________________________//
+    private final int maxRoads;
+    private final int maxSettlements;
+    private final int maxCities;
+    private final int maxVictoryPoints;
+    private final AIOpponent.ThinkingSpeed thinkingSpeed;   // Given to every AI created for the game
+
+    //___________________________CONSTRUCTOR___________________________//
+    public GameConfig(int maxRoads, int maxSettlements, int maxCities, int maxVictoryPoints, AIOpponent.ThinkingSpeed thinkingSpeed) {
+        if (maxRoads <= 0 || maxSettlements <= 0 || maxCities <= 0 || maxVictoryPoints <= 0) {
+            throw new IllegalArgumentException("Rule limits must be positive");
+        }
+        if (thinkingSpeed == null) throw new IllegalArgumentException("Thinking speed is required");
+        this.maxRoads = maxRoads;
+        this.maxSettlements = maxSettlements;
+        this.maxCities = maxCities;
+        this.maxVictoryPoints = maxVictoryPoints;
+        this.thinkingSpeed = thinkingSpeed;
+    }
+
+    // Same config with other rule limits, e.g. the ones stored in a saved game
+    public GameConfig withRuleLimits(int maxRoads, int maxSettlements, int maxCities, int maxVictoryPoints) {
+        return new GameConfig(maxRoads, maxSettlements, maxCities, maxVictoryPoints, thinkingSpeed);
+    }
+
+    //___________________________GETTERS___________________________//
+    public int getMaxRoads()                              { return maxRoads; }
+    public int getMaxSettlements()                        { return maxSettlements; }
+    public int getMaxCities()                             { return maxCities; }
+    public int getMaxVictoryPoints()                      { return maxVictoryPoints; }
+    public AIOpponent.ThinkingSpeed getThinkingSpeed()    { return thinkingSpeed; }
+
+    @Override
+    public String toString() {
+        return "GameConfig[roads=" + maxRoads + ", settlements=" + maxSettlements + ", cities=" + maxCities
+                + ", victoryPoints=" + maxVictoryPoints + ", aiSpeed=" + thinkingSpeed + "]";
+    }
+}
@@ -0,0 +1,371 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+//___________________________APPEND-ONLY AUTOSAVE JOURNAL___________________________//
+// Every action the ReplayRecorder records is appended to a journal file next to the last
+// GameSnapshot, so autosaving costs one small write per action instead of a full snapshot per turn.
+// fsync is batched (every SYNC_EVERY_ACTIONS actions or SYNC_EVERY_MILLIS ms), and every
+// SNAPSHOT_EVERY_TURNS turns Gameplay takes a new snapshot and the journal is compacted.
+// After a crash, recover() replays the journal tail on top of the loaded snapshot.
+public class GameJournal {
+
+    //___________________________FORMAT___________________________//
+    public static final int MAGIC = 0x4341544A;     // "CATJ"
+    public static final int VERSION = 3;            // 2 added PLAYER_TRADE, 3 the finite Bank
+    // Earlier journals rolled with an endless bank, so their tail cannot be applied to this game
+    private static final int MIN_RECOVERABLE_VERSION = 3;
+    public static final Path JOURNAL_PATH = Path.of("saves", "autosave.journal");
+    public static final int SYNC_EVERY_ACTIONS = 32;
+    public static final long SYNC_EVERY_MILLIS = 250;
+    public static final int SNAPSHOT_EVERY_TURNS = 20;
+
+    // Header: magic, version, game seed, number of replay actions already in the snapshot
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 4;
+    // Number of varint arguments per action, indexed by ReplayRecorder.Action ordinal
+    private static final int[] ARGUMENTS = {1, 2, 1, 1, 1, 1, 1, 2, 1, 2, 1, 3, 3, 4, 2, 3, 1, 1, 4};
+    private static final ReplayRecorder.Action[] ACTIONS = ReplayRecorder.Action.values();
+    private static final Resource.ResourceType[] RESOURCES = Resource.ResourceType.values();
+    private static final DevelopmentCard.DevelopmentCardType[] CARDS = DevelopmentCard.DevelopmentCardType.values();
+
+    //___________________________FIELDS___________________________//
+    private final Path path;
+    private final long seed;
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(4096);   // Appended but not yet written
+    private long written;                                     // File length known to be written
+    private int unsyncedActions;
+    private long lastSync;
+    private boolean reopenNeeded;                             // Channel was closed by an interrupted write
+
+    //___________________________CONSTRUCTOR___________________________//
+    private GameJournal(Path path, long seed) {
+        this.path = path;
+        this.seed = seed;
+    }
+
+    // Starts an empty journal on top of a snapshot holding baseActionCount replay actions
+    public static GameJournal open(Path path, Gameplay gameplay, int baseActionCount) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        GameJournal journal = new GameJournal(path, gameplay.getSeed());
+        journal.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journal.compact(baseActionCount);
+        return journal;
+    }
+
+    //___________________________APPENDING___________________________//
+    // Called by ReplayRecorder with the encoded bytes of one action
+    synchronized void append(byte[] action, int offset, int length) {
+        if (channel == null) return;
+        if (pending.remaining() < length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length));
+            bigger.put(pending.flip());
+            pending = bigger;
+        }
+        pending.put(action, offset, length);
+        unsyncedActions++;
+        // The AI thread gets interrupted at turn changes, and an interrupted write closes the
+        // channel, so an interrupted thread leaves its bytes for the next append or sync
+        if (Thread.currentThread().isInterrupted()) return;
+        try {
+            writePending();
+            if (unsyncedActions >= SYNC_EVERY_ACTIONS || System.currentTimeMillis() - lastSync >= SYNC_EVERY_MILLIS) {
+                channel.force(false);
+                unsyncedActions = 0;
+                lastSync = System.currentTimeMillis();
+            }
+        } catch (ClosedChannelException e) {
+            reopenNeeded = true;    // Interrupted mid-write, reopened by the next caller
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    // Writes everything appended so far and forces it to disk
+    public synchronized void sync() throws IOException {
+        if (channel == null) return;
+        writePending();
+        channel.force(false);
+        unsyncedActions = 0;
+        lastSync = System.currentTimeMillis();
+    }
+
+    // Drops the journal contents after a new snapshot; the snapshot now holds baseActionCount actions
+    public synchronized void compact(int baseActionCount) throws IOException {
+        if (reopenNeeded) reopen();
+        pending.clear();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).put((byte) VERSION).putLong(seed).putInt(baseActionCount).flip();
+        channel.truncate(0);
+        while (header.hasRemaining()) channel.write(header, HEADER_BYTES - header.remaining());
+        channel.force(true);
+        written = HEADER_BYTES;
+        unsyncedActions = 0;
+        lastSync = System.currentTimeMillis();
+    }
+
+    public synchronized void close() {
+        if (channel == null) return;
+        try {
+            sync();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close autosave journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    public static void delete() {
+        try {
+            Files.deleteIfExists(JOURNAL_PATH);
+        } catch (IOException e) {
+            System.err.println("Could not delete autosave journal: " + e.getMessage());
+        }
+    }
+
+    // Writes the pending bytes at the end of the journal. Only bytes the channel confirmed are
+    // dropped from pending, so after a failed write they are simply written again
+    private void writePending() throws IOException {
+        if (reopenNeeded) reopen();
+        int length = pending.position();
+        int done = 0;
+        try {
+            while (done < length) {
+                int count = channel.write(ByteBuffer.wrap(pending.array(), done, length - done), written);
+                done += count;
+                written += count;
+            }
+        } finally {
+            pending.flip().position(done);
+            pending.compact();
+        }
+    }
+
+    // Cuts the file back to what is known to be written, dropping any half written action
+    private void reopen() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(written);
+        reopenNeeded = false;
+    }
+
+    private void disable(IOException cause) {
+        System.err.println("Autosave journal disabled: " + cause.getMessage());
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already broken
+        }
+        channel = null;
+    }
+
+    //___________________________RECOVERY___________________________//
+    // Applies the journal actions that are not yet in the loaded snapshot to the game.
+    // A torn last action (crash in the middle of a write) is ignored. Returns the number of actions applied.
+    public static int recover(Gameplay gameplay, Path path) throws IOException {
+        if (!Files.isRegularFile(path)) return 0;
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (file.size() < HEADER_BYTES) return 0;
+            MappedByteBuffer in = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            if (in.getInt() != MAGIC) return 0;
+            int version = in.get();
+            if (version < MIN_RECOVERABLE_VERSION || version > VERSION || in.getLong() != gameplay.getSeed()) return 0;
+            int baseActionCount = in.getInt();
+            int snapshotActionCount = gameplay.getReplay().getActionCount();
+            // A journal compacted after a newer snapshot than the one loaded starts past it, so the
+            // actions in between are missing and nothing can be replayed on top of this snapshot
+            if (baseActionCount > snapshotActionCount) return 0;
+
+            int[] args = new int[4];
+            // A journal older than the snapshot (crash between saving and compacting) overlaps it:
+            // the actions the snapshot already holds are skipped
+            int skip = snapshotActionCount - baseActionCount;
+            int applied = 0;
+            while (true) {
+                int start = in.position();
+                int action = readVarint(in);
+                if (action < 0 || action >= ACTIONS.length) break;
+                boolean complete = true;
+                for (int i = 0; i < ARGUMENTS[action] && complete; i++) {
+                    args[i] = readVarint(in);
+                    complete = args[i] >= 0;
+                }
+                if (!complete) break;
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                apply(gameplay, ACTIONS[action], args);
+                applied++;
+                // Keep the replay complete: the recovered actions become part of it again
+                byte[] encoded = new byte[in.position() - start];
+                in.get(start, encoded);
+                gameplay.getReplay().appendRecovered(encoded);
+            }
+            for (Player player : gameplay.getPlayerList()) {
+                player.setLongestRoad(gameplay.getLongestRoadManager().calculateLongestRoad(player));
+            }
+            return applied;
+        }
+    }
+
+    // Same rules as ReplayPlayer.step, applied to the live game objects
+    private static void apply(Gameplay gameplay, ReplayRecorder.Action action, int[] args) {
+        Board board = gameplay.getBoard();
+        List<Player> players = gameplay.getPlayerList();
+        Player current = gameplay.getCurrentPlayer();
+        Bank bank = gameplay.getBank();
+        HandInference inference = gameplay.getHandInference();
+        switch (action) {
+            case TURN -> gameplay.restoreTurnState(args[0], false, true, false, false, null,
+                    gameplay.getTurnCounter(), gameplay.getLastRolledDie1(), gameplay.getLastRolledDie2());
+            case ROLL -> {
+                gameplay.restoreTurnState(gameplay.getCurrentPlayerIndex(), gameplay.isInInitialPhase(),
+                        gameplay.isForwardOrder(), true, gameplay.isWaitingForInitialRoad(),
+                        gameplay.getLastInitialSettlement(), gameplay.getTurnCounter() + 1, args[0], args[1]);
+                if (args[0] + args[1] != 7) gameplay.distributeResources(args[0] + args[1]);
+            }
+            case INITIAL_SETTLEMENT -> {
+                Vertex vertex = board.getVertices().get(args[0]);
+                placeSettlement(board, current, vertex);
+                if (current.getSettlements().size() == 2) {
+                    for (Tile tile : vertex.getAdjacentTiles()) {
+                        Resource.ResourceType type = tile.getResourcetype();
+                        if (type != Resource.ResourceType.SEA && type != Resource.ResourceType.DESERT) {
+                            bank.withdraw(current, type.getName(), 1);
+                        }
+                    }
+                }
+            }
+            case SETTLEMENT -> {
+                pay(bank, current, Resource.ResourceType.BRICK, Resource.ResourceType.WOOD,
+                        Resource.ResourceType.GRAIN, Resource.ResourceType.WOOL);
+                placeSettlement(board, current, board.getVertices().get(args[0]));
+            }
+            case CITY -> {
+                pay(bank, current, Resource.ResourceType.ORE, Resource.ResourceType.ORE, Resource.ResourceType.ORE,
+                        Resource.ResourceType.GRAIN, Resource.ResourceType.GRAIN);
+                Vertex vertex = board.getVertices().get(args[0]);
+                current.getSettlements().remove(vertex);
+                current.getCities().add(vertex);
+                vertex.makeCity();
+                board.recordBuilding(vertex, current, 1);
+                current.playerScorePlusOne();
+            }
+            case INITIAL_ROAD -> current.getRoads().add(board.getEdges().get(args[0]));
+            case ROAD -> {
+                pay(bank, current, Resource.ResourceType.BRICK, Resource.ResourceType.WOOD);
+                current.getRoads().add(board.getEdges().get(args[0]));
+            }
+            case FREE_ROAD -> players.get(args[0]).getRoads().add(board.getEdges().get(args[1]));
+            case BUY_CARD -> {
+                pay(bank, current, Resource.ResourceType.WOOL, Resource.ResourceType.ORE, Resource.ResourceType.GRAIN);
+                DevelopmentCard.DevelopmentCardType card = CARDS[args[0]];
+                gameplay.getShuffledDevelopmentCards().remove(card);
+                current.getDevelopmentCards().merge(card, 1, Integer::sum);
+            }
+            case PLAY_CARD -> {
+                Player player = players.get(args[0]);
+                DevelopmentCard.DevelopmentCardType card = CARDS[args[1]];
+                player.getDevelopmentCards().merge(card, -1, (a, b) -> Math.max(0, a + b));
+                if (card == DevelopmentCard.DevelopmentCardType.VICTORYPOINT) player.playerScorePlusOne();
+                if (card == DevelopmentCard.DevelopmentCardType.KNIGHT) player.increasePlayedKnights();
+            }
+            case ROBBER -> gameplay.getRobber().restoreTo(board.getTiles().get(args[0]));
+            case STEAL -> {
+                inference.steal(players.get(args[0]), players.get(args[1]), args[2]);
+                add(players.get(args[1]), args[2], -1);
+                add(players.get(args[0]), args[2], 1);
+            }
+            case DISCARD -> bank.deposit(players.get(args[0]), RESOURCES[args[1]].getName(), args[2]);
+            case BANK_TRADE -> {
+                bank.deposit(players.get(args[0]), RESOURCES[args[1]].getName(), args[2]);
+                bank.withdraw(players.get(args[0]), RESOURCES[args[3]].getName(), 1);
+            }
+            case MONOPOLY -> {
+                Player player = players.get(args[0]);
+                String name = RESOURCES[args[1]].getName();
+                int taken = 0;
+                for (Player other : players) {
+                    if (other == player) continue;
+                    int amount = other.getResources().getOrDefault(name, 0);
+                    if (amount > 0) inference.loss(other, args[1], amount);
+                    inference.clear(other, args[1]);
+                    other.getResources().put(name, 0);
+                    taken += amount;
+                }
+                inference.gain(player, args[1], taken);
+                add(player, args[1], taken);
+            }
+            case GAIN -> bank.withdraw(players.get(args[0]), RESOURCES[args[1]].getName(), args[2]);
+            case LONGEST_ROAD -> {
+                LongestRoadManager manager = gameplay.getLongestRoadManager();
+                manager.setCurrentHolder(awardTitle(manager.getCurrentHolder(), players.get(args[0])));
+            }
+            case BIGGEST_ARMY -> {
+                BiggestArmyManager manager = gameplay.getBiggestArmy();
+                manager.setCurrentHolder(awardTitle(manager.getCurrentHolder(), players.get(args[0])));
+            }
+            case PLAYER_TRADE -> {
+                long give = PackedHand.fromBundle(args[2]);
+                long receive = PackedHand.fromBundle(args[3]);
+                inference.transfer(players.get(args[0]), players.get(args[1]), give);
+                inference.transfer(players.get(args[1]), players.get(args[0]), receive);
+                PackedHand.transfer(players.get(args[0]), players.get(args[1]), give);
+                PackedHand.transfer(players.get(args[1]), players.get(args[0]), receive);
+            }
+        }
+    }
+
+    //___________________________HELPERS___________________________//
+    private static void placeSettlement(Board board, Player player, Vertex vertex) {
+        vertex.setOwner(player);
+        vertex.makeSettlement();
+        board.recordBuilding(vertex, player, 1);
+        player.getSettlements().add(vertex);
+        player.playerScorePlusOne();
+    }
+
+    // Runs of the same resource are paid in one go, like Gameplay.removeResource
+    private static void pay(Bank bank, Player player, Resource.ResourceType... cost) {
+        for (int i = 0; i < cost.length; ) {
+            int run = 1;
+            while (i + run < cost.length && cost[i + run] == cost[i]) run++;
+            bank.deposit(player, cost[i].getName(), run);
+            i += run;
+        }
+    }
+
+    private static void add(Player player, int resource, int amount) {
+        player.getResources().merge(RESOURCES[resource].getName(), amount, Integer::sum);
+    }
+
+    // Same as the managers: previous holder loses 2 VP (unless it is the same player), new holder gains 2
+    private static Player awardTitle(Player previous, Player holder) {
+        if (previous != null && previous != holder) previous.setPlayerScore(previous.getPlayerScore() - 2);
+        holder.setPlayerScore(holder.getPlayerScore() + 2);
+        return holder;
+    }
+
+    // Unsigned LEB128 as written by ReplayRecorder, -1 if the journal ends in the middle of it
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (!in.hasRemaining() || shift > 28) return -1;
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,438 @@
+package org.example.catanboardgameapp;
+
+import javafx.scene.paint.Color;
+import org.example.controller.GameController;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+//___________________________BINARY GAME SNAPSHOT___________________________//
+// Saves and loads the complete state of a game (board, ownership, hands, deck, robber,
+// titles, turn flags and AI settings) in a small versioned binary format.
+// The board layout itself is not stored: it is regenerated from the seed and checked
+// against the stored tiles, so a snapshot can never be loaded onto the wrong board.
+public class GameSnapshot {
+
+    //___________________________FORMAT___________________________//
+    public static final int MAGIC = 0x43415453;     // "CATS"
+    public static final int VERSION = 2;            // 2: card counting (HandInference) added
+    public static final Path AUTOSAVE_PATH = Path.of("saves", "autosave.catan");
+
+    private static final int HUMAN = 0;              // Seat kind for humans, AI seats are level ordinal + 1
+    private static final int NO_PLAYER = -1;
+    private static final Resource.ResourceType[] RESOURCES = {
+            Resource.ResourceType.BRICK, Resource.ResourceType.WOOD, Resource.ResourceType.ORE,
+            Resource.ResourceType.GRAIN, Resource.ResourceType.WOOL
+    };
+
+    //___________________________FIELDS___________________________//
+    // Reused between saves, so autosaving every turn does not allocate a new buffer each time
+    private ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+
+    //___________________________SAVING___________________________//
+    // Writes to a temporary file first and then moves it into place, so a crash mid-save
+    // never leaves a half written snapshot behind
+    public synchronized void save(Gameplay gameplay, Path path) throws IOException {
+        ByteBuffer out = encode(gameplay);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) channel.write(out);
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Serializes the game into the reused buffer and returns it flipped, ready to be written
+    synchronized ByteBuffer encode(Gameplay gameplay) {
+        // java.util.Random does not expose its state, so it is reseeded with a value drawn
+        // from itself; storing that value lets a loaded game continue with the same dice
+        long rngState = gameplay.getRandom().nextLong();
+        gameplay.getRandom().setSeed(rngState);
+        return encode(gameplay, rngState);
+    }
+
+    private ByteBuffer encode(Gameplay gameplay, long rngState) {
+        ensureCapacity(gameplay, gameplay.getReplay().getActionByteCount());
+        ByteBuffer out = buffer.clear();
+        Board board = gameplay.getBoard();
+
+        out.putInt(MAGIC);
+        out.put((byte) VERSION);
+        out.putLong(gameplay.getSeed());
+        out.putLong(rngState);
+        out.put((byte) gameplay.getBoardRadius());
+        out.putShort((short) board.getGameWidth());
+        out.putShort((short) board.getGameHeight());
+
+        // Rule limits
+        out.put((byte) gameplay.getMaxRoads());
+        out.put((byte) gameplay.getMaxSettlements());
+        out.put((byte) gameplay.getMaxCities());
+        out.put((byte) gameplay.getMaxVictoryPoints());
+
+        // Board check: resource and dice number of every tile
+        out.putShort((short) board.getTiles().size());
+        for (Tile tile : board.getTiles()) {
+            out.put((byte) tile.getResourcetype().ordinal());
+            out.put((byte) tile.getTileDiceNumber());
+        }
+
+        // Players
+        out.put((byte) gameplay.getPlayerList().size());
+        for (Player player : gameplay.getPlayerList()) {
+            out.put((byte) player.getPlayerId());
+            if (player instanceof AIOpponent ai) {
+                out.put((byte) (ai.getStrategyLevel().ordinal() + 1));
+                out.put((byte) ai.getThinkingSpeed().ordinal());
+            } else {
+                out.put((byte) HUMAN);
+                out.put((byte) 0);
+            }
+            out.putInt(toArgb(player.getColor()));
+            for (Resource.ResourceType resource : RESOURCES) {
+                out.putShort((short) player.getResources().getOrDefault(resource.getName(), 0).intValue());
+            }
+            for (DevelopmentCard.DevelopmentCardType card : DevelopmentCard.DevelopmentCardType.values()) {
+                out.put((byte) player.getDevelopmentCards().getOrDefault(card, 0).intValue());
+            }
+            out.put((byte) player.getPlayerScore());
+            out.put((byte) player.getPlayedKnights());
+            out.put((byte) player.getLongestRoad());
+            putVertexIds(out, player.getSettlements());
+            putVertexIds(out, player.getCities());
+            out.put((byte) player.getRoads().size());
+            for (Edge edge : player.getRoads()) out.putShort((short) edge.getId());
+            if (player instanceof AIOpponent ai) {
+                for (AIOpponent.Strategy strategy : AIOpponent.Strategy.values()) {
+                    out.putInt(ai.getStrategyUsageMap().getOrDefault(strategy, 0));
+                }
+            }
+        }
+
+        // Development card deck, top card first
+        List<DevelopmentCard.DevelopmentCardType> deck = gameplay.getShuffledDevelopmentCards();
+        out.put((byte) deck.size());
+        for (DevelopmentCard.DevelopmentCardType card : deck) out.put((byte) card.ordinal());
+
+        // Robber and titles
+        out.putShort((short) gameplay.getRobber().getCurrentTile().getId());
+        out.put((byte) seatOf(gameplay, gameplay.getLongestRoadManager().getCurrentHolder()));
+        out.put((byte) seatOf(gameplay, gameplay.getBiggestArmy().getCurrentHolder()));
+
+        // Turn and phase
+        out.put((byte) gameplay.getCurrentPlayerIndex());
+        out.put(flags(gameplay));
+        Vertex lastInitial = gameplay.getLastInitialSettlement();
+        out.putShort((short) (lastInitial == null ? NO_PLAYER : lastInitial.getId()));
+        out.putInt(gameplay.getTurnCounter());
+        out.put((byte) gameplay.getLastRolledDie1());
+        out.put((byte) gameplay.getLastRolledDie2());
+
+        // Card counting
+        gameplay.getHandInference().writeState(out);
+
+        // Replay so far, so the saved game still produces a complete replay when it ends
+        gameplay.getReplay().writeActions(out);
+        return out.flip();
+    }
+
+    //___________________________LOADING___________________________//
+    // Loads a snapshot through a memory mapped, read-only view of the file.
+    // attachBoard gets the fresh Gameplay with its players and must create the Board and
+    // Robber (UI games build their view there); everything else is restored afterwards.
+    public static Gameplay load(Path path, GameController gameController, Consumer<Gameplay> attachBoard) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(in, gameController, attachBoard, null);
+        }
+    }
+
+    // Loads a snapshot into a headless game, e.g. to continue a saved game in a simulation
+    public static Gameplay loadHeadless(Path path) throws IOException {
+        return load(path, null, gameplay -> {
+            gameplay.attachHeadlessBoard();
+            gameplay.initializeDevelopmentCards();
+        });
+    }
+
+    // humanStandIn: when set, human seats come back as AIs of that level (look-ahead forks)
+    static Gameplay decode(ByteBuffer in, GameController gameController, Consumer<Gameplay> attachBoard,
+                           AIOpponent.StrategyLevel humanStandIn) throws IOException {
+        if (in.remaining() < 5 || in.getInt() != MAGIC) throw new IOException("Not a Catan save file");
+        int version = in.get();
+        if (version < 1 || version > VERSION) throw new IOException("Unsupported save file version " + version);
+        long seed = in.getLong();
+        long rngState = in.getLong();
+        int radius = in.get();
+        in.getShort(); // Board width and height: the UI always uses the menu's size,
+        in.getShort(); // the tile check below catches any mismatch
+
+        int maxRoads = in.get(), maxSettlements = in.get(), maxCities = in.get(), maxVictoryPoints = in.get();
+        int tileCount = in.getShort();
+        byte[] tiles = new byte[tileCount * 2];
+        in.get(tiles);
+
+        // The AIs' speeds are stored per player below, so only the rule limits matter here
+        GameConfig config = GameConfig.STANDARD.withRuleLimits(maxRoads, maxSettlements, maxCities, maxVictoryPoints);
+        Gameplay gameplay = new Gameplay(radius, gameController, seed, config);
+        if (gameController != null) gameplay.setMenuView(gameController.getMenuView());
+
+        // Players first (the view needs them), board ownership after the board exists
+        int playerCount = in.get();
+        int[][] settlements = new int[playerCount][];
+        int[][] cities = new int[playerCount][];
+        int[][] roads = new int[playerCount][];
+        for (int i = 0; i < playerCount; i++) {
+            int id = in.get();
+            int kind = in.get();
+            int speed = in.get();
+            Color color = fromArgb(in.getInt());
+            Player player;
+            if (kind == HUMAN && humanStandIn != null) {
+                player = new AIOpponent(id, color, humanStandIn, gameplay);
+            } else if (kind == HUMAN) {
+                player = new Player(id, color, gameplay);
+            } else {
+                AIOpponent ai = new AIOpponent(id, color, AIOpponent.StrategyLevel.values()[kind - 1], gameplay);
+                ai.setThinkingSpeed(AIOpponent.ThinkingSpeed.values()[speed]);
+                player = ai;
+            }
+            for (Resource.ResourceType resource : RESOURCES) {
+                player.getResources().put(resource.getName(), (int) in.getShort());
+            }
+            for (DevelopmentCard.DevelopmentCardType card : DevelopmentCard.DevelopmentCardType.values()) {
+                player.getDevelopmentCards().put(card, (int) in.get());
+            }
+            player.setPlayerScore(in.get());
+            player.setPlayedKnights(in.get());
+            player.setLongestRoad(in.get());
+            settlements[i] = getIds(in, in.get());
+            cities[i] = getIds(in, in.get());
+            roads[i] = getIds(in, in.get());
+            if (kind != HUMAN && player instanceof AIOpponent ai) {
+                for (AIOpponent.Strategy strategy : AIOpponent.Strategy.values()) {
+                    ai.getStrategyUsageMap().put(strategy, in.getInt());
+                }
+            }
+            gameplay.getPlayerList().add(player);
+        }
+
+        attachBoard.accept(gameplay);
+        Board board = gameplay.getBoard();
+        checkBoard(board, tiles);
+
+        for (int i = 0; i < playerCount; i++) {
+            Player player = gameplay.getPlayerList().get(i);
+            for (int id : settlements[i]) {
+                Vertex vertex = board.getVertices().get(id);
+                vertex.setOwner(player);
+                vertex.makeSettlement();
+                player.getSettlements().add(vertex);
+            }
+            for (int id : cities[i]) {
+                Vertex vertex = board.getVertices().get(id);
+                vertex.setOwner(player);
+                vertex.makeCity();
+                player.getCities().add(vertex);
+            }
+            for (int id : roads[i]) {
+                player.getRoads().add(board.getEdges().get(id));
+            }
+        }
+
+        List<DevelopmentCard.DevelopmentCardType> deck = new ArrayList<>();
+        int deckSize = in.get();
+        for (int i = 0; i < deckSize; i++) deck.add(DevelopmentCard.DevelopmentCardType.values()[in.get()]);
+        gameplay.restoreDevelopmentDeck(deck);
+
+        gameplay.getRobber().restoreTo(board.getTiles().get(in.getShort()));
+        gameplay.getLongestRoadManager().setCurrentHolder(playerAt(gameplay, in.get()));
+        gameplay.getBiggestArmy().setCurrentHolder(playerAt(gameplay, in.get()));
+
+        int currentPlayerIndex = in.get();
+        byte flags = in.get();
+        int lastInitial = in.getShort();
+        int turnCounter = in.getInt();
+        int die1 = in.get(), die2 = in.get();
+        gameplay.restoreTurnState(currentPlayerIndex, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0,
+                (flags & 8) != 0, lastInitial < 0 ? null : board.getVertices().get(lastInitial),
+                turnCounter, die1, die2);
+        gameplay.getBank().recount();   // Hands were set directly above
+        // Card counting (version 1 saves start over from the hands)
+        if (version >= 2) gameplay.getHandInference().readState(in);
+
+        // Replay last: anything recorded while restoring is replaced by the saved stream
+        int actionCount = in.getInt();
+        byte[] actions = new byte[in.getInt()];
+        in.get(actions);
+        gameplay.getReplay().restore(actions, actionCount);
+        gameplay.getRandom().setSeed(rngState);
+        return gameplay;
+    }
+
+    //___________________________FORKING___________________________//
+    // State of a live game for AI look-ahead. Unlike saving, the live game's dice are left
+    // untouched: a fork gets its own dice from fork(), so the search can never leak into them
+    public synchronized byte[] capture(Gameplay gameplay) {
+        ByteBuffer out = encode(gameplay, 0L);
+        byte[] state = new byte[out.remaining()];
+        out.get(state);
+        return state;
+    }
+
+    // Independent headless copy of a captured game, rolling its own dice from rolloutSeed.
+    // The board is copied from the captured game's own board, since vertex and edge ids
+    // depend on the board's pixel size. Humans are played by HARD AIs in the fork.
+    // The whole game is copied, hidden cards included; use the observer overload for a search
+    // that must not see them. Safe to call from several threads at once.
+    public static Gameplay fork(byte[] state, Board board, long rolloutSeed) {
+        return fork(state, board, rolloutSeed, -1);
+    }
+
+    // Same, as seen from observerSeat: every opponent's resources are sampled from what the
+    // observer's card counting expects (see HandInference.sampleHand) and the development cards
+    // it has not seen are dealt out again, so the fork holds one possible world, not the real one.
+    // observerSeat -1 keeps the real hands.
+    public static Gameplay fork(byte[] state, Board board, long rolloutSeed, int observerSeat) {
+        try {
+            Gameplay fork = decode(ByteBuffer.wrap(state), null, gameplay -> {
+                gameplay.attachHeadlessBoard(new Board(board, gameplay));
+                gameplay.initializeDevelopmentCards();
+            }, AIOpponent.StrategyLevel.HARD);
+            fork.getRandom().setSeed(rolloutSeed);
+            if (observerSeat >= 0) determinize(fork, fork.getPlayerList().get(observerSeat));
+            fork.markAsSimulation();
+            // The searching AI cannot know the order of the deck, so every fork shuffles it
+            Collections.shuffle(fork.getShuffledDevelopmentCards(), fork.getRandom());
+            return fork;
+        } catch (IOException e) {
+            throw new IllegalStateException("Captured game state could not be decoded", e);
+        }
+    }
+
+    // Replaces what the observer cannot see with a sample. Hand sizes and development card
+    // counts are public and stay. Victory Point cards stay too: they count in the score at once,
+    // so the score tells how many a player holds. The other unplayed cards of the opponents and
+    // the deck are one unseen pool, and each opponent is dealt its count from it again.
+    private static void determinize(Gameplay fork, Player observer) {
+        HandInference inference = fork.getHandInference();
+        List<DevelopmentCard.DevelopmentCardType> pool = new ArrayList<>(fork.getShuffledDevelopmentCards());
+        int[] hiddenCards = new int[fork.getPlayerList().size()];
+        long[] hands = new long[hiddenCards.length];
+        for (int seat = 0; seat < hiddenCards.length; seat++) {
+            Player player = fork.getPlayerList().get(seat);
+            if (player == observer) continue;
+            hands[seat] = inference.sampleHand(observer, player, fork.getRandom());
+            for (DevelopmentCard.DevelopmentCardType type : DevelopmentCard.DevelopmentCardType.values()) {
+                if (type == DevelopmentCard.DevelopmentCardType.VICTORYPOINT) continue;
+                int count = player.getDevelopmentCards().getOrDefault(type, 0);
+                for (int i = 0; i < count; i++) pool.add(type);
+                hiddenCards[seat] += count;
+                player.getDevelopmentCards().put(type, 0);
+            }
+        }
+        Collections.shuffle(pool, fork.getRandom());
+        for (int seat = 0; seat < hiddenCards.length; seat++) {
+            Player player = fork.getPlayerList().get(seat);
+            if (player == observer) continue;
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                player.getResources().put(PackedHand.resourceName(type), PackedHand.get(hands[seat], type));
+            }
+            // The opponent's hidden cards are not Victory Points (those are known), so deal the others
+            for (int i = 0; i < pool.size() && hiddenCards[seat] > 0; i++) {
+                if (pool.get(i) == DevelopmentCard.DevelopmentCardType.VICTORYPOINT) continue;
+                player.getDevelopmentCards().merge(pool.remove(i--), 1, Integer::sum);
+                hiddenCards[seat]--;
+            }
+        }
+        fork.restoreDevelopmentDeck(pool);
+        fork.getBank().recountSupply();
+    }
+
+    //___________________________AUTOSAVE FILE___________________________//
+    public static boolean hasAutosave() {
+        return Files.isRegularFile(AUTOSAVE_PATH);
+    }
+
+    public static void deleteAutosave() {
+        try {
+            Files.deleteIfExists(AUTOSAVE_PATH);
+        } catch (IOException e) {
+            System.err.println("Could not delete autosave: " + e.getMessage());
+        }
+    }
+
+    //___________________________HELPERS___________________________//
+    // Grows the reused buffer when a game outgrows it (big boards, long replays)
+    private void ensureCapacity(Gameplay gameplay, int actionBytes) {
+        int needed = 64 + gameplay.getBoard().getTiles().size() * 2 + 32 + actionBytes
+                + HandInference.stateBytes(gameplay.getPlayerList().size());
+        for (Player player : gameplay.getPlayerList()) {
+            needed += 48 + AIOpponent.Strategy.values().length * 4
+                    + 2 * (player.getSettlements().size() + player.getCities().size() + player.getRoads().size());
+        }
+        if (buffer.capacity() < needed) buffer = ByteBuffer.allocate(Math.max(needed, buffer.capacity() * 2));
+    }
+
+    private static void putVertexIds(ByteBuffer out, List<Vertex> vertices) {
+        out.put((byte) vertices.size());
+        for (Vertex vertex : vertices) out.putShort((short) vertex.getId());
+    }
+
+    private static int[] getIds(ByteBuffer in, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) ids[i] = in.getShort();
+        return ids;
+    }
+
+    private static void checkBoard(Board board, byte[] tiles) throws IOException {
+        if (board.getTiles().size() * 2 != tiles.length) throw new IOException("Saved board does not match the seed");
+        for (int i = 0; i < board.getTiles().size(); i++) {
+            Tile tile = board.getTiles().get(i);
+            if (tiles[2 * i] != tile.getResourcetype().ordinal() || tiles[2 * i + 1] != tile.getTileDiceNumber()) {
+                throw new IOException("Saved board does not match the seed");
+            }
+        }
+    }
+
+    private static byte flags(Gameplay gameplay) {
+        int flags = 0;
+        if (gameplay.isInInitialPhase()) flags |= 1;
+        if (gameplay.isForwardOrder()) flags |= 2;
+        if (gameplay.hasRolledDice()) flags |= 4;
+        if (gameplay.isWaitingForInitialRoad()) flags |= 8;
+        return (byte) flags;
+    }
+
+    private static int seatOf(Gameplay gameplay, Player player) {
+        return player == null ? NO_PLAYER : gameplay.getPlayerList().indexOf(player);
+    }
+
+    private static Player playerAt(Gameplay gameplay, int seat) {
+        return seat == NO_PLAYER ? null : gameplay.getPlayerList().get(seat);
+    }
+
+    private static int toArgb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24
+                | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8
+                | (int) Math.round(color.getBlue() * 255);
+    }
+
+    private static Color fromArgb(int argb) {
+        return Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
+    }
+}
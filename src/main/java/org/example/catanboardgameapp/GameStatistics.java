@@ -0,0 +1,250 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+//___________________________STREAMING GAME STATISTICS___________________________//
+// Consumes finished games one at a time and keeps only fixed-size counters and histograms,
+// so memory stays the same whether a simulation plays a thousand games or ten million.
+// An instance is not thread safe: give every worker its own and merge them at the end.
+public class GameStatistics {
+
+    //___________________________LIMITS___________________________//
+    public static final int MAX_SEATS = 6;
+    public static final int MAX_RADIUS = 10;
+    private static final int LEVELS = AIOpponent.StrategyLevel.values().length;
+    private static final double Z_95 = 1.959964;    // Two-sided 95% normal quantile
+
+    //___________________________FIELDS___________________________//
+    private long games;
+    private long finishedGames;
+    private long abortedGames;                       // No winner: turn limit hit or an AI got stuck
+
+    private final Histogram turnsToWin = new Histogram(5, 100);          // Dice rolls until someone won
+    private final Histogram victoryPoints = new Histogram(1, 25);        // Final VP of every seat
+    private final Histogram resourcesProduced = new Histogram(5, 100);   // Dice production of every seat
+
+    private final long[] seatGames = new long[MAX_SEATS];
+    private final long[] seatWins = new long[MAX_SEATS];
+    private final long[] levelSeats = new long[LEVELS];
+    private final long[] levelWins = new long[LEVELS];
+    private final long[] radiusGames = new long[MAX_RADIUS + 1];
+    private final long[] radiusFinished = new long[MAX_RADIUS + 1];
+    // Seats played and wins per level and board radius, flattened as [level * (MAX_RADIUS + 1) + radius]
+    private final long[] levelRadiusSeats = new long[LEVELS * (MAX_RADIUS + 1)];
+    private final long[] levelRadiusWins = new long[LEVELS * (MAX_RADIUS + 1)];
+    private final AILatency aiLatency = new AILatency();                 // Decision times of all games, per level
+
+    //___________________________RECORDING___________________________//
+    // Adds one finished (or aborted) game; nothing from the game is kept after this returns
+    public void record(Gameplay game) {
+        List<Player> players = game.getPlayerList();
+        int radius = Math.min(game.getBoardRadius(), MAX_RADIUS);
+        Player winner = game.getWinner();
+
+        games++;
+        radiusGames[radius]++;
+        if (winner == null) {
+            abortedGames++;
+        } else {
+            finishedGames++;
+            radiusFinished[radius]++;
+            turnsToWin.add(game.getTurnCounter());
+        }
+
+        for (int seat = 0; seat < players.size() && seat < MAX_SEATS; seat++) {
+            Player player = players.get(seat);
+            boolean won = player == winner;
+            victoryPoints.add(player.getPlayerScore());
+            resourcesProduced.add(player.getResourcesProduced());
+            if (winner != null) {
+                seatGames[seat]++;
+                if (won) seatWins[seat]++;
+            }
+            // Humans only show up when UI games are recorded; they have no level to count under
+            if (player instanceof AIOpponent ai) {
+                int level = ai.getStrategyLevel().ordinal();
+                levelSeats[level]++;
+                levelRadiusSeats[level * (MAX_RADIUS + 1) + radius]++;
+                if (won) {
+                    levelWins[level]++;
+                    levelRadiusWins[level * (MAX_RADIUS + 1) + radius]++;
+                }
+            }
+        }
+        aiLatency.merge(game.getAILatency());
+    }
+
+    // Folds another worker's results into this one
+    public void merge(GameStatistics other) {
+        games += other.games;
+        finishedGames += other.finishedGames;
+        abortedGames += other.abortedGames;
+        turnsToWin.merge(other.turnsToWin);
+        victoryPoints.merge(other.victoryPoints);
+        resourcesProduced.merge(other.resourcesProduced);
+        addAll(seatGames, other.seatGames);
+        addAll(seatWins, other.seatWins);
+        addAll(levelSeats, other.levelSeats);
+        addAll(levelWins, other.levelWins);
+        addAll(radiusGames, other.radiusGames);
+        addAll(radiusFinished, other.radiusFinished);
+        addAll(levelRadiusSeats, other.levelRadiusSeats);
+        addAll(levelRadiusWins, other.levelRadiusWins);
+        aiLatency.merge(other.aiLatency);
+    }
+
+    private static void addAll(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) into[i] += from[i];
+    }
+
+    //___________________________OUTPUT___________________________//
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d | finished: %d | aborted: %d%n", games, finishedGames, abortedGames));
+        sb.append("Turns to win:       ").append(turnsToWin).append('\n');
+        sb.append("Victory points:     ").append(victoryPoints).append('\n');
+        sb.append("Resources produced: ").append(resourcesProduced).append('\n');
+
+        sb.append("Win rate by seat (95% CI):\n");
+        for (int seat = 0; seat < MAX_SEATS; seat++) {
+            if (seatGames[seat] == 0) continue;
+            sb.append(String.format("  Seat %d: %s%n", seat + 1, winRate(seatWins[seat], seatGames[seat])));
+        }
+        sb.append("Win rate by level (95% CI):\n");
+        for (AIOpponent.StrategyLevel level : AIOpponent.StrategyLevel.values()) {
+            int i = level.ordinal();
+            if (levelSeats[i] == 0) continue;
+            sb.append(String.format("  %s: %s%n", level, winRate(levelWins[i], levelSeats[i])));
+        }
+        sb.append("Win rate by board radius (95% CI):\n");
+        for (int radius = 0; radius <= MAX_RADIUS; radius++) {
+            if (radiusGames[radius] == 0) continue;
+            sb.append(String.format("  Radius %d: %d games, finished %s%n",
+                    radius, radiusGames[radius], winRate(radiusFinished[radius], radiusGames[radius])));
+            for (AIOpponent.StrategyLevel level : AIOpponent.StrategyLevel.values()) {
+                int i = level.ordinal() * (MAX_RADIUS + 1) + radius;
+                if (levelRadiusSeats[i] == 0) continue;
+                sb.append(String.format("    %s: %s%n", level, winRate(levelRadiusWins[i], levelRadiusSeats[i])));
+            }
+        }
+        sb.append("Turns to win histogram:\n").append(turnsToWin.bars());
+        sb.append("Victory points histogram:\n").append(victoryPoints.bars());
+        sb.append("Resources produced histogram:\n").append(resourcesProduced.bars());
+        sb.append(aiLatency.summary());
+        return sb.toString();
+    }
+
+    public void writeSummary(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.writeString(path, summary());
+    }
+
+    // "wins/total = p% [low%, high%]" with a Wilson score interval, which stays sane near 0% and 100%
+    private static String winRate(long wins, long total) {
+        double[] ci = wilsonInterval(wins, total);
+        return String.format("%d/%d = %.2f%% [%.2f%%, %.2f%%]",
+                wins, total, 100.0 * wins / total, 100.0 * ci[0], 100.0 * ci[1]);
+    }
+
+    public static double[] wilsonInterval(long successes, long trials) {
+        if (trials == 0) return new double[]{0.0, 1.0};
+        double p = successes / (double) trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double centre = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[]{Math.max(0.0, centre - margin), Math.min(1.0, centre + margin)};
+    }
+
+    //___________________________GETTERS___________________________//
+    public long getGames()          { return games; }
+    public long getFinishedGames()  { return finishedGames; }
+    public long getAbortedGames()   { return abortedGames; }
+    public long getSeatWins(int seat) { return seatWins[seat]; }
+    public long getLevelWins(AIOpponent.StrategyLevel level)  { return levelWins[level.ordinal()]; }
+    public long getLevelSeats(AIOpponent.StrategyLevel level) { return levelSeats[level.ordinal()]; }
+    public double getMeanTurnsToWin() { return turnsToWin.mean(); }
+    public AILatency getAILatency()   { return aiLatency; }
+
+    //___________________________HISTOGRAM___________________________//
+    // Fixed-width bins starting at 0; values past the last bin land in it as overflow.
+    // Mean and spread are kept exactly, percentiles are read from the bins.
+    private static final class Histogram {
+        private final int width;
+        private final long[] bins;
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+        private double sum;
+        private double sumOfSquares;
+
+        Histogram(int width, int binCount) {
+            this.width = width;
+            this.bins = new long[binCount];
+        }
+
+        void add(long value) {
+            bins[(int) Math.min(Math.max(value, 0) / width, bins.length - 1)]++;
+            count++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            sumOfSquares += (double) value * value;
+        }
+
+        void merge(Histogram other) {
+            addAll(bins, other.bins);
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            sum += other.sum;
+            sumOfSquares += other.sumOfSquares;
+        }
+
+        double mean() {
+            return count == 0 ? 0.0 : sum / count;
+        }
+
+        double standardDeviation() {
+            if (count < 2) return 0.0;
+            double mean = mean();
+            return Math.sqrt(Math.max(0.0, (sumOfSquares - count * mean * mean) / (count - 1)));
+        }
+
+        // Lower edge of the bin that holds the given fraction of all values
+        long percentile(double fraction) {
+            long target = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < bins.length; i++) {
+                seen += bins[i];
+                if (seen >= target) return (long) i * width;
+            }
+            return (long) (bins.length - 1) * width;
+        }
+
+        // One line per non-empty bin, bars scaled to the fullest bin
+        String bars() {
+            long fullest = 0;
+            for (long bin : bins) fullest = Math.max(fullest, bin);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < bins.length; i++) {
+                if (bins[i] == 0) continue;
+                String label = i == bins.length - 1 ? (long) i * width + "+" : String.valueOf((long) i * width);
+                int length = (int) Math.round(40.0 * bins[i] / fullest);
+                sb.append(String.format("  %6s | %-40s %d%n", label, "#".repeat(length), bins[i]));
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            if (count == 0) return "no data";
+            return String.format("mean %.2f, sd %.2f, min %d, p50 %d, p90 %d, max %d (n=%d)",
+                    mean(), standardDeviation(), min, percentile(0.5), percentile(0.9), max, count);
+        }
+    }
+}
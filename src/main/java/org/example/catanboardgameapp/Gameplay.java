@@ -1,8 +1,12 @@
 package org.example.catanboardgameapp;
 
+import javafx.scene.Group;
 import javafx.scene.control.*;
 import javafx.scene.paint.Color;
 import org.example.catanboardgameviews.CatanBoardGameView;
+import org.example.catanboardgameviews.FastForwardRenderer;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import org.example.catanboardgameviews.MenuView;
 import org.example.controller.GameController;
@@ -15,6 +19,16 @@ public class Gameplay {
     //__________________________CONFIG & VIEWS_____________________________//
     private final GameController gameController;
     private final int boardRadius;
+    private final GameConfig config;                   // Rule limits and AI speed, fixed for the whole game
+    private final boolean headless;                    // True for simulations: no controller, view or menu attached
+    private boolean simulation;                        // Forked look-ahead copy of another game (AI search)
+    private boolean rollout;                           // Fork past the searched moves: AIs play the light rules
+    private final long seed;                           // Same seed -> same board, dice rolls and shuffles
+    private final Random random;
+    private final ReplayRecorder replay;               // Binary record of every action, see ReplayPlayer
+    private GameSnapshot snapshotWriter;               // Reused for autosaves, created on first save
+    private GameJournal journal;                       // Actions since the last autosave snapshot
+    private int turnsSinceSnapshot;
     private DrawOrDisplay drawOrDisplay;
     private CatanBoardGameView catanBoardGameView;
     private MenuView menuView;
@@ -30,11 +44,16 @@ public class Gameplay {
     private boolean hasRolledThisTurn = false;         // Tracks whether dice were rolled this turn
     private boolean waitingForInitialRoad = false;     // Set to true after placing initial settlement
     private volatile boolean gamePaused = false;       // Used to pause/resume game (e.g., for menu)
-    private Thread activeAIThread;
+    private AITurnRunner aiTurnRunner;                 // Runs AI turns off the FX thread, created on first use
+    private volatile boolean fastForward = false;      // All-AI games: turns run back to back, see setFastForward
+    private volatile boolean uiDetached = false;       // True while the fast-forward loop plays, nothing is drawn per action
+    private volatile int skippedLogLines = 0;          // Log lines not written while fast-forwarding
     private boolean gameOver = false;                  // Set true when someone reaches victory
+    private Player winner;                             // Null until the game is won
 
     //__________________________BOARD & GAME DATA_____________________________//
     private Board board;
+    private Robber robber;
     private Vertex lastInitialSettlement = null;       // Used for checking where to place road
     private DevelopmentCard developmentCard;
 
@@ -53,24 +72,58 @@ public class Gameplay {
 
     private final LongestRoadManager longestRoadManager;
     private final BiggestArmyManager biggestArmy;
+    private final TradeNegotiator tradeNegotiator;     // Offers between players, see TradeController
+    private final Bank bank;                           // Finite resource supply, every bank transfer goes through it
+    private final HandInference handInference;         // What each player can tell about the others' hands
+    private final AILatency aiLatency = new AILatency();   // How long AI decisions take, per level
 
     private int lastRolledDie1;
     private int lastRolledDie2;
     private int turnCounter = 0;    // Used for crash protection & stats
 
+    private static final double HEADLESS_BOARD_WIDTH = 1050;
+    private static final double HEADLESS_BOARD_HEIGHT = 700;
+
     //__________________________CONSTRUCTOR_____________________________//
-    // Create a new game session
+    // Create a new game session with the standard rules
     public Gameplay(int boardRadius, GameController gameController) {
+        this(boardRadius, gameController, GameConfig.STANDARD);
+    }
+
+    // Create a new game session with the given rules (see MenuView.createGameConfig)
+    public Gameplay(int boardRadius, GameController gameController, GameConfig config) {
+        this(boardRadius, gameController, new Random().nextLong(), config);
+    }
+
+    // Create a headless game session (no controller, view or menu) for simulations and tournaments
+    public Gameplay(int boardRadius, long seed) {
+        this(boardRadius, null, seed, GameConfig.STANDARD);
+    }
+
+    public Gameplay(int boardRadius, long seed, GameConfig config) {
+        this(boardRadius, null, seed, config);
+    }
+
+    // Create a game session with a known seed (used when loading a saved game)
+    public Gameplay(int boardRadius, GameController gameController, long seed, GameConfig config) {
         this.drawOrDisplay = new DrawOrDisplay(boardRadius, this);
         this.boardRadius = boardRadius;
+        this.config = config;
         this.gameController = gameController;
+        this.headless = gameController == null;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.replay = new ReplayRecorder(this);
         this.longestRoadManager = new LongestRoadManager(this);
         this.biggestArmy = new BiggestArmyManager(this);
+        this.tradeNegotiator = new TradeNegotiator(this);
+        this.bank = new Bank(this);
+        this.handInference = new HandInference(this);
     }
     //________________________INITIALIZE_______________________________//
     // Initializes and shuffles the development card deck
     public void initializeDevelopmentCards() {
-        if (catanBoardGameView == null) {
+        if (catanBoardGameView == null && !headless) {
             throw new IllegalStateException("CatanBoardGameView must be set before initializing development cards.");
         }
 
@@ -79,18 +132,22 @@ public class Gameplay {
                 this,
                 playerList,
                 catanBoardGameView,
-                gameController.getTradeController()
+                headless ? null : gameController.getTradeController()
         );
 
         // Shuffle the development card deck using enum values directly
         List<DevelopmentCard.DevelopmentCardType> shuffledDevCards =
                 new ArrayList<>(Arrays.asList(developmentCardTypes));
-        Collections.shuffle(shuffledDevCards);
+        Collections.shuffle(shuffledDevCards, random);
         this.shuffledDevelopmentCards = shuffledDevCards;
     }
 
     // Sets up all human and AI players and assigns them a color and ID
     public void initializeAllPlayers(int humanCount, int aiEasy, int aiMedium, int aiHard,  boolean shuffle) {
+        initializeAllPlayers(humanCount, aiEasy, aiMedium, aiHard, 0, shuffle);
+    }
+
+    public void initializeAllPlayers(int humanCount, int aiEasy, int aiMedium, int aiHard, int aiExpert, boolean shuffle) {
         playerList.clear();
         List<Color> colors = new ArrayList<>(List.of(
                 Color.RED, Color.BLUE, Color.GREEN, Color.DARKORANGE, Color.PURPLE, Color.YELLOW
@@ -102,7 +159,7 @@ public class Gameplay {
         for (int i = 0; i < humanCount && !colors.isEmpty(); i++) {
             playerList.add(new Player(idCounter++, colors.remove(0), this));
         }
-        AIOpponent.ThinkingSpeed selectedSpeed = menuView.getSelectedAISpeed(); // <- retrieve selected speed
+        AIOpponent.ThinkingSpeed selectedSpeed = config.getThinkingSpeed();
 
         // Add AI players by difficulty level
         for (int i = 0; i < aiEasy && !colors.isEmpty(); i++) {
@@ -120,10 +177,15 @@ public class Gameplay {
             ai.setThinkingSpeed(selectedSpeed);
             playerList.add(ai);
         }
+        for (int i = 0; i < aiExpert && !colors.isEmpty(); i++) {
+            AIOpponent ai = new AIOpponent(idCounter++, colors.remove(0), AIOpponent.StrategyLevel.EXPERT, this);
+            ai.setThinkingSpeed(selectedSpeed);
+            playerList.add(ai);
+        }
 
         // Optional: shuffle player list for random turn order
         if (shuffle){
-        Collections.shuffle(playerList);
+        Collections.shuffle(playerList, random);
 
         // Reset player IDs after shuffle
         for (int i = 0; i < playerList.size(); i++) {
@@ -136,6 +198,41 @@ public class Gameplay {
         }
     }
 
+    // Sets up a complete headless game: board, robber, AI players in the given seat order and the card deck
+    public void initializeHeadlessGame(List<AIOpponent.StrategyLevel> seats) {
+        if (!headless) throw new IllegalStateException("initializeHeadlessGame is only available in headless games");
+        attachHeadlessBoard();
+
+        playerList.clear();
+        List<Color> colors = List.of(
+                Color.RED, Color.BLUE, Color.GREEN, Color.DARKORANGE, Color.PURPLE, Color.YELLOW
+        );
+        if (seats.isEmpty() || seats.size() > colors.size()) {
+            throw new IllegalArgumentException("A game needs between 1 and " + colors.size() + " players");
+        }
+        for (int i = 0; i < seats.size(); i++) {
+            playerList.add(new AIOpponent(i + 1, colors.get(i), seats.get(i), this));
+        }
+        currentPlayerIndex = 0;
+        currentPlayer = playerList.get(0);
+        initializeDevelopmentCards();
+    }
+
+    // Creates the board and puts the robber on the desert, without anything to draw on
+    void attachHeadlessBoard() {
+        attachHeadlessBoard(new Board(this, boardRadius, HEADLESS_BOARD_WIDTH, HEADLESS_BOARD_HEIGHT));
+    }
+
+    // Same, on an empty copy of another game's board (keeps its ids, see GameSnapshot.fork)
+    void attachHeadlessBoard(Board board) {
+        this.board = board;
+        Tile desertTile = board.getTiles().stream()
+                .filter(t -> t.getTileDiceNumber() == 7)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No desert tile found"));
+        robber = new Robber(desertTile, this, null, null);
+    }
+
     //____________________________TURN MANAGEMENT______________________________//
     // Advances the game to the next player's turn
     public void nextPlayerTurn() {
@@ -145,7 +242,7 @@ public class Gameplay {
         // Initial Phase
         if (initialPhase) {
             if (waitingForInitialRoad) {
-                catanBoardGameView.logToGameLog("Player " + currentPlayer.getPlayerId() + " must place a road.");
+                log("Player " + currentPlayer.getPlayerId() + " must place a road.");
                 return;
             }
             // Move to next player (or reverse direction after first loop)
@@ -156,7 +253,7 @@ public class Gameplay {
                 forwardOrder = false;
                 if (currentPlayer instanceof AIOpponent ai) {
                     startAIThread(ai); // Safe AI startup
-                } else {
+                } else if (!headless) {
                     catanBoardGameView.showDiceButton();
                 }
             // If backward loop finished, start main phase
@@ -166,12 +263,13 @@ public class Gameplay {
                 forwardOrder = true;
                 currentPlayerIndex = 0;
                 currentPlayer = playerList.get(currentPlayerIndex);
+                replay.recordTurn(currentPlayer);
                 lastInitialSettlement = null;
 
                 // Log and prepare first player’s turn
-                catanBoardGameView.runOnFX(() -> {
-                    catanBoardGameView.logToGameLog("All initial placements complete. Starting first turn...");
-                    catanBoardGameView.logToGameLog("_____________________________________________________\n");
+                runOnUI(() -> {
+                    log("All initial placements complete. Starting first turn...");
+                    log("_____________________________________________________\n");
                     if (currentPlayer instanceof AIOpponent ai) {
                         startAIThread(ai); // Safe AI startup
                     } else {
@@ -182,11 +280,12 @@ public class Gameplay {
             }
             // Prepare next player for settlement + road placement
             currentPlayer = playerList.get(currentPlayerIndex);
+            replay.recordTurn(currentPlayer);
             lastInitialSettlement = null;
 
             if (currentPlayer instanceof AIOpponent ai) {
                 startAIThread(ai); // AI places settlement/road automatically
-            } else {
+            } else if (!headless) {
                 catanBoardGameView.prepareForHumanInitialPlacement(currentPlayer);
             }
             return;
@@ -194,9 +293,10 @@ public class Gameplay {
         // Main Game Phase
         waitingForInitialRoad = false;
         lastInitialSettlement = null;
+        autosave(); // Turn start is a clean point to snapshot, before any AI thread touches the state
         if (currentPlayer instanceof AIOpponent ai) {
             startAIThread(ai);
-        } else {
+        } else if (!headless) {
             catanBoardGameView.showDiceButton();
         }
     }
@@ -205,24 +305,25 @@ public class Gameplay {
     private void startOfTurnEffects() {
         if (!initialPhase) {
             if (getCurrentPlayer() instanceof AIOpponent && !isGamePaused()) {
-                catanBoardGameView.logToGameLog("AI " + getCurrentPlayer() +  " has ended their turn.");
+                log("AI " + getCurrentPlayer() +  " has ended their turn.");
             }
             else {
-                if (!isGamePaused()) catanBoardGameView.logToGameLog(getCurrentPlayer() +  " has ended their turn.");
+                if (!isGamePaused()) log(getCurrentPlayer() +  " has ended their turn.");
             }
-            if (!isGamePaused())catanBoardGameView.logToGameLog("_____________________________________________________\n");
+            if (!isGamePaused())log("_____________________________________________________\n");
             // Rotate to next player
             currentPlayerIndex = (currentPlayerIndex + 1) % playerList.size();
             currentPlayer = playerList.get(currentPlayerIndex);
+            replay.recordTurn(currentPlayer);
         }
 
         // Update sidebar and hide buttons
-        catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
-        catanBoardGameView.hideTurnButton();
+        runOnUI(() -> catanBoardGameView.refreshSidebar());
+        if (!isUIDetached()) catanBoardGameView.hideTurnButton();
         setHasRolledThisTurn(false);
 
         // Center the board if any human players are present
-        if (hasHumanPlayers()) {
+        if (!headless && hasHumanPlayers()) {
             catanBoardGameView.centerBoard(
                     catanBoardGameView.getBoardGroup(),
                     menuView.getGAME_WIDTH(),
@@ -234,6 +335,11 @@ public class Gameplay {
     // Stops the game and exits if the turn limit is exceeded (Used to prevent infinite loops or AI bugs while testing)
     public void crashGameIfMaxTurnsExceeded(int MAX_TURNS, int turnCounter) {
         if (turnCounter > MAX_TURNS) {
+            // Simulations just give up on the game instead of exiting the whole process
+            if (headless) {
+                gameOver = true;
+                return;
+            }
             pauseGame(false);
             String error = "Fatal error: MAX_TURNS (" + MAX_TURNS + ") exceeded. Possible infinite loop or thread leak.";
             System.err.println(error);
@@ -259,31 +365,43 @@ public class Gameplay {
         turnCounter++;
         setHasRolledThisTurn(true);
         // Logic part (no FX)
-        Random rand = new Random();
-        lastRolledDie1 = rand.nextInt(6) + 1;
-        lastRolledDie2 = rand.nextInt(6) + 1;
+        lastRolledDie1 = random.nextInt(6) + 1;
+        lastRolledDie2 = random.nextInt(6) + 1;
         int roll = lastRolledDie1 + lastRolledDie2;
-        catanBoardGameView.runOnFX(() -> {
+        replay.recordRoll(lastRolledDie1, lastRolledDie2);
+        if (isUIDetached()) {
+            applyDiceRoll(roll);
+            return;
+        }
+        runOnUI(() -> {
             // Update dice visuals and logs
             catanBoardGameView.updateDiceImages(lastRolledDie1, lastRolledDie2);
-            catanBoardGameView.logToGameLog(currentPlayer + " ROLLED " + roll + "!");
+            log(currentPlayer + " ROLLED " + roll + "!");
             catanBoardGameView.hideDiceButton();
             catanBoardGameView.showTurnButton();
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
-            // Handle robber or resource distribution
-            if (roll == 7) {
-                catanBoardGameView.getRobber().activateRobber(true, currentPlayer);
-            } else {
-                catanBoardGameView.logToGameLog("Distributing resources:");
-                distributeResources(roll);
-            }
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+            runOnUI(() -> catanBoardGameView.refreshSidebar());
+            applyDiceRoll(roll);
+            runOnUI(() -> catanBoardGameView.refreshSidebar());
         });
     }
 
-    // Distribute resources to players based on the current dice roll
+    // Handle robber or resource distribution
+    private void applyDiceRoll(int roll) {
+        if (roll == 7) {
+            robber.activateRobber(true, currentPlayer);
+        } else {
+            log("Distributing resources:");
+            distributeResources(roll);
+        }
+    }
+
+    // Distribute resources to players based on the current dice roll.
+    // Everything owed is added up first: if the bank runs short of a resource, only a single
+    // player owed it gets the rest (see Bank.payout)
     public void distributeResources(int diceRoll) {
-        boolean resourcesDistributed = false;
+        int[][] owed = new int[playerList.size()][PackedHand.TYPES];   // [player id - 1][resource type]
+        int[] totalOwed = new int[PackedHand.TYPES];
+        int[] claimants = new int[PackedHand.TYPES];
         for (Tile tile : board.getTiles()) {
             if (tile.getTileDiceNumber() == diceRoll) {
                 Resource.ResourceType type = tile.getResourcetype();
@@ -293,40 +411,59 @@ public class Gameplay {
                 for (Vertex vertex : tile.getVertices()) {
                     Player owner = vertex.getOwner();
                     if (owner != null) {
-                        String res = type.getName();
+                        int[] ownerOwed = owed[owner.getPlayerId() - 1];
+                        if (ownerOwed[type.ordinal()] == 0) claimants[type.ordinal()]++;
                         int amount = vertex.isCity() ? 2 : 1;
-                        owner.getResources().merge(res, amount, Integer::sum);
-                        resourcesDistributed = true;    // Flag for game log
-                        // Log the resource gain
-                        String logMsg = "Player " + owner.getPlayerId() + " gets " + res;
-                        catanBoardGameView.runOnFX(() -> catanBoardGameView.logToGameLog(logMsg));
+                        ownerOwed[type.ordinal()] += amount;
+                        totalOwed[type.ordinal()] += amount;
                     }
                 }
             }
         }
+        boolean resourcesDistributed = false;
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            if (totalOwed[type] == 0) continue;
+            String res = PackedHand.resourceName(type);
+            int supply = bank.getSupply(type);
+            int paidOut = Bank.payout(totalOwed[type], claimants[type], supply);
+            if (paidOut < totalOwed[type]) {
+                String logMsg = "The bank has only " + supply + " " + res + " left for " + totalOwed[type] + " owed";
+                runOnUI(() -> log(logMsg));
+            }
+            if (paidOut == 0) continue;
+            for (Player owner : playerList) {
+                int amount = Math.min(owed[owner.getPlayerId() - 1][type], paidOut);
+                if (amount == 0) continue;
+                bank.withdraw(owner, res, amount);
+                owner.addResourcesProduced(amount);
+                resourcesDistributed = true;    // Flag for game log
+                // Log the resource gain
+                String logMsg = "Player " + owner.getPlayerId() + " gets " + res;
+                runOnUI(() -> log(logMsg));
+            }
+        }
         if (!resourcesDistributed) {
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.logToGameLog("No Player received anything this turn"));
+            runOnUI(() -> log("No Player received anything this turn"));
         }
     }
 
     //_________________________________________ AI THREAD _____________________________________________//
-    // Starts a new AI thread for the current AI player's turn
+    // Queues the current AI player's turn on the AI turn runner
     public void startAIThread(AIOpponent ai) {
-        // If a thread is already running or the game is over, exit early
-        if (activeAIThread != null && activeAIThread.isAlive()) return;
-        if (isGameOver()) return;
-
-        // Create a new background thread
-        activeAIThread = new Thread(() -> {
-            // Wait if the game is paused
-            while (isGamePaused()) {
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    return;
-                }
-            }
+        // Headless games are driven turn by turn from playHeadlessTurn, fast-forward by its own loop
+        if (isUIDetached()) return;
+        // A paused game starts the AI again on resume, a finished one never
+        if (isGameOver() || isGamePaused()) return;
+
+        // Ignored while the previous turn is still active
+        AITurnRunner runner = getAITurnRunner();
+        if (!runner.isReady()) return;
+        if (fastForward) {
+            runner.submit(this::runFastForward);
+            return;
+        }
+        if (hasHumanPlayers()) catanBoardGameView.showAITurnOverlay(ai);
+        runner.submit(ai.getPacingDelayMillis(this), () -> {
             // Call AI actions depending on the phase
             if (initialPhase) {
                 ai.placeInitialSettlementAndRoad(this, catanBoardGameView.getBoardGroup());
@@ -334,16 +471,116 @@ public class Gameplay {
                 ai.makeMoveAI(this, getCatanBoardGameView().getBoardGroup());
             }
         });
-        activeAIThread.setDaemon(true); // Ensure JVM can exit even if this thread is running
-        activeAIThread.start();         // Launch thread
     }
 
-    // Interrupts and nulls the AI thread (called before turn switch)
+    // Ends the AI's turn: synchronously when headless or fast-forwarding, otherwise on the FX thread
+    public void finishAITurn() {
+        if (isUIDetached()) {
+            nextPlayerTurn();
+        } else {
+            catanBoardGameView.runOnFX(this::nextPlayerTurn);
+        }
+    }
+
+    // Plays the current AI player's turn (or initial placement) on the calling thread (headless games only)
+    public void playHeadlessTurn() {
+        if (!headless) throw new IllegalStateException("playHeadlessTurn is only available in headless games");
+        if (!(currentPlayer instanceof AIOpponent ai)) {
+            throw new IllegalStateException("Headless games only support AI players");
+        }
+        if (initialPhase) {
+            ai.placeInitialSettlementAndRoad(this, null);
+        } else {
+            ai.makeMoveAI(this, null);
+        }
+    }
+
+    // Cancels the running AI turn (called before turn switch). While fast-forwarding the caller is
+    // the loop on the runner itself, which must keep going
     public void stopAllAIThreads() {
-        if (activeAIThread != null && activeAIThread.isAlive()) {
-            activeAIThread.interrupt();
+        if (aiTurnRunner != null && !uiDetached) aiTurnRunner.cancelActive();
+    }
+
+    // Game over or leaving the game: cancels the running AI turn and ends the runner's thread
+    public void shutdownAITurnRunner() {
+        if (aiTurnRunner != null) aiTurnRunner.shutdown();
+    }
+
+    // An AI turn threw on the runner: the trace goes to stderr and the game log says what happened.
+    // The turn is ended so the game does not stall on that AI; an initial placement cannot be
+    // skipped, so the game is paused there instead and resuming tries the placement again
+    private void handleAITurnFailure(RuntimeException e) {
+        System.err.println("AI turn of player " + currentPlayer.getPlayerId() + " failed:");
+        e.printStackTrace();
+        if (initialPhase) {
+            log("AI turn failed: " + e + ". Game paused, resume to try again.");
+            runOnUI(() -> {
+                catanBoardGameView.hideAITurnOverlay();
+                pauseGame(false);
+            });
+        } else {
+            log("AI turn failed: " + e + ". Ending the turn.");
+            runOnUI(catanBoardGameView::hideAITurnOverlay);
+            finishAITurn();
         }
-        activeAIThread = null;
+    }
+
+    public synchronized AITurnRunner getAITurnRunner() {
+        if (aiTurnRunner == null) aiTurnRunner = new AITurnRunner(this::handleAITurnFailure);
+        return aiTurnRunner;
+    }
+
+    //_________________________________________ FAST FORWARD _____________________________________________//
+    // All-AI games only: plays the AI turns back to back on the AI turn runner, without thinking
+    // time and without drawing or logging every action; FastForwardRenderer shows the latest
+    // state once per screen frame instead. Switching it off hands back after the current turn.
+    public void setFastForward(boolean enabled) {
+        if (headless || hasHumanPlayers() || fastForward == enabled) return;
+        fastForward = enabled;
+        if (!enabled) return;
+        // A turn still in its thinking time is dropped and played by the loop right away
+        if (getAITurnRunner().cancelIfWaiting()) catanBoardGameView.hideAITurnOverlay();
+        if (currentPlayer instanceof AIOpponent ai) startAIThread(ai);
+    }
+
+    private void runFastForward() {
+        FastForwardRenderer renderer = catanBoardGameView.getFastForwardRenderer();
+        uiDetached = true;
+        renderer.start();
+        try {
+            while (fastForward && !gameOver && !gamePaused && !Thread.currentThread().isInterrupted()
+                    && currentPlayer instanceof AIOpponent ai) {
+                int actionsBefore = replay.getActionCount();
+                if (initialPhase) {
+                    ai.placeInitialSettlementAndRoad(this, null);
+                } else {
+                    ai.makeMoveAI(this, null);
+                }
+                renderer.publish();
+                // A turn that did nothing at all would only repeat in a tight loop
+                if (replay.getActionCount() == actionsBefore) break;
+            }
+        } finally {
+            // Between turns again, so normal turns can take over from here
+            uiDetached = false;
+            renderer.stop();
+            catanBoardGameView.runOnFX(() -> {
+                if (currentPlayer instanceof AIOpponent ai) startAIThread(ai);
+            });
+        }
+    }
+
+    public boolean isFastForward() {
+        return fastForward;
+    }
+
+    // True when nothing is drawn or logged per action: headless games, and UI games while fast-forwarding
+    public boolean isUIDetached() {
+        return headless || uiDetached;
+    }
+
+    public int getSkippedLogLines() {
+        return skippedLogLines;
     }
 
     //_________________________________BUY AND PLAY DEVELOPMENT CARDS_____________________________________//
@@ -351,10 +588,10 @@ public class Gameplay {
     public void buyDevelopmentCard() {
         if (shuffledDevelopmentCards.isEmpty()) {
             // No cards left to buy
-            catanBoardGameView.runOnFX(drawOrDisplay::showNoMoreDevelopmentCardToBuyPopup);
+            runOnUI(drawOrDisplay::showNoMoreDevelopmentCardToBuyPopup);
         } else if (!hasRolledDice()){
             // Enforce rolling dice before any action
-            catanBoardGameView.runOnFX(() -> drawOrDisplay.rollDiceBeforeActionPopup("You must roll the dice before taking any actions!"));
+            runOnUI(() -> drawOrDisplay.rollDiceBeforeActionPopup("You must roll the dice before taking any actions!"));
         } else if (canRemoveResource("Wool", 1) && canRemoveResource("Ore", 1) && canRemoveResource("Grain", 1)) {
             // Pay resources to buy the card
             removeResource("Wool", 1);
@@ -362,19 +599,20 @@ public class Gameplay {
             removeResource("Grain", 1);
             // Draw a development card from the top of the shuffled list
             DevelopmentCard.DevelopmentCardType cardType = shuffledDevelopmentCards.remove(0);
+            replay.recordBuyCard(cardType);
 
             // Add it to the player's development card map
             currentPlayer.getDevelopmentCards().merge(cardType, 1, Integer::sum);
 
             // Log the purchase to the game log
             String log = currentPlayer + " bought a development card ";
-            catanBoardGameView.runOnFX(() -> {
-                catanBoardGameView.logToGameLog(log);
-                catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+            runOnUI(() -> {
+                log(log);
+                runOnUI(() -> catanBoardGameView.refreshSidebar());
             });
         } else {
             // Insufficient resources
-            catanBoardGameView.runOnFX(drawOrDisplay::showFailToBuyDevelopmentCardPopup);
+            runOnUI(drawOrDisplay::showFailToBuyDevelopmentCardPopup);
         }
     }
 
@@ -387,14 +625,15 @@ public class Gameplay {
         }
 
         // Perform the effect of the development card
+        replay.recordPlayCard(player, type);
         type.play(player, developmentCard);
 
         // Safely remove it from the player's collection
         player.getDevelopmentCards().computeIfPresent(type, (k, v) -> (v > 1) ? v - 1 : 0);
 
         // UI update
-        catanBoardGameView.runOnFX(() -> {
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+        runOnUI(() -> {
+            runOnUI(() -> catanBoardGameView.refreshSidebar());
         });
     }
 
@@ -410,18 +649,16 @@ public class Gameplay {
         return currentPlayer.getResources().getOrDefault(resource, 0) >= amount;
     }
 
-    // Subtract a resource from current player
+    // Subtract a resource from current player, back into the bank
     public void removeResource(String resource, int amount) {
-        int current = currentPlayer.getResources().getOrDefault(resource, 0);
-        if (current >= amount) {
-            currentPlayer.getResources().put(resource, current - amount);
+        if (canRemoveResource(resource, amount)) {
+            bank.deposit(currentPlayer, resource, amount);
         }
     }
 
-    // Add a resource to current player
+    // Add a resource to current player from the bank, as far as the bank has it
     public void addResource(String resource, int amount) {
-        currentPlayer.getResources().put(resource,
-                currentPlayer.getResources().getOrDefault(resource, 0) + amount);
+        bank.withdraw(currentPlayer, resource, amount);
     }
 
     //_____________________________BUILDING FUNCTIONS____________________________//
@@ -431,9 +668,11 @@ public class Gameplay {
         if (currentPlayer.getSettlements().contains(vertex)) return BuildResult.INVALID_VERTEX;
         if (initialPhase && waitingForInitialRoad) return BuildResult.INVALID_VERTEX;
 
+        replay.recordInitialSettlement(vertex);
         currentPlayer.getSettlements().add(vertex);
         vertex.setOwner(currentPlayer);
         vertex.makeSettlement();
+        board.recordBuilding(vertex, currentPlayer, 1);
         increasePlayerScore(currentPlayer);
 
         waitingForInitialRoad = true;
@@ -446,7 +685,7 @@ public class Gameplay {
 
                 // Only valid land tiles provide starting resources
                 if (type != Resource.ResourceType.DESERT && type != Resource.ResourceType.SEA) {
-                    currentPlayer.getResources().merge(type.getName(), 1, Integer::sum);
+                    bank.withdraw(currentPlayer, type.getName(), 1);
                 }
             }
         }
@@ -458,13 +697,14 @@ public class Gameplay {
         if (initialPhase && waitingForInitialRoad) {
             if (!edge.isConnectedTo(lastInitialSettlement)) return BuildResult.NOT_CONNECTED;
             if (!isValidRoadPlacement(edge)) return BuildResult.INVALID_EDGE;
+            replay.recordInitialRoad(edge);
             currentPlayer.getRoads().add(edge);
             waitingForInitialRoad = false;
             lastInitialSettlement = null;
 
             // Update longest road tracking
             longestRoadManager.calculateAndUpdateLongestRoad(currentPlayer);
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+            runOnUI(() -> catanBoardGameView.refreshSidebar());
             return BuildResult.SUCCESS;
         }
 
@@ -473,7 +713,7 @@ public class Gameplay {
         if (!isValidRoadPlacement(edge)) return BuildResult.INVALID_EDGE;
 
         // Max road limit check
-        if (currentPlayer.getRoads().size() >= menuView.getMaxRoads()) {
+        if (currentPlayer.getRoads().size() >= getMaxRoads()) {
             return BuildResult.TOO_MANY_ROADS;
         }
 
@@ -481,9 +721,10 @@ public class Gameplay {
         if (canRemoveResource("Brick", 1) && canRemoveResource("Wood", 1)) {
             removeResource("Brick", 1);
             removeResource("Wood", 1);
+            replay.recordRoad(edge);
             currentPlayer.getRoads().add(edge);
             longestRoadManager.calculateAndUpdateLongestRoad(currentPlayer);
-            catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+            runOnUI(() -> catanBoardGameView.refreshSidebar());
             return BuildResult.SUCCESS;
         }
 
@@ -495,7 +736,7 @@ public class Gameplay {
         if (vertex == null || !isValidSettlementPlacement(vertex)) return BuildResult.INVALID_VERTEX;
         if (currentPlayer.getSettlementsAndCities().contains(vertex)) return BuildResult.INVALID_VERTEX;
         // Enforce max settlements limit
-        if (currentPlayer.getSettlements().size() >= menuView.getMaxSettlements()) {
+        if (currentPlayer.getSettlements().size() >= getMaxSettlements()) {
             return BuildResult.TOO_MANY_SETTLEMENTS;
         }
 
@@ -510,9 +751,11 @@ public class Gameplay {
             removeResource("Grain", 1);
             removeResource("Wool", 1);
 
+            replay.recordSettlement(vertex);
             currentPlayer.getSettlements().add(vertex);
             vertex.setOwner(currentPlayer);
             vertex.makeSettlement();
+            board.recordBuilding(vertex, currentPlayer, 1);
             increasePlayerScore(currentPlayer);
             return BuildResult.SUCCESS;
         }
@@ -524,7 +767,7 @@ public class Gameplay {
         if (isNotValidCityPlacement(vertex)) return BuildResult.INVALID_VERTEX;
 
         // Check if player reached max city limit
-        if (currentPlayer.getCities().size() >= menuView.getMaxCities()) {
+        if (currentPlayer.getCities().size() >= getMaxCities()) {
             return BuildResult.TOO_MANY_CITIES;
         }
 
@@ -532,32 +775,35 @@ public class Gameplay {
         if (canRemoveResource("Ore", 3) && canRemoveResource("Grain", 2)) {
             removeResource("Ore", 3);
             removeResource("Grain", 2);
+            replay.recordCity(vertex);
             currentPlayer.getSettlements().remove(vertex);
             currentPlayer.getCities().add(vertex);
             vertex.setOwner(currentPlayer);
             vertex.makeCity();
+            board.recordBuilding(vertex, currentPlayer, 1);
             increasePlayerScore(currentPlayer);
             return BuildResult.UPGRADED_TO_CITY;
         }
 
         // Not enough resources
-        drawOrDisplay.notEnoughResourcesPopup("Not enough resources to build a city");
+        if (!headless) drawOrDisplay.notEnoughResourcesPopup("Not enough resources to build a city");
         return BuildResult.INSUFFICIENT_RESOURCES;
     }
 
     // Used by development card to place a road without resource cost
     public BuildResult placeFreeRoad(Player player, Edge edge) {
         if (!isValidRoadPlacement(edge)) return BuildResult.INVALID_EDGE;
-        if (player.getRoads().size() >= menuView.getMaxRoads()) return BuildResult.TOO_MANY_ROADS;
+        if (player.getRoads().size() >= getMaxRoads()) return BuildResult.TOO_MANY_ROADS;
 
         // Call through build controller for shared logic and animations
-        catanBoardGameView.runOnFX(() -> {
+        runOnUI(() -> {
             getGameController().getBuildController().buildRoad(edge, player);
         });
+        replay.recordFreeRoad(player, edge);
         player.getRoads().add(edge);
         // Recalculate longest road for consistency
         longestRoadManager.calculateAndUpdateLongestRoad(player);
-        catanBoardGameView.runOnFX(() -> catanBoardGameView.refreshSidebar());
+        runOnUI(() -> catanBoardGameView.refreshSidebar());
         return BuildResult.SUCCESS;
     }
 
@@ -637,7 +883,7 @@ public class Gameplay {
     public void increasePlayerScore(Player player) {
         player.playerScorePlusOne();
         // Win check
-        if (player.getPlayerScore() >= menuView.getMaxVictoryPoints()) {
+        if (player.getPlayerScore() >= getMaxVictoryPoints()) {
             if (isGamePaused()) return;
             endOfGameWinnerPopup(currentPlayer);
         }
@@ -667,6 +913,15 @@ public class Gameplay {
         //Makes sure the popup doesn't open twice.
         if (gameOver) return;
         gameOver = true;
+        this.winner = winner;
+        if (headless) return;
+        saveReplay();
+        closeAutosave(true); // Nothing left to recover
+        if (aiTurnRunner != null) {
+            log(aiTurnRunner.summary());
+            aiTurnRunner.shutdown();
+        }
+        // Shown even when fast-forwarding
         catanBoardGameView.runOnFX(() -> {
             drawOrDisplay.showEndGamePopup(
                     winner,
@@ -678,18 +933,29 @@ public class Gameplay {
         });
     }
 
+    // Keeps a binary replay of every finished game in ./replays (read back with ReplayPlayer)
+    private void saveReplay() {
+        Path file = Path.of("replays", "game-" + Long.toUnsignedString(seed, 16) + ".replay");
+        try {
+            replay.writeTo(file);
+            log("Replay saved to " + file);
+        } catch (IOException e) {
+            System.err.println("Could not save replay: " + e.getMessage());
+        }
+    }
+
     //_______________________________PAUSE FUNCTIONS_________________________________//
     public void pauseGame(boolean robberAction) {
         if (robberAction) {
             gamePaused = true;
-            stopAllAIThreads();  // interrupt AI thread cleanly
+            if (aiTurnRunner != null) aiTurnRunner.pause();  // drop an AI turn still thinking, a running one plays on
         }
         else {
             if (!gamePaused) {
                 this.drawOrDisplay.pauseThinkingAnimation(this.drawOrDisplay); // Stop animation
-                catanBoardGameView.logToGameLog("Game paused.");
+                log("Game paused.");
                 gamePaused = true;
-                stopAllAIThreads();  // interrupt AI thread cleanly
+                if (aiTurnRunner != null) aiTurnRunner.pause();  // drop an AI turn still thinking, a running one plays on
             }
         }
     }
@@ -698,6 +964,7 @@ public class Gameplay {
     public void resumeGame(boolean robberAction) {
         if (robberAction) {
             gamePaused = false;
+            if (aiTurnRunner != null) aiTurnRunner.resume();
             // Resumes AI if current player is AI
             if (currentPlayer instanceof AIOpponent ai) {
                 startAIThread(ai);
@@ -706,8 +973,9 @@ public class Gameplay {
         else {
             if (!gamePaused) return; // prevent spamming or double-starting
             this.drawOrDisplay.resumeThinkingAnimation(this.drawOrDisplay); // resumes paused animations
-            catanBoardGameView.logToGameLog("Game resumed.");
+            log("Game resumed.");
             gamePaused = false;
+            if (aiTurnRunner != null) aiTurnRunner.resume();
             // Resumes AI if current player is AI
             if (currentPlayer instanceof AIOpponent ai) {
                 startAIThread(ai);
@@ -722,7 +990,12 @@ public class Gameplay {
     //_______________________________BOOLEAN VALIDITY CHECKS_________________________________//
     // Checks if someone has won the game.
     public boolean isGameOver() {
-        return playerList.stream().anyMatch(p -> p.getPlayerScore() >= menuView.getMaxVictoryPoints());
+        return playerList.stream().anyMatch(p -> p.getPlayerScore() >= getMaxVictoryPoints());
+    }
+
+    // True once the game has a winner or was aborted by the turn limit
+    public boolean isFinished() {
+        return gameOver;
     }
 
     public boolean isActionBlockedByDevelopmentCard() {
@@ -731,6 +1004,7 @@ public class Gameplay {
 
     // UI Guard -> Checks if it is AI's turn and then blocks actions until AI is done.
     public boolean isBlockedByAITurn() {
+        if (headless) return false;
         if (gameController.getGameplay().getCurrentPlayer() instanceof AIOpponent) {
             drawOrDisplay.showAITurnPopup();
             return true;
@@ -743,6 +1017,98 @@ public class Gameplay {
         return playerList.stream().anyMatch(p -> !(p instanceof AIOpponent));
     }
 
+    //__________________________UI BRIDGE________________________//
+    // Runs a UI task on the FX thread; skipped entirely in headless games and while fast-forwarding
+    public void runOnUI(Runnable action) {
+        if (!isUIDetached()) catanBoardGameView.runOnFX(action);
+    }
+
+    // Writes to the game log (no-op in headless games, where logging would dominate run time;
+    // only counted while fast-forwarding, the renderer logs a summary)
+    public void log(String message) {
+        if (headless) return;
+        if (uiDetached) {
+            skippedLogLines++;
+        } else {
+            catanBoardGameView.logToGameLog(message);
+        }
+    }
+
+    // Board group to draw on, null in headless games
+    public Group getBoardGroup() {
+        return headless ? null : catanBoardGameView.getBoardGroup();
+    }
+
+    //__________________________SNAPSHOT RESTORE________________________//
+    // Used by GameSnapshot to put a loaded game back into its saved turn state
+    void restoreTurnState(int currentPlayerIndex, boolean initialPhase, boolean forwardOrder, boolean hasRolled,
+                          boolean waitingForInitialRoad, Vertex lastInitialSettlement, int turnCounter,
+                          int die1, int die2) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentPlayer = playerList.get(currentPlayerIndex);
+        this.initialPhase = initialPhase;
+        this.forwardOrder = forwardOrder;
+        this.hasRolledThisTurn = hasRolled;
+        this.waitingForInitialRoad = waitingForInitialRoad;
+        this.lastInitialSettlement = lastInitialSettlement;
+        this.turnCounter = turnCounter;
+        this.lastRolledDie1 = die1;
+        this.lastRolledDie2 = die2;
+    }
+
+    // Forks play their AI seats with the plain rule-based policies, see AIOpponent.makeMoveAI
+    void markAsSimulation() {
+        this.simulation = true;
+        aiLatency.disable();
+    }
+
+    // The search has left its tree; from here on the fork is only played out to be scored, with
+    // HARD rules minus player trades and longest-road planning (see AIOpponent.evaluateHardStrategy)
+    void startRollout() {
+        this.rollout = true;
+    }
+
+    void restoreDevelopmentDeck(List<DevelopmentCard.DevelopmentCardType> deck) {
+        this.shuffledDevelopmentCards = new ArrayList<>(deck);
+    }
+
+    // Autosave (UI games only): the journal records every action, and every few main-phase turns
+    // a new snapshot is taken and the journal starts over, so it never grows long
+    private void autosave() {
+        if (headless || gameOver) return;
+        if (journal == null || ++turnsSinceSnapshot >= GameJournal.SNAPSHOT_EVERY_TURNS) {
+            checkpoint();
+        }
+    }
+
+    // Writes a snapshot of the game right now and (re)starts the journal on top of it
+    public void checkpoint() {
+        if (snapshotWriter == null) snapshotWriter = new GameSnapshot();
+        try {
+            snapshotWriter.save(this, GameSnapshot.AUTOSAVE_PATH);
+            if (journal == null) {
+                journal = GameJournal.open(GameJournal.JOURNAL_PATH, this, replay.getActionCount());
+                replay.setJournal(journal);
+            } else {
+                journal.compact(replay.getActionCount());
+            }
+            turnsSinceSnapshot = 0;
+        } catch (IOException e) {
+            System.err.println("Autosave failed: " + e.getMessage());
+        }
+    }
+
+    // Stops journaling (game over, or the game is being replaced); keeps the files unless asked not to
+    public void closeAutosave(boolean deleteFiles) {
+        replay.setJournal(null);
+        if (journal != null) journal.close();
+        journal = null;
+        if (deleteFiles) {
+            GameSnapshot.deleteAutosave();
+            GameJournal.delete();
+        }
+    }
+
     //__________________________SETTERS________________________//
     public void setBoard(Board board) {
         this.board = board;
@@ -752,6 +1118,10 @@ public class Gameplay {
         this.catanBoardGameView = view;
     }
 
+    public void setRobber(Robber robber) {
+        this.robber = robber;
+    }
+
     public void setMenuView(MenuView menuView) {
         this.menuView = menuView;
     }
@@ -818,4 +1188,103 @@ public class Gameplay {
     public LongestRoadManager getLongestRoadManager() {
         return longestRoadManager;
     }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public HandInference getHandInference() {
+        return handInference;
+    }
+
+    public AILatency getAILatency() {
+        return aiLatency;
+    }
+
+    public TradeNegotiator getTradeNegotiator() {
+        return tradeNegotiator;
+    }
+
+    public Robber getRobber() {
+        return robber;
+    }
+
+    public ReplayRecorder getReplay() {
+        return replay;
+    }
+
+    // Every state change is recorded, so the action count doubles as a version of the game state
+    public int getStateVersion() {
+        return replay.getActionCount();
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isSimulation() {
+        return simulation;
+    }
+
+    public boolean isRollout() {
+        return rollout;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Single source of randomness for the game (dice, shuffles, robber), so seeded games are reproducible
+    public Random getRandom() {
+        return random;
+    }
+
+    public Player getWinner() {
+        return winner;
+    }
+
+    public int getLastRolledDie1() {
+        return lastRolledDie1;
+    }
+
+    public int getLastRolledDie2() {
+        return lastRolledDie2;
+    }
+
+    public boolean isForwardOrder() {
+        return forwardOrder;
+    }
+
+    public Vertex getLastInitialSettlement() {
+        return lastInitialSettlement;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public int getTurnCounter() {
+        return turnCounter;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    // Rule limits of this game, fixed when it was created
+    public int getMaxRoads() {
+        return config.getMaxRoads();
+    }
+
+    public int getMaxSettlements() {
+        return config.getMaxSettlements();
+    }
+
+    public int getMaxCities() {
+        return config.getMaxCities();
+    }
+
+    public int getMaxVictoryPoints() {
+        return config.getMaxVictoryPoints();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package org.example.catanboardgameapp;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+//___________________________HAND INFERENCE___________________________//
+// Card counting: what every player can know about every other player's hand from what happens
+// at the table. Each observer keeps the expected count of every resource in every hand (a
+// distribution over the hidden cards by its means); hand sizes are public and kept exactly.
+// Production, building, bank and harbor trades, discards, Year of Plenty, Monopoly and player
+// trades are all public and move whole cards. A steal is public only to the thief and the victim:
+// everyone else moves one card with the victim's resource mix from the victim to the thief.
+// When a player spends more of a resource than an observer expected, the observer's other
+// guesses for that hand were too high and are scaled down, so the counts always add up to the
+// hand size. Every update touches a handful of doubles per observer.
+// AIs read opponents' hands only through here (see Robber.AIHardChooseBestRobberVictim).
+// One per Gameplay, fed by Bank, Robber, DevelopmentCard.monopolizeResource and TradeNegotiator,
+// always before the hands change (the first event counts the hands as they are).
+public class HandInference {
+
+    private static final double ROUNDING = 1e-9;   // Expected counts are sums of doubles
+
+    //___________________________FIELDS___________________________//
+    private final Gameplay gameplay;
+    private int seats = -1;               // Players at the table, set on first use
+    private double[] expected;            // [((observer * seats) + seat) * TYPES + type]
+    private int[] handSize;               // Per seat, public
+
+    //___________________________CONSTRUCTOR___________________________//
+    public HandInference(Gameplay gameplay) {
+        this.gameplay = gameplay;
+    }
+
+    //___________________________PUBLIC EVENTS___________________________//
+    // Cards everyone saw the player receive
+    public void gain(Player player, int type, int amount) {
+        ensureSeats();
+        int seat = seat(player);
+        handSize[seat] += amount;
+        for (int observer = 0; observer < seats; observer++) {
+            expected[index(observer, seat) + type] += amount;
+        }
+    }
+
+    // Cards everyone saw the player hand over
+    public void loss(Player player, int type, int amount) {
+        ensureSeats();
+        int seat = seat(player);
+        handSize[seat] -= amount;
+        for (int observer = 0; observer < seats; observer++) {
+            int base = index(observer, seat);
+            expected[base + type] -= amount;
+            if (expected[base + type] < 0) setCount(base, type, 0, handSize[seat]);
+        }
+    }
+
+    // The player holds none of the resource any more (Monopoly victims)
+    public void clear(Player player, int type) {
+        ensureSeats();
+        int seat = seat(player);
+        for (int observer = 0; observer < seats; observer++) {
+            setCount(index(observer, seat), type, 0, handSize[seat]);
+        }
+    }
+
+    // Cards of a player trade, from one hand to the other
+    public void transfer(Player from, Player to, long cards) {
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            int count = PackedHand.get(cards, type);
+            if (count == 0) continue;
+            loss(from, type, count);
+            gain(to, type, count);
+        }
+    }
+
+    // A robber steal: the thief and the victim see the card, everyone else only that one moved
+    public void steal(Player thief, Player victim, int type) {
+        ensureSeats();
+        int thiefSeat = seat(thief);
+        int victimSeat = seat(victim);
+        int victimCards = handSize[victimSeat];
+        handSize[victimSeat]--;
+        handSize[thiefSeat]++;
+        for (int observer = 0; observer < seats; observer++) {
+            int from = index(observer, victimSeat);
+            int to = index(observer, thiefSeat);
+            if (observer == thiefSeat || observer == victimSeat) {
+                expected[to + type]++;
+                expected[from + type]--;
+                if (expected[from + type] < 0) setCount(from, type, 0, handSize[victimSeat]);
+                continue;
+            }
+            for (int lane = 0; lane < PackedHand.TYPES; lane++) {
+                double share = expected[from + lane] / victimCards;
+                expected[from + lane] -= share;
+                expected[to + lane] += share;
+            }
+        }
+    }
+
+    // Starts over from the real hands, after they were set directly (loaded snapshots)
+    public void reset() {
+        seats = -1;
+    }
+
+    //___________________________SNAPSHOTS___________________________//
+    // Stored with the game (see GameSnapshot) so a loaded game keeps every player's uncertainty
+    void writeState(ByteBuffer out) {
+        out.put((byte) Math.max(0, seats));
+        if (seats <= 0) return;
+        for (int size : handSize) out.putShort((short) size);
+        for (double count : expected) out.putDouble(count);
+    }
+
+    void readState(ByteBuffer in) {
+        int stored = in.get();
+        if (stored == 0) {
+            reset();
+            return;
+        }
+        seats = stored;
+        handSize = new int[seats];
+        expected = new double[seats * seats * PackedHand.TYPES];
+        for (int seat = 0; seat < seats; seat++) handSize[seat] = in.getShort();
+        for (int i = 0; i < expected.length; i++) expected[i] = in.getDouble();
+    }
+
+    static int stateBytes(int seats) {
+        return 1 + seats * 2 + seats * seats * PackedHand.TYPES * 8;
+    }
+
+    //___________________________QUERIES___________________________//
+    // Cards of the resource the observer expects in the player's hand
+    public double getExpected(Player observer, Player player, int type) {
+        ensureSeats();
+        return expected[index(seat(observer), seat(player)) + type];
+    }
+
+    public double getExpected(Player observer, Player player, String resource) {
+        return getExpected(observer, player, PackedHand.index(resource));
+    }
+
+    // Expected cards of any of the resources, e.g. the ones an AI needs for its strategy
+    public double getExpected(Player observer, Player player, Set<String> resources) {
+        double total = 0;
+        for (String resource : resources) total += getExpected(observer, player, resource);
+        return total;
+    }
+
+    // Chance that a card taken at random from the player's hand is of the resource
+    public double getStealChance(Player observer, Player player, int type) {
+        ensureSeats();
+        int size = handSize[seat(player)];
+        return size == 0 ? 0 : getExpected(observer, player, type) / size;
+    }
+
+    public int getHandSize(Player player) {
+        ensureSeats();
+        return handSize[seat(player)];
+    }
+
+    //___________________________SAMPLING___________________________//
+    // A hand the player could hold as far as the observer knows, for AI look-ahead forks (see
+    // GameSnapshot.fork): the whole part of every expected count, plus one more card of each
+    // resource with a chance equal to its fraction. The fractions are sampled systematically, so
+    // the hand has exactly the public size and a hand the observer knows for sure comes back as is
+    public long sampleHand(Player observer, Player player, Random random) {
+        ensureSeats();
+        int size = handSize[seat(player)];
+        int base = index(seat(observer), seat(player));
+        long hand = 0;
+        int dealt = 0;
+        double[] fraction = new double[PackedHand.TYPES];
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            int whole = Math.min(size - dealt, (int) Math.floor(expected[base + type] + ROUNDING));
+            fraction[type] = Math.max(0, expected[base + type] - whole);
+            hand = PackedHand.add(hand, PackedHand.single(type, whole));
+            dealt += whole;
+        }
+        double next = random.nextDouble();
+        double reached = 0;
+        for (int type = 0; type < PackedHand.TYPES && dealt < size; type++) {
+            reached += fraction[type];
+            if (next < reached) {
+                hand = PackedHand.add(hand, PackedHand.single(type, 1));
+                dealt++;
+                next += 1;
+            }
+        }
+        // Rounding left a card over: the resource with the biggest fraction gets it
+        while (dealt < size) {
+            int best = 0;
+            for (int type = 1; type < PackedHand.TYPES; type++) {
+                if (fraction[type] > fraction[best]) best = type;
+            }
+            hand = PackedHand.add(hand, PackedHand.single(best, 1));
+            fraction[best] = -1;
+            dealt++;
+        }
+        return hand;
+    }
+
+    //___________________________HELPERS___________________________//
+    // Sets one count and scales the others so the hand still adds up to size
+    private void setCount(int base, int type, double count, int size) {
+        double others = 0;
+        for (int lane = 0; lane < PackedHand.TYPES; lane++) {
+            if (lane != type) others += expected[base + lane];
+        }
+        expected[base + type] = count;
+        double rest = Math.max(0, size - count);
+        for (int lane = 0; lane < PackedHand.TYPES; lane++) {
+            if (lane == type) continue;
+            // Nothing expected anywhere else: no idea which, spread evenly
+            expected[base + lane] = others > 0 ? expected[base + lane] * rest / others : rest / (PackedHand.TYPES - 1);
+        }
+    }
+
+    // Everyone starts out knowing every hand (empty at the start of a game)
+    private void ensureSeats() {
+        if (seats >= 0) return;
+        List<Player> players = gameplay.getPlayerList();
+        seats = players.size();
+        expected = new double[seats * seats * PackedHand.TYPES];
+        handSize = new int[seats];
+        for (Player player : players) {
+            int seat = seat(player);
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                int count = player.getResources().getOrDefault(PackedHand.resourceName(type), 0);
+                handSize[seat] += count;
+                for (int observer = 0; observer < seats; observer++) {
+                    expected[index(observer, seat) + type] = count;
+                }
+            }
+        }
+    }
+
+    private int index(int observer, int seat) {
+        return (observer * seats + seat) * PackedHand.TYPES;
+    }
+
+    private static int seat(Player player) {
+        return player.getPlayerId() - 1;
+    }
+}
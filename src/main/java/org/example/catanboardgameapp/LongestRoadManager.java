@@ -22,6 +22,7 @@ public class LongestRoadManager {
                     gameplay.decreasePlayerScoreByTwo(currentHolder);
                 }
                 currentHolder = player;
+                gameplay.getReplay().recordLongestRoad(player);
                 gameplay.increasePlayerScoreByTwo();
             }
         }
@@ -97,4 +98,9 @@ public class LongestRoadManager {
     public Player getCurrentHolder() {
         return currentHolder;
     }
+
+    // Only used when restoring a saved game
+    void setCurrentHolder(Player holder) {
+        this.currentHolder = holder;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,282 @@
+package org.example.catanboardgameapp;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//___________________________MONTE CARLO TREE SEARCH (EXPERT AI)___________________________//
+// Picks the EXPERT AI's next move within its turn. Every iteration forks the live game
+// (see GameSnapshot.fork), walks down the tree of own moves with UCB1, expands one new move,
+// then plays the rest of the turn and one full round with the rule-based AIs and scores it.
+// Every fork samples the opponents' hands and unplayed cards from what this AI has seen, so the
+// search never reads hidden cards (see GameSnapshot.fork with an observer seat).
+// The tree is open loop: a node is a sequence of moves, and since dice, steals, drawn cards and
+// the sampled hands differ between forks, only moves that are legal in the current fork are followed.
+// Root parallel: every worker grows its own tree and the root statistics are added up.
+public class MonteCarloTreeSearch {
+
+    //___________________________MOVES___________________________//
+    // One step of the AI's turn; the strategy is only used for the usage statistics
+    public enum Move {
+        END_TURN(AIOpponent.Strategy.NONE),
+        CITY(AIOpponent.Strategy.CITYUPGRADER),
+        SETTLEMENT(AIOpponent.Strategy.SETTLEMENTPLACER),
+        ROAD(AIOpponent.Strategy.ROADBUILDER),
+        LONGEST_ROAD(AIOpponent.Strategy.LONGESTROAD),
+        BUY_CARD(AIOpponent.Strategy.DEVELOPMENTCARDBUYER),
+        PLAY_CARD(null),
+        BANK_TRADE(AIOpponent.Strategy.USERESOURCES);
+
+        private final AIOpponent.Strategy strategy;
+
+        Move(AIOpponent.Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public AIOpponent.Strategy getStrategy() {
+            return strategy;
+        }
+    }
+
+    //___________________________SETTINGS___________________________//
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 400;  // Keeps every decision well under a second
+    public static final int DEFAULT_ITERATION_BUDGET = 5_000;
+    private static final double EXPLORATION = 0.5;              // UCB1 constant, values are in [0, 1]
+    private static final int ROLLOUT_ROUNDS = 1;                // Full rounds played after our turn
+    private static final int MAX_TREE_DEPTH = 8;                // Own moves per turn the tree looks at
+
+    // Leaf evaluation: victory points plus a little for what will turn into points later
+    private static final double PIP_WEIGHT = 0.08;              // Per dice pip of production (out of 36)
+    private static final double CARD_WEIGHT = 0.05;             // Per resource card in hand, up to 7
+    private static final double DEVELOPMENT_CARD_WEIGHT = 0.3;  // Per unplayed development card
+    private static final double LEAD_SCALE = 1.2;               // Steepness of the lead -> win chance curve
+
+    // Shared by all EXPERT AIs; daemon threads so a running search never keeps the app alive
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcts-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //___________________________FIELDS___________________________//
+    private final long timeBudgetMillis;      // 0 = no time limit
+    private final int iterationBudget;        // 0 = no iteration limit
+    private final int threads;
+    private final GameSnapshot snapshot = new GameSnapshot();
+    private volatile int lastIterations;      // Iterations of the latest search, for tuning and tests
+
+    //___________________________CONSTRUCTOR___________________________//
+    public MonteCarloTreeSearch(long timeBudgetMillis, int iterationBudget, int threads) {
+        if (timeBudgetMillis <= 0 && iterationBudget <= 0) throw new IllegalArgumentException("search needs a time or iteration budget");
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive");
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.iterationBudget = iterationBudget;
+        this.threads = threads;
+    }
+
+    //___________________________SEARCH___________________________//
+    // Best next move for the AI in the current state of the live game (most visited root move)
+    public Move chooseMove(Gameplay gameplay, AIOpponent ai) {
+        return chooseMove(gameplay, ai, timeBudgetMillis);
+    }
+
+    // Anytime variant: searches for the given time (0 = only the iteration budget) and then
+    // commits to the best move found so far
+    public Move chooseMove(Gameplay gameplay, AIOpponent ai, long timeBudgetMillis) {
+        List<Move> moves = ai.getExpertMoves(gameplay);
+        if (moves.size() == 1) return moves.get(0);
+        if (timeBudgetMillis <= 0 && iterationBudget <= 0) throw new IllegalArgumentException("search needs a time or iteration budget");
+
+        byte[] state = snapshot.capture(gameplay);
+        Board board = gameplay.getBoard();
+        int seat = gameplay.getPlayerList().indexOf(ai);
+        long deadline = timeBudgetMillis > 0 ? System.nanoTime() + timeBudgetMillis * 1_000_000 : Long.MAX_VALUE;
+        int perWorker = iterationBudget > 0 ? (iterationBudget + threads - 1) / threads : Integer.MAX_VALUE;
+        // Seeds come from the game itself, so an iteration budget gives reproducible decisions
+        long baseSeed = gameplay.getSeed() ^ (gameplay.getReplay().getActionCount() * 0x9E3779B97F4A7C15L);
+        // Forks build fresh AIs, which should score with the same weights as the live ones
+        AIWeights[] weights = new AIWeights[gameplay.getPlayerList().size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = gameplay.getPlayerList().get(i) instanceof AIOpponent player ? player.getWeights() : AIWeights.getStandard();
+        }
+
+        List<Future<Node>> helpers = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            long seed = baseSeed + i;
+            helpers.add(WORKERS.submit(() -> grow(state, board, seat, weights, deadline, perWorker, seed)));
+        }
+        List<Node> roots = new ArrayList<>();
+        roots.add(grow(state, board, seat, weights, deadline, perWorker, baseSeed));
+        try {
+            for (Future<Node> helper : helpers) roots.add(helper.get());
+        } catch (InterruptedException e) {
+            helpers.forEach(helper -> helper.cancel(true));
+            Thread.currentThread().interrupt();
+            return Move.END_TURN;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+        return mostVisited(roots, moves);
+    }
+
+    private Move mostVisited(List<Node> roots, List<Move> legal) {
+        Map<Move, long[]> visits = new EnumMap<>(Move.class);
+        Map<Move, double[]> values = new EnumMap<>(Move.class);
+        int iterations = 0;
+        for (Node root : roots) {
+            iterations += root.visits;
+            for (Node child : root.children.values()) {
+                visits.computeIfAbsent(child.move, m -> new long[1])[0] += child.visits;
+                values.computeIfAbsent(child.move, m -> new double[1])[0] += child.value;
+            }
+        }
+        lastIterations = iterations;
+
+        Move best = Move.END_TURN;
+        long bestVisits = -1;
+        double bestMean = -1;
+        for (Move move : legal) {
+            long count = visits.containsKey(move) ? visits.get(move)[0] : 0;
+            double mean = count == 0 ? 0 : values.get(move)[0] / count;
+            if (count > bestVisits || (count == bestVisits && mean > bestMean)) {
+                best = move;
+                bestVisits = count;
+                bestMean = mean;
+            }
+        }
+        return best;
+    }
+
+    // One worker's tree, grown until the deadline or its share of the iterations is used up
+    private Node grow(byte[] state, Board board, int seat, AIWeights[] weights, long deadline, int iterations, long seed) {
+        Random random = new Random(seed);
+        Node root = new Node(null, null);
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            if (Thread.currentThread().isInterrupted()) break;
+            iterate(root, state, board, seat, weights, random);
+        }
+        return root;
+    }
+
+    private void iterate(Node root, byte[] state, Board board, int seat, AIWeights[] weights, Random random) {
+        Gameplay fork = GameSnapshot.fork(state, board, random.nextLong(), seat);
+        for (int i = 0; i < weights.length; i++) {
+            ((AIOpponent) fork.getPlayerList().get(i)).setWeights(weights[i]);
+        }
+        AIOpponent me = (AIOpponent) fork.getPlayerList().get(seat);
+
+        // Selection and expansion, through this AI's own moves of the current turn only
+        Node node = root;
+        int depth = 0;
+        while (node.move != Move.END_TURN && !fork.isFinished() && depth++ < MAX_TREE_DEPTH) {
+            List<Move> legal = me.getExpertMoves(fork);
+            Node next = node.expand(legal, random);
+            boolean expanded = next != null;
+            if (!expanded) next = node.select(legal);
+            node = next;
+            me.applyExpertMove(node.move, fork, null);
+            if (expanded) break;
+        }
+
+        double value = rollout(fork, me, node.move == Move.END_TURN);
+        for (Node n = node; n != null; n = n.parent) {
+            n.visits++;
+            n.value += value;
+        }
+    }
+
+    // Rest of the turn with the light HARD rules (EXPERT plays HARD inside forks), then one round
+    // for everyone. Player trades and longest-road planning are left out: they cost the most per
+    // move and rarely decide a single round, so the time buys more iterations instead
+    private double rollout(Gameplay fork, AIOpponent me, boolean turnEnded) {
+        fork.startRollout();
+        if (!fork.isFinished()) {
+            if (turnEnded) fork.finishAITurn();
+            else me.makeMoveAI(fork, null);
+        }
+        int turns = fork.getPlayerList().size() * ROLLOUT_ROUNDS;
+        for (int i = 0; i < turns && !fork.isFinished(); i++) {
+            fork.playHeadlessTurn();
+        }
+        return evaluate(fork, me);
+    }
+
+    // 1 for a win, 0 for a loss, otherwise the lead over the strongest opponent squashed into (0, 1)
+    private static double evaluate(Gameplay fork, AIOpponent me) {
+        Player winner = fork.getWinner();
+        if (winner != null) return winner == me ? 1.0 : 0.0;
+        double bestOpponent = Double.NEGATIVE_INFINITY;
+        for (Player player : fork.getPlayerList()) {
+            if (player != me) bestOpponent = Math.max(bestOpponent, strength(fork, player, me));
+        }
+        double lead = strength(fork, me, me) - bestOpponent;
+        return 1.0 / (1.0 + Math.exp(-LEAD_SCALE * lead));
+    }
+
+    private static double strength(Gameplay fork, Player player, AIOpponent judge) {
+        int pips = 0;
+        for (Vertex settlement : player.getSettlements()) pips += judge.getSettlementDiceValue(settlement, fork);
+        for (Vertex city : player.getCities()) pips += 2 * judge.getSettlementDiceValue(city, fork);
+        int developmentCards = 0;
+        for (int count : player.getDevelopmentCards().values()) developmentCards += count;
+        return player.getPlayerScore()
+                + PIP_WEIGHT * pips
+                + CARD_WEIGHT * Math.min(player.getTotalResourceCount(), 7)
+                + DEVELOPMENT_CARD_WEIGHT * developmentCards;
+    }
+
+    //___________________________GETTERS___________________________//
+    public long getTimeBudgetMillis() { return timeBudgetMillis; }
+    public int getIterationBudget()   { return iterationBudget; }
+    public int getThreads()           { return threads; }
+    public int getLastIterations()    { return lastIterations; }
+
+    //___________________________TREE NODE___________________________//
+    private static final class Node {
+        private final Node parent;
+        private final Move move;                 // Move that leads here, null for the root
+        private final Map<Move, Node> children = new EnumMap<>(Move.class);
+        private int visits;
+        private double value;                    // Sum of rollout values
+
+        Node(Node parent, Move move) {
+            this.parent = parent;
+            this.move = move;
+        }
+
+        // Adds a random legal move that has no child yet, null if all legal moves are expanded
+        Node expand(List<Move> legal, Random random) {
+            List<Move> untried = new ArrayList<>();
+            for (Move candidate : legal) {
+                if (!children.containsKey(candidate)) untried.add(candidate);
+            }
+            if (untried.isEmpty()) return null;
+            Node child = new Node(this, untried.get(random.nextInt(untried.size())));
+            children.put(child.move, child);
+            return child;
+        }
+
+        // UCB1 over the children that are legal in this fork (all of them are expanded by now)
+        Node select(List<Move> legal) {
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+            for (Move candidate : legal) {
+                Node child = children.get(candidate);
+                double score = child.value / Math.max(1, child.visits)
+                        + EXPLORATION * Math.sqrt(logVisits / Math.max(1, child.visits));
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
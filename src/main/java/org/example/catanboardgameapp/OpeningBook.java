@@ -0,0 +1,263 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+//___________________________OPENING BOOK___________________________//
+// Initial placements worked out offline by simulation (see OpeningBookBuilder), looked up
+// by the HARD and EXPERT AIs instead of scoring the board themselves.
+// A position is the board (tiles, dice and harbors) plus every settlement and road placed
+// so far, owners counted from the player to move. It is turned into the smallest of its twelve
+// symmetric versions (see BoardSymmetry), so a rotated or mirrored board finds the same entry,
+// and the stored settlement and road are moved back onto the real board.
+// The file is a sorted table of fixed size entries, read through a memory map with a binary search.
+public class OpeningBook {
+
+    //___________________________FORMAT___________________________//
+    public static final int MAGIC = 0x4341424B;     // "CABK"
+    public static final int VERSION = 1;
+    public static final Path DEFAULT_PATH = Path.of("opening-book.bin");  // Picked up at startup when present
+    private static final int HEADER_BYTES = 12;     // Magic, version, entry count
+    private static final int ENTRY_BYTES = 16;      // Key, settlement, road, win rate, games
+
+    private static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(0), 0);
+    private static volatile OpeningBook standard;
+
+    //___________________________FIELDS___________________________//
+    private final ByteBuffer entries;   // Only read with absolute gets, so lookups can run on any thread
+    private final int count;
+
+    private OpeningBook(ByteBuffer entries, int count) {
+        this.entries = entries;
+        this.count = count;
+    }
+
+    //___________________________STANDARD BOOK___________________________//
+    // Book at DEFAULT_PATH if that file exists, otherwise an empty one
+    public static OpeningBook getStandard() {
+        OpeningBook current = standard;
+        if (current == null) {
+            synchronized (OpeningBook.class) {
+                if (standard == null) standard = loadStandard();
+                current = standard;
+            }
+        }
+        return current;
+    }
+
+    public static void setStandard(OpeningBook book) {
+        standard = book;
+    }
+
+    private static OpeningBook loadStandard() {
+        if (!Files.isRegularFile(DEFAULT_PATH)) return EMPTY;
+        try {
+            return open(DEFAULT_PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not open " + DEFAULT_PATH + ", playing without opening book: " + e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    //___________________________FILES___________________________//
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (map.limit() < HEADER_BYTES || map.getInt(0) != MAGIC) throw new IllegalArgumentException("Not an opening book: " + path);
+            if (map.getInt(4) != VERSION) throw new IllegalArgumentException("Unsupported opening book version " + map.getInt(4));
+            int count = map.getInt(8);
+            if (map.limit() != HEADER_BYTES + (long) count * ENTRY_BYTES) throw new IllegalArgumentException("Opening book is truncated: " + path);
+            return new OpeningBook(map.slice(HEADER_BYTES, count * ENTRY_BYTES), count);
+        }
+    }
+
+    // Writes to a temporary file first and then moves it into place, so a game that has the
+    // old book mapped keeps reading a complete file
+    public static void write(Path path, SortedMap<Long, Entry> book) throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + book.size() * ENTRY_BYTES);
+        out.putInt(MAGIC).putInt(VERSION).putInt(book.size());
+        for (Entry entry : book.values()) {
+            out.putLong(entry.key)
+                    .putShort((short) entry.settlement)
+                    .putShort((short) entry.road)
+                    .putShort((short) entry.winPermille)
+                    .putShort((short) entry.games);
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, out.array());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Every entry in key order, e.g. to add new ones and write the book again
+    public SortedMap<Long, Entry> entries() {
+        SortedMap<Long, Entry> all = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            Entry entry = entryAt(i);
+            all.put(entry.key, entry);
+        }
+        return all;
+    }
+
+    //___________________________LOOKUP___________________________//
+    // Book placement for the player to move, on this game's board, or null if the position is unknown.
+    // Whether the placement is still legal is left to the caller.
+    public Placement lookup(Gameplay gameplay) {
+        if (count == 0) return null;
+        Position position = position(gameplay);
+        Entry entry = find(position.key);
+        if (entry == null) return null;
+        Board board = gameplay.getBoard();
+        BoardSymmetry symmetry = board.getSymmetry();
+        return new Placement(
+                board.getVertices().get(symmetry.vertexSource(position.symmetry, entry.settlement)),
+                board.getEdges().get(symmetry.edgeSource(position.symmetry, entry.road)),
+                entry);
+    }
+
+    Entry find(long key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long found = entries.getLong(middle * ENTRY_BYTES);
+            if (found < key) low = middle + 1;
+            else if (found > key) high = middle - 1;
+            else return entryAt(middle);
+        }
+        return null;
+    }
+
+    private Entry entryAt(int index) {
+        int at = index * ENTRY_BYTES;
+        return new Entry(entries.getLong(at), entries.getShort(at + 8), entries.getShort(at + 10),
+                entries.getShort(at + 12), entries.getShort(at + 14));
+    }
+
+    //___________________________CANONICAL POSITION___________________________//
+    // Encodes the position under every symmetry and keeps the smallest encoding
+    static Position position(Gameplay gameplay) {
+        Board board = gameplay.getBoard();
+        BoardSymmetry symmetry = board.getSymmetry();
+        List<Tile> tiles = board.getTiles();
+        List<Edge> edges = board.getEdges();
+        List<Vertex> vertices = board.getVertices();
+
+        // Owners as seats after the player to move: 1 is the player itself, 0 is nobody
+        List<Player> players = gameplay.getPlayerList();
+        int me = players.indexOf(gameplay.getCurrentPlayer());
+        int[] vertexOwner = new int[vertices.size()];
+        int[] edgeOwner = new int[edges.size()];
+        for (int i = 0; i < players.size(); i++) {
+            int relative = (i - me + players.size()) % players.size() + 1;
+            for (Vertex vertex : players.get(i).getSettlementsAndCities()) vertexOwner[vertex.getId()] = relative;
+            for (Edge edge : players.get(i).getRoads()) edgeOwner[edge.getId()] = relative;
+        }
+
+        int[] best = null;
+        int bestSymmetry = 0;
+        int[] code = new int[2 + tiles.size() + edges.size() + vertices.size()];
+        for (int s = 0; s < BoardSymmetry.COUNT; s++) {
+            code[0] = gameplay.getBoardRadius();
+            code[1] = players.size();
+            int offset = 2;
+            for (Tile tile : tiles) {
+                code[offset + symmetry.tileImage(s, tile.getId())] = tile.getResourcetype().ordinal() * 13 + tile.getTileDiceNumber();
+            }
+            offset += tiles.size();
+            for (Edge edge : edges) {
+                int harbor = edge.getHarbor() == null ? 0 : edge.getHarbor().getType().ordinal() + 1;
+                code[offset + symmetry.edgeImage(s, edge.getId())] = harbor * 8 + edgeOwner[edge.getId()];
+            }
+            offset += edges.size();
+            for (Vertex vertex : vertices) {
+                code[offset + symmetry.vertexImage(s, vertex.getId())] = vertexOwner[vertex.getId()];
+            }
+            if (best == null || Arrays.compare(code, best) < 0) {
+                best = code.clone();
+                bestSymmetry = s;
+            }
+        }
+        return new Position(hash(best), bestSymmetry);
+    }
+
+    // 64-bit FNV-1a over the encoding, finished with a mixing step so nearby positions spread out
+    private static long hash(int[] code) {
+        long hash = 0xCBF29CE484222325L;
+        for (int value : code) {
+            hash ^= value;
+            hash *= 0x100000001B3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    //___________________________GETTERS___________________________//
+    public int size() { return count; }
+
+    //___________________________BOOK TYPES___________________________//
+    // A position's key and the symmetry that turns the real board into the canonical one
+    static final class Position {
+        final long key;
+        final int symmetry;
+
+        Position(long key, int symmetry) {
+            this.key = key;
+            this.symmetry = symmetry;
+        }
+    }
+
+    // One stored position: settlement and road as ids on the canonical board
+    public static final class Entry {
+        private final long key;
+        private final int settlement;
+        private final int road;
+        private final int winPermille;   // Simulated win rate of the placement, for information
+        private final int games;         // Simulated games behind it
+
+        public Entry(long key, int settlement, int road, int winPermille, int games) {
+            this.key = key;
+            this.settlement = settlement;
+            this.road = road;
+            this.winPermille = winPermille;
+            this.games = games;
+        }
+
+        public long getKey()        { return key; }
+        public int getSettlement()  { return settlement; }
+        public int getRoad()        { return road; }
+        public int getWinPermille() { return winPermille; }
+        public int getGames()       { return games; }
+    }
+
+    // A book entry moved onto a real board
+    public static final class Placement {
+        private final Vertex settlement;
+        private final Edge road;
+        private final Entry entry;
+
+        Placement(Vertex settlement, Edge road, Entry entry) {
+            this.settlement = settlement;
+            this.road = road;
+            this.entry = entry;
+        }
+
+        public Vertex getSettlement() { return settlement; }
+        public Edge getRoad()         { return road; }
+        public Entry getEntry()       { return entry; }
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//___________________________OPENING BOOK BUILDER___________________________//
+// Fills the OpeningBook offline. For every board (one per game seed) the initial placements
+// are played out seat by seat; at each one the best few settlement spots by the AI's own
+// ranking are each placed in many forks of the game (see GameSnapshot.fork), and every fork
+// is played to the end by HARD AIs. The spot that wins most often goes into the book and is
+// played, and the next seat decides from there.
+// All candidates of a decision play the same fork seeds, and the forks run on a fixed pool of
+// worker threads. The book is written after every board, so a long run can be stopped at any time.
+public class OpeningBookBuilder {
+
+    //___________________________________FIELDS______________________________________________//
+    private static final int MAX_STEPS_PER_GAME = 5_000;   // Guard against an AI that never ends its turn
+    private static final int MAX_INITIAL_STEPS = 64;        // Initial placements of the largest lineup, with room to spare
+
+    private final int players;
+    private final int candidates;
+    private final int gamesPerCandidate;
+    private final int boardRadius;
+    private final SortedMap<Long, OpeningBook.Entry> book;
+    private final GameSnapshot snapshot = new GameSnapshot();
+    private int added;
+
+    //__________________________________CONSTRUCTOR___________________________________________//
+    public OpeningBookBuilder(int players, int candidates, int gamesPerCandidate, int boardRadius, SortedMap<Long, OpeningBook.Entry> book) {
+        if (players <= 0 || candidates <= 0 || gamesPerCandidate <= 0) {
+            throw new IllegalArgumentException("players, candidates and games must be positive");
+        }
+        this.players = players;
+        this.candidates = candidates;
+        this.gamesPerCandidate = Math.min(gamesPerCandidate, Short.MAX_VALUE);
+        this.boardRadius = boardRadius;
+        this.book = book;
+    }
+
+    //__________________________________BUILDING___________________________________________//
+    // Works out every initial placement of the game with this seed that the book does not know yet
+    public void analyseBoard(long seed, ExecutorService pool) throws InterruptedException {
+        Gameplay game = new Gameplay(boardRadius, seed);
+        game.initializeHeadlessGame(Collections.nCopies(players, AIOpponent.StrategyLevel.HARD));
+        int steps = 0;
+        while (game.isInInitialPhase() && !game.isFinished() && steps++ < MAX_INITIAL_STEPS) {
+            OpeningBook.Position position = OpeningBook.position(game);
+            OpeningBook.Entry entry = book.get(position.key);
+            if (entry == null) {
+                entry = decide(game, position, seed, pool);
+                if (entry == null) return;   // No legal spot, leave the rest of this board alone
+                book.put(entry.getKey(), entry);
+                added++;
+            }
+            BoardSymmetry symmetry = game.getBoard().getSymmetry();
+            Vertex settlement = game.getBoard().getVertices().get(symmetry.vertexSource(position.symmetry, entry.getSettlement()));
+            Edge road = game.getBoard().getEdges().get(symmetry.edgeSource(position.symmetry, entry.getRoad()));
+            if (game.buildInitialSettlement(settlement) != BuildResult.SUCCESS || game.buildRoad(road) != BuildResult.SUCCESS) {
+                throw new IllegalStateException("Book placement is not legal on board " + seed);
+            }
+            game.finishAITurn();
+        }
+    }
+
+    // Simulates the best ranked spots for the player to move and returns the winner as a book entry
+    private OpeningBook.Entry decide(Gameplay game, OpeningBook.Position position, long seed, ExecutorService pool) throws InterruptedException {
+        AIOpponent ai = (AIOpponent) game.getCurrentPlayer();
+        SettlementRanking ranking = game.getBoard().getSettlementRanking();
+        List<Vertex> spots = game.getBoard().getVertices().stream()
+                .filter(game::isValidSettlementPlacement)
+                .sorted(Comparator.comparingInt((Vertex v) -> -ranking.score(v, ai, ai.getWeights())).thenComparingInt(Vertex::getId))
+                .limit(candidates)
+                .toList();
+        if (spots.isEmpty()) return null;
+
+        byte[] state = snapshot.capture(game);
+        int seat = game.getPlayerList().indexOf(ai);
+        List<List<Future<Boolean>>> results = new ArrayList<>();
+        for (Vertex spot : spots) {
+            List<Future<Boolean>> games = new ArrayList<>(gamesPerCandidate);
+            for (int i = 0; i < gamesPerCandidate; i++) {
+                long forkSeed = seed ^ (position.key + i * 0x9E3779B97F4A7C15L);
+                games.add(pool.submit(() -> playOut(state, game.getBoard(), seat, spot.getId(), forkSeed)));
+            }
+            results.add(games);
+        }
+
+        int bestSpot = 0;
+        int bestWins = -1;
+        for (int c = 0; c < results.size(); c++) {
+            int wins = 0;
+            for (Future<Boolean> result : results.get(c)) {
+                try {
+                    if (result.get()) wins++;
+                } catch (ExecutionException e) {
+                    System.err.println("Opening simulation failed: " + e.getCause());
+                }
+            }
+            if (wins > bestWins) {
+                bestWins = wins;
+                bestSpot = c;
+            }
+        }
+
+        // The road is the AI's own choice at that spot, worked out in a fork so that only the
+        // caller changes the real game
+        Vertex settlement = spots.get(bestSpot);
+        Gameplay fork = GameSnapshot.fork(state, game.getBoard(), seed);
+        AIOpponent me = (AIOpponent) fork.getPlayerList().get(seat);
+        Vertex forkSettlement = fork.getBoard().getVertices().get(settlement.getId());
+        fork.buildInitialSettlement(forkSettlement);
+        Edge road = me.chooseInitialRoad(fork, forkSettlement);
+        if (road == null) return null;
+
+        BoardSymmetry symmetry = game.getBoard().getSymmetry();
+        return new OpeningBook.Entry(position.key,
+                symmetry.vertexImage(position.symmetry, settlement.getId()),
+                symmetry.edgeImage(position.symmetry, road.getId()),
+                bestWins * 1000 / gamesPerCandidate, gamesPerCandidate);
+    }
+
+    // Places the candidate spot in a fork and plays the game out; true if the seat wins
+    private static boolean playOut(byte[] state, Board board, int seat, int spot, long forkSeed) {
+        Gameplay fork = GameSnapshot.fork(state, board, forkSeed);
+        AIOpponent me = (AIOpponent) fork.getPlayerList().get(seat);
+        Vertex settlement = fork.getBoard().getVertices().get(spot);
+        if (fork.buildInitialSettlement(settlement) != BuildResult.SUCCESS) return false;
+        Edge road = me.chooseInitialRoad(fork, settlement);
+        if (road == null || fork.buildRoad(road) != BuildResult.SUCCESS) return false;
+        fork.finishAITurn();
+        int steps = 0;
+        while (!fork.isFinished() && steps++ < MAX_STEPS_PER_GAME) {
+            fork.playHeadlessTurn();
+        }
+        return fork.getWinner() == me;
+    }
+
+    public int getAdded() { return added; }
+
+    //__________________________________COMMAND LINE___________________________________________//
+    // Usage: OpeningBookBuilder [boards] [firstSeed] [players] [candidates] [gamesPerCandidate] [threads] [boardRadius] [book file]
+    // New positions are added to the book file if it already exists
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int candidates = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        int games = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        int boardRadius = args.length > 6 ? Integer.parseInt(args[6]) : 2;
+        Path path = args.length > 7 ? Path.of(args[7]) : OpeningBook.DEFAULT_PATH;
+
+        SortedMap<Long, OpeningBook.Entry> book = Files.isRegularFile(path) ? OpeningBook.open(path).entries() : new TreeMap<>();
+        OpeningBookBuilder builder = new OpeningBookBuilder(players, candidates, games, boardRadius, book);
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "opening-book-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < boards; i++) {
+                long start = System.nanoTime();
+                builder.analyseBoard(firstSeed + i, pool);
+                OpeningBook.write(path, book);
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println("Board " + (firstSeed + i) + " done in " + millis + " ms | book size: " + book.size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.println("Added " + builder.getAdded() + " positions to " + path);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.catanboardgameapp;
+
+import java.util.Map;
+
+//___________________________PACKED HAND___________________________//
+// A hand of resource cards as one long: 8 bits per resource in Resource.ResourceType order
+// (Brick, Wood, Ore, Grain, Wool), 7 for the count (0-127) and a spare top bit.
+// The spare bits let whole hands be compared and subtracted with single long operations, which
+// keeps trade evaluation cheap enough to ask every AI about many offers in one turn.
+public final class PackedHand {
+
+    //___________________________LAYOUT___________________________//
+    public static final int TYPES = 5;
+    public static final int MAX_COUNT = 127;
+    public static final int MAX_BUNDLE_COUNT = 63;           // Per resource in a trade bundle, see toBundle
+    private static final int LANE_BITS = 8;
+    private static final long GUARDS = 0x80_80_80_80_80L;    // Spare bit of every lane
+    private static final Resource.ResourceType[] RESOURCES = Resource.ResourceType.values();
+
+    public static final long EMPTY = 0;
+
+    private PackedHand() {
+    }
+
+    //___________________________BUILDING___________________________//
+    // Counts above MAX_COUNT are capped, only ever seen in very long games
+    public static long of(Map<String, Integer> resources) {
+        long hand = 0;
+        for (int type = 0; type < TYPES; type++) {
+            int count = Math.min(MAX_COUNT, Math.max(0, resources.getOrDefault(RESOURCES[type].getName(), 0)));
+            hand |= (long) count << (type * LANE_BITS);
+        }
+        return hand;
+    }
+
+    public static long of(Player player) {
+        return of(player.getResources());
+    }
+
+    public static long single(String resource, int count) {
+        return single(index(resource), count);
+    }
+
+    public static long single(int type, int count) {
+        return (long) Math.min(MAX_COUNT, count) << (type * LANE_BITS);
+    }
+
+    //___________________________READING___________________________//
+    public static int get(long hand, int type) {
+        return (int) (hand >>> (type * LANE_BITS)) & 0x7F;
+    }
+
+    public static int total(long hand) {
+        int total = 0;
+        for (int type = 0; type < TYPES; type++) total += get(hand, type);
+        return total;
+    }
+
+    // True if the hand holds at least the cards of cost in every resource
+    public static boolean covers(long hand, long cost) {
+        return (((hand | GUARDS) - cost) & GUARDS) == GUARDS;
+    }
+
+    // Cards of cost the hand does not hold, summed over all resources
+    public static int missing(long hand, long cost) {
+        long difference = (cost | GUARDS) - hand;              // 128 + cost - hand per lane, no borrow between lanes
+        long positive = (difference & GUARDS) >>> 7;           // 1 in every lane where cost >= hand
+        return total(difference & ~GUARDS & (positive * 0x7F));
+    }
+
+    //___________________________ARITHMETIC___________________________//
+    // Lanes must stay within 0-MAX_COUNT: subtract only what the hand covers
+    public static long add(long hand, long cards) {
+        return hand + cards;
+    }
+
+    public static long subtract(long hand, long cards) {
+        return hand - cards;
+    }
+
+    //___________________________TRADE BUNDLES___________________________//
+    // 6 bits per resource so a bundle fits in an int, the form stored in replays
+    public static int toBundle(long hand) {
+        int bundle = 0;
+        for (int type = 0; type < TYPES; type++) bundle |= Math.min(MAX_BUNDLE_COUNT, get(hand, type)) << (type * 6);
+        return bundle;
+    }
+
+    public static long fromBundle(int bundle) {
+        long hand = 0;
+        for (int type = 0; type < TYPES; type++) hand |= (long) ((bundle >>> (type * 6)) & MAX_BUNDLE_COUNT) << (type * LANE_BITS);
+        return hand;
+    }
+
+    // Moves the cards from one player's resources to another's
+    static void transfer(Player from, Player to, long cards) {
+        for (int type = 0; type < TYPES; type++) {
+            int count = get(cards, type);
+            if (count == 0) continue;
+            String name = RESOURCES[type].getName();
+            from.getResources().merge(name, -count, Integer::sum);
+            to.getResources().merge(name, count, Integer::sum);
+        }
+    }
+
+    //___________________________HELPERS___________________________//
+    public static int index(String resource) {
+        int type = Resource.ResourceType.fromString(resource).ordinal();
+        if (type >= TYPES) throw new IllegalArgumentException("Not a card resource: " + resource);
+        return type;
+    }
+
+    public static String resourceName(int type) {
+        return RESOURCES[type].getName();
+    }
+
+    // e.g. "2 Ore, 1 Grain", or "nothing"
+    public static String describe(long hand) {
+        StringBuilder text = new StringBuilder();
+        for (int type = 0; type < TYPES; type++) {
+            int count = get(hand, type);
+            if (count == 0) continue;
+            if (text.length() > 0) text.append(", ");
+            text.append(count).append(" ").append(RESOURCES[type].getName());
+        }
+        return text.length() == 0 ? "nothing" : text.toString();
+    }
+}
@@ -28,6 +28,7 @@ public class Player {
     private int playerScore;
     private int playedKnights;
     private int longestRoad;
+    private int resourcesProduced;      // Cards received from dice rolls, for simulation statistics
 
     //_____________________________CONSTRUCTOR_____________________________//
     public Player(int playerId, Color color, Gameplay gameplay) {
@@ -57,7 +58,7 @@ public class Player {
 
     // Initialize development cards to 0 of each (2 if DEBUG_MODE)
     private void initializeDevelopmentCards() {
-        developmentCards = new HashMap<>();
+        developmentCards = new EnumMap<>(DevelopmentCardType.class); // Fixed card order, independent of hash codes
         for (DevelopmentCardType cardType : DevelopmentCardType.values()) {
             developmentCards.put(cardType, DEBUG_MODE ? 1 : 0);
         }
@@ -171,6 +172,23 @@ public class Player {
         return longestRoad;
     }
 
+    public int getResourcesProduced() {
+        return resourcesProduced;
+    }
+
+    void addResourcesProduced(int amount) {
+        resourcesProduced += amount;
+    }
+
+    // Only used when restoring a saved game
+    void setPlayerScore(int playerScore) {
+        this.playerScore = playerScore;
+    }
+
+    void setPlayedKnights(int playedKnights) {
+        this.playedKnights = playedKnights;
+    }
+
     @Override
     public String toString() {
         return "Player " + playerId;
@@ -0,0 +1,386 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+//___________________________BINARY REPLAY PLAYER___________________________//
+// Rebuilds the game state from a ReplayRecorder stream without any UI.
+// The board is regenerated from the seed once, then every action is applied to plain int arrays,
+// so stepping through a replay costs a few array writes per action.
+public class ReplayPlayer {
+
+    //___________________________FIELDS___________________________//
+    private static final int RESOURCES = 5;         // BRICK, WOOD, ORE, GRAIN, WOOL (ResourceType ordinals 0-4)
+    private static final int BRICK = Resource.ResourceType.BRICK.ordinal();
+    private static final int WOOD = Resource.ResourceType.WOOD.ordinal();
+    private static final int ORE = Resource.ResourceType.ORE.ordinal();
+    private static final int GRAIN = Resource.ResourceType.GRAIN.ordinal();
+    private static final int WOOL = Resource.ResourceType.WOOL.ordinal();
+    private static final ReplayRecorder.Action[] ACTIONS = ReplayRecorder.Action.values();
+    private static final DevelopmentCard.DevelopmentCardType[] CARDS = DevelopmentCard.DevelopmentCardType.values();
+
+    // Header
+    private final byte[] data;
+    private final int actionsStart;
+    private final int version;
+    private final long seed;
+    private final int boardRadius;
+    private final int[] seatCodes;
+
+    // Board topology, flattened to arrays
+    private final Board board;
+    private final int[][] tilesByDiceNumber;    // dice number -> producing tile ids
+    private final int[] tileResource;           // tile id -> resource ordinal (or -1)
+    private final int[][] tileVertices;         // tile id -> vertex ids
+    private final int[][] vertexTiles;          // vertex id -> adjacent tile ids
+    private final int startingRobberTile;
+    private final int bankCapacity;             // Cards per resource, see Bank
+
+    // Replayed state
+    private int position;
+    private int actionsApplied;
+    private int turns;
+    private int currentSeat;
+    private int robberTile;
+    private int lastRoll;
+    private int longestRoadHolder;
+    private int biggestArmyHolder;
+    private final int[] vertexOwner;            // seat or -1
+    private final int[] vertexLevel;            // 0 empty, 1 settlement, 2 city
+    private final int[] edgeOwner;              // seat or -1
+    private final int[][] resources;            // [seat][resource]
+    private final int[][] owed;                 // [seat][resource], production of the current roll
+    private final int[] totalOwed;              // [resource]
+    private final int[] claimants;              // [resource]
+    private final int[][] cards;                // [seat][card ordinal]
+    private final int[] score;
+    private final int[] knights;
+    private final int[] initialSettlements;
+
+    //___________________________CONSTRUCTOR___________________________//
+    public ReplayPlayer(byte[] data) {
+        this.data = data;
+        ByteBuffer header = ByteBuffer.wrap(data);
+        if (header.getInt() != ReplayRecorder.MAGIC) throw new IllegalArgumentException("Not a Catan replay");
+        this.version = header.get();
+        if (version < 1 || version > ReplayRecorder.VERSION) throw new IllegalArgumentException("Unsupported replay version " + version);
+        this.seed = header.getLong();
+        this.boardRadius = header.get();
+        int width = header.getShort();
+        int height = header.getShort();
+        this.seatCodes = new int[header.get()];
+        for (int i = 0; i < seatCodes.length; i++) seatCodes[i] = header.get();
+        this.actionsStart = header.position();
+
+        // Same seed and size -> same board and the same tile/vertex/edge ids as the recorded game
+        this.board = new Board(new Gameplay(boardRadius, seed), boardRadius, width, height);
+        List<Tile> tiles = board.getTiles();
+        tileResource = new int[tiles.size()];
+        tileVertices = new int[tiles.size()][];
+        int[] perNumber = new int[13];
+        int producingTiles = 0;
+        int robberStart = -1;
+        for (Tile tile : tiles) {
+            Resource.ResourceType type = tile.getResourcetype();
+            boolean producing = type != Resource.ResourceType.SEA && type != Resource.ResourceType.DESERT;
+            tileResource[tile.getId()] = producing ? type.ordinal() : -1;
+            tileVertices[tile.getId()] = tile.getVertices().stream().mapToInt(Vertex::getId).toArray();
+            if (producing) {
+                perNumber[tile.getTileDiceNumber()]++;
+                producingTiles++;
+            }
+            if (robberStart < 0 && tile.getTileDiceNumber() == 7) robberStart = tile.getId();
+        }
+        tilesByDiceNumber = new int[13][];
+        for (int n = 0; n < 13; n++) tilesByDiceNumber[n] = new int[perNumber[n]];
+        Arrays.fill(perNumber, 0);
+        for (Tile tile : tiles) {
+            if (tileResource[tile.getId()] < 0) continue;
+            int n = tile.getTileDiceNumber();
+            tilesByDiceNumber[n][perNumber[n]++] = tile.getId();
+        }
+        startingRobberTile = robberStart;
+        bankCapacity = Bank.supplyFor(producingTiles);
+
+        List<Vertex> vertices = board.getVertices();
+        vertexTiles = new int[vertices.size()][];
+        for (Vertex vertex : vertices) {
+            vertexTiles[vertex.getId()] = vertex.getAdjacentTiles().stream().mapToInt(Tile::getId).toArray();
+        }
+
+        int seats = seatCodes.length;
+        vertexOwner = new int[vertices.size()];
+        vertexLevel = new int[vertices.size()];
+        edgeOwner = new int[board.getEdges().size()];
+        resources = new int[seats][RESOURCES];
+        owed = new int[seats][RESOURCES];
+        totalOwed = new int[RESOURCES];
+        claimants = new int[RESOURCES];
+        cards = new int[seats][CARDS.length];
+        score = new int[seats];
+        knights = new int[seats];
+        initialSettlements = new int[seats];
+        reset();
+    }
+
+    public static ReplayPlayer fromFile(Path path) throws IOException {
+        return new ReplayPlayer(Files.readAllBytes(path));
+    }
+
+    //___________________________REPLAYING___________________________//
+    // Back to the state before the first action
+    public void reset() {
+        position = actionsStart;
+        actionsApplied = 0;
+        turns = 0;
+        currentSeat = 0;
+        robberTile = startingRobberTile;
+        lastRoll = 0;
+        longestRoadHolder = -1;
+        biggestArmyHolder = -1;
+        Arrays.fill(vertexOwner, -1);
+        Arrays.fill(vertexLevel, 0);
+        Arrays.fill(edgeOwner, -1);
+        for (int[] hand : resources) Arrays.fill(hand, 0);
+        for (int[] hand : cards) Arrays.fill(hand, 0);
+        Arrays.fill(score, 0);
+        Arrays.fill(knights, 0);
+        Arrays.fill(initialSettlements, 0);
+    }
+
+    // Applies every remaining action
+    public void replayAll() {
+        while (step()) { }
+    }
+
+    // Rebuilds the state as it was when the given turn started (turn 0 = before the first turn change)
+    public void replayToTurn(int turn) {
+        reset();
+        while (position < data.length) {
+            if (data[position] == ReplayRecorder.Action.TURN.ordinal() && turns == turn) return;
+            step();
+        }
+    }
+
+    // Applies the next action, returns false at the end of the replay
+    public boolean step() {
+        if (position >= data.length) return false;
+        ReplayRecorder.Action action = ACTIONS[readVarint()];
+        switch (action) {
+            case TURN -> {
+                currentSeat = readVarint();
+                turns++;
+            }
+            case ROLL -> {
+                lastRoll = readVarint() + readVarint();
+                if (lastRoll != 7) produce(lastRoll);
+            }
+            case INITIAL_SETTLEMENT -> {
+                int vertex = readVarint();
+                placeSettlement(currentSeat, vertex);
+                // Second settlement pays out its adjacent land tiles, while the bank has them (version 3 on)
+                if (++initialSettlements[currentSeat] == 2) {
+                    for (int tile : vertexTiles[vertex]) {
+                        int resource = tileResource[tile];
+                        if (resource >= 0 && (version < 3 || tableTotal(resource) < bankCapacity)) resources[currentSeat][resource]++;
+                    }
+                }
+            }
+            case SETTLEMENT -> {
+                int[] hand = resources[currentSeat];
+                hand[BRICK]--; hand[WOOD]--; hand[GRAIN]--; hand[WOOL]--;
+                placeSettlement(currentSeat, readVarint());
+            }
+            case CITY -> {
+                int[] hand = resources[currentSeat];
+                hand[ORE] -= 3; hand[GRAIN] -= 2;
+                vertexLevel[readVarint()] = 2;
+                score[currentSeat]++;
+            }
+            case INITIAL_ROAD -> edgeOwner[readVarint()] = currentSeat;
+            case ROAD -> {
+                resources[currentSeat][BRICK]--;
+                resources[currentSeat][WOOD]--;
+                edgeOwner[readVarint()] = currentSeat;
+            }
+            case FREE_ROAD -> {
+                int seat = readVarint();
+                edgeOwner[readVarint()] = seat;
+            }
+            case BUY_CARD -> {
+                int[] hand = resources[currentSeat];
+                hand[WOOL]--; hand[ORE]--; hand[GRAIN]--;
+                cards[currentSeat][readVarint()]++;
+            }
+            case PLAY_CARD -> {
+                int seat = readVarint();
+                DevelopmentCard.DevelopmentCardType card = CARDS[readVarint()];
+                cards[seat][card.ordinal()] = Math.max(0, cards[seat][card.ordinal()] - 1);
+                if (card == DevelopmentCard.DevelopmentCardType.VICTORYPOINT) score[seat]++;
+                if (card == DevelopmentCard.DevelopmentCardType.KNIGHT) knights[seat]++;
+            }
+            case ROBBER -> robberTile = readVarint();
+            case STEAL -> {
+                int thief = readVarint();
+                int victim = readVarint();
+                int resource = readVarint();
+                resources[victim][resource]--;
+                resources[thief][resource]++;
+            }
+            case DISCARD -> {
+                int seat = readVarint();
+                int resource = readVarint();
+                resources[seat][resource] = Math.max(0, resources[seat][resource] - readVarint());
+            }
+            case BANK_TRADE -> {
+                int seat = readVarint();
+                int give = readVarint();
+                int ratio = readVarint();
+                resources[seat][give] -= ratio;
+                resources[seat][readVarint()]++;
+            }
+            case MONOPOLY -> {
+                int seat = readVarint();
+                int resource = readVarint();
+                for (int other = 0; other < resources.length; other++) {
+                    if (other == seat) continue;
+                    resources[seat][resource] += resources[other][resource];
+                    resources[other][resource] = 0;
+                }
+            }
+            case GAIN -> {
+                int seat = readVarint();
+                int resource = readVarint();
+                resources[seat][resource] += readVarint();
+            }
+            case LONGEST_ROAD -> longestRoadHolder = awardTitle(longestRoadHolder, readVarint());
+            case BIGGEST_ARMY -> biggestArmyHolder = awardTitle(biggestArmyHolder, readVarint());
+            case PLAYER_TRADE -> {
+                int seat = readVarint();
+                int partner = readVarint();
+                long give = PackedHand.fromBundle(readVarint());
+                long receive = PackedHand.fromBundle(readVarint());
+                for (int resource = 0; resource < PackedHand.TYPES; resource++) {
+                    int given = PackedHand.get(give, resource);
+                    int received = PackedHand.get(receive, resource);
+                    resources[seat][resource] += received - given;
+                    resources[partner][resource] += given - received;
+                }
+            }
+        }
+        actionsApplied++;
+        return true;
+    }
+
+    //___________________________RULE HELPERS___________________________//
+    // Same production rule as Gameplay.distributeResources, shortages included (see Bank.payout).
+    // Replays before version 3 were recorded with an endless bank and are paid in full
+    private void produce(int roll) {
+        for (int[] seatOwed : owed) Arrays.fill(seatOwed, 0);
+        Arrays.fill(totalOwed, 0);
+        Arrays.fill(claimants, 0);
+        for (int tile : tilesByDiceNumber[roll]) {
+            int resource = tileResource[tile];
+            for (int vertex : tileVertices[tile]) {
+                int owner = vertexOwner[vertex];
+                if (owner < 0) continue;
+                if (owed[owner][resource] == 0) claimants[resource]++;
+                owed[owner][resource] += vertexLevel[vertex];
+                totalOwed[resource] += vertexLevel[vertex];
+            }
+        }
+        for (int resource = 0; resource < RESOURCES; resource++) {
+            if (totalOwed[resource] == 0) continue;
+            int supply = Math.max(0, bankCapacity - tableTotal(resource));
+            int paidOut = version >= 3 ? Bank.payout(totalOwed[resource], claimants[resource], supply) : totalOwed[resource];
+            if (paidOut == 0) continue;
+            for (int seat = 0; seat < resources.length; seat++) {
+                resources[seat][resource] += Math.min(owed[seat][resource], paidOut);
+            }
+        }
+    }
+
+    // Cards of the resource in all hands together
+    private int tableTotal(int resource) {
+        int total = 0;
+        for (int[] hand : resources) total += hand[resource];
+        return total;
+    }
+
+    private void placeSettlement(int seat, int vertex) {
+        vertexOwner[vertex] = seat;
+        vertexLevel[vertex] = 1;
+        score[seat]++;
+    }
+
+    // Mirrors the managers: previous holder loses 2 VP (unless it is the same player), new holder gains 2
+    private int awardTitle(int previousHolder, int newHolder) {
+        if (previousHolder >= 0 && previousHolder != newHolder) score[previousHolder] -= 2;
+        score[newHolder] += 2;
+        return newHolder;
+    }
+
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    //___________________________GETTERS___________________________//
+    public long getSeed() { return seed; }
+    public int getBoardRadius() { return boardRadius; }
+    public int getSeatCount() { return seatCodes.length; }
+    public Board getBoard() { return board; }
+    public boolean isHumanSeat(int seat) { return seatCodes[seat] == ReplayRecorder.HUMAN_SEAT; }
+    public AIOpponent.StrategyLevel getSeatLevel(int seat) {
+        return isHumanSeat(seat) ? null : AIOpponent.StrategyLevel.values()[seatCodes[seat] - 1];
+    }
+    public boolean isFinished() { return position >= data.length; }
+    public int getActionsApplied() { return actionsApplied; }
+    public int getTurn() { return turns; }
+    public int getCurrentSeat() { return currentSeat; }
+    public int getLastRoll() { return lastRoll; }
+    public int getRobberTile() { return robberTile; }
+    public int getLongestRoadHolder() { return longestRoadHolder; }
+    public int getBiggestArmyHolder() { return biggestArmyHolder; }
+    public int getVertexOwner(int vertex) { return vertexOwner[vertex]; }
+    public boolean isCity(int vertex) { return vertexLevel[vertex] == 2; }
+    public int getEdgeOwner(int edge) { return edgeOwner[edge]; }
+    public int getResource(int seat, Resource.ResourceType type) { return resources[seat][type.ordinal()]; }
+    public int getCardCount(int seat, DevelopmentCard.DevelopmentCardType card) { return cards[seat][card.ordinal()]; }
+    public int getScore(int seat) { return score[seat]; }
+    public int getPlayedKnights(int seat) { return knights[seat]; }
+
+    //___________________________COMMAND LINE___________________________//
+    // Usage: ReplayPlayer <file.replay> [turn]  - prints the state at the end (or at the given turn)
+    public static void main(String[] args) throws IOException {
+        ReplayPlayer replay = fromFile(Path.of(args[0]));
+        long start = System.nanoTime();
+        if (args.length > 1) replay.replayToTurn(Integer.parseInt(args[1]));
+        else replay.replayAll();
+        long micros = (System.nanoTime() - start) / 1000;
+
+        System.out.println("Seed " + replay.getSeed() + ", radius " + replay.getBoardRadius()
+                + ", turn " + replay.getTurn() + ", " + replay.getActionsApplied() + " actions in " + micros + " us");
+        for (int seat = 0; seat < replay.getSeatCount(); seat++) {
+            StringBuilder hand = new StringBuilder();
+            for (int r = 0; r < RESOURCES; r++) {
+                Resource.ResourceType type = Resource.ResourceType.values()[r];
+                hand.append(type.getName()).append('=').append(replay.getResource(seat, type)).append(' ');
+            }
+            String who = replay.isHumanSeat(seat) ? "Human" : "AI " + replay.getSeatLevel(seat);
+            System.out.println("Seat " + (seat + 1) + " (" + who + "): " + replay.getScore(seat) + " VP, "
+                    + replay.getPlayedKnights(seat) + " knights, " + hand.toString().trim());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+//___________________________BINARY REPLAY RECORDER___________________________//
+// Records a game as it is played: a small header (seed, board size, seats) followed by
+// one opcode + a few varints per action. Everything the seed and the rules can recompute
+// (board layout, dice production, build costs, starting resources) is left out, so a
+// typical game is a few kilobytes. ReplayPlayer reads the format back.
+public class ReplayRecorder {
+
+    //___________________________FORMAT___________________________//
+    public static final int MAGIC = 0x43415450;     // "CATP"
+    public static final int VERSION = 3;            // 2 added PLAYER_TRADE, 3 the finite Bank
+    public static final int HUMAN_SEAT = 0;          // Seat code for humans, AI seats are level ordinal + 1
+
+    // Every state change that can end up in a replay (arguments in brackets)
+    public enum Action {
+        TURN,                   // [seat] seat becomes the current player
+        ROLL,                   // [die1, die2] production is recomputed on replay
+        INITIAL_SETTLEMENT,     // [vertex] free, second one grants starting resources
+        SETTLEMENT,             // [vertex]
+        CITY,                   // [vertex]
+        INITIAL_ROAD,           // [edge] free
+        ROAD,                   // [edge]
+        FREE_ROAD,              // [seat, edge] Road Building card
+        BUY_CARD,               // [card]
+        PLAY_CARD,              // [seat, card]
+        ROBBER,                 // [tile]
+        STEAL,                  // [thief, victim, resource]
+        DISCARD,                // [seat, resource, amount]
+        BANK_TRADE,             // [seat, give, ratio, receive]
+        MONOPOLY,               // [seat, resource]
+        GAIN,                   // [seat, resource, amount] Year of Plenty
+        LONGEST_ROAD,           // [seat] title awarded (+2 VP, previous holder -2)
+        BIGGEST_ARMY,           // [seat] title awarded (+2 VP, previous holder -2)
+        PLAYER_TRADE            // [seat, partner, give, receive] cards as PackedHand bundles
+    }
+
+    //___________________________FIELDS___________________________//
+    private final Gameplay gameplay;
+    private byte[] buffer = new byte[1024];
+    private int size = 0;
+    private int actionCount = 0;
+    private GameJournal journal;                     // When set, every action is also appended to disk
+
+    //___________________________CONSTRUCTOR___________________________//
+    public ReplayRecorder(Gameplay gameplay) {
+        this.gameplay = gameplay;
+    }
+
+    //___________________________RECORDING___________________________//
+    public void recordTurn(Player player)                    { record(Action.TURN, seat(player)); }
+    public void recordRoll(int die1, int die2)               { record(Action.ROLL, die1, die2); }
+    public void recordInitialSettlement(Vertex vertex)       { record(Action.INITIAL_SETTLEMENT, vertex.getId()); }
+    public void recordSettlement(Vertex vertex)              { record(Action.SETTLEMENT, vertex.getId()); }
+    public void recordCity(Vertex vertex)                    { record(Action.CITY, vertex.getId()); }
+    public void recordInitialRoad(Edge edge)                 { record(Action.INITIAL_ROAD, edge.getId()); }
+    public void recordRoad(Edge edge)                        { record(Action.ROAD, edge.getId()); }
+    public void recordFreeRoad(Player player, Edge edge)     { record(Action.FREE_ROAD, seat(player), edge.getId()); }
+    public void recordRobber(Tile tile)                      { record(Action.ROBBER, tile.getId()); }
+    public void recordLongestRoad(Player holder)             { record(Action.LONGEST_ROAD, seat(holder)); }
+    public void recordBiggestArmy(Player holder)             { record(Action.BIGGEST_ARMY, seat(holder)); }
+
+    public void recordBuyCard(DevelopmentCard.DevelopmentCardType card) {
+        record(Action.BUY_CARD, card.ordinal());
+    }
+
+    public void recordPlayCard(Player player, DevelopmentCard.DevelopmentCardType card) {
+        record(Action.PLAY_CARD, seat(player), card.ordinal());
+    }
+
+    public void recordSteal(Player thief, Player victim, String resource) {
+        record(Action.STEAL, seat(thief), seat(victim), resource(resource));
+    }
+
+    public void recordDiscard(Player player, String resource, int amount) {
+        record(Action.DISCARD, seat(player), resource(resource), amount);
+    }
+
+    public void recordBankTrade(Player player, String give, int ratio, String receive) {
+        record(Action.BANK_TRADE, seat(player), resource(give), ratio, resource(receive));
+    }
+
+    public void recordPlayerTrade(Player player, Player partner, long give, long receive) {
+        record(Action.PLAYER_TRADE, seat(player), seat(partner), PackedHand.toBundle(give), PackedHand.toBundle(receive));
+    }
+
+    public void recordMonopoly(Player player, String resource) {
+        record(Action.MONOPOLY, seat(player), resource(resource));
+    }
+
+    public void recordGain(Player player, String resource, int amount) {
+        record(Action.GAIN, seat(player), resource(resource), amount);
+    }
+
+    // Game logic may run on the AI thread and the FX thread, so appends are serialized
+    private synchronized void record(Action action, int... args) {
+        int start = size;
+        writeVarint(action.ordinal());
+        for (int arg : args) writeVarint(arg);
+        actionCount++;
+        if (journal != null) journal.append(buffer, start, size - start);
+    }
+
+    //___________________________OUTPUT___________________________//
+    // Header + recorded actions, ready to be written to disk or kept in memory
+    public synchronized byte[] toByteArray() {
+        Board board = gameplay.getBoard();
+        ByteBuffer header = ByteBuffer.allocate(64 + gameplay.getPlayerList().size());
+        header.putInt(MAGIC);
+        header.put((byte) VERSION);
+        header.putLong(gameplay.getSeed());
+        header.put((byte) gameplay.getBoardRadius());
+        // Vertex/edge ids depend on the board's pixel size, so it is part of the header
+        header.putShort((short) board.getGameWidth());
+        header.putShort((short) board.getGameHeight());
+        header.put((byte) gameplay.getPlayerList().size());
+        for (Player player : gameplay.getPlayerList()) {
+            header.put((byte) (player instanceof AIOpponent ai ? ai.getStrategyLevel().ordinal() + 1 : HUMAN_SEAT));
+        }
+        byte[] result = Arrays.copyOf(header.array(), header.position() + size);
+        System.arraycopy(buffer, 0, result, header.position(), size);
+        return result;
+    }
+
+    public void writeTo(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.write(path, toByteArray());
+    }
+
+    // Raw action stream without header, stored in snapshots so a loaded game keeps its full replay
+    public synchronized int getActionByteCount() {
+        return size;
+    }
+
+    // Writes count, length and the actions straight from the internal buffer (no copy)
+    synchronized void writeActions(ByteBuffer out) {
+        out.putInt(actionCount);
+        out.putInt(size);
+        out.put(buffer, 0, size);
+    }
+
+    synchronized void restore(byte[] actions, int count) {
+        buffer = Arrays.copyOf(actions, Math.max(1024, actions.length * 2));
+        size = actions.length;
+        actionCount = count;
+    }
+
+    // Actions recovered from a journal after a crash, already encoded
+    synchronized void appendRecovered(byte[] action) {
+        if (size + action.length > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + action.length));
+        System.arraycopy(action, 0, buffer, size, action.length);
+        size += action.length;
+        actionCount++;
+    }
+
+    synchronized void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    public synchronized int getActionCount() {
+        return actionCount;
+    }
+
+    //___________________________HELPERS___________________________//
+    // Unsigned LEB128: 7 bits per byte, high bit set while more bytes follow
+    private void writeVarint(int value) {
+        if (size + 5 > buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private static int seat(Player player) {
+        return player.getPlayerId() - 1;
+    }
+
+    private static int resource(String name) {
+        return Resource.ResourceType.fromString(name).ordinal();
+    }
+}
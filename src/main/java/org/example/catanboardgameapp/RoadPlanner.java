@@ -0,0 +1,454 @@
+package org.example.catanboardgameapp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+//___________________________ROAD PLANNER___________________________//
+// Plans where the AI's roads should go: a multi-source Dijkstra from the player's whole network
+// over the board's vertices finds the cheapest road path to every free settlement spot, and the
+// spot with the best settlement score minus path cost wins. The AI then builds that path's first road.
+// Roads cost ROAD_COST each, a road ending next to an opponent's road costs CONTESTED_COST more
+// (it is easily cut off), and opponent roads and settlements cannot be passed at all.
+// The board topology comes as arrays shared by all copies of the board (see BoardTopology).
+public class RoadPlanner {
+
+    //___________________________SETTINGS___________________________//
+    private static final int ROAD_COST = 2;
+    private static final int CONTESTED_COST = 1;
+    private static final int MAX_PLAN_ROADS = 4;        // Spots further away are usually gone before we get there
+    private static final int MAX_EXTENSION_ROADS = 5;   // Longest road plans never look further than this
+
+    //___________________________FIELDS___________________________//
+    private final Board board;
+
+    // Board topology, shared (see BoardTopology)
+    private final int[] edgeVertex1;                    // Vertex ids per edge id
+    private final int[] edgeVertex2;
+    private final boolean[] landEdge;                   // Both ends touch land, so a road can be built
+    private final boolean[] landVertex;
+    private final int[][] incidentEdges;                // Edge ids per vertex id
+
+    //___________________________CONSTRUCTOR___________________________//
+    public RoadPlanner(Board board) {
+        this.board = board;
+        BoardTopology topology = board.getTopology();
+        edgeVertex1 = topology.getEdgeVertex1();
+        edgeVertex2 = topology.getEdgeVertex2();
+        landEdge = topology.getLandEdge();
+        landVertex = topology.getLandVertex();
+        incidentEdges = topology.getIncidentEdges();
+    }
+
+    //___________________________PLANNING___________________________//
+    // Roads to build, in order from the player's network to the best reachable free settlement spot.
+    // Empty if no spot is in reach (the caller then falls back to scoring single roads).
+    public List<Edge> plan(Player player, Gameplay gameplay) {
+        int vertexCount = landVertex.length;
+        int edgeCount = landEdge.length;
+
+        // Who owns which road, which vertices touch an opponent's road
+        int[] roadOwner = roadOwners(gameplay);
+        boolean[] opponentRoadAt = new boolean[vertexCount];
+        for (int e = 0; e < edgeCount; e++) {
+            if (roadOwner[e] != 0 && roadOwner[e] != player.getPlayerId()) {
+                opponentRoadAt[edgeVertex1[e]] = true;
+                opponentRoadAt[edgeVertex2[e]] = true;
+            }
+        }
+
+        int[] cost = new int[vertexCount];
+        int[] roads = new int[vertexCount];
+        int[] parentEdge = new int[vertexCount];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        Arrays.fill(parentEdge, -1);
+        // Entries are cost << 32 | vertex id, so ties are settled by the lower id and plans stay reproducible
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (Vertex vertex : player.getSettlementsAndCities()) addSource(vertex.getId(), cost, queue);
+        for (Edge road : player.getRoads()) {
+            int id = road.getId();
+            if (!blockedByOpponent(edgeVertex1[id], player)) addSource(edgeVertex1[id], cost, queue);
+            if (!blockedByOpponent(edgeVertex2[id], player)) addSource(edgeVertex2[id], cost, queue);
+        }
+
+        int maxRoads = Math.min(MAX_PLAN_ROADS, gameplay.getMaxRoads() - player.getRoads().size());
+        while (!queue.isEmpty()) {
+            long entry = queue.poll();
+            int u = (int) entry;
+            if ((int) (entry >>> 32) != cost[u]) continue;   // Stale entry
+            if (roads[u] >= maxRoads || blockedByOpponent(u, player)) continue;
+            for (int e : incidentEdges[u]) {
+                if (!landEdge[e] || roadOwner[e] != 0) continue;
+                int v = edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e];
+                int next = cost[u] + ROAD_COST + (opponentRoadAt[v] ? CONTESTED_COST : 0);
+                if (next < cost[v]) {
+                    cost[v] = next;
+                    roads[v] = roads[u] + 1;
+                    parentEdge[v] = e;
+                    queue.add(((long) next << 32) | v);
+                }
+            }
+        }
+
+        // Best free settlement spot that needs at least one new road
+        SettlementRanking ranking = board.getSettlementRanking();
+        int ownedTypes = ranking.ownedTypeMask(player);
+        AIWeights weights = player instanceof AIOpponent ai ? ai.getWeights() : AIWeights.getStandard();
+        int costPenalty = weights.get(AIWeights.Weight.ROAD_PATH_COST);   // Settlement score given up per unit of path cost
+        List<Vertex> vertices = board.getVertices();
+        int target = -1;
+        int bestValue = Integer.MIN_VALUE;
+        for (int v = 0; v < vertexCount; v++) {
+            if (parentEdge[v] < 0 || !landVertex[v] || !SettlementRanking.isOpen(vertices.get(v))) continue;
+            int value = ranking.expansionScore(v, ownedTypes, weights) - costPenalty * cost[v];
+            if (value > bestValue) {
+                bestValue = value;
+                target = v;
+            }
+        }
+        if (target < 0) return List.of();
+
+        List<Edge> path = new ArrayList<>();
+        List<Edge> edges = board.getEdges();
+        for (int v = target; parentEdge[v] >= 0; ) {
+            int e = parentEdge[v];
+            path.add(edges.get(e));
+            v = edgeVertex1[e] == v ? edgeVertex2[e] : edgeVertex1[e];
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    //___________________________LONGEST ROAD___________________________//
+    // Best way to make the player's longest road longer with at most maxRoads new roads.
+    // The trails of the existing network are walked once (not once per candidate road), giving the
+    // longest trail between every two network vertices. New roads are added as chains running
+    // outward from one or both ends of such a trail, so a chain adds exactly its own length.
+    // Chains run over free land only, never through another player's settlement, and pairs of
+    // trail ends that cannot beat the best plan even with maxRoads more roads are skipped.
+    // Chains that run into another part of the network join two trails; those few are measured
+    // exactly, and the roads left after a join are planned again on the joined network.
+    public LongestRoadExtension planLongestRoad(Player player, Gameplay gameplay, int maxRoads) {
+        int[] roadOwner = roadOwners(gameplay);
+        boolean[] used = new boolean[roadOwner.length];
+        int me = player.getPlayerId();
+        int current = longestTrail(roadOwner, me, used, player);
+        int[] plan = extensionRoads(roadOwner, player, Math.min(maxRoads, MAX_EXTENSION_ROADS), used);
+
+        List<Edge> roads = new ArrayList<>();
+        List<Edge> edges = board.getEdges();
+        for (int e : plan) roads.add(edges.get(e));
+        int length = current;
+        if (plan.length > 0) {
+            // The table is a lower bound (a chain may also help another trail), report the real length
+            for (int e : plan) roadOwner[e] = me;
+            length = longestTrail(roadOwner, me, used, player);
+        }
+        return new LongestRoadExtension(roads, length, current);
+    }
+
+    // Edge ids of the best extension of the network the owner array gives the player
+    private int[] extensionRoads(int[] roadOwner, Player player, int maxRoads, boolean[] used) {
+        int me = player.getPlayerId();
+
+        // Network vertices, in id order so plans are reproducible
+        int[] local = new int[landVertex.length];
+        Arrays.fill(local, -1);
+        List<Integer> network = new ArrayList<>();
+        for (int e = 0; e < roadOwner.length; e++) {
+            if (roadOwner[e] != me) continue;
+            addNetworkVertex(edgeVertex1[e], local, network);
+            addNetworkVertex(edgeVertex2[e], local, network);
+        }
+        for (Vertex vertex : player.getSettlementsAndCities()) addNetworkVertex(vertex.getId(), local, network);
+        network.sort(null);
+        for (int i = 0; i < network.size(); i++) local[network.get(i)] = i;
+
+        // Longest trail between every two network vertices, -1 if none
+        int n = network.size();
+        int[][] trail = new int[n][n];
+        int current = 0;
+        for (int s = 0; s < n; s++) {
+            Arrays.fill(trail[s], -1);
+            walkTrails(network.get(s), 0, trail[s], local, roadOwner, me, used, player);
+            // A road is counted from a free end (see LongestRoadManager), trails from an opponent's
+            // settlement only count once a chain gives them one
+            if (blockedByOpponent(network.get(s), player)) continue;
+            for (int length : trail[s]) current = Math.max(current, length);
+        }
+
+        // Longest outward chain of new roads from every network vertex, and every chain that joins
+        // the network again somewhere else
+        int[][] chains = new int[n][];
+        List<int[]> joins = new ArrayList<>();
+        boolean[] onChain = new boolean[landVertex.length];
+        for (int x = 0; x < n; x++) {
+            int start = network.get(x);
+            if (maxRoads <= 0 || blockedByOpponent(start, player)) {
+                chains[x] = new int[0];
+                continue;
+            }
+            int[] path = new int[maxRoads];
+            onChain[start] = true;
+            chains[x] = longestChain(start, 0, path, new int[0], maxRoads, local, roadOwner, onChain, player, false);
+            findJoins(start, start, 0, path, maxRoads, local, roadOwner, onChain, player, joins);
+            onChain[start] = false;
+        }
+
+        // Combine trails with a chain at one end or chains at both ends
+        int bestLength = current;
+        int[] bestFirst = new int[0];
+        int[] bestSecond = new int[0];
+        // Only a chain's last vertex can hold an opponent's settlement, and the combined road needs one free end
+        for (int s = 0; s < n; s++) {
+            boolean startBlocked = blockedByOpponent(network.get(s), player);
+            for (int x = 0; x < n; x++) {
+                int base = trail[s][x];
+                if (base < 0 || base + maxRoads <= bestLength) continue; // Cannot beat the best plan
+                int[] atEnd = chains[x];
+                int single = Math.min(atEnd.length, maxRoads);
+                if (single > 0 && better(base + single, single, bestLength, bestFirst.length + bestSecond.length)) {
+                    int[] chain = atEnd;
+                    if (startBlocked && endsBlocked(network.get(x), atEnd, single, player)) {
+                        chain = longestChain(network.get(x), 0, new int[maxRoads], new int[0], maxRoads, local, roadOwner, onChain, player, true);
+                        single = chain.length;
+                    }
+                    if (single > 0 && better(base + single, single, bestLength, bestFirst.length + bestSecond.length)) {
+                        bestLength = base + single;
+                        bestFirst = Arrays.copyOf(chain, single);
+                        bestSecond = new int[0];
+                    }
+                }
+                if (s == x) continue;
+                int[] atStart = chains[s];
+                for (int a = 1; a <= atEnd.length && a < maxRoads; a++) {
+                    int b = Math.min(atStart.length, maxRoads - a);
+                    if (b <= 0) break;
+                    if (!better(base + a + b, a + b, bestLength, bestFirst.length + bestSecond.length)) continue;
+                    if (!disjoint(atEnd, a, atStart, b)
+                            || (endsBlocked(network.get(x), atEnd, a, player) && endsBlocked(network.get(s), atStart, b, player))) {
+                        // The two longest chains cross or both end at an opponent; other chains from these
+                        // ends may not, so search the pair exactly
+                        int[][] pair = disjointChains(network.get(x), network.get(s), maxRoads, local, roadOwner, onChain, player);
+                        int roads = pair[0].length + pair[1].length;
+                        if (better(base + roads, roads, bestLength, bestFirst.length + bestSecond.length)) {
+                            bestLength = base + roads;
+                            bestFirst = pair[0];
+                            bestSecond = pair[1];
+                        }
+                        break;
+                    }
+                    bestLength = base + a + b;
+                    bestFirst = Arrays.copyOf(atEnd, a);
+                    bestSecond = Arrays.copyOf(atStart, b);
+                }
+            }
+        }
+
+        // Joins connect two trails in ways the table cannot add up, so measure the result directly,
+        // with the roads still left planned on the joined network
+        for (int[] join : joins) {
+            for (int e : join) roadOwner[e] = me;
+            int[] rest = join.length < maxRoads ? extensionRoads(roadOwner, player, maxRoads - join.length, used) : new int[0];
+            for (int e : rest) roadOwner[e] = me;
+            int length = longestTrail(roadOwner, me, used, player);
+            for (int e : rest) roadOwner[e] = 0;
+            for (int e : join) roadOwner[e] = 0;
+            if (better(length, join.length + rest.length, bestLength, bestFirst.length + bestSecond.length)) {
+                bestLength = length;
+                bestFirst = join;
+                bestSecond = rest;
+            }
+        }
+
+        int[] plan = Arrays.copyOf(bestFirst, bestFirst.length + bestSecond.length);
+        System.arraycopy(bestSecond, 0, plan, bestFirst.length, bestSecond.length);
+        return plan;
+    }
+
+
+    private static void addNetworkVertex(int vertex, int[] local, List<Integer> network) {
+        if (local[vertex] >= 0) return;
+        local[vertex] = network.size();
+        network.add(vertex);
+    }
+
+    // Longer wins, equal length wins with fewer roads
+    private static boolean better(int length, int roads, int bestLength, int bestRoads) {
+        return length > bestLength || (length == bestLength && roads < bestRoads);
+    }
+
+    // Records the longest trail from the start to every network vertex over the player's own roads
+    private void walkTrails(int u, int length, int[] trail, int[] local, int[] roadOwner, int me, boolean[] used, Player player) {
+        trail[local[u]] = Math.max(trail[local[u]], length);
+        if (length > 0 && blockedByOpponent(u, player)) return; // Cannot continue through an opponent's settlement
+        for (int e : incidentEdges[u]) {
+            if (roadOwner[e] != me || used[e]) continue;
+            used[e] = true;
+            walkTrails(edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e], length + 1, trail, local, roadOwner, me, used, player);
+            used[e] = false;
+        }
+    }
+
+    // Depth-first over free land edges through vertices outside the network, stops at the first
+    // chain of maxRoads roads (it cannot get longer). With endFree the chain may not end at an opponent's settlement
+    private int[] longestChain(int u, int depth, int[] path, int[] best, int maxRoads, int[] local, int[] roadOwner,
+                               boolean[] onChain, Player player, boolean endFree) {
+        if (depth > best.length && !(endFree && blockedByOpponent(u, player))) best = Arrays.copyOf(path, depth);
+        if (depth == maxRoads || (depth > 0 && blockedByOpponent(u, player))) return best;
+        for (int e : incidentEdges[u]) {
+            if (!landEdge[e] || roadOwner[e] != 0) continue;
+            int v = edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e];
+            if (onChain[v] || local[v] >= 0) continue;
+            onChain[v] = true;
+            path[depth] = e;
+            best = longestChain(v, depth + 1, path, best, maxRoads, local, roadOwner, onChain, player, endFree);
+            onChain[v] = false;
+            if (best.length == maxRoads) break;
+        }
+        return best;
+    }
+
+    // Longest two chains from two trail ends that share no vertex and do not both end at an
+    // opponent's settlement, with at most maxRoads roads together: every chain from the first end,
+    // each with the longest chain the second end has left
+    private int[][] disjointChains(int first, int second, int maxRoads, int[] local, int[] roadOwner,
+                                   boolean[] onChain, Player player) {
+        int[][] best = {new int[0], new int[0]};
+        onChain[first] = true;
+        onChain[second] = true;
+        pairChains(first, 0, new int[maxRoads], new int[maxRoads], second, maxRoads, best, local, roadOwner, onChain, player);
+        onChain[first] = false;
+        onChain[second] = false;
+        return best;
+    }
+
+    private void pairChains(int u, int depth, int[] path, int[] scratch, int second, int maxRoads, int[][] best,
+                            int[] local, int[] roadOwner, boolean[] onChain, Player player) {
+        if (depth > 0) {
+            int[] other = longestChain(second, 0, scratch, new int[0], maxRoads - depth, local, roadOwner, onChain, player,
+                    blockedByOpponent(u, player));
+            if (depth + other.length > best[0].length + best[1].length) {
+                best[0] = Arrays.copyOf(path, depth);
+                best[1] = other;
+            }
+        }
+        if (depth == maxRoads - 1 || (depth > 0 && blockedByOpponent(u, player))) return;
+        for (int e : incidentEdges[u]) {
+            if (!landEdge[e] || roadOwner[e] != 0) continue;
+            int v = edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e];
+            if (onChain[v] || local[v] >= 0) continue;
+            onChain[v] = true;
+            path[depth] = e;
+            pairChains(v, depth + 1, path, scratch, second, maxRoads, best, local, roadOwner, onChain, player);
+            onChain[v] = false;
+            if (best[0].length + best[1].length == maxRoads) return;
+        }
+    }
+
+    // Every path of new roads from the start that ends on another network vertex (joins are rare and short)
+    private void findJoins(int start, int u, int depth, int[] path, int maxRoads, int[] local, int[] roadOwner,
+                           boolean[] onChain, Player player, List<int[]> joins) {
+        if (depth == maxRoads || (depth > 0 && blockedByOpponent(u, player))) return;
+        for (int e : incidentEdges[u]) {
+            if (!landEdge[e] || roadOwner[e] != 0) continue;
+            int v = edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e];
+            if (onChain[v]) continue;
+            path[depth] = e;
+            if (local[v] >= 0) {
+                if (v > start) joins.add(Arrays.copyOf(path, depth + 1)); // Each join once, not from both ends
+                continue;
+            }
+            onChain[v] = true;
+            findJoins(start, v, depth + 1, path, maxRoads, local, roadOwner, onChain, player, joins);
+            onChain[v] = false;
+        }
+    }
+
+    // Longest trail over all roads the owner array gives to the player
+    private int longestTrail(int[] roadOwner, int me, boolean[] used, Player player) {
+        int longest = 0;
+        for (int e = 0; e < roadOwner.length; e++) {
+            if (roadOwner[e] != me) continue;
+            longest = Math.max(longest, longestFrom(edgeVertex1[e], roadOwner, me, used, player));
+            longest = Math.max(longest, longestFrom(edgeVertex2[e], roadOwner, me, used, player));
+        }
+        return longest;
+    }
+
+    private int longestFrom(int u, int[] roadOwner, int me, boolean[] used, Player player) {
+        if (blockedByOpponent(u, player)) return 0;
+        int longest = 0;
+        for (int e : incidentEdges[u]) {
+            if (roadOwner[e] != me || used[e]) continue;
+            used[e] = true;
+            int v = edgeVertex1[e] == u ? edgeVertex2[e] : edgeVertex1[e];
+            longest = Math.max(longest, 1 + longestFrom(v, roadOwner, me, used, player));
+            used[e] = false;
+        }
+        return longest;
+    }
+
+    // The chain prefix from start stops at an opponent's settlement
+    private boolean endsBlocked(int start, int[] chain, int length, Player player) {
+        int v = start;
+        for (int i = 0; i < length; i++) v = edgeVertex1[chain[i]] == v ? edgeVertex2[chain[i]] : edgeVertex1[chain[i]];
+        return blockedByOpponent(v, player);
+    }
+
+    // Two chain prefixes share no vertex
+    private boolean disjoint(int[] first, int firstLength, int[] second, int secondLength) {
+        for (int i = 0; i < firstLength; i++) {
+            for (int j = 0; j < secondLength; j++) {
+                if (edgeVertex1[first[i]] == edgeVertex1[second[j]] || edgeVertex1[first[i]] == edgeVertex2[second[j]]
+                        || edgeVertex2[first[i]] == edgeVertex1[second[j]] || edgeVertex2[first[i]] == edgeVertex2[second[j]]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    //___________________________HELPERS___________________________//
+    // Owner id per edge id, 0 for no road
+    private int[] roadOwners(Gameplay gameplay) {
+        int[] roadOwner = new int[landEdge.length];
+        for (Player player : gameplay.getPlayerList()) {
+            for (Edge road : player.getRoads()) roadOwner[road.getId()] = player.getPlayerId();
+        }
+        return roadOwner;
+    }
+
+    private static void addSource(int vertex, int[] cost, PriorityQueue<Long> queue) {
+        if (cost[vertex] == 0) return;
+        cost[vertex] = 0;
+        queue.add((long) vertex);
+    }
+
+    // A road cannot be continued through a vertex an opponent has built on
+    private boolean blockedByOpponent(int vertex, Player player) {
+        Player owner = board.getVertices().get(vertex).getOwner();
+        return owner != null && owner != player;
+    }
+
+    //___________________________RESULT___________________________//
+    // Roads to build in order (each one touches the network or the road before it) and the
+    // longest road the player will have once they are all built
+    public static final class LongestRoadExtension {
+        private final List<Edge> roads;
+        private final int length;
+        private final int currentLength;
+
+        LongestRoadExtension(List<Edge> roads, int length, int currentLength) {
+            this.roads = roads;
+            this.length = length;
+            this.currentLength = currentLength;
+        }
+
+        public List<Edge> getRoads()    { return roads; }
+        public int getLength()          { return length; }
+        public int getCurrentLength()   { return currentLength; }
+    }
+}
@@ -26,8 +26,11 @@ public class Robber {
         this.drawOrDisplay = gameplay.getDrawOrDisplay();
         this.catanBoardGameView = catanBoardGameView;
         this.board = gameplay.getBoard();
-        this.robberCircle = drawOrDisplay.createRobberCircle();
-        drawOrDisplay.drawNewRobberCircle(startingTile, boardGroup, robberCircle, false);
+        // Headless games have nothing to draw on
+        if (!gameplay.isHeadless()) {
+            this.robberCircle = drawOrDisplay.createRobberCircle();
+            drawOrDisplay.drawNewRobberCircle(startingTile, boardGroup, robberCircle, false);
+        }
     }
 
     //________________________ROBBER PLACEMENT LOGIC________________________//
@@ -45,7 +48,7 @@ public class Robber {
         if (player instanceof AIOpponent ai) {
             AIHandleRobberMechanics(ai);
             showButtons();
-            catanBoardGameView.runOnFX(catanBoardGameView::refreshSidebar);
+            gameplay.runOnUI(() -> catanBoardGameView.refreshSidebar());
         }
         else {
             // Human Player Logic
@@ -88,14 +91,22 @@ public class Robber {
 
     // Handles all logic for AI Robber usage
     private void AIHandleRobberMechanics(AIOpponent ai) {
-        Tile chosenTile = AIChooseBestRobberTile(ai);
-        Player victim = AIChooseVictimToStealFrom(chosenTile, ai, ai.getStrategyLevel());
+        AILatency latency = gameplay.getAILatency();
+        long start = latency.begin();
+        Tile chosenTile;
+        Player victim;
+        try {
+            chosenTile = AIChooseBestRobberTile(ai);
+            victim = AIChooseVictimToStealFrom(chosenTile, ai, ai.getStrategyLevel());
+        } finally {
+            latency.end(ai.getStrategyLevel(), AILatency.Decision.ROBBER, start);
+        }
         if (victim != null) {
             stealResourceFrom(victim, ai);
         }
         moveTo(chosenTile); // Move robber to new Tile
         // Draw the new robber circle
-        drawOrDisplay.drawNewRobberCircle(chosenTile, catanBoardGameView.getBoardGroup(), robberCircle, false);
+        gameplay.runOnUI(() -> drawOrDisplay.drawNewRobberCircle(chosenTile, catanBoardGameView.getBoardGroup(), robberCircle, false));
     }
 
     private Tile AIChooseBestRobberTile(AIOpponent ai) {
@@ -106,8 +117,8 @@ public class Robber {
             List<Tile> candidates = board.getTiles().stream()
                     .filter(t -> !t.isSea() && t != currentTile)
                     .toList();
-            catanBoardGameView.logToGameLog(ai + " (" + level + ") placed the robber randomly!");
-            chosenTile = candidates.get(new Random().nextInt(candidates.size()));
+            gameplay.log(ai + " (" + level + ") placed the robber randomly!");
+            chosenTile = candidates.get(gameplay.getRandom().nextInt(candidates.size()));
         }
         // MEDIUM/HARD: Smart Placement System
         else {
@@ -115,24 +126,27 @@ public class Robber {
                     .filter(t -> !t.isSea() && t != currentTile)
                     .toList();
 
+            // Pips each opponent loses on the tile, kept up to date as pieces are built (see RobberDamage).
+            // HARD/EXPERT weigh players close to winning extra in the late game
+            RobberDamage damage = board.getRobberDamage();
+            boolean weighThreats = (level == AIOpponent.StrategyLevel.HARD || level == AIOpponent.StrategyLevel.EXPERT) && ai.lateGame();
+            int threatWeight = ai.getWeights().get(AIWeights.Weight.ROBBER_THREAT);
+            List<Player> players = gameplay.getPlayerList();
+
             Tile bestTile = null;
             int bestScore = Integer.MIN_VALUE;
 
             for (Tile tile : validTargets) {
-                int score = 0;
-                boolean blocksSelf = tile.getVertices().stream()
-                        .anyMatch(v -> v.getOwner() == ai);
-                if (blocksSelf) {
+                if (damage.getBuildingWeight(tile, ai) > 0) {
                     continue; // MEDIUM/HARD: never block self
                 }
-                for (Vertex v : tile.getVertices()) {
-                    Player owner = v.getOwner();
-                    if (owner == null || owner == ai) continue;
-                    int weight = v.isCity() ? 2 : 1;
-                    int diceValue = ai.getSettlementDiceValue(v, gameplay);
-                    score += diceValue * weight;
-                    if (level == AIOpponent.StrategyLevel.HARD && ai.lateGame() && owner.getPlayerScore() >= 7) {
-                        score += diceValue * weight * 2; // Threat multiplier
+                int score = 0;
+                for (Player owner : players) {
+                    if (owner == ai) continue;
+                    int lost = damage.getDamage(tile, owner);
+                    score += lost;
+                    if (weighThreats && owner.getPlayerScore() >= 7) {
+                        score += lost * threatWeight; // Threat multiplier
                     }
                 }
                 if (score > bestScore) {
@@ -140,7 +154,7 @@ public class Robber {
                     bestTile = tile;
                 }
             }
-            catanBoardGameView.logToGameLog(ai + " (" + level + ") placed robber on best possible tile!");
+            gameplay.log(ai + " (" + level + ") placed robber on best possible tile!");
             chosenTile = bestTile != null ? bestTile : validTargets.get(0);
         }
         return chosenTile;
@@ -153,7 +167,7 @@ public class Robber {
                 .toList();
         if (!victims.isEmpty()) {
             Player victim;
-            if (level == AIOpponent.StrategyLevel.HARD) {
+            if (level == AIOpponent.StrategyLevel.HARD || level == AIOpponent.StrategyLevel.EXPERT) {
                 victim = AIHardChooseBestRobberVictim(ai, victims);
             } else {
                 victim = victims.stream()
@@ -162,7 +176,7 @@ public class Robber {
             }
             return victim;
         }
-        catanBoardGameView.logToGameLog("AI did not find a victim to steal from");
+        gameplay.log("AI did not find a victim to steal from");
         return null;
     }
 
@@ -178,18 +192,25 @@ public class Robber {
             }
             // AI player, away from FX thread
             if (player instanceof AIOpponent ai) {
-                Map<String, Integer> discarded = AIChooseCardsToDiscard(ai);
+                AILatency latency = gameplay.getAILatency();
+                long start = latency.begin();
+                Map<String, Integer> discarded;
+                try {
+                    discarded = AIChooseCardsToDiscard(ai);
+                } finally {
+                    latency.end(ai.getStrategyLevel(), AILatency.Decision.DISCARD, start);
+                }
                 if (discarded != null) {
                     discardResources(player, discarded);
                 }
-                catanBoardGameView.runOnFX(catanBoardGameView::refreshSidebar);
+                gameplay.runOnUI(() -> catanBoardGameView.refreshSidebar());
             }
             else {
                 gameplay.pauseGame(true);
                 Map<String, Integer> discarded = chooseCardsToDiscard(player, gameplay);
                 if (discarded != null) {
                     // Optional log
-                    StringBuilder discardText = new StringBuilder(player + " auto-discarded: ");
+                    StringBuilder discardText = new StringBuilder(player + " discarded: ");
                     discarded.forEach((res, amt) -> discardText.append(amt).append(" ").append(res).append(", "));
                     discardText.setLength(discardText.length() - 2); // remove trailing comma
                     gameplay.getCatanBoardGameView().logToGameLog(discardText.toString());
@@ -200,16 +221,17 @@ public class Robber {
         }
     }
 
+    // Victim with the most cards the AI needs, as far as it can tell from the table (see HandInference)
     public Player AIHardChooseBestRobberVictim(AIOpponent ai, List<Player> victims) {
         AIOpponent.Strategy strategy = ai.determineStrategy(false);
         Set<String> neededResources = ai.getNeededResourcesForStrategy(strategy);
         return victims.stream()
-                .max(Comparator.comparingInt(v -> ai.countHelpfulCards(v, neededResources)))
+                .max(Comparator.comparingDouble(v -> ai.countHelpfulCards(v, neededResources)))
                 .orElse(null);
     }
 
     private List<Player> getPotentialVictims(Tile tile, Player currentPlayer) {
-        Set<Player> victims = new HashSet<>();
+        Set<Player> victims = new LinkedHashSet<>(); // Keeps seat order, so seeded games stay reproducible
         for (Vertex v : tile.getVertices()) {
             Player owner = v.getOwner();
             if (owner != null && owner != currentPlayer) victims.add(owner);
@@ -223,15 +245,17 @@ public class Robber {
             for (int i = 0; i < count; i++) pool.add(res);
         });
         if (pool.isEmpty()) {
-            catanBoardGameView.logToGameLog(victim + " had no Resources to steal");
+            gameplay.log(victim + " had no Resources to steal");
             return false;
         }
         // Shuffle resources and steal random one
-        Collections.shuffle(pool);
+        Collections.shuffle(pool, gameplay.getRandom());
         String stolen = pool.get(0);
+        gameplay.getReplay().recordSteal(thief, victim, stolen);
+        gameplay.getHandInference().steal(thief, victim, PackedHand.index(stolen));
         victim.getResources().put(stolen, victim.getResources().get(stolen) - 1);
         thief.getResources().put(stolen, thief.getResources().getOrDefault(stolen, 0) + 1);
-        catanBoardGameView.logToGameLog(thief + " stole 1 " + stolen + " from Player " + victim);
+        gameplay.log(thief + " stole 1 " + stolen + " from Player " + victim);
 //        if (gameplay.isGamePaused()) {
 //
 //        }
@@ -244,8 +268,8 @@ public class Robber {
     // Function that actually removes the resources from Players
     public void discardResources(Player player, Map<String, Integer> discarded) {
         discarded.forEach((res, amt) -> {
-            int current = player.getResources().getOrDefault(res, 0);
-            player.getResources().put(res, Math.max(0, current - amt));
+            gameplay.getReplay().recordDiscard(player, res, amt);
+            gameplay.getBank().deposit(player, res, amt);
         });
     }
 
@@ -259,105 +283,33 @@ public class Robber {
         return drawOrDisplay.showDiscardDialog(player, toDiscard, playerResources, gameplay);
     }
 
-    // AI automatically discards cards
+    // AI automatically discards cards, see DiscardPlanner
     public Map<String, Integer> AIChooseCardsToDiscard(AIOpponent ai) {
-        Map<String, Integer> resources = new HashMap<>(ai.getResources());
-        int total = resources.values().stream().mapToInt(Integer::intValue).sum();
-        int toDiscard = total / 2;
-        if (toDiscard == 0) return null;
-
-        Map<String, Integer> discardMap = new HashMap<>();
-        Map<String, Integer> priorityScores = new HashMap<>();
-        // Resources AI needs for next strategy (e.g. city/settlement/dev card)
-        AIOpponent.Strategy strategy = ai.determineStrategy(false);
-        Set<String> neededResources = ai.getNeededResourcesForStrategy(strategy);
-
-        for (String res : resources.keySet()) {
-            int amountOwned = resources.getOrDefault(res, 0);
-            int productionScore = 0;
-
-            // Production score: total dice weight from settlements
-            productionScore = ai.getProductionScore(res);
-
-            // Base score: more owned = more discardable
-            int score = amountOwned * 3;
-
-            // Subtract based on production (more produced → less discardable)
-            score -= productionScore * 2;
-
-            // Penalize if resource is needed for strategy
-            if (neededResources.contains(res)) {
-                score -= 8;
-            }
-            // Penalize if resource is easy to trade (2:1 or 3:1 harbor = valuable)
-            int ratio = ai.getBestTradeRatio(res, ai);
-            if (ratio <= 2) score -= 6;
-            else if (ratio == 3) score -= 3;
-            priorityScores.put(res, score);
-        }
-        // Sort by lowest score (most discardable first)
-        List<String> discardOrder = priorityScores.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .toList();
-
-        for (String res : discardOrder) {
-            if (toDiscard == 0) break;
-            int available = resources.get(res);
-            int discard = Math.min(available, toDiscard);
-            if (discard > 0) {
-                discardMap.put(res, discard);
-                toDiscard -= discard;
-            }
-        }
+        Map<String, Integer> discardMap = DiscardPlanner.plan(ai, gameplay);
+        if (discardMap == null) return null;
         // Optional log
         StringBuilder discardText = new StringBuilder(ai + " auto-discarded: ");
         discardMap.forEach((res, amt) -> discardText.append(amt).append(" ").append(res).append(", "));
         if (!discardMap.isEmpty()) {
             discardText.setLength(discardText.length() - 2); // remove trailing comma
-            gameplay.getCatanBoardGameView().logToGameLog(discardText.toString());
+            gameplay.log(discardText.toString());
         }
         return discardMap;
     }
 
-    // Robber Logic: auto-discard for human players
+    // Robber Logic: auto-discard for human players, the Auto-Discard button of the discard popup
     public Map<String, Integer> autoDiscardCardsHuman(Player player) {
-        Map<String, Integer> resourcesCopy = new HashMap<>(player.getResources());
-        int total = resourcesCopy.values().stream().mapToInt(Integer::intValue).sum();
-        int toDiscard = total / 2;
-        if (toDiscard == 0) return null;
-        Map<String, Integer> discardMap = new HashMap<>();
-
-        // Simple heuristic: discard from most abundant resource
-        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(resourcesCopy.entrySet());
-        sorted.sort((a, b) -> Integer.compare(b.getValue(), a.getValue())); // highest first
-
-        for (Map.Entry<String, Integer> entry : sorted) {
-            if (toDiscard == 0) break;
-            String res = entry.getKey();
-            int available = entry.getValue();
-            int discard = Math.min(available, toDiscard);
-            if (discard > 0) {
-                discardMap.put(res, discard);
-                toDiscard -= discard;
-            }
-        }
-        // Log discards
-        StringBuilder log = new StringBuilder(player + " auto discarded: ");
-        discardMap.forEach((res, amt) -> log.append(amt).append(" ").append(res).append(", "));
-        if (!discardMap.isEmpty()) {
-            log.setLength(log.length() - 2); // remove trailing comma
-            gameplay.getCatanBoardGameView().logToGameLog(log.toString());
-        }
-        return discardMap;
+        return DiscardPlanner.plan(player, gameplay);
     }
 
     //___________________________HELPER FUNCTIONS________________________________//
     private void hideButtons() {
+        if (gameplay.isUIDetached()) return;
         catanBoardGameView.hideDiceButton();
         catanBoardGameView.hideTurnButton();
     }
     private void showButtons() {
+        if (gameplay.isUIDetached()) return;
         if (gameplay.hasRolledDice()) {
             catanBoardGameView.showTurnButton();
         }
@@ -366,7 +318,23 @@ public class Robber {
         }
     }
 
+    // Puts the robber back where a saved game left it (not a move, so nothing is recorded)
+    public void restoreTo(Tile tile) {
+        this.currentTile = tile;
+        gameplay.runOnUI(() -> drawOrDisplay.drawNewRobberCircle(tile, catanBoardGameView.getBoardGroup(), robberCircle, false));
+    }
+
+    public Tile getCurrentTile() {
+        return currentTile;
+    }
+
+    // Null in headless games
+    public Circle getRobberCircle() {
+        return robberCircle;
+    }
+
     public void moveTo(Tile newTile) {
+        gameplay.getReplay().recordRobber(newTile);
         this.currentTile = newTile;
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package org.example.catanboardgameapp;
+
+import java.util.List;
+
+//___________________________ROBBER DAMAGE___________________________//
+// What the robber would cost every player on every tile: the pips (chances out of 36) of the
+// tile's number times the player's buildings around it (settlement 1, city 2).
+// Built from the board's pieces on first use and then kept up to date by Board.recordBuilding
+// whenever a settlement is placed or upgraded, so choosing a robber tile is a scan over small
+// arrays instead of walking every tile's vertices.
+// One per board (it counts this board's pieces), like RoadPlanner.
+public class RobberDamage {
+
+    //___________________________FIELDS___________________________//
+    private final int[] tilePips;         // Per tile id, 0 for the desert and sea
+    private final int[][] vertexTiles;    // Land tile ids (desert included) around every vertex id
+    private int seats;                    // Players counted so far, grows on demand
+    private int[] buildings;              // [tile id * seats + seat]: settlements + 2 * cities
+
+    //___________________________CONSTRUCTOR___________________________//
+    public RobberDamage(Board board) {
+        List<Tile> tiles = board.getTiles();
+        tilePips = new int[tiles.size()];
+        for (Tile tile : tiles) {
+            tilePips[tile.getId()] = tile.isSea() ? 0 : pips(tile.getTileDiceNumber());
+        }
+        List<Vertex> vertices = board.getVertices();
+        vertexTiles = new int[vertices.size()][];
+        for (Vertex vertex : vertices) {
+            vertexTiles[vertex.getId()] = vertex.getAdjacentTiles().stream()
+                    .filter(tile -> !tile.isSea())
+                    .mapToInt(Tile::getId)
+                    .toArray();
+        }
+        buildings = new int[0];
+        for (Vertex vertex : vertices) {
+            if (vertex.hasSettlement()) addBuilding(vertex, vertex.getOwner(), vertex.isCity() ? 2 : 1);
+        }
+    }
+
+    //___________________________UPDATES___________________________//
+    // A new settlement (weight 1) or the upgrade of one to a city (weight 1 more)
+    public synchronized void addBuilding(Vertex vertex, Player owner, int weight) {
+        int seat = owner.getPlayerId() - 1;
+        if (seat >= seats) growSeats(seat + 1);
+        for (int tile : vertexTiles[vertex.getId()]) buildings[tile * seats + seat] += weight;
+    }
+
+    private void growSeats(int newSeats) {
+        int[] grown = new int[tilePips.length * newSeats];
+        for (int tile = 0; tile < tilePips.length; tile++) {
+            System.arraycopy(buildings, tile * seats, grown, tile * newSeats, seats);
+        }
+        buildings = grown;
+        seats = newSeats;
+    }
+
+    //___________________________QUERIES___________________________//
+    // Pips the player loses while the robber stands on the tile
+    public synchronized int getDamage(Tile tile, Player player) {
+        return tilePips[tile.getId()] * getBuildingWeight(tile, player);
+    }
+
+    // Settlements + 2 * cities of the player around the tile
+    public synchronized int getBuildingWeight(Tile tile, Player player) {
+        int seat = player.getPlayerId() - 1;
+        return seat < seats ? buildings[tile.getId() * seats + seat] : 0;
+    }
+
+    // Damage per seat (player id - 1) on the tile, e.g. for an overlay
+    public synchronized int[] getDamageVector(Tile tile, int playerCount) {
+        int[] damage = new int[playerCount];
+        int pips = tilePips[tile.getId()];
+        for (int seat = 0; seat < Math.min(playerCount, seats); seat++) {
+            damage[seat] = pips * buildings[tile.getId() * seats + seat];
+        }
+        return damage;
+    }
+
+    public int getPips(Tile tile) {
+        return tilePips[tile.getId()];
+    }
+
+    // Chances out of 36 of rolling the number, same scale as SettlementRanking
+    private static int pips(int dice) {
+        return dice < 2 || dice > 12 || dice == 7 ? 0 : 6 - Math.abs(7 - dice);
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.catanboardgameapp;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+//___________________________SETTLEMENT RANKING___________________________//
+// The fixed facts the AI scores settlement spots on (dice pips and resource types around each
+// vertex), worked out once per board and shared by every AI and every look-ahead fork.
+// On top of that every set of AI weights gets a profile that keeps the vertices sorted from best
+// to worst, so finding the best open spot walks down that order and stops as soon as nothing
+// further down can win.
+// The order never changes: whether a spot is still open is checked while walking (empty and no
+// neighbouring settlement), so placing, loading or forking needs no update at all.
+public class SettlementRanking {
+
+    //___________________________FIELDS___________________________//
+    private final int vertexCount;
+    private final int[] diceValue;          // Pips out of 36 of the surrounding tiles
+    private final int[] typeMask;           // Bit per Resource.ResourceType of the surrounding tiles
+    private final int[] diversity;          // Number of bits in typeMask
+    private final Map<AIWeights, Profile> profiles = new ConcurrentHashMap<>();  // Orders per set of AI weights
+
+    //___________________________CONSTRUCTOR___________________________//
+    public SettlementRanking(Board board) {
+        List<Vertex> vertices = board.getVertices();
+        vertexCount = vertices.size();
+        int count = vertexCount;
+        diceValue = new int[count];
+        typeMask = new int[count];
+        diversity = new int[count];
+
+        for (Vertex vertex : vertices) {
+            int id = vertex.getId();
+            for (Tile tile : vertex.getAdjacentTiles()) {
+                diceValue[id] += diceProbabilityValue(tile.getTileDiceNumber());
+                typeMask[id] |= 1 << tile.getResourcetype().ordinal();
+            }
+            diversity[id] = Integer.bitCount(typeMask[id]);
+        }
+    }
+
+    //___________________________SCORING___________________________//
+    // Settlement score of a vertex for a player, see AIOpponent.getSmartSettlementScore
+    public int score(Vertex vertex, Player player, AIWeights weights) {
+        int id = vertex.getId();
+        Profile profile = profile(weights);
+        if (player.getPlayerScore() == 0) return profile.openingScore(id);
+        return profile.expansionScore(id, ownedTypeMask(player));
+    }
+
+    // Same score for every vertex at once, written into out by vertex id (see BoardEvaluator)
+    public void scoreAll(Player player, AIWeights weights, int[] out) {
+        Profile profile = profile(weights);
+        if (player.getPlayerScore() == 0) {
+            for (int id = 0; id < vertexCount; id++) out[id] = profile.openingScore(id);
+            return;
+        }
+        int owned = ownedTypeMask(player);
+        for (int id = 0; id < vertexCount; id++) out[id] = profile.expansionScore(id, owned);
+    }
+
+    // Best scoring vertex of the given board (this one or a copy) the filter accepts (lowest id
+    // on ties), null if none.
+    // The filter is only asked about vertices that are empty and have no settlement next to them.
+    public Vertex best(Board board, Player player, AIWeights weights, Predicate<Vertex> filter) {
+        List<Vertex> vertices = board.getVertices();
+        Profile profile = profile(weights);
+        if (player.getPlayerScore() == 0) {
+            for (int id : profile.openingOrder) {
+                Vertex vertex = vertices.get(id);
+                if (isOpen(vertex) && filter.test(vertex)) return vertex;
+            }
+            return null;
+        }
+        int owned = ownedTypeMask(player);
+        Vertex best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (int id : profile.expansionOrder) {
+            if (profile.expansionBound[id] < bestScore) break; // Nothing further down can win
+            Vertex vertex = vertices.get(id);
+            if (!isOpen(vertex) || !filter.test(vertex)) continue;
+            int score = profile.expansionScore(vertex.getId(), owned);
+            if (score > bestScore || (score == bestScore && vertex.getId() < best.getId())) {
+                best = vertex;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    int expansionScore(int id, int ownedMask, AIWeights weights) {
+        return profile(weights).expansionScore(id, ownedMask);
+    }
+
+    private Profile profile(AIWeights weights) {
+        Profile profile = profiles.get(weights);
+        return profile != null ? profile : profiles.computeIfAbsent(weights, Profile::new);
+    }
+
+    // Distance rule only; land, roads and the game phase are left to the caller's filter
+    static boolean isOpen(Vertex vertex) {
+        if (vertex.hasSettlement()) return false;
+        for (Vertex neighbour : vertex.getNeighbors()) {
+            if (neighbour.hasSettlement()) return false;
+        }
+        return true;
+    }
+
+    // Resource types the player already touches with a settlement or city
+    public int ownedTypeMask(Player player) {
+        int mask = 0;
+        for (Vertex vertex : player.getSettlementsAndCities()) mask |= typeMask[vertex.getId()];
+        return mask;
+    }
+
+    // Calculates the probability of a Tile being triggered with the dices
+    private static int diceProbabilityValue(int dice) {
+        return switch (dice) {
+            case 6, 8 -> 5;
+            case 5, 9 -> 4;
+            case 4, 10 -> 3;
+            case 3, 11 -> 2;
+            case 2, 12 -> 1;
+            default -> 0;
+        };
+    }
+
+    //___________________________GETTERS___________________________//
+    public int getDiceValue(Vertex vertex) { return diceValue[vertex.getId()]; }
+    public int getTypeMask(Vertex vertex)  { return typeMask[vertex.getId()]; }
+    public int getDiversity(Vertex vertex) { return diversity[vertex.getId()]; }
+
+    //___________________________SCORING PROFILE___________________________//
+    // One set of weights with the vertices sorted for it
+    private final class Profile {
+        private final int openingDice, openingDiversity;
+        private final int allNewDice, allNewDiversity;
+        private final int expansionDice, expansionNewType, expansionDiversity;
+        private final int[] openingOrder;       // Vertex ids for the first settlement: exact score, best first
+        private final int[] expansionOrder;     // Vertex ids for later settlements: best possible score for any player, best first
+        private final int[] expansionBound;     // That best possible score per vertex id
+
+        Profile(AIWeights weights) {
+            openingDice = weights.get(AIWeights.Weight.OPENING_DICE);
+            openingDiversity = weights.get(AIWeights.Weight.OPENING_DIVERSITY);
+            allNewDice = weights.get(AIWeights.Weight.ALL_NEW_DICE);
+            allNewDiversity = weights.get(AIWeights.Weight.ALL_NEW_DIVERSITY);
+            expansionDice = weights.get(AIWeights.Weight.EXPANSION_DICE);
+            expansionNewType = weights.get(AIWeights.Weight.EXPANSION_NEW_TYPE);
+            expansionDiversity = weights.get(AIWeights.Weight.EXPANSION_DIVERSITY);
+
+            int count = vertexCount;
+            expansionBound = new int[count];
+            for (int id = 0; id < count; id++) {
+                // The player bonus is at most every type being new to them
+                expansionBound[id] = Math.max(diceValue[id] * allNewDice + diversity[id] * allNewDiversity,
+                        diceValue[id] * expansionDice + diversity[id] * (expansionNewType + expansionDiversity));
+            }
+            // Ties go to the lowest id, the same spot a scan over the vertex list would keep
+            openingOrder = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(id -> -openingScore(id)).thenComparingInt(id -> id))
+                    .mapToInt(Integer::intValue).toArray();
+            expansionOrder = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.<Integer>comparingInt(id -> -expansionBound[id]).thenComparingInt(id -> id))
+                    .mapToInt(Integer::intValue).toArray();
+        }
+
+        int openingScore(int id) {
+            return diceValue[id] * openingDice + diversity[id] * openingDiversity;
+        }
+
+        int expansionScore(int id, int ownedMask) {
+            int newResources = Integer.bitCount(typeMask[id] & ~ownedMask);
+            // AI tries to get all resource types
+            if (newResources == diversity[id] && diversity[id] != 1) return diceValue[id] * allNewDice + diversity[id] * allNewDiversity;
+            return diceValue[id] * expansionDice + newResources * expansionNewType + diversity[id] * expansionDiversity;
+        }
+    }
+}
@@ -7,9 +7,9 @@ import javafx.scene.paint.Color;
 import org.example.catanboardgameviews.CatanBoardGameView;
 
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Tile {
 
@@ -25,10 +25,11 @@ public class Tile {
     private final Point2D center;
     private List<Vertex> vertices;
     private List<Edge> edges;
+    private int id = -1;    // Index in Board.getTiles(), used for compact replays/array state
 
     // UI / Visuals
     private final int tileDiceNumber;
-    private static final Map<Resource.ResourceType, Image> imageCache = new HashMap<>();
+    private static final Map<Resource.ResourceType, Image> imageCache = new ConcurrentHashMap<>(); // Shared by all boards
 
     //___________________CONSTRUCTOR______________________//
     public Tile(int q, int r, Resource.ResourceType resourcetype,
@@ -44,6 +45,7 @@ public class Tile {
     public void setVertices(List<Vertex> vertices) { this.vertices = vertices; }
     public void setEdges(List<Edge> edges)          { this.edges = edges;     }
     public void setSea(boolean sea)                 { this.sea = sea;         }
+    public void setId(int id)                       { this.id = id;           }
     public void setHarbor(Harbor harbor) {
         this.harbor = harbor;
     }
@@ -52,6 +54,7 @@ public class Tile {
     public boolean isSea()            { return sea; }
     public List<Vertex> getVertices() { return vertices; }
     public List<Edge> getEdges()      { return edges; }
+    public int getId()                { return id; }
     public int getQ()                 { return q; }
     public int getR()                 { return r; }
     public int getTileDiceNumber()    { return tileDiceNumber; }
@@ -0,0 +1,173 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+//___________________________HEADLESS AI TOURNAMENT RUNNER___________________________//
+// Plays many AI-only games in parallel without any UI and aggregates who wins.
+// Every game has its own seed, so a single game can be re-run exactly from its index.
+// Each worker streams its games into its own GameStatistics, merged once all games are done.
+public class TournamentRunner {
+
+    //___________________________________FIELDS______________________________________________//
+    private static final int MAX_STEPS_PER_GAME = 5_000;   // Guard against an AI that never ends its turn
+
+    private final int games;
+    private final int threads;
+    private final int boardRadius;
+    private final long baseSeed;
+    private final List<AIOpponent.StrategyLevel> lineup;
+    private Path replayDirectory;                             // When set, every game's replay is saved here
+    private long expertTimeBudgetMillis = MonteCarloTreeSearch.DEFAULT_TIME_BUDGET_MILLIS;
+    private int expertIterationBudget = MonteCarloTreeSearch.DEFAULT_ITERATION_BUDGET;
+
+    // One aggregator per worker thread, so recording a game needs no synchronization
+    private final Queue<GameStatistics> workerStatistics = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<GameStatistics> localStatistics = ThreadLocal.withInitial(() -> {
+        GameStatistics statistics = new GameStatistics();
+        workerStatistics.add(statistics);
+        return statistics;
+    });
+    private final GameStatistics statistics = new GameStatistics();   // Merged result after run()
+    private final LongAdder failedGames = new LongAdder();            // Games that threw, never recorded
+
+    //__________________________________CONSTRUCTOR___________________________________________//
+    public TournamentRunner(int games, int threads, int boardRadius, long baseSeed, List<AIOpponent.StrategyLevel> lineup) {
+        if (games <= 0 || threads <= 0) throw new IllegalArgumentException("games and threads must be positive");
+        if (lineup.isEmpty()) throw new IllegalArgumentException("lineup must contain at least one AI");
+        if (lineup.size() > GameStatistics.MAX_SEATS) throw new IllegalArgumentException("at most " + GameStatistics.MAX_SEATS + " seats");
+        this.games = games;
+        this.threads = threads;
+        this.boardRadius = boardRadius;
+        this.baseSeed = baseSeed;
+        this.lineup = List.copyOf(lineup);
+    }
+
+    //__________________________________RUNNING GAMES___________________________________________//
+    // Runs all games on a fixed worker pool and blocks until every game is done
+    public void run() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tournament-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> results = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                int gameIndex = i;
+                results.add(pool.submit(() -> playGame(gameIndex)));
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failedGames.increment();
+                    System.err.println("Tournament game failed: " + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        // Future.get() above happens-after every game, so the worker aggregators are safe to read
+        for (GameStatistics worker : workerStatistics) {
+            statistics.merge(worker);
+        }
+        workerStatistics.clear();
+    }
+
+    // Plays one game to the end; seed and seat rotation depend only on the game index
+    private void playGame(int gameIndex) {
+        List<AIOpponent.StrategyLevel> seats = seatsForGame(gameIndex);
+        Gameplay game = new Gameplay(boardRadius, seedForGame(gameIndex));
+        game.initializeHeadlessGame(seats);
+        // Games already run one per core, so EXPERT searches only get the cores left over
+        int searchThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / threads);
+        for (Player player : game.getPlayerList()) {
+            if (player instanceof AIOpponent ai && ai.getStrategyLevel() == AIOpponent.StrategyLevel.EXPERT) {
+                ai.setSearch(new MonteCarloTreeSearch(expertTimeBudgetMillis, expertIterationBudget, searchThreads));
+            }
+        }
+
+        int steps = 0;
+        while (!game.isFinished() && steps++ < MAX_STEPS_PER_GAME) {
+            game.playHeadlessTurn();
+        }
+        if (replayDirectory != null) {
+            try {
+                game.getReplay().writeTo(replayDirectory.resolve("game-" + gameIndex + ".replay"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        localStatistics.get().record(game);
+    }
+
+    // Spreads the game seeds out so neighbouring games do not share random sequences
+    public long seedForGame(int gameIndex) {
+        return baseSeed + gameIndex * 0x9E3779B97F4A7C15L;
+    }
+
+    // Rotates the lineup one seat per game, so every level plays from every seat equally often
+    public List<AIOpponent.StrategyLevel> seatsForGame(int gameIndex) {
+        int shift = gameIndex % lineup.size();
+        List<AIOpponent.StrategyLevel> seats = new ArrayList<>(lineup.size());
+        for (int i = 0; i < lineup.size(); i++) {
+            seats.add(lineup.get((i + shift) % lineup.size()));
+        }
+        return seats;
+    }
+
+    //__________________________________RESULTS___________________________________________//
+    public String summary() {
+        return "Failed games: " + failedGames.sum() + "\n" + statistics.summary();
+    }
+
+    public void setReplayDirectory(Path replayDirectory) { this.replayDirectory = replayDirectory; }
+
+    // A fixed iteration budget without time limit (millis 0) makes EXPERT games reproducible
+    public void setExpertSearchBudget(long millis, int iterations) {
+        this.expertTimeBudgetMillis = millis;
+        this.expertIterationBudget = iterations;
+    }
+
+    public GameStatistics getStatistics() { return statistics; }
+    public long getFinishedGames() { return statistics.getFinishedGames(); }
+    public long getAbortedGames()  { return statistics.getAbortedGames(); }
+    public long getFailedGames()   { return failedGames.sum(); }
+    public long getWinsBySeat(int seat) { return statistics.getSeatWins(seat); }
+    public long getWinsByLevel(AIOpponent.StrategyLevel level) { return statistics.getLevelWins(level); }
+
+    //__________________________________COMMAND LINE___________________________________________//
+    // Usage: TournamentRunner [games] [threads] [boardRadius] [seed] [levels, e.g. EASY,MEDIUM,HARD] [replayDir or -] [summaryFile or -] [expertIterations]
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int boardRadius = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.currentTimeMillis();
+        List<AIOpponent.StrategyLevel> lineup = new ArrayList<>();
+        String levels = args.length > 4 ? args[4] : "EASY,MEDIUM,HARD";
+        for (String level : levels.split(",")) {
+            lineup.add(AIOpponent.StrategyLevel.valueOf(level.trim().toUpperCase()));
+        }
+
+        TournamentRunner runner = new TournamentRunner(games, threads, boardRadius, seed, lineup);
+        if (args.length > 5 && !args[5].equals("-")) runner.setReplayDirectory(Path.of(args[5]));
+        if (args.length > 7) runner.setExpertSearchBudget(0, Integer.parseInt(args[7]));
+        long start = System.nanoTime();
+        runner.run();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Seed: " + seed + " | threads: " + threads + " | time: " + millis + " ms");
+        System.out.print(runner.summary());
+        if (args.length > 6 && !args[6].equals("-")) runner.getStatistics().writeSummary(Path.of(args[6]));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.catanboardgameapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//___________________________TRADE NEGOTIATOR___________________________//
+// Trading between players. The current player posts an offer, every AI player answers it
+// (accept, counter-offer or nothing, see AIOpponent.respondToTrade) and the proposer picks one
+// answer. AI proposers post a few candidate offers and take the answer their own plan values
+// most; people choose from the answers themselves (see TradeController).
+// Only AI players answer: an offer to another person would need that person at the screen
+// in the middle of someone else's turn.
+public class TradeNegotiator {
+
+    //___________________________SETTINGS___________________________//
+    public static final int MAX_AI_TRADES_PER_TURN = 2;   // An AI stops negotiating after this many trades in one turn
+
+    //___________________________FIELDS___________________________//
+    private final Gameplay gameplay;
+    private int turn = -1;
+    private int aiTradesThisTurn;
+
+    //___________________________CONSTRUCTOR___________________________//
+    public TradeNegotiator(Gameplay gameplay) {
+        this.gameplay = gameplay;
+    }
+
+    //___________________________NEGOTIATION___________________________//
+    // Every AI player's answer to an offer of the current player, in seat order
+    public List<TradeOffer> collectAnswers(TradeOffer offer) {
+        List<TradeOffer> answers = new ArrayList<>();
+        if (!canTrade(offer.getProposer())) return answers;
+        for (Player player : gameplay.getPlayerList()) {
+            if (player == offer.getProposer() || !(player instanceof AIOpponent ai)) continue;
+            TradeOffer answer = ai.respondToTrade(offer, gameplay);
+            if (answer != null) answers.add(answer);
+        }
+        return answers;
+    }
+
+    // Swaps the cards of an answered offer; false if either side no longer holds its cards
+    public boolean execute(TradeOffer answer) {
+        Player proposer = answer.getProposer();
+        Player responder = answer.getResponder();
+        if (responder == null || responder == proposer || !canTrade(proposer)) return false;
+        if (!PackedHand.covers(PackedHand.of(proposer), answer.getGive())
+                || !PackedHand.covers(PackedHand.of(responder), answer.getReceive())) {
+            return false;
+        }
+        gameplay.getReplay().recordPlayerTrade(proposer, responder, answer.getGive(), answer.getReceive());
+        gameplay.getHandInference().transfer(proposer, responder, answer.getGive());
+        gameplay.getHandInference().transfer(responder, proposer, answer.getReceive());
+        PackedHand.transfer(proposer, responder, answer.getGive());
+        PackedHand.transfer(responder, proposer, answer.getReceive());
+        if (proposer instanceof AIOpponent) aiTradesThisTurn++;
+        return true;
+    }
+
+    // Only the current player trades, after rolling and outside the initial placements
+    public boolean canTrade(Player proposer) {
+        return proposer == gameplay.getCurrentPlayer() && gameplay.hasRolledDice()
+                && !gameplay.isInInitialPhase() && !gameplay.isGameOver();
+    }
+
+    // True while the current AI may still post offers this turn
+    public boolean canAITrade(Player proposer) {
+        if (gameplay.getTurnCounter() != turn) {
+            turn = gameplay.getTurnCounter();
+            aiTradesThisTurn = 0;
+        }
+        return aiTradesThisTurn < MAX_AI_TRADES_PER_TURN && canTrade(proposer);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.catanboardgameapp;
+
+//___________________________TRADE OFFER___________________________//
+// Cards one player offers another (give) for cards in return (receive), as packed hands seen
+// from the proposer. An offer posted to the table has no responder yet; every answer is an
+// offer to one responder, either the posted one (accepted as it is) or a counter-offer.
+public final class TradeOffer {
+
+    //___________________________FIELDS___________________________//
+    private final Player proposer;
+    private final Player responder;      // null while the offer is open to everyone
+    private final long give;             // From the proposer to the responder
+    private final long receive;          // From the responder to the proposer
+    private final boolean counter;       // Changed by the responder
+
+    //___________________________CONSTRUCTOR___________________________//
+    public TradeOffer(Player proposer, long give, long receive) {
+        this(proposer, null, give, receive, false);
+    }
+
+    private TradeOffer(Player proposer, Player responder, long give, long receive, boolean counter) {
+        if (give == PackedHand.EMPTY || receive == PackedHand.EMPTY) {
+            throw new IllegalArgumentException("A trade needs cards on both sides");
+        }
+        for (int type = 0; type < PackedHand.TYPES; type++) {
+            if (PackedHand.get(give, type) > PackedHand.MAX_BUNDLE_COUNT || PackedHand.get(receive, type) > PackedHand.MAX_BUNDLE_COUNT) {
+                throw new IllegalArgumentException("Too many cards of one resource in a trade");
+            }
+            if (PackedHand.get(give, type) > 0 && PackedHand.get(receive, type) > 0) {
+                throw new IllegalArgumentException("A resource cannot be given and received in one trade");
+            }
+        }
+        this.proposer = proposer;
+        this.responder = responder;
+        this.give = give;
+        this.receive = receive;
+        this.counter = counter;
+    }
+
+    //___________________________ANSWERS___________________________//
+    public TradeOffer acceptedBy(Player responder) {
+        return new TradeOffer(proposer, responder, give, receive, false);
+    }
+
+    public TradeOffer counteredBy(Player responder, long give, long receive) {
+        return new TradeOffer(proposer, responder, give, receive, true);
+    }
+
+    //___________________________GETTERS___________________________//
+    public Player getProposer()  { return proposer; }
+    public Player getResponder() { return responder; }
+    public long getGive()        { return give; }
+    public long getReceive()     { return receive; }
+    public boolean isCounter()   { return counter; }
+
+    @Override
+    public String toString() {
+        String with = responder == null ? "" : " with " + responder;
+        return proposer + " trades " + PackedHand.describe(give) + " for " + PackedHand.describe(receive) + with;
+    }
+}
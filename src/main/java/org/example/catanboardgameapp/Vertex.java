@@ -17,6 +17,7 @@ public class Vertex {
 
     private final double x;
     private final double y;
+    private int id = -1;    // Index in Board.getVertices(), used for compact replays/array state
 
     private final List<Tile> adjacentTiles = new ArrayList<>();
     private final List<Vertex> neighbors = new ArrayList<>();
@@ -75,6 +76,14 @@ public class Vertex {
         return owner;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public double getX() {
         return x;
     }
@@ -0,0 +1,189 @@
+package org.example.catanboardgameapp;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+//___________________________AI WEIGHT TUNER___________________________//
+// Tunes AIWeights by self-play with a (1+lambda) evolution strategy.
+// Every generation mutates the current best weights into a number of candidates, and each
+// candidate plays the same set of seeded games against opponents using the current best.
+// The current best plays those games too from the candidate's seat, so every candidate is
+// compared on exactly the same boards and dice (common random seeds), which removes most of
+// the luck from the comparison. The best candidate takes over when it clearly wins more of them.
+// Games run on a fixed pool of worker threads, one per core by default, and the best weights
+// are written after every generation, so a long run can be stopped at any time.
+public class WeightTuner {
+
+    //___________________________________FIELDS______________________________________________//
+    private static final int MAX_STEPS_PER_GAME = 5_000;   // Guard against an AI that never ends its turn
+    private static final double MIN_STEP = 0.02;            // Mutation size limits, relative to each weight
+    private static final double MAX_STEP = 1.0;
+    private static final double STEP_GROWTH = 1.5;          // One-fifth rule: grow on success, shrink otherwise
+    private static final double STEP_SHRINK = 0.9;
+    private static final double ACCEPT_MARGIN = 0.5;       // Extra wins needed, times sqrt(games): the best of many noisy candidates is lucky
+
+    private final int candidates;
+    private final int gamesPerCandidate;
+    private final int threads;
+    private final int boardRadius;
+    private final List<AIOpponent.StrategyLevel> lineup;    // Level of the tuned AI first, then its opponents
+    private final Random random;
+    private long nextSeed;
+    private AIWeights best;
+    private double step = 0.25;
+
+    //__________________________________CONSTRUCTOR___________________________________________//
+    public WeightTuner(int candidates, int gamesPerCandidate, int threads, int boardRadius,
+                       List<AIOpponent.StrategyLevel> lineup, long seed, AIWeights start) {
+        if (candidates <= 0 || gamesPerCandidate <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("candidates, games and threads must be positive");
+        }
+        if (lineup.size() < 2) throw new IllegalArgumentException("tuning needs at least two seats");
+        this.candidates = candidates;
+        this.gamesPerCandidate = gamesPerCandidate;
+        this.threads = threads;
+        this.boardRadius = boardRadius;
+        this.lineup = List.copyOf(lineup);
+        this.random = new Random(seed);
+        this.nextSeed = seed;
+        this.best = start;
+    }
+
+    //__________________________________TUNING___________________________________________//
+    // Runs the given number of generations, saving the best weights to output after each one
+    public AIWeights run(int generations, Path output) throws InterruptedException, IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "tuner-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int generation = 1; generation <= generations; generation++) {
+                long start = System.nanoTime();
+                long seedBase = nextSeed;
+                nextSeed += gamesPerCandidate * 0x9E3779B97F4A7C15L;   // Fresh games every generation
+
+                // Index 0 is the current best itself, the baseline for these seeds
+                List<AIWeights> contenders = new ArrayList<>();
+                contenders.add(best);
+                for (int i = 0; i < candidates; i++) contenders.add(mutate(best));
+                int[] wins = playAll(pool, contenders, seedBase);
+
+                int candidate = bestCandidate(wins);
+                boolean improved = wins[candidate] > wins[0] + ACCEPT_MARGIN * Math.sqrt(gamesPerCandidate);
+                if (improved) best = contenders.get(candidate);
+                step = Math.max(MIN_STEP, Math.min(MAX_STEP, step * (improved ? STEP_GROWTH : STEP_SHRINK)));
+
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf("Generation %d: baseline %.3f, best candidate %.3f%s | step %.3f | %d ms%n",
+                        generation, rate(wins[0]), rate(wins[candidate]), improved ? " (accepted)" : "", step, millis);
+                best.save(output, "Tuned by WeightTuner, generation " + generation);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return best;
+    }
+
+    // Wins of each contender in the tuned seat, all contenders playing the same seeded games
+    private int[] playAll(ExecutorService pool, List<AIWeights> contenders, long seedBase) throws InterruptedException {
+        AIWeights opponents = best;
+        List<List<Future<Boolean>>> results = new ArrayList<>();
+        for (AIWeights contender : contenders) {
+            List<Future<Boolean>> games = new ArrayList<>(gamesPerCandidate);
+            for (int i = 0; i < gamesPerCandidate; i++) {
+                long seed = seedBase + i * 0x9E3779B97F4A7C15L;
+                int seat = i % lineup.size();   // The tuned AI plays from every seat equally often
+                games.add(pool.submit(() -> playGame(seed, seat, contender, opponents)));
+            }
+            results.add(games);
+        }
+        int[] wins = new int[contenders.size()];
+        for (int c = 0; c < results.size(); c++) {
+            for (Future<Boolean> game : results.get(c)) {
+                try {
+                    if (game.get()) wins[c]++;
+                } catch (ExecutionException e) {
+                    System.err.println("Tuning game failed: " + e.getCause());
+                }
+            }
+        }
+        return wins;
+    }
+
+    // True when the AI in the given seat, using the contender's weights, wins the game
+    private boolean playGame(long seed, int seat, AIWeights contender, AIWeights opponents) {
+        List<AIOpponent.StrategyLevel> seats = new ArrayList<>(lineup.size());
+        for (int i = 0; i < lineup.size(); i++) {
+            seats.add(lineup.get((i - seat + lineup.size()) % lineup.size()));
+        }
+        Gameplay game = new Gameplay(boardRadius, seed);
+        game.initializeHeadlessGame(seats);
+        List<Player> players = game.getPlayerList();
+        for (int i = 0; i < players.size(); i++) {
+            ((AIOpponent) players.get(i)).setWeights(i == seat ? contender : opponents);
+        }
+        int steps = 0;
+        while (!game.isFinished() && steps++ < MAX_STEPS_PER_GAME) {
+            game.playHeadlessTurn();
+        }
+        return game.getWinner() == players.get(seat);
+    }
+
+    // Log-normal change of every weight, so weights keep their sign and scale with their size;
+    // the small additive part lets zero weights and small whole numbers move at all
+    private AIWeights mutate(AIWeights parent) {
+        int[] values = parent.toArray();
+        for (int i = 0; i < values.length; i++) {
+            double changed = values[i] * Math.exp(step * random.nextGaussian()) + step * random.nextGaussian();
+            values[i] = (int) Math.max(0, Math.round(changed));
+        }
+        return new AIWeights(values);
+    }
+
+    // Most wins among the mutated contenders (index 0 is the baseline)
+    private static int bestCandidate(int[] wins) {
+        int best = 1;
+        for (int i = 2; i < wins.length; i++) {
+            if (wins[i] > wins[best]) best = i;
+        }
+        return best;
+    }
+
+    private double rate(int wins) {
+        return (double) wins / gamesPerCandidate;
+    }
+
+    public AIWeights getBest() { return best; }
+
+    //__________________________________COMMAND LINE___________________________________________//
+    // Usage: WeightTuner [generations] [candidates] [gamesPerCandidate] [threads] [boardRadius] [seed]
+    //                    [levels, e.g. HARD,HARD,HARD] [start weights file or -] [output file]
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int generations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int candidates = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int boardRadius = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : System.currentTimeMillis();
+        List<AIOpponent.StrategyLevel> lineup = new ArrayList<>();
+        String levels = args.length > 6 ? args[6] : "HARD,HARD,HARD";
+        for (String level : levels.split(",")) {
+            lineup.add(AIOpponent.StrategyLevel.valueOf(level.trim().toUpperCase()));
+        }
+        AIWeights start = args.length > 7 && !args[7].equals("-") ? AIWeights.load(Path.of(args[7])) : AIWeights.DEFAULTS;
+        Path output = args.length > 8 ? Path.of(args[8]) : Path.of("ai-weights-tuned.properties");
+
+        WeightTuner tuner = new WeightTuner(candidates, games, threads, boardRadius, lineup, seed, start);
+        System.out.println("Seed: " + seed + " | threads: " + threads + " | start: " + start);
+        AIWeights best = tuner.run(generations, output);
+        System.out.println("Best weights written to " + output + ": " + best);
+    }
+}
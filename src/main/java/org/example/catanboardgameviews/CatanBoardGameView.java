@@ -15,6 +15,7 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
@@ -26,8 +27,8 @@ import org.example.controller.TradeController;
 import org.example.controller.TurnController;
 import org.example.catanboardgameapp.DevelopmentCard.DevelopmentCardType;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -67,7 +68,10 @@ public class CatanBoardGameView {
 
     //---------------------------- Layout Containers ----------------------------//
     private SplitPane splitPane;
-    private VBox playerListVBox;
+    private PlayerSidebar sidebar;
+
+    //---------------------------- Fast Forward ----------------------------//
+    private final FastForwardRenderer fastForwardRenderer;
 
     //________________________________CONSTRUCTOR____________________________________//
     public CatanBoardGameView(Gameplay gameplay, GameController gameController, int boardRadius) {
@@ -122,6 +126,10 @@ public class CatanBoardGameView {
                 .findFirst()
                 .orElseThrow(() -> new IllegalStateException("No desert tile found"));
         this.robber = new Robber(desertTile, gameplay, this, boardGroup);
+        gameplay.setRobber(this.robber);
+
+        // Draws all-AI games while they are fast-forwarded
+        this.fastForwardRenderer = new FastForwardRenderer(this, gameplay);
     }
 
     //__________________________UI SETUP METHODS_____________________________//
@@ -146,7 +154,7 @@ public class CatanBoardGameView {
         splitPane.setDividerPositions(0.85);
         root.setCenter(splitPane);
         root.setTop(createTopButtonBar());
-        root.setLeft(createLeftMenu(false));
+        root.setLeft(createLeftMenu());
         root.setStyle("-fx-background-color: #f9f0d2;");
 
 
@@ -229,6 +237,15 @@ public class CatanBoardGameView {
             gameController.getBuildController().toggleConfirmBeforeBuild();
             toggleConfirmBtn.getScene().getRoot().requestFocus();
         });
+        // Fast-forward, only offered when no human plays
+        ToggleButton fastForwardBtn = new ToggleButton("Fast Forward: OFF");
+        fastForwardBtn.setSelected(false);
+        fastForwardBtn.setOnAction(e -> {
+            boolean enabled = fastForwardBtn.isSelected();
+            fastForwardBtn.setText(enabled ? "Fast Forward: ON" : "Fast Forward: OFF");
+            gameplay.setFastForward(enabled);
+            fastForwardBtn.getScene().getRoot().requestFocus();
+        });
         // Dice rolling button action
         rollDiceButton.setOnAction(e -> {
             if (gameplay.isActionBlockedByDevelopmentCard()){
@@ -297,10 +314,11 @@ public class CatanBoardGameView {
             exitButton.getScene().getRoot().requestFocus();
         });
         // Group all buttons, unified styling
-        List<ButtonBase> allButtons = List.of(
+        List<ButtonBase> allButtons = new ArrayList<>(List.of(
                 rollDiceButton, nextTurnButton, centerButton, zoomInButton, zoomOutButton,
                 tradeButton, developmentCardButton, showCostsButton, toggleConfirmBtn, exitButton
-        );
+        ));
+        if (!gameplay.hasHumanPlayers()) allButtons.add(allButtons.size() - 1, fastForwardBtn);
         String baseStyle = """
         -fx-background-color: linear-gradient(to bottom, #d8b173, #a86c1f);
         -fx-text-fill: #2b1d0e;
@@ -336,164 +354,14 @@ public class CatanBoardGameView {
         return buttonBox;
     }
 
-    private VBox createPlayerBox(Player player, double nameFontSize, double infoFontSize) {
-        VBox playerBox = new VBox(5);
-        playerBox.setPadding(new Insets(8));
-        playerBox.setSpacing(4);
-
-        // Base and conditional styling for player panels
-        String baseStyle = """
-            -fx-background-radius: 10;
-            -fx-border-radius: 10;
-        """;
-        String playerStyle;
-        String displayName = (player instanceof AIOpponent ai)
-                ? "AIPlayer " + player.getPlayerId() + " (" + ai.getStrategyLevel().name() + ")"
-                : "Player " + player.getPlayerId();
-
-        Text playerName = new Text(displayName);
-        playerName.setFont(Font.font("Georgia", FontWeight.BOLD, nameFontSize));
-        playerName.setFill(player.getColor());
-        if (player == gameplay.getCurrentPlayer()) {
-            // Expandable: Resources
-            playerStyle = """
-            -fx-background-color: linear-gradient(to bottom, #fff6cc, #eedc9a);
-            -fx-border-color: #d4a627, #000000;
-            -fx-border-insets: 0, 2;
-            -fx-border-width: 4, 2;
-        """;
-            playerName.setFont(Font.font("Georgia", FontWeight.EXTRA_BOLD, nameFontSize + 6));
-            playerName.setText(displayName);
-        } else {
-            playerStyle = """
-            -fx-background-color: linear-gradient(to bottom, #f3e2c7, #e0b97d);
-            -fx-border-color: #a86c1f;
-            -fx-border-width: 1.5;
-        """;
-        }
-        playerBox.setStyle(baseStyle + playerStyle);
-        playerBox.getChildren().add(playerName);
-        if (player == gameplay.getCurrentPlayer()) {
-            // Expandable: Development Cards
-            int totalResources = player.getResources().values().stream().mapToInt(Integer::intValue).sum();
-            Button resourceButton = new Button("Resources: " + totalResources);
-            resourceButton.setFont(Font.font("Georgia", infoFontSize));
-            resourceButton.setStyle("""
-                                    -fx-background-color: linear-gradient(to bottom, #d8b173, #a86c1f);
-                                    -fx-text-fill: #2b1d0e; """
-            );
-            VBox resourceDetailsBox = new VBox(3);
-            resourceDetailsBox.setPadding(new Insets(5, 0, 0, 10));
-            resourceDetailsBox.setVisible(false);
-            resourceDetailsBox.setManaged(false);
-
-            for (Map.Entry<String, Integer> entry : player.getResources().entrySet()) {
-                Text resourceText = new Text(entry.getKey() + ": " + entry.getValue());
-                resourceText.setFont(Font.font("Georgia", infoFontSize));
-                resourceDetailsBox.getChildren().add(resourceText);
-            }
-            resourceButton.setOnAction(e -> {
-                boolean showing = resourceDetailsBox.isVisible();
-                resourceDetailsBox.setVisible(!showing);
-                resourceDetailsBox.setManaged(!showing);
-            });
-            playerBox.getChildren().addAll(resourceButton, resourceDetailsBox);
-            // Expandable dev cards
-            int totalDevCards = player.getDevelopmentCards().values().stream().mapToInt(Integer::intValue).sum();
-            Button devCardButton = new Button("Development Cards: " + totalDevCards);
-            devCardButton.setFont(Font.font("Georgia", infoFontSize));
-            devCardButton.setStyle("""
-                                    -fx-background-color: linear-gradient(to bottom, #d8b173, #a86c1f);
-                                    -fx-text-fill: #2b1d0e;"""
-                                    );
-            VBox devCardDetailsBox = new VBox(3);
-            devCardDetailsBox.setPadding(new Insets(5, 0, 0, 10));
-            devCardDetailsBox.setVisible(false);
-            devCardDetailsBox.setManaged(false);
-
-            for (Map.Entry<DevelopmentCardType, Integer> entry : player.getDevelopmentCards().entrySet()) {
-                if (entry.getValue() > 0) {
-                    Button cardButton = styleButton(player, entry);
-                    devCardDetailsBox.getChildren().add(cardButton);
-                }
-            }
-            devCardButton.setOnAction(e -> {
-                boolean showing = devCardDetailsBox.isVisible();
-                devCardDetailsBox.setVisible(!showing);
-                devCardDetailsBox.setManaged(!showing);
-            });
-
-            playerBox.getChildren().addAll(devCardButton, devCardDetailsBox);
-        } else {
-            // Compact view for other players
-            int totalResources = player.getResources().values().stream().mapToInt(Integer::intValue).sum();
-            Text resourceTotal = new Text("Resources: " + totalResources);
-            resourceTotal.setFont(Font.font("Georgia", infoFontSize));
-            playerBox.getChildren().add(resourceTotal);
-
-            int totalDevCards = player.getDevelopmentCards().values().stream().mapToInt(Integer::intValue).sum();
-            Text devCardTotal = new Text("Development Cards: " + totalDevCards);
-            devCardTotal.setFont(Font.font("Georgia", infoFontSize));
-            playerBox.getChildren().add(devCardTotal);
-        }
-
-        // Longest road indicator
-        Text roadText = new Text("Longest road: " + player.getLongestRoad());
-        roadText.setFont(Font.font("Georgia", infoFontSize));
-        if (player == gameplay.getLongestRoadManager().getCurrentHolder()) {
-            roadText.setText("🏅 LONGEST ROAD: " + player.getLongestRoad());
-            roadText.setFont(Font.font("Georgia", FontWeight.BOLD, infoFontSize));
-        }
-        playerBox.getChildren().add(roadText);
-
-        // Largest army indicator
-        Text armyText = new Text("Knights Played: " + player.getPlayedKnights());
-        armyText.setFont(Font.font("Georgia", infoFontSize));
-        BiggestArmyManager biggestArmy = gameplay.getBiggestArmy();
-        if (player == biggestArmy.getCurrentHolder()) {
-            armyText.setText("🏅 BIGGEST ARMY: " + player.getPlayedKnights());
-            armyText.setFont(Font.font("Georgia", FontWeight.BOLD, infoFontSize));
-        }
-        playerBox.getChildren().add(armyText);
-
-        // Victory points
-        Text pointsText = new Text("Victory points: " + player.getPlayerScore());
-        pointsText.setFont(Font.font("Georgia", infoFontSize));
-        playerBox.getChildren().add(pointsText);
-
-        return playerBox;
-    }
-
-    public VBox createLeftMenu(Boolean hasBeenInitialized) {
-        if (playerListVBox == null) {
-            playerListVBox = new VBox(10);
-            playerListVBox.setPadding(new Insets(10));
-        } else {
-            playerListVBox.getChildren().clear();
-        }
-
-        double nameFontSize = 14;
-        double infoFontSize = 12;
-
-        Text title = new Text("Player Stats");
-
-        title.setFont(Font.font("Georgia", FontWeight.BOLD, 16));
-        title.setFill(Color.web("#5e3c10"));
-        playerListVBox.getChildren().add(title);
-
-       for (Player player : gameplay.getPlayerList()) {
-            VBox playerBox = createPlayerBox(player, nameFontSize, infoFontSize);
-            playerListVBox.getChildren().add(playerBox);
-        }
-
-        if (!hasBeenInitialized) {
-            return scrollVBox();
-        }
-        return null;
+    // Built once; refreshSidebar only updates the stats it is bound to
+    public VBox createLeftMenu() {
+        sidebar = new PlayerSidebar(this, gameplay);
+        return scrollVBox();
     }
 
     private VBox scrollVBox() {
-        ScrollPane scrollPane = new ScrollPane(playerListVBox);
+        ScrollPane scrollPane = new ScrollPane(sidebar.getNode());
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefHeight(500);
         scrollPane.setStyle("""
@@ -527,10 +395,9 @@ public class CatanBoardGameView {
         -fx-cursor: hand;
     """;
 
-    private Button styleButton(Player player, Map.Entry<DevelopmentCardType, Integer> entry) {
-        DevelopmentCardType type = entry.getKey();
-
-        Button cardButton = new Button(type.getDisplayName() + " (" + entry.getValue() + ")");
+    // Plays the card for the player when clicked; the sidebar binds its text and visibility
+    Button createDevCardButton(Player player, DevelopmentCardType type) {
+        Button cardButton = new Button(type.getDisplayName());
         cardButton.setStyle(BUTTON_STYLE);
 
 
@@ -731,6 +598,23 @@ public class CatanBoardGameView {
         diceImage2.setFitHeight(40);
     }
 
+    // Draws the roads, settlements, cities of a loaded game (the robber draws itself)
+    public void drawLoadedPieces() {
+        BuildController buildController = gameController.getBuildController();
+        for (Player player : gameplay.getPlayerList()) {
+            for (Edge edge : player.getRoads()) {
+                buildController.buildRoad(edge, player);
+            }
+            for (Vertex vertex : player.getSettlements()) {
+                Circle circle = new Circle(vertex.getX(), vertex.getY(), 16.0 / boardRadius);
+                drawOrDisplay.drawSettlement(circle, vertex, boardGroup);
+            }
+            for (Vertex vertex : player.getCities()) {
+                drawOrDisplay.drawCity(vertex, boardGroup);
+            }
+        }
+    }
+
     public void prepareForHumanInitialPlacement(Player currentPlayer) {
         logToGameLog("Player " + currentPlayer.getPlayerId() + ", place your initial settlement.");
         refreshSidebar();
@@ -740,9 +624,15 @@ public class CatanBoardGameView {
 
     // Refreshes the left sidebar UI that displays player information.
     public void refreshSidebar() {
-        if (playerListVBox != null) {
-            createLeftMenu(true);
-            playerListVBox.requestLayout();
+        if (sidebar != null) {
+            sidebar.update();
+        }
+    }
+
+    // Same, from stats copied earlier (a fast-forwarded game changes the live players meanwhile)
+    public void refreshSidebar(PlayerSidebar.Stats stats) {
+        if (sidebar != null) {
+            sidebar.update(stats);
         }
     }
 
@@ -855,4 +745,7 @@ public class CatanBoardGameView {
     public Group getEdgeClickLayer() {
         return edgeClickLayer;
     }
+    public FastForwardRenderer getFastForwardRenderer() {
+        return fastForwardRenderer;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,198 @@
+package org.example.catanboardgameviews;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Group;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import org.example.catanboardgameapp.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Draws an all-AI game while it is fast-forwarded (see Gameplay.setFastForward).
+// The engine plays its turns back to back without touching the UI and publishes a small frame
+// of the game after every turn. Once per screen frame the latest one is drawn: only pieces that
+// are new since the last drawn frame are added, the sidebar is refreshed a few times a second
+// from the frame's copy of the players' stats (the live players are being changed meanwhile),
+// and the game log gets one summary line per second instead of a line per action.
+public class FastForwardRenderer {
+
+    //---------------------------- Pacing ----------------------------//
+    private static final long SIDEBAR_EVERY_NANOS = 100_000_000L;    // 10 times a second
+    private static final long SUMMARY_EVERY_NANOS = 1_000_000_000L;  // Once a second
+
+    //---------------------------- Game Components ----------------------------//
+    private final CatanBoardGameView view;
+    private final Gameplay gameplay;
+    private final DrawOrDisplay drawOrDisplay;
+    private final AnimationTimer timer;
+
+    //---------------------------- Frames ----------------------------//
+    private final AtomicReference<Frame> latest = new AtomicReference<>();  // Written by the engine thread
+    private Frame drawn;                                                    // Last frame on screen (FX thread only)
+    private final BitSet drawnRoads = new BitSet();
+    private final BitSet drawnSettlements = new BitSet();
+    private final BitSet drawnCities = new BitSet();
+    private long lastSidebarNanos;
+    private long lastSummaryNanos;
+    private Frame lastSummary;
+
+    //________________________________CONSTRUCTOR____________________________________//
+    public FastForwardRenderer(CatanBoardGameView view, Gameplay gameplay) {
+        this.view = view;
+        this.gameplay = gameplay;
+        this.drawOrDisplay = gameplay.getDrawOrDisplay();
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                render(now, false);
+            }
+        };
+    }
+
+    //__________________________ENGINE SIDE_____________________________//
+    // Called on the engine thread between turns, before the first fast-forwarded turn.
+    // Everything on the board at this point has already been drawn the normal way.
+    public void start() {
+        Frame base = Frame.capture(gameplay);
+        latest.set(base);
+        view.runOnFX(() -> {
+            view.hideAITurnOverlay();
+            markDrawn(base);
+            drawn = base;
+            lastSummary = base;
+            lastSummaryNanos = System.nanoTime();
+            view.logToGameLog("Fast-forward on.");
+            timer.start();
+        });
+    }
+
+    // Called on the engine thread after every turn
+    public void publish() {
+        latest.set(Frame.capture(gameplay));
+    }
+
+    // Called on the engine thread when the loop ends: draws the last frame and stops sampling
+    public void stop() {
+        publish();
+        view.runOnFX(() -> {
+            timer.stop();
+            render(System.nanoTime(), true);
+            if (!gameplay.isFinished()) view.logToGameLog("Fast-forward off.");
+        });
+    }
+
+    //__________________________RENDERING_____________________________//
+    private void render(long now, boolean force) {
+        Frame frame = latest.get();
+        if (frame == null || drawn == null) return;
+        if (frame != drawn) {
+            drawDifferences(frame);
+            if (frame.die1 != drawn.die1 || frame.die2 != drawn.die2 || frame.turn != drawn.turn) {
+                view.updateDiceImages(frame.die1, frame.die2);
+            }
+            drawn = frame;
+        }
+        if (force || now - lastSidebarNanos >= SIDEBAR_EVERY_NANOS) {
+            view.refreshSidebar(frame.stats);
+            lastSidebarNanos = now;
+        }
+        if (force || now - lastSummaryNanos >= SUMMARY_EVERY_NANOS) {
+            if (frame != lastSummary) view.logToGameLog(summary(lastSummary, frame));
+            lastSummary = frame;
+            lastSummaryNanos = now;
+        }
+    }
+
+    // Adds the roads, settlements and cities that are not on screen yet, and moves the robber
+    private void drawDifferences(Frame frame) {
+        Group boardGroup = view.getBoardGroup();
+        List<Player> players = gameplay.getPlayerList();
+        Board board = gameplay.getBoard();
+        int boardRadius = gameplay.getBoardRadius();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (int id : frame.roads[seat]) {
+                if (drawnRoads.get(id)) continue;
+                Edge edge = board.getEdges().get(id);
+                Line line = new Line(edge.getVertex1().getX(), edge.getVertex1().getY(),
+                        edge.getVertex2().getX(), edge.getVertex2().getY());
+                drawOrDisplay.drawRoad(line, player, boardGroup);
+                drawnRoads.set(id);
+            }
+            for (int id : frame.settlements[seat]) {
+                if (drawnSettlements.get(id)) continue;
+                Vertex vertex = board.getVertices().get(id);
+                drawOrDisplay.drawSettlement(new Circle(vertex.getX(), vertex.getY(), 16.0 / boardRadius), vertex, boardGroup);
+                drawnSettlements.set(id);
+            }
+            for (int id : frame.cities[seat]) {
+                if (drawnCities.get(id)) continue;
+                drawOrDisplay.drawCity(board.getVertices().get(id), boardGroup);
+                drawnCities.set(id);
+            }
+        }
+        if (frame.robberTile != drawn.robberTile && frame.robberTile != null) {
+            drawOrDisplay.drawNewRobberCircle(frame.robberTile, boardGroup, gameplay.getRobber().getRobberCircle(), false);
+        }
+    }
+
+    private void markDrawn(Frame frame) {
+        for (int seat = 0; seat < frame.roads.length; seat++) {
+            for (int id : frame.roads[seat]) drawnRoads.set(id);
+            for (int id : frame.settlements[seat]) drawnSettlements.set(id);
+            for (int id : frame.cities[seat]) drawnCities.set(id);
+        }
+    }
+
+    // One log line for everything that happened between two frames
+    private String summary(Frame from, Frame to) {
+        StringBuilder line = new StringBuilder("Fast-forward: turns ")
+                .append(from.turn).append("-").append(to.turn)
+                .append(", ").append(to.skippedLogLines - from.skippedLogLines).append(" log lines skipped |");
+        List<Player> players = gameplay.getPlayerList();
+        for (int seat = 0; seat < players.size(); seat++) {
+            line.append(" ").append(players.get(seat)).append(": ").append(to.stats.getScore(seat)).append(" VP");
+            if (seat < players.size() - 1) line.append(",");
+        }
+        return line.toString();
+    }
+
+    //__________________________FRAME_____________________________//
+    // What the screen needs of the game after a turn, copied on the engine thread
+    private static final class Frame {
+        final int turn;
+        final int die1;
+        final int die2;
+        final Tile robberTile;
+        final int[][] roads;         // [seat] -> edge ids
+        final int[][] settlements;   // [seat] -> vertex ids
+        final int[][] cities;        // [seat] -> vertex ids
+        final PlayerSidebar.Stats stats;   // Hands, cards, scores, titles and whose turn it is
+        final int skippedLogLines;
+
+        private Frame(Gameplay gameplay) {
+            List<Player> players = gameplay.getPlayerList();
+            turn = gameplay.getTurnCounter();
+            die1 = gameplay.getLastRolledDie1();
+            die2 = gameplay.getLastRolledDie2();
+            robberTile = gameplay.getRobber().getCurrentTile();
+            roads = new int[players.size()][];
+            settlements = new int[players.size()][];
+            cities = new int[players.size()][];
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player player = players.get(seat);
+                roads[seat] = player.getRoads().stream().mapToInt(Edge::getId).toArray();
+                settlements[seat] = player.getSettlements().stream().mapToInt(Vertex::getId).toArray();
+                cities[seat] = player.getCities().stream().mapToInt(Vertex::getId).toArray();
+            }
+            stats = PlayerSidebar.Stats.capture(gameplay);
+            skippedLogLines = gameplay.getSkippedLogLines();
+        }
+
+        static Frame capture(Gameplay gameplay) {
+            return new Frame(gameplay);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import org.example.catanboardgameapp.AIOpponent;
+import org.example.catanboardgameapp.GameConfig;
+import org.example.catanboardgameapp.GameSnapshot;
 import org.example.controller.GameController;
 
 import java.io.InputStream;
@@ -29,12 +31,13 @@ public class MenuView {
     private int AIOpponentsCountEASY = 0;
     private int AIOpponentsCountMEDIUM = 0;
     private int AIOpponentsCountHARD = 0;
+    private int AIOpponentsCountEXPERT = 0;
     private int maxRoads = 15;
     private int maxSettlements = 5;
     private int maxCities = 4;
     private int maxVictoryPoints = 10;
     private AIOpponent.ThinkingSpeed aiSpeed = AIOpponent.ThinkingSpeed.MEDIUM;
-    private final int[] humanPlayers = {3}, boardSizeVal = {3}, easyAI = {0}, mediumAI = {0}, hardAI = {0},
+    private final int[] humanPlayers = {3}, boardSizeVal = {3}, easyAI = {0}, mediumAI = {0}, hardAI = {0}, expertAI = {0},
             maxRoadsVal = {15}, maxSettlementsVal = {5}, maxCitiesVal = {4}, maxVictoryPointsVal = {10};
 
     private final GameController gameController;
@@ -54,6 +57,19 @@ public class MenuView {
         primaryStage.show();
     }
 
+    // Offers to continue a game that was not finished last time (app closed or crashed mid-game)
+    public void offerRecovery() {
+        if (!GameSnapshot.hasAutosave()) return;
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION,
+                "An unfinished game was found. Do you want to continue it?", ButtonType.YES, ButtonType.NO);
+        alert.setTitle("Recover Game");
+        alert.setHeaderText(null);
+        alert.initOwner(primaryStage);
+        alert.showAndWait()
+                .filter(response -> response == ButtonType.YES)
+                .ifPresent(response -> gameController.loadGame());
+    }
+
     private VBox createMenuLayout() {
         VBox menuLayout = new VBox(25);
         menuLayout.setAlignment(Pos.CENTER);
@@ -84,6 +100,7 @@ public class MenuView {
         Button creditsButton = createMenuButton("Credits", 220, 60);
         Button quitButton = createMenuButton("Quit Game", 220, 60);
         Button resumeButton = createMenuButton("Resume current Game", 220, 60);
+        Button loadButton = createMenuButton("Load Saved Game", 220, 60);
 
         playButton.setOnAction(e -> startGame());
         aiTestButton.setOnAction(e -> startAITestMatch()); // <-- New action
@@ -94,8 +111,17 @@ public class MenuView {
         resumeButton.setDisable(!gameController.hasSavedSession());
         resumeButton.setOnAction(e -> gameController.resumeGame());
 
+        loadButton.setDisable(!GameSnapshot.hasAutosave());
+        loadButton.setOnAction(e -> {
+            gameController.resetGame();
+            gameController.loadGame();
+        });
+        // Resume and load share a row so the menu still fits the window
+        HBox sessionButtons = new HBox(25, resumeButton, loadButton);
+        sessionButtons.setAlignment(Pos.CENTER);
+
         menuLayout.getChildren().addAll(
-                titleLabel, playButton, aiTestButton, optionsButton, creditsButton, quitButton, resumeButton
+                titleLabel, playButton, aiTestButton, optionsButton, creditsButton, quitButton, sessionButtons
         );
         return menuLayout;
     }
@@ -103,7 +129,7 @@ public class MenuView {
     private void startGame() {
         // Ensure previous game state and threads are reset
         gameController.resetGame();
-        gameController.startGame(playerCount, boardSize, AIOpponentsCountEASY, AIOpponentsCountMEDIUM, AIOpponentsCountHARD);
+        gameController.startGame(playerCount, boardSize, AIOpponentsCountEASY, AIOpponentsCountMEDIUM, AIOpponentsCountHARD, AIOpponentsCountEXPERT);
     }
 
     private void startAITestMatch() {  //REMOVE WHEN TESTING DONE!!!!
@@ -115,6 +141,7 @@ public class MenuView {
         AIOpponentsCountEASY = 1;
         AIOpponentsCountMEDIUM = 1;
         AIOpponentsCountHARD = 1;
+        AIOpponentsCountEXPERT = 0;
 
         // Ensure any running threads and state are cleared
         gameController.resetGame();
@@ -123,7 +150,8 @@ public class MenuView {
                 boardSize,
                 AIOpponentsCountEASY,
                 AIOpponentsCountMEDIUM,
-                AIOpponentsCountHARD
+                AIOpponentsCountHARD,
+                AIOpponentsCountEXPERT
         );
     }
 
@@ -155,6 +183,7 @@ public class MenuView {
                 new Label("Number of EASY AI:"),
                 new Label("Number of MEDIUM AI:"),
                 new Label("Number of HARD AI:"),
+                new Label("Number of EXPERT AI:"),
                 new Label("Board Size (3-10):"),
                 new Label("Max Roads per Player:"),
                 new Label("Max Settlements per Player:"),
@@ -167,6 +196,7 @@ public class MenuView {
                 new Label(String.valueOf(easyAI[0])),
                 new Label(String.valueOf(mediumAI[0])),
                 new Label(String.valueOf(hardAI[0])),
+                new Label(String.valueOf(expertAI[0])),
                 new Label(String.valueOf(boardSizeVal[0])),
                 new Label(String.valueOf(maxRoadsVal[0])),
                 new Label(String.valueOf(maxSettlementsVal[0])),
@@ -200,58 +230,61 @@ public class MenuView {
             values[1].setText(String.valueOf(easyAI[0]));
             values[2].setText(String.valueOf(mediumAI[0]));
             values[3].setText(String.valueOf(hardAI[0]));
-            values[4].setText(String.valueOf(boardSizeVal[0]));
-            values[5].setText(String.valueOf(maxRoadsVal[0]));
-            values[6].setText(String.valueOf(maxSettlementsVal[0]));
-            values[7].setText(String.valueOf(maxCitiesVal[0]));
-            values[8].setText(String.valueOf(maxVictoryPointsVal[0]));
+            values[4].setText(String.valueOf(expertAI[0]));
+            values[5].setText(String.valueOf(boardSizeVal[0]));
+            values[6].setText(String.valueOf(maxRoadsVal[0]));
+            values[7].setText(String.valueOf(maxSettlementsVal[0]));
+            values[8].setText(String.valueOf(maxCitiesVal[0]));
+            values[9].setText(String.valueOf(maxVictoryPointsVal[0]));
         };
 
-        Button[][] controls = new Button[9][2];
-        for (int i = 0; i < 9; i++) {
+        Button[][] controls = new Button[labels.length][2];
+        for (int i = 0; i < labels.length; i++) {
             controls[i][0] = new Button("-");
             controls[i][1] = new Button("+");
             controls[i][0].setMinWidth(35);
             controls[i][1].setMinWidth(35);
         }
 
-        controls[0][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] < 6) humanPlayers[0]++; updateCounts.run(); });
+        controls[0][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0] < 6) humanPlayers[0]++; updateCounts.run(); });
         controls[0][0].setOnAction(e -> { if (humanPlayers[0] > 0) humanPlayers[0]--; updateCounts.run(); });
-        controls[1][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] < 6) easyAI[0]++; updateCounts.run(); });
+        controls[1][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0] < 6) easyAI[0]++; updateCounts.run(); });
         controls[1][0].setOnAction(e -> { if (easyAI[0] > 0) easyAI[0]--; updateCounts.run(); });
-        controls[2][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] < 6) mediumAI[0]++; updateCounts.run(); });
+        controls[2][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0] < 6) mediumAI[0]++; updateCounts.run(); });
         controls[2][0].setOnAction(e -> { if (mediumAI[0] > 0) mediumAI[0]--; updateCounts.run(); });
-        controls[3][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] < 6) hardAI[0]++; updateCounts.run(); });
+        controls[3][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0] < 6) hardAI[0]++; updateCounts.run(); });
         controls[3][0].setOnAction(e -> { if (hardAI[0] > 0) hardAI[0]--; updateCounts.run(); });
-        controls[4][1].setOnAction(e -> { if (boardSizeVal[0] < 10) boardSizeVal[0]++; updateCounts.run(); });
-        controls[4][0].setOnAction(e -> { if (boardSizeVal[0] > 3) boardSizeVal[0]--; updateCounts.run(); });
-        controls[5][1].setOnAction(e -> { if (maxRoadsVal[0] < 20) maxRoadsVal[0]++; updateCounts.run(); });
-        controls[5][0].setOnAction(e -> { if (maxRoadsVal[0] > 1) maxRoadsVal[0]--; updateCounts.run(); });
-        controls[6][1].setOnAction(e -> { if (maxSettlementsVal[0] < 10) maxSettlementsVal[0]++; updateCounts.run(); });
-        controls[6][0].setOnAction(e -> { if (maxSettlementsVal[0] > 1) maxSettlementsVal[0]--; updateCounts.run(); });
-        controls[7][1].setOnAction(e -> { if (maxCitiesVal[0] < 6) maxCitiesVal[0]++; updateCounts.run(); });
-        controls[7][0].setOnAction(e -> { if (maxCitiesVal[0] > 1) maxCitiesVal[0]--; updateCounts.run(); });
-        controls[8][1].setOnAction(e -> { if (maxVictoryPointsVal[0] < 16) maxVictoryPointsVal[0]++; updateCounts.run(); });
-        controls[8][0].setOnAction(e -> { if (maxVictoryPointsVal[0] > 1) maxVictoryPointsVal[0]--; updateCounts.run(); });
+        controls[4][1].setOnAction(e -> { if (humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0] < 6) expertAI[0]++; updateCounts.run(); });
+        controls[4][0].setOnAction(e -> { if (expertAI[0] > 0) expertAI[0]--; updateCounts.run(); });
+        controls[5][1].setOnAction(e -> { if (boardSizeVal[0] < 10) boardSizeVal[0]++; updateCounts.run(); });
+        controls[5][0].setOnAction(e -> { if (boardSizeVal[0] > 3) boardSizeVal[0]--; updateCounts.run(); });
+        controls[6][1].setOnAction(e -> { if (maxRoadsVal[0] < 20) maxRoadsVal[0]++; updateCounts.run(); });
+        controls[6][0].setOnAction(e -> { if (maxRoadsVal[0] > 1) maxRoadsVal[0]--; updateCounts.run(); });
+        controls[7][1].setOnAction(e -> { if (maxSettlementsVal[0] < 10) maxSettlementsVal[0]++; updateCounts.run(); });
+        controls[7][0].setOnAction(e -> { if (maxSettlementsVal[0] > 1) maxSettlementsVal[0]--; updateCounts.run(); });
+        controls[8][1].setOnAction(e -> { if (maxCitiesVal[0] < 6) maxCitiesVal[0]++; updateCounts.run(); });
+        controls[8][0].setOnAction(e -> { if (maxCitiesVal[0] > 1) maxCitiesVal[0]--; updateCounts.run(); });
+        controls[9][1].setOnAction(e -> { if (maxVictoryPointsVal[0] < 16) maxVictoryPointsVal[0]++; updateCounts.run(); });
+        controls[9][0].setOnAction(e -> { if (maxVictoryPointsVal[0] > 1) maxVictoryPointsVal[0]--; updateCounts.run(); });
 
         GridPane grid = new GridPane();
         grid.setHgap(10);
         grid.setVgap(15);
         grid.setAlignment(Pos.CENTER);
-        for (int i = 0; i < 9; i++) {
+        for (int i = 0; i < labels.length; i++) {
             grid.add(labels[i], 0, i);
             grid.add(controls[i][0], 1, i);
             grid.add(values[i], 2, i);
             grid.add(controls[i][1], 3, i);
         }
 
-        grid.add(shufflePlayersCheckbox, 2, 9);
+        grid.add(shufflePlayersCheckbox, 2, labels.length);
 
         Label aiSpeedLabel = new Label("AI Thinking Speed:");
         aiSpeedLabel.setFont(labelFont);
         aiSpeedLabel.setTextFill(fontColor);
-        grid.add(aiSpeedLabel, 0, labels.length);
-        grid.add(aiSpeedDropdown, 2, labels.length);
+        grid.add(aiSpeedLabel, 0, labels.length + 1);
+        grid.add(aiSpeedDropdown, 2, labels.length + 1);
 
         Button accept = acceptButton(aiSpeedDropdown);
 
@@ -309,7 +342,7 @@ public class MenuView {
         Button accept = new Button("Accept Changes");
         accept.setStyle(" -fx-font-size: 18px; -fx-background-color: white; -fx-text-fill: #7b1e1e; -fx-padding: 10 20 10 20; -fx-background-radius: 8; -fx-border-radius: 8;");
         accept.setOnAction(e -> {
-            int total = humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0];
+            int total = humanPlayers[0] + easyAI[0] + mediumAI[0] + hardAI[0] + expertAI[0];
             if (total < 2 || total > 6) {
                 System.out.println("Total players must be between 2 and 6.");
                 return;
@@ -319,6 +352,7 @@ public class MenuView {
             AIOpponentsCountEASY = easyAI[0];
             AIOpponentsCountMEDIUM = mediumAI[0];
             AIOpponentsCountHARD = hardAI[0];
+            AIOpponentsCountEXPERT = expertAI[0];
             maxRoads = maxRoadsVal[0];
             maxSettlements = maxSettlementsVal[0];
             maxCities = maxCitiesVal[0];
@@ -329,8 +363,22 @@ public class MenuView {
         return accept;
     }
 
+    //__________________________SETTERS_____________________________//
+    // Applies the rule limits of a loaded game, also to the options menu counters
+    public void setRuleLimits(int maxRoads, int maxSettlements, int maxCities, int maxVictoryPoints) {
+        this.maxRoads = maxRoadsVal[0] = maxRoads;
+        this.maxSettlements = maxSettlementsVal[0] = maxSettlements;
+        this.maxCities = maxCitiesVal[0] = maxCities;
+        this.maxVictoryPoints = maxVictoryPointsVal[0] = maxVictoryPoints;
+    }
+
     //__________________________GETTERS_____________________________//
 
+    // Rules for a new game, as accepted in the options menu
+    public GameConfig createGameConfig() {
+        return new GameConfig(maxRoads, maxSettlements, maxCities, maxVictoryPoints, aiSpeed);
+    }
+
     public AIOpponent.ThinkingSpeed getSelectedAISpeed() {
         return aiSpeed;
     }
@@ -0,0 +1,293 @@
+package org.example.catanboardgameviews;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import org.example.catanboardgameapp.*;
+import org.example.catanboardgameapp.DevelopmentCard.DevelopmentCardType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The "Player Stats" sidebar. Every player's panel is built once; its labels are bound to
+// observable stats of the player (victory points, cards in hand per resource, development cards,
+// longest road, knights and the two titles, whose turn it is). update() copies the engine's
+// numbers into those properties on the FX thread after every action (see
+// CatanBoardGameView.refreshSidebar). A fast-forwarded game is still being played while the FX
+// thread draws it, so FastForwardRenderer copies the numbers into Stats on the engine thread and
+// passes those instead. A property only fires when its value changes, so only the labels that
+// changed are re-laid out and nothing is created or restyled per refresh.
+public class PlayerSidebar {
+
+    //---------------------------- Fonts and Styles ----------------------------//
+    private static final double NAME_FONT_SIZE = 14;
+    private static final double INFO_FONT_SIZE = 12;
+    private static final Font NAME_FONT = Font.font("Georgia", FontWeight.BOLD, NAME_FONT_SIZE);
+    private static final Font CURRENT_NAME_FONT = Font.font("Georgia", FontWeight.EXTRA_BOLD, NAME_FONT_SIZE + 6);
+    private static final Font INFO_FONT = Font.font("Georgia", INFO_FONT_SIZE);
+    private static final Font TITLE_FONT = Font.font("Georgia", FontWeight.BOLD, INFO_FONT_SIZE);
+
+    private static final String BASE_STYLE = """
+            -fx-background-radius: 10;
+            -fx-border-radius: 10;
+        """;
+    private static final String CURRENT_STYLE = BASE_STYLE + """
+            -fx-background-color: linear-gradient(to bottom, #fff6cc, #eedc9a);
+            -fx-border-color: #d4a627, #000000;
+            -fx-border-insets: 0, 2;
+            -fx-border-width: 4, 2;
+        """;
+    private static final String OTHER_STYLE = BASE_STYLE + """
+            -fx-background-color: linear-gradient(to bottom, #f3e2c7, #e0b97d);
+            -fx-border-color: #a86c1f;
+            -fx-border-width: 1.5;
+        """;
+    private static final String TOGGLE_STYLE = """
+            -fx-background-color: linear-gradient(to bottom, #d8b173, #a86c1f);
+            -fx-text-fill: #2b1d0e;""";
+
+    //---------------------------- Components ----------------------------//
+    private final CatanBoardGameView view;
+    private final Gameplay gameplay;
+    private final VBox playerListVBox = new VBox(10);
+    private final List<PlayerPanel> panels = new ArrayList<>();
+
+    //________________________________CONSTRUCTOR____________________________________//
+    public PlayerSidebar(CatanBoardGameView view, Gameplay gameplay) {
+        this.view = view;
+        this.gameplay = gameplay;
+        playerListVBox.setPadding(new Insets(10));
+        build();
+    }
+
+    public VBox getNode() {
+        return playerListVBox;
+    }
+
+    //__________________________UPDATING_____________________________//
+    // Copies the current stats into the panels; FX thread only, while the engine is not playing
+    public void update() {
+        update(Stats.capture(gameplay));
+    }
+
+    // Copies stats captured earlier into the panels; FX thread only
+    public void update(Stats stats) {
+        if (!samePlayers(gameplay.getPlayerList())) build();
+        for (int seat = 0; seat < panels.size() && seat < stats.scores.length; seat++) {
+            panels.get(seat).update(stats, seat);
+        }
+    }
+
+    // Panels are made once per player; only a new player list (e.g. a loaded game) rebuilds them
+    private boolean samePlayers(List<Player> players) {
+        if (players.size() != panels.size()) return false;
+        for (int i = 0; i < players.size(); i++) {
+            if (panels.get(i).player != players.get(i)) return false;
+        }
+        return true;
+    }
+
+    private void build() {
+        panels.clear();
+        playerListVBox.getChildren().clear();
+
+        Text title = new Text("Player Stats");
+        title.setFont(Font.font("Georgia", FontWeight.BOLD, 16));
+        title.setFill(Color.web("#5e3c10"));
+        playerListVBox.getChildren().add(title);
+
+        for (Player player : gameplay.getPlayerList()) {
+            PlayerPanel panel = new PlayerPanel(player);
+            panels.add(panel);
+            playerListVBox.getChildren().add(panel.box);
+        }
+        update();
+    }
+
+    //__________________________PLAYER PANEL_____________________________//
+    // One player's box. The current player sees its cards per resource and can play development
+    // cards from two expandable lists; everyone else only shows totals.
+    private final class PlayerPanel {
+        private final Player player;
+        private final VBox box = new VBox(4);
+
+        // Observable stats, bound to the labels below
+        private final BooleanProperty current = new SimpleBooleanProperty();
+        private final BooleanProperty roadHolder = new SimpleBooleanProperty();
+        private final BooleanProperty armyHolder = new SimpleBooleanProperty();
+        private final IntegerProperty victoryPoints = new SimpleIntegerProperty();
+        private final IntegerProperty resourceTotal = new SimpleIntegerProperty();
+        private final IntegerProperty devCardTotal = new SimpleIntegerProperty();
+        private final IntegerProperty longestRoad = new SimpleIntegerProperty();
+        private final IntegerProperty playedKnights = new SimpleIntegerProperty();
+        private final IntegerProperty[] resources = new IntegerProperty[PackedHand.TYPES];
+        private final IntegerProperty[] devCards = new IntegerProperty[DevelopmentCardType.values().length];
+
+        PlayerPanel(Player player) {
+            this.player = player;
+            box.setPadding(new Insets(8));
+
+            String displayName = (player instanceof AIOpponent ai)
+                    ? "AIPlayer " + player.getPlayerId() + " (" + ai.getStrategyLevel().name() + ")"
+                    : "Player " + player.getPlayerId();
+            Text playerName = new Text(displayName);
+            playerName.setFill(player.getColor());
+            playerName.fontProperty().bind(Bindings.when(current).then(CURRENT_NAME_FONT).otherwise(NAME_FONT));
+            box.styleProperty().bind(Bindings.when(current).then(CURRENT_STYLE).otherwise(OTHER_STYLE));
+            box.getChildren().add(playerName);
+
+            // Current player: expandable resources
+            Button resourceButton = toggleButton("Resources: ", resourceTotal);
+            VBox resourceDetailsBox = detailsBox(resourceButton);
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                resources[type] = new SimpleIntegerProperty();
+                Text resourceText = infoText();
+                resourceText.textProperty().bind(Bindings.concat(PackedHand.resourceName(type), ": ", resources[type]));
+                resourceDetailsBox.getChildren().add(resourceText);
+            }
+
+            // Current player: expandable development cards, one button per card type held
+            Button devCardButton = toggleButton("Development Cards: ", devCardTotal);
+            VBox devCardDetailsBox = detailsBox(devCardButton);
+            for (DevelopmentCardType type : DevelopmentCardType.values()) {
+                IntegerProperty count = devCards[type.ordinal()] = new SimpleIntegerProperty();
+                Button cardButton = view.createDevCardButton(player, type);
+                cardButton.textProperty().bind(Bindings.concat(type.getDisplayName(), " (", count, ")"));
+                cardButton.visibleProperty().bind(count.greaterThan(0));
+                cardButton.managedProperty().bind(cardButton.visibleProperty());
+                devCardDetailsBox.getChildren().add(cardButton);
+            }
+            VBox currentSection = new VBox(4, resourceButton, resourceDetailsBox, devCardButton, devCardDetailsBox);
+
+            // Everyone else: totals only
+            Text resourceTotalText = infoText();
+            resourceTotalText.textProperty().bind(Bindings.concat("Resources: ", resourceTotal));
+            Text devCardTotalText = infoText();
+            devCardTotalText.textProperty().bind(Bindings.concat("Development Cards: ", devCardTotal));
+            VBox compactSection = new VBox(4, resourceTotalText, devCardTotalText);
+
+            currentSection.visibleProperty().bind(current);
+            currentSection.managedProperty().bind(current);
+            compactSection.visibleProperty().bind(current.not());
+            compactSection.managedProperty().bind(current.not());
+            box.getChildren().addAll(currentSection, compactSection);
+
+            // Longest road and biggest army, highlighted for the holder
+            Text roadText = new Text();
+            roadText.textProperty().bind(Bindings.when(roadHolder)
+                    .then(Bindings.concat("🏅 LONGEST ROAD: ", longestRoad))
+                    .otherwise(Bindings.concat("Longest road: ", longestRoad)));
+            roadText.fontProperty().bind(Bindings.when(roadHolder).then(TITLE_FONT).otherwise(INFO_FONT));
+            Text armyText = new Text();
+            armyText.textProperty().bind(Bindings.when(armyHolder)
+                    .then(Bindings.concat("🏅 BIGGEST ARMY: ", playedKnights))
+                    .otherwise(Bindings.concat("Knights Played: ", playedKnights)));
+            armyText.fontProperty().bind(Bindings.when(armyHolder).then(TITLE_FONT).otherwise(INFO_FONT));
+
+            Text pointsText = infoText();
+            pointsText.textProperty().bind(Bindings.concat("Victory points: ", victoryPoints));
+            box.getChildren().addAll(roadText, armyText, pointsText);
+        }
+
+        // Plain int reads; setting an unchanged value fires nothing
+        void update(Stats stats, int seat) {
+            current.set(seat == stats.currentSeat);
+            roadHolder.set(seat == stats.roadHolderSeat);
+            armyHolder.set(seat == stats.armyHolderSeat);
+            int total = 0;
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                resources[type].set(stats.resources[seat][type]);
+                total += stats.resources[seat][type];
+            }
+            resourceTotal.set(total);
+            int cards = 0;
+            for (DevelopmentCardType type : DevelopmentCardType.values()) {
+                devCards[type.ordinal()].set(stats.devCards[seat][type.ordinal()]);
+                cards += stats.devCards[seat][type.ordinal()];
+            }
+            devCardTotal.set(cards);
+            longestRoad.set(stats.longestRoads[seat]);
+            playedKnights.set(stats.knights[seat]);
+            victoryPoints.set(stats.scores[seat]);
+        }
+
+        private Button toggleButton(String label, IntegerProperty total) {
+            Button button = new Button();
+            button.textProperty().bind(Bindings.concat(label, total));
+            button.setFont(INFO_FONT);
+            button.setStyle(TOGGLE_STYLE);
+            return button;
+        }
+
+        // Hidden list under the button, shown and hidden by clicking it (stays open across refreshes)
+        private VBox detailsBox(Button toggle) {
+            VBox details = new VBox(3);
+            details.setPadding(new Insets(5, 0, 0, 10));
+            details.setVisible(false);
+            details.managedProperty().bind(details.visibleProperty());
+            toggle.setOnAction(e -> details.setVisible(!details.isVisible()));
+            return details;
+        }
+
+        private Text infoText() {
+            Text text = new Text();
+            text.setFont(INFO_FONT);
+            return text;
+        }
+    }
+
+    //__________________________STATS_____________________________//
+    // Everything the panels show, copied from the game in one go (seat = index in the player list).
+    // Immutable once captured, so it can be handed from the engine thread to the FX thread.
+    public static final class Stats {
+        private final int currentSeat;
+        private final int roadHolderSeat;     // -1 for nobody
+        private final int armyHolderSeat;     // -1 for nobody
+        private final int[][] resources;      // [seat][resource type]
+        private final int[][] devCards;       // [seat][card type ordinal]
+        private final int[] longestRoads;
+        private final int[] knights;
+        private final int[] scores;
+
+        private Stats(Gameplay gameplay) {
+            List<Player> players = gameplay.getPlayerList();
+            currentSeat = players.indexOf(gameplay.getCurrentPlayer());
+            roadHolderSeat = players.indexOf(gameplay.getLongestRoadManager().getCurrentHolder());
+            armyHolderSeat = players.indexOf(gameplay.getBiggestArmy().getCurrentHolder());
+            resources = new int[players.size()][PackedHand.TYPES];
+            devCards = new int[players.size()][DevelopmentCardType.values().length];
+            longestRoads = new int[players.size()];
+            knights = new int[players.size()];
+            scores = new int[players.size()];
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player player = players.get(seat);
+                for (int type = 0; type < PackedHand.TYPES; type++) {
+                    resources[seat][type] = player.getResources().getOrDefault(PackedHand.resourceName(type), 0);
+                }
+                for (DevelopmentCardType type : DevelopmentCardType.values()) {
+                    devCards[seat][type.ordinal()] = player.getDevelopmentCards().getOrDefault(type, 0);
+                }
+                longestRoads[seat] = player.getLongestRoad();
+                knights[seat] = player.getPlayedKnights();
+                scores[seat] = player.getPlayerScore();
+            }
+        }
+
+        public static Stats capture(Gameplay gameplay) {
+            return new Stats(gameplay);
+        }
+
+        public int getScore(int seat) {
+            return scores[seat];
+        }
+    }
+}
@@ -2,11 +2,16 @@ package org.example.controller;
 
 import javafx.stage.Stage;
 import org.example.catanboardgameapp.AIOpponent;
+import org.example.catanboardgameapp.GameConfig;
+import org.example.catanboardgameapp.GameJournal;
+import org.example.catanboardgameapp.GameSnapshot;
 import org.example.catanboardgameapp.Gameplay;
 import org.example.catanboardgameapp.Player;
 import org.example.catanboardgameviews.CatanBoardGameView;
 import org.example.catanboardgameviews.MenuView;
 
+import java.io.IOException;
+
 public class GameController {
 
     private final Stage primaryStage;
@@ -27,12 +32,12 @@ public class GameController {
 
     //___________________________FUNCTIONS__________________________________//
     // Starts a new game with specified settings
-    public void startGame(int playerCount, int boardSize, int easyAI, int medAI, int hardAI) {
-        gameplay = new Gameplay(boardSize - 1, this);
+    public void startGame(int playerCount, int boardSize, int easyAI, int medAI, int hardAI, int expertAI) {
+        gameplay = new Gameplay(boardSize - 1, this, menuView.createGameConfig());
         gameplay.setMenuView(this.menuView);
 
         // Add players
-        gameplay.initializeAllPlayers(playerCount, easyAI, medAI, hardAI, shufflePlayers);
+        gameplay.initializeAllPlayers(playerCount, easyAI, medAI, hardAI, expertAI, shufflePlayers);
         gameplay.resetCounters();
 
         // Initialize controllers before creating view
@@ -63,10 +68,54 @@ public class GameController {
             }
         }
     }
+    // Loads the autosaved game (last snapshot + journal tail) and continues it where it was left
+    public void loadGame() {
+        Gameplay loaded;
+        int recovered;
+        try {
+            loaded = GameSnapshot.load(GameSnapshot.AUTOSAVE_PATH, this, game -> {
+                gameplay = game;
+                turnController = new TurnController(this);
+                tradeController = new TradeController(this);
+                gameView = new CatanBoardGameView(game, this, game.getBoardRadius());
+                game.setCatanBoardGameView(gameView);
+                gameView.buildGameUI();
+                game.initializeDevelopmentCards();
+            });
+            recovered = GameJournal.recover(loaded, GameJournal.JOURNAL_PATH);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load saved game: " + e.getMessage());
+            resetGame();
+            return;
+        }
+        // Show the loaded game's rules in the options menu
+        GameConfig config = loaded.getConfig();
+        menuView.setRuleLimits(config.getMaxRoads(), config.getMaxSettlements(), config.getMaxCities(), config.getMaxVictoryPoints());
+        loaded.checkpoint(); // Fresh snapshot, so the recovered journal tail is not applied twice
+        gameView.drawLoadedPieces();
+        gameView.refreshSidebar();
+        gameView.updateDiceImages(loaded.getLastRolledDie1(), loaded.getLastRolledDie2());
+        primaryStage.setScene(gameView.getScene());
+        primaryStage.show();
+        gameView.logToGameLog("Saved game loaded. " + loaded.getCurrentPlayer() + " is up.");
+        if (recovered > 0) loaded.log("Recovered " + recovered + " actions from the autosave journal");
+
+        Player currentPlayer = loaded.getCurrentPlayer();
+        if (currentPlayer instanceof AIOpponent ai) {
+            loaded.startAIThread(ai);
+        } else if (loaded.isInInitialPhase()) {
+            gameView.prepareForHumanInitialPlacement(currentPlayer);
+        } else if (loaded.hasRolledDice()) {
+            gameView.showTurnButton();
+        } else {
+            gameView.showDiceButton();
+        }
+    }
     // Resets the current game state
     public void resetGame() {
         if (gameplay != null) {
-            gameplay.stopAllAIThreads();  // Stop any active AI threads
+            gameplay.shutdownAITurnRunner();  // Stop the AI turn and its thread
+            gameplay.closeAutosave(false);
             gameplay.resetCounters();
             gameplay = null;
         }
@@ -1,13 +1,19 @@
 package org.example.controller;
 
-import javafx.scene.control.Button;
-import javafx.scene.control.ChoiceDialog;
-import javafx.scene.control.DialogPane;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
 import org.example.catanboardgameapp.*;
 import java.util.*;
 
 public class TradeController {
 
+    private static final List<String> RESOURCES = List.of("Ore", "Wood", "Brick", "Grain", "Wool");
+    private static final String BANK_TRADE = "Bank / Harbor";
+    private static final String PLAYER_TRADE = "Other players";
+    private static final int MAX_ASKED_CARDS = 4;
+
     private final GameController gameController;
     private final DrawOrDisplay drawOrDisplay;
 
@@ -35,6 +41,9 @@ public class TradeController {
             if (!gameplay.isBlockedByAITurn() && !gameplay.isInInitialPhase() && !gameplay.hasRolledDice()) {
                 drawOrDisplay.rollDiceBeforeActionPopup("You must roll the dice before Trading!");
             }
+            else if (choosePlayerTrade(gameplay)) {
+                tradeWithPlayers(gameplay);
+            }
             else {
                 Map<String, Integer> bestRatios = new HashMap<>();
                 List<Harbor> harbors = gameplay.getBoard().getHarbors();
@@ -101,7 +110,12 @@ public class TradeController {
                     drawOrDisplay.showTradeError("You don't have enough " + giveResource + " to trade (requires " + ratio + ").");
                     return;
                 }
+                if (gameplay.getBank().getSupply(receiveResource) == 0) {
+                    drawOrDisplay.showTradeError("The bank has no " + receiveResource + " left.");
+                    return;
+                }
                 // Perform the trade
+                gameplay.getReplay().recordBankTrade(gameplay.getCurrentPlayer(), giveResource, ratio, receiveResource);
                 gameplay.removeResource(giveResource, ratio);
                 gameplay.addResource(receiveResource, 1);
                 gameplay.getCatanBoardGameView().logToGameLog(gameplay.getCurrentPlayer() + " traded " + ratio + " " + giveResource + " for 1 " + receiveResource);
@@ -109,4 +123,92 @@ public class TradeController {
             }
         });
     }
+
+    // Asks whether to trade with the bank or the other players; false (bank) if no one else can answer
+    private boolean choosePlayerTrade(Gameplay gameplay) {
+        boolean anyAI = gameplay.getPlayerList().stream()
+                .anyMatch(p -> p != gameplay.getCurrentPlayer() && p instanceof AIOpponent);
+        if (!anyAI || !gameplay.getTradeNegotiator().canTrade(gameplay.getCurrentPlayer())) return false;
+        List<String> partners = List.of(BANK_TRADE, PLAYER_TRADE);
+        ChoiceDialog<String> partnerDialog = new ChoiceDialog<>(BANK_TRADE, partners);
+        partnerDialog.setTitle("Trade");
+        partnerDialog.setHeaderText("Who do you want to trade with?");
+        partnerDialog.setContentText("Trade with:");
+        gameplay.getCatanBoardGameView().styleDialog(partnerDialog);
+        return partnerDialog.showAndWait().map(PLAYER_TRADE::equals).orElse(false);
+    }
+
+    // Posts an offer to the AI players and lets the player pick one of their answers
+    private void tradeWithPlayers(Gameplay gameplay) {
+        Player player = gameplay.getCurrentPlayer();
+        List<String> owned = RESOURCES.stream().filter(res -> player.getResourceAmount(res) > 0).toList();
+        if (owned.isEmpty()) {
+            drawOrDisplay.showTradeError("You don't have any resources to offer.");
+            return;
+        }
+        // Offer dialog: what to give and what to ask for
+        ChoiceBox<String> giveBox = new ChoiceBox<>(FXCollections.observableArrayList(owned));
+        giveBox.setValue(owned.get(0));
+        Spinner<Integer> giveAmount = new Spinner<>(1, player.getResourceAmount(owned.get(0)), 1);
+        giveBox.valueProperty().addListener((obs, old, res) ->
+                giveAmount.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, player.getResourceAmount(res), 1)));
+        ChoiceBox<String> receiveBox = new ChoiceBox<>(FXCollections.observableArrayList(RESOURCES));
+        receiveBox.setValue(RESOURCES.stream().filter(res -> !res.equals(owned.get(0))).findFirst().orElse(RESOURCES.get(0)));
+        Spinner<Integer> receiveAmount = new Spinner<>(1, MAX_ASKED_CARDS, 1);
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.setPadding(new Insets(10));
+        grid.addRow(0, new Label("Give:"), giveAmount, giveBox);
+        grid.addRow(1, new Label("Receive:"), receiveAmount, receiveBox);
+
+        Dialog<ButtonType> offerDialog = new Dialog<>();
+        offerDialog.setTitle("Player Trade");
+        offerDialog.setHeaderText("Make an offer to the other players:");
+        offerDialog.getDialogPane().setContent(grid);
+        offerDialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        gameplay.getCatanBoardGameView().styleDialog(offerDialog);
+        if (offerDialog.showAndWait().filter(ButtonType.OK::equals).isEmpty()) return;
+
+        String give = giveBox.getValue();
+        String receive = receiveBox.getValue();
+        if (give.equals(receive)) {
+            drawOrDisplay.showTradeError("You cannot give and receive the same resource.");
+            return;
+        }
+        TradeOffer offer = new TradeOffer(player, PackedHand.single(give, giveAmount.getValue()), PackedHand.single(receive, receiveAmount.getValue()));
+        List<TradeOffer> answers = gameplay.getTradeNegotiator().collectAnswers(offer);
+        if (answers.isEmpty()) {
+            drawOrDisplay.showTradeError("No player wants to trade " + PackedHand.describe(offer.getGive())
+                    + " for " + PackedHand.describe(offer.getReceive()) + ".");
+            return;
+        }
+        // Cheapest answer first: fewest cards given, then most cards received
+        List<TradeOffer> sorted = new ArrayList<>(answers);
+        sorted.sort(Comparator.comparingInt((TradeOffer answer) -> PackedHand.total(answer.getGive()))
+                .thenComparingInt(answer -> -PackedHand.total(answer.getReceive())));
+        Map<String, TradeOffer> choices = new LinkedHashMap<>();
+        for (TradeOffer answer : sorted) {
+            String label = answer.getResponder() + (answer.isCounter() ? " counters: " : " accepts: ")
+                    + "you give " + PackedHand.describe(answer.getGive()) + ", you get " + PackedHand.describe(answer.getReceive());
+            choices.put(label, answer);
+        }
+        List<String> labels = new ArrayList<>(choices.keySet());
+        ChoiceDialog<String> answerDialog = new ChoiceDialog<>(labels.get(0), labels);
+        answerDialog.setTitle("Player Trade");
+        answerDialog.setHeaderText("Choose the answer to accept:");
+        answerDialog.setContentText("Answer:");
+        gameplay.getCatanBoardGameView().styleDialog(answerDialog);
+        Optional<String> chosen = answerDialog.showAndWait();
+        if (chosen.isEmpty()) return;
+
+        TradeOffer answer = choices.get(chosen.get());
+        if (!gameplay.getTradeNegotiator().execute(answer)) {
+            drawOrDisplay.showTradeError("The trade is no longer possible.");
+            return;
+        }
+        gameplay.getCatanBoardGameView().logToGameLog(answer.toString());
+        gameplay.getCatanBoardGameView().refreshSidebar();
+    }
 }
\ No newline at end of file
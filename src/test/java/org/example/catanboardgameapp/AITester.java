@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+@org.mockito.junit.jupiter.MockitoSettings(strictness = org.mockito.quality.Strictness.LENIENT)
 class AITester {
 
     @Mock private Gameplay mockGameplay;
@@ -37,7 +38,7 @@ class AITester {
         try {
             // initialize javafx
             Platform.startup(() -> {});
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | UnsupportedOperationException e) {
             // already initialized — ignore
         }
     }
@@ -48,6 +49,7 @@ class AITester {
         when(mockGameplay.getMenuView()).thenReturn(mockMenuView);
         lenient().when(mockGameplay.getBoard()).thenReturn(mockBoard);
         lenient().when(mockBoard.getHarbors()).thenReturn(Collections.emptyList());
+        lenient().when(mockGameplay.getAILatency()).thenReturn(new AILatency());
         // Create an EASY-level AI
         ai = new AIOpponent(1, Color.RED, AIOpponent.StrategyLevel.EASY, mockGameplay);
     }
@@ -127,23 +129,29 @@ class AITester {
         // victim1 has 3 brick, victim2 has 2 wood
         victim1.getResources().put("Brick", 3);
         victim2.getResources().put("Wood", 2);
-        List<Player> victims = List.of(victim1, victim2);
+        List<Player> victims = List.of(victim2, victim1);   // victim1 last, so a tie would not pick it
+        // Hands are read through card counting, which starts from the hands as they are
+        when(mockGameplay.getPlayerList()).thenReturn(List.of(ai, victim1, victim2));
+        when(mockGameplay.getHandInference()).thenReturn(new HandInference(mockGameplay));
 
-        // ai has no resources, so determines strategy = NONE and needs all resource types
-        Player chosen = ai.chooseBestRobberTargetForHardAI(ai, victims);
+        when(mockGameplay.isHeadless()).thenReturn(true);   // Nothing to draw the robber on
+        Robber robber = new Robber(null, mockGameplay, mockBoardView, null);
+
+        // ai has no resources, so it needs all resource types
+        Player chosen = robber.AIHardChooseBestRobberVictim(ai, victims);
         // victim1 has 3 resoucres and victim2 on 2, so victim1 should be chosen
         assertEquals(victim1, chosen);
     }
 
     @Test
     void whenEasyAndCanUpgradeCity_determineStrategyReturnsCityUpgrader() {
-        when(mockMenuView.getMaxCities()).thenReturn(4);
+        when(mockGameplay.getMaxCities()).thenReturn(4);
         // one settlement to upgrade
         ai.getSettlements().add(new Vertex(0,0));
         // Give resources so canAffordCity == true
         ai.getResources().put("Ore", 3);
         ai.getResources().put("Grain", 2);
-        AIOpponent.Strategy strat = ai.determineStrategy();
+        AIOpponent.Strategy strat = ai.determineStrategy(true);
         assertEquals(AIOpponent.Strategy.CITYUPGRADER, strat);
     }
 
@@ -161,17 +169,17 @@ class AITester {
         scoreField.setAccessible(true);
         scoreField.setInt(other, 6);
         when(mockGameplay.getPlayerList()).thenReturn(List.of(hardAI, other));
-        // bump score above 4
-        scoreField.setInt(hardAI, 5);
+        // bump score above 5
+        scoreField.setInt(hardAI, 6);
         // create situation where no current longestroadmanager, and AI has 4 roads
         LongestRoadManager mgr = mock(LongestRoadManager.class);
         when(mockGameplay.getLongestRoadManager()).thenReturn(mgr);
         when(mgr.getCurrentHolder()).thenReturn(null);
-        when(mgr.calculateLongestRoad(hardAI, List.of(hardAI, other))).thenReturn(4);
+        when(mgr.calculateLongestRoad(hardAI)).thenReturn(4);
         // give road resources
         hardAI.getResources().put("Brick", 1);
         hardAI.getResources().put("Wood", 1);
         // strategy should now be longest road
-        assertEquals(AIOpponent.Strategy.LONGESTROAD, hardAI.determineStrategy());
+        assertEquals(AIOpponent.Strategy.LONGESTROAD, hardAI.determineStrategy(true));
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package org.example.catanboardgameapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The discard planner's dynamic programme must find the same best hand as trying every way of
+// keeping half the cards
+class DiscardPlannerTest {
+
+    private static final int HANDS = 20_000;
+    private static final int MISSING_PENALTY = 8;
+    private static final int AFFORD_BONUS = 16;
+    private static final long[] BUILDS = {
+            PackedHand.of(Map.of("Ore", 3, "Grain", 2)),
+            PackedHand.of(Map.of("Brick", 1, "Wood", 1, "Wool", 1, "Grain", 1)),
+            PackedHand.of(Map.of("Wool", 1, "Grain", 1, "Ore", 1)),
+            PackedHand.of(Map.of("Brick", 1, "Wood", 1))
+    };
+
+    @Test
+    void optimalKeepMatchesExhaustiveEnumeration() {
+        Random random = new Random(1);
+        int checked = 0;
+        while (checked < HANDS) {
+            int[] held = new int[PackedHand.TYPES];
+            long hand = PackedHand.EMPTY;
+            int total = 0;
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                held[type] = random.nextInt(7);
+                hand = PackedHand.add(hand, PackedHand.single(type, held[type]));
+                total += held[type];
+            }
+            if (total < 8) continue;   // Only hands over 7 cards discard
+            checked++;
+            int keepTotal = total - total / 2;
+            int[] cardValue = new int[PackedHand.TYPES];
+            for (int type = 0; type < PackedHand.TYPES; type++) cardValue[type] = random.nextInt(15) - 4;
+            int builds = 1 + random.nextInt(BUILDS.length);
+            long[] costs = Arrays.copyOf(BUILDS, builds);
+            int[] weights = new int[builds];
+            for (int b = 0; b < builds; b++) weights[b] = 1 + random.nextInt(2);
+
+            long keep = DiscardPlanner.optimalKeep(hand, keepTotal, cardValue, costs, weights, MISSING_PENALTY, AFFORD_BONUS);
+
+            assertEquals(keepTotal, PackedHand.total(keep), "kept cards of " + PackedHand.describe(hand));
+            for (int type = 0; type < PackedHand.TYPES; type++) {
+                assertTrue(PackedHand.get(keep, type) <= held[type], "kept more than held of " + PackedHand.describe(hand));
+            }
+            assertEquals(bestByEnumeration(held, keepTotal, cardValue, costs, weights),
+                    score(keep, cardValue, costs, weights), "score for " + PackedHand.describe(hand));
+        }
+    }
+
+    // Best score over every hand of keepTotal cards within held
+    private static int bestByEnumeration(int[] held, int keepTotal, int[] cardValue, long[] costs, int[] weights) {
+        int best = Integer.MIN_VALUE;
+        for (int a = 0; a <= held[0]; a++) {
+            for (int b = 0; b <= held[1]; b++) {
+                for (int c = 0; c <= held[2]; c++) {
+                    for (int d = 0; d <= held[3]; d++) {
+                        int e = keepTotal - a - b - c - d;
+                        if (e < 0 || e > held[4]) continue;
+                        long keep = PackedHand.single(0, a) | PackedHand.single(1, b) | PackedHand.single(2, c)
+                                | PackedHand.single(3, d) | PackedHand.single(4, e);
+                        best = Math.max(best, score(keep, cardValue, costs, weights));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // The planner's objective, written out directly
+    private static int score(long keep, int[] cardValue, long[] costs, int[] weights) {
+        int score = 0;
+        for (int type = 0; type < PackedHand.TYPES; type++) score += PackedHand.get(keep, type) * cardValue[type];
+        for (int b = 0; b < costs.length; b++) {
+            int missing = PackedHand.missing(keep, costs[b]);
+            score -= missing * MISSING_PENALTY * weights[b];
+            if (missing == 0) score += AFFORD_BONUS * weights[b];
+        }
+        return score;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.catanboardgameapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// After a crash, the last snapshot plus the journal written since must give back the live game
+class GameJournalTest {
+
+    private static final int GAMES = 30;
+    private static final List<AIOpponent.StrategyLevel> LINEUP = List.of(
+            AIOpponent.StrategyLevel.EASY, AIOpponent.StrategyLevel.MEDIUM, AIOpponent.StrategyLevel.HARD);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoveredGameEqualsTheLiveGame() throws Exception {
+        Path snapshot = dir.resolve("game.catan");
+        Path journalFile = dir.resolve("game.journal");
+        for (int game = 0; game < GAMES; game++) {
+            Gameplay live = new Gameplay(2, 5000L + game);
+            live.initializeHeadlessGame(LINEUP);
+            int steps = 0;
+            while (!live.isFinished() && (live.isInInitialPhase() || steps < 10)) {
+                live.playHeadlessTurn();
+                steps++;
+            }
+            if (live.isFinished()) continue;
+
+            GameSnapshot writer = new GameSnapshot();
+            writer.save(live, snapshot);
+            GameJournal journal = GameJournal.open(journalFile, live, live.getReplay().getActionCount());
+            live.getReplay().setJournal(journal);
+            // Some turns, with a new snapshot (and an emptied journal) every few of them
+            int more = 5 + game % 40;
+            for (int turn = 0; turn < more && !live.isFinished(); turn++) {
+                live.playHeadlessTurn();
+                if (turn % 7 == 6) {
+                    writer.save(live, snapshot);
+                    journal.compact(live.getReplay().getActionCount());
+                }
+            }
+
+            // Crash: the journal is never closed
+            Gameplay recovered = GameSnapshot.loadHeadless(snapshot);
+            GameJournal.recover(recovered, journalFile);
+            live.getReplay().setJournal(null);
+            assertEquals(GameSnapshotTest.state(live), GameSnapshotTest.state(recovered), "game " + game);
+            assertArrayEquals(live.getReplay().toByteArray(), recovered.getReplay().toByteArray(), "replay of game " + game);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.catanboardgameapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Saving and loading a game in the middle must not change anything: the loaded game holds the
+// same state and, played on, makes exactly the same moves as the original
+class GameSnapshotTest {
+
+    private static final int GAMES = 30;
+    private static final List<AIOpponent.StrategyLevel> LINEUP = List.of(
+            AIOpponent.StrategyLevel.EASY, AIOpponent.StrategyLevel.MEDIUM, AIOpponent.StrategyLevel.HARD);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadedGameContinuesLikeTheOriginal() throws Exception {
+        Path file = dir.resolve("save.catan");
+        for (int game = 0; game < GAMES; game++) {
+            Gameplay original = new Gameplay(2, 1000L + game);
+            original.initializeHeadlessGame(LINEUP);
+            int cut = 20 + game % 60;
+            int steps = 0;
+            while (!original.isFinished() && steps++ < cut) original.playHeadlessTurn();
+            if (original.isFinished()) continue;
+
+            new GameSnapshot().save(original, file);
+            Gameplay loaded = GameSnapshot.loadHeadless(file);
+            assertEquals(state(original), state(loaded), "after loading game " + game);
+            assertEquals(original.getRandom().nextInt(), loaded.getRandom().nextInt(), "random numbers of game " + game);
+
+            while (!original.isFinished() && steps++ < 5000) original.playHeadlessTurn();
+            int loadedSteps = 0;
+            while (!loaded.isFinished() && loadedSteps++ < 5000) loaded.playHeadlessTurn();
+            assertEquals(state(original), state(loaded), "at the end of game " + game);
+            assertArrayEquals(original.getReplay().toByteArray(), loaded.getReplay().toByteArray(), "replay of game " + game);
+        }
+    }
+
+    // Everything the rules and the AIs can see
+    static String state(Gameplay gameplay) {
+        StringBuilder sb = new StringBuilder();
+        for (Player player : gameplay.getPlayerList()) {
+            sb.append(player.getPlayerId()).append(player.getResources()).append(player.getDevelopmentCards())
+                    .append(player.getPlayerScore()).append('/').append(player.getPlayedKnights()).append('/').append(player.getLongestRoad())
+                    .append(player.getSettlements().stream().map(Vertex::getId).toList())
+                    .append(player.getCities().stream().map(Vertex::getId).toList())
+                    .append(player.getRoads().stream().map(Edge::getId).toList()).append('|');
+            for (Player other : gameplay.getPlayerList()) {
+                for (int type = 0; type < PackedHand.TYPES; type++) {
+                    sb.append(gameplay.getHandInference().getExpected(player, other, type)).append(',');
+                }
+            }
+        }
+        sb.append(gameplay.getShuffledDevelopmentCards()).append(' ')
+                .append(gameplay.getRobber().getCurrentTile().getId()).append(' ')
+                .append(gameplay.getCurrentPlayerIndex()).append(gameplay.isInInitialPhase()).append(gameplay.hasRolledDice())
+                .append(gameplay.getTurnCounter()).append(' ').append(gameplay.getReplay().getActionCount())
+                .append(gameplay.getLongestRoadManager().getCurrentHolder()).append(gameplay.getBiggestArmy().getCurrentHolder());
+        for (Vertex vertex : gameplay.getBoard().getVertices()) {
+            sb.append(vertex.getOwner() == null ? "-" : String.valueOf(vertex.getOwner().getPlayerId())).append(vertex.isCity() ? "c" : "");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.catanboardgameapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A recorded game replayed without any AI must end in exactly the state the live game ended in
+class ReplayPlayerTest {
+
+    private static final int GAMES = 30;
+    private static final List<AIOpponent.StrategyLevel> LINEUP = List.of(
+            AIOpponent.StrategyLevel.EASY, AIOpponent.StrategyLevel.MEDIUM, AIOpponent.StrategyLevel.HARD);
+
+    @Test
+    void replayEndsInTheLiveGameState() {
+        for (int game = 0; game < GAMES; game++) {
+            Gameplay live = new Gameplay(2, 2000L + game);
+            live.initializeHeadlessGame(LINEUP);
+            int steps = 0;
+            while (!live.isFinished() && steps++ < 5000) live.playHeadlessTurn();
+
+            ReplayPlayer replay = new ReplayPlayer(live.getReplay().toByteArray());
+            replay.replayAll();
+            assertTrue(replay.isFinished(), "game " + game);
+            assertEquals(live.getCurrentPlayerIndex(), replay.getCurrentSeat(), "game " + game);
+            assertEquals(live.getRobber().getCurrentTile().getId(), replay.getRobberTile(), "game " + game);
+            for (int seat = 0; seat < LINEUP.size(); seat++) {
+                Player player = live.getPlayerList().get(seat);
+                assertEquals(player.getPlayerScore(), replay.getScore(seat), "game " + game + " seat " + seat);
+                assertEquals(player.getPlayedKnights(), replay.getPlayedKnights(seat), "game " + game + " seat " + seat);
+                for (int type = 0; type < PackedHand.TYPES; type++) {
+                    Resource.ResourceType resource = Resource.ResourceType.values()[type];
+                    assertEquals(player.getResources().getOrDefault(resource.getName(), 0), replay.getResource(seat, resource),
+                            "game " + game + " seat " + seat + " " + resource);
+                }
+            }
+            for (Vertex vertex : live.getBoard().getVertices()) {
+                int owner = vertex.getOwner() == null ? -1 : vertex.getOwner().getPlayerId() - 1;
+                assertEquals(owner, replay.getVertexOwner(vertex.getId()), "game " + game + " vertex " + vertex.getId());
+                assertEquals(vertex.isCity(), replay.isCity(vertex.getId()), "game " + game + " vertex " + vertex.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.catanboardgameapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The longest road planner must reach the same length as trying every set of up to k new roads
+// the player could build, on small boards in the middle of real games
+class RoadPlannerTest {
+
+    private static final int GAMES = 8;
+    private static final int MAX_ROADS = 3;
+    private static final int TURNS_PER_GAME = 120;
+    private static final int RANDOM_NETWORKS = 200;
+
+    @Test
+    void planLongestRoadMatchesExhaustiveEnumeration() {
+        AIOpponent.StrategyLevel hard = AIOpponent.StrategyLevel.HARD;
+        int checked = 0;
+        for (int seed = 1; seed <= GAMES; seed++) {
+            Gameplay game = new Gameplay(2, seed);
+            game.initializeHeadlessGame(List.of(hard, hard, hard));
+            for (int turn = 0; turn < TURNS_PER_GAME && !game.isFinished(); turn++) {
+                if (!game.isInInitialPhase() && turn % 3 == 0) {
+                    Player player = game.getCurrentPlayer();
+                    for (int k = 1; k <= MAX_ROADS; k++) {
+                        RoadPlanner.LongestRoadExtension plan = game.getBoard().getRoadPlanner().planLongestRoad(player, game, k);
+                        int best = exhaustiveBest(game, player, k, new HashSet<>());
+                        assertTrue(plan.getRoads().size() <= k, "seed " + seed + ", turn " + turn + ": too many roads");
+                        assertEquals(best, plan.getLength(), "seed " + seed + ", turn " + turn + ", k " + k);
+                        checked++;
+                    }
+                }
+                game.playHeadlessTurn();
+            }
+        }
+        assertTrue(checked > 100, "too few positions checked: " + checked);
+    }
+
+    // Random winding roads from a settlement: their ends are often close together (both ends'
+    // longest chains run through the same vertex) or next to an opponent's settlement
+    @Test
+    void planLongestRoadMatchesExhaustiveEnumerationOnRandomNetworks() {
+        AIOpponent.StrategyLevel hard = AIOpponent.StrategyLevel.HARD;
+        Random random = new Random(7);
+        for (int i = 0; i < RANDOM_NETWORKS; i++) {
+            Gameplay game = new Gameplay(2, i);
+            game.initializeHeadlessGame(List.of(hard, hard, hard));
+            while (game.isInInitialPhase()) game.playHeadlessTurn();
+            Player player = game.getCurrentPlayer();
+            Vertex end = player.getSettlementsAndCities().get(0);
+            int length = 2 + random.nextInt(5);
+            for (int road = 0; road < length; road++) {
+                List<Edge> options = new ArrayList<>();
+                for (Edge edge : game.getBoard().getEdges()) {
+                    if (edge.isConnectedTo(end) && buildable(game, player, edge)) options.add(edge);
+                }
+                if (options.isEmpty()) break;
+                Edge edge = options.get(random.nextInt(options.size()));
+                player.getRoads().add(edge);
+                end = edge.getVertex1() == end ? edge.getVertex2() : edge.getVertex1();
+            }
+            for (int k = 2; k <= MAX_ROADS; k++) {
+                RoadPlanner.LongestRoadExtension plan = game.getBoard().getRoadPlanner().planLongestRoad(player, game, k);
+                assertEquals(exhaustiveBest(game, player, k, new HashSet<>()), plan.getLength(), "network " + i + ", k " + k);
+            }
+        }
+    }
+
+    // Longest road reachable with up to k more roads, trying every buildable road at every step
+    private static int exhaustiveBest(Gameplay game, Player player, int k, Set<Set<Edge>> seen) {
+        int best = game.getLongestRoadManager().calculateLongestRoad(player);
+        if (k == 0) return best;
+        for (Edge edge : game.getBoard().getEdges()) {
+            if (!buildable(game, player, edge)) continue;
+            player.getRoads().add(edge);
+            // Each set of roads once, whatever order it was built in
+            if (seen.add(new HashSet<>(player.getRoads()))) best = Math.max(best, exhaustiveBest(game, player, k - 1, seen));
+            player.getRoads().remove(edge);
+        }
+        return best;
+    }
+
+    // Free land edge that continues the player's network: from its own settlement or city, or
+    // from the end of its own road where no opponent has built
+    private static boolean buildable(Gameplay game, Player player, Edge edge) {
+        if (!landVertex(edge.getVertex1()) || !landVertex(edge.getVertex2())) return false;
+        for (Player other : game.getPlayerList()) {
+            if (other.getRoads().contains(edge)) return false;
+        }
+        return continues(player, edge.getVertex1()) || continues(player, edge.getVertex2());
+    }
+
+    private static boolean continues(Player player, Vertex vertex) {
+        if (player.getSettlementsAndCities().contains(vertex)) return true;
+        if (vertex.getOwner() != null && vertex.getOwner() != player) return false;
+        return player.getRoads().stream().anyMatch(road -> road.isConnectedTo(vertex));
+    }
+
+    private static boolean landVertex(Vertex vertex) {
+        return vertex.getAdjacentTiles().stream().anyMatch(tile -> !tile.isSea());
+    }
+}